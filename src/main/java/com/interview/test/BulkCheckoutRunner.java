@@ -0,0 +1,251 @@
+package com.interview.test;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalAgreementJson;
+import com.interview.test.service.RentalService;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Checks out rental requests streamed one per line, for non-interactive bulk imports.
+ * <p>
+ * Each input line is {@code toolCode,rentalDays,discountPercent,checkoutDate[,storeId]} with the date as mm/dd/yyyy,
+ * the same values the interactive mode prompts for, optionally followed by the store whose holiday calendar prices the
+ * rental. Blank lines, lines starting with {@code #} and a leading header line are skipped. Lines are parsed in place
+ * without regular expressions or date formatters, and each agreement is written out as soon as it is created, so
+ * memory use does not depend on the size of the input.
+ */
+public class BulkCheckoutRunner {
+
+	/**
+	 * The format agreements are written in.
+	 */
+	public enum OutputFormat {
+		/**
+		 * One comma-separated line per agreement, preceded by a header line.
+		 */
+		CSV,
+		/**
+		 * One JSON object per line.
+		 */
+		JSON
+	}
+
+	static final String CSV_HEADER = "toolCode,toolType,brand,rentalDays,checkOutDate,dueDate,dailyCharge,chargeDays,"
+			+ "preDiscountCharge,discountPercent,discountAmount,finalCharge";
+
+	private final RentalService rentalService;
+	private final OutputFormat outputFormat;
+	private final StringBuilder buffer = new StringBuilder(256);
+
+	/**
+	 * Constructs a BulkCheckoutRunner with the given rental service and output format.
+	 *
+	 * @param rentalService the rental service to use for processing rentals
+	 * @param outputFormat  the format to write agreements in
+	 */
+	public BulkCheckoutRunner(RentalService rentalService, OutputFormat outputFormat) {
+		this.rentalService = rentalService;
+		this.outputFormat = outputFormat;
+	}
+
+	/**
+	 * Reads rental requests until the end of the input, writing an agreement for each valid request and an error line
+	 * for each invalid one.
+	 *
+	 * @param in     the rental requests, one per line
+	 * @param out    where agreements are written
+	 * @param errors where rejected lines are reported, as {@code line <n>: <message>}
+	 * @return a summary of the run
+	 * @throws IOException if reading or writing fails
+	 */
+	public Summary run(BufferedReader in, Writer out, Writer errors) throws IOException {
+		long startNanos = System.nanoTime();
+		long lineNumber = 0;
+		long rows = 0;
+		long errorCount = 0;
+
+		if (outputFormat == OutputFormat.CSV) {
+			out.write(CSV_HEADER);
+			out.write('\n');
+		}
+
+		String line;
+		while ((line = in.readLine()) != null) {
+			lineNumber++;
+			if (isSkipped(line, lineNumber)) {
+				continue;
+			}
+			rows++;
+			try {
+				RentalAgreement agreement = checkout(line);
+				buffer.setLength(0);
+				if (outputFormat == OutputFormat.CSV) {
+					appendCsv(agreement);
+				} else {
+					RentalAgreementJson.append(agreement, buffer);
+				}
+				buffer.append('\n');
+				out.append(buffer);
+			} catch (IllegalArgumentException e) {
+				errorCount++;
+				errors.write("line " + lineNumber + ": " + e.getMessage() + "\n");
+			}
+		}
+		out.flush();
+		errors.flush();
+		return new Summary(rows, errorCount, System.nanoTime() - startNanos);
+	}
+
+	private static boolean isSkipped(String line, long lineNumber) {
+		if (line.isEmpty() || line.charAt(0) == '#' || line.trim().isEmpty()) {
+			return true;
+		}
+		return lineNumber == 1 && line.regionMatches(true, 0, "toolCode", 0, 8);
+	}
+
+	/**
+	 * Parses one input line and checks it out.
+	 *
+	 * @param line the input line
+	 * @return the rental agreement
+	 * @throws IllegalArgumentException if the line is malformed or the rental service rejects it
+	 */
+	private RentalAgreement checkout(String line) {
+		int end1 = line.indexOf(',');
+		int end2 = end1 < 0 ? -1 : line.indexOf(',', end1 + 1);
+		int end3 = end2 < 0 ? -1 : line.indexOf(',', end2 + 1);
+		int end4 = end3 < 0 ? -1 : line.indexOf(',', end3 + 1);
+		if (end3 < 0 || (end4 >= 0 && line.indexOf(',', end4 + 1) >= 0)) {
+			throw new IllegalArgumentException("Expected 4 or 5 fields: toolCode,rentalDays,discountPercent,checkoutDate,storeId.");
+		}
+		String toolCode = line.substring(0, end1).trim().toUpperCase();
+		int rentalDays = parseInt(line, end1 + 1, end2, "rental day count");
+		int discountPercent = parseInt(line, end2 + 1, end3, "discount percent");
+		LocalDate checkOutDate = parseDate(line, end3 + 1, end4 < 0 ? line.length() : end4);
+		String storeId = end4 < 0 ? null : line.substring(end4 + 1).trim();
+		return rentalService.checkout(storeId, toolCode, rentalDays, discountPercent, checkOutDate);
+	}
+
+	/**
+	 * Parses a decimal integer from part of a line, ignoring surrounding spaces.
+	 */
+	static int parseInt(String line, int from, int to, String field) {
+		while (from < to && line.charAt(from) == ' ') {
+			from++;
+		}
+		while (to > from && line.charAt(to - 1) == ' ') {
+			to--;
+		}
+		boolean negative = from < to && line.charAt(from) == '-';
+		int i = negative ? from + 1 : from;
+		if (i == to || to - i > 9) {
+			throw new IllegalArgumentException("Invalid " + field + ".");
+		}
+		int value = 0;
+		for (; i < to; i++) {
+			int digit = line.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				throw new IllegalArgumentException("Invalid " + field + ".");
+			}
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses an mm/dd/yyyy date from part of a line, ignoring surrounding spaces.
+	 */
+	static LocalDate parseDate(String line, int from, int to) {
+		while (from < to && line.charAt(from) == ' ') {
+			from++;
+		}
+		while (to > from && line.charAt(to - 1) == ' ') {
+			to--;
+		}
+		if (to - from != 10 || line.charAt(from + 2) != '/' || line.charAt(from + 5) != '/') {
+			throw new IllegalArgumentException("Invalid date format. Please use mm/dd/yyyy.");
+		}
+		try {
+			return LocalDate.of(parseInt(line, from + 6, from + 10, "date"), parseInt(line, from, from + 2, "date"),
+					parseInt(line, from + 3, from + 5, "date"));
+		} catch (DateTimeException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid date format. Please use mm/dd/yyyy.");
+		}
+	}
+
+	private void appendCsv(RentalAgreement agreement) {
+		buffer.append(agreement.getToolCode()).append(',')
+				.append(agreement.getToolType()).append(',')
+				.append(agreement.getBrand()).append(',')
+				.append(agreement.getRentalDays()).append(',');
+		appendDate(agreement.getCheckOutDate(), buffer);
+		buffer.append(',');
+		appendDate(agreement.getDueDate(), buffer);
+		buffer.append(',').append(agreement.getDailyCharge().toPlainString())
+				.append(',').append(agreement.getChargeDays())
+				.append(',').append(agreement.getPreDiscountCharge().toPlainString())
+				.append(',').append(agreement.getDiscountPercent())
+				.append(',').append(agreement.getDiscountAmount().toPlainString())
+				.append(',').append(agreement.getFinalCharge().toPlainString());
+	}
+
+	/**
+	 * Appends a date as mm/dd/yyyy.
+	 */
+	static void appendDate(LocalDate date, StringBuilder buffer) {
+		appendTwoDigits(date.getMonthValue(), buffer);
+		buffer.append('/');
+		appendTwoDigits(date.getDayOfMonth(), buffer);
+		buffer.append('/').append(date.getYear());
+	}
+
+	private static void appendTwoDigits(int value, StringBuilder buffer) {
+		buffer.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+
+	/**
+	 * The outcome of a bulk run.
+	 */
+	@Getter
+	public static class Summary {
+
+		private final long rows;
+		private final long errors;
+		private final long elapsedNanos;
+		@Getter(AccessLevel.NONE)
+		private final String outputName;
+
+		Summary(long rows, long errors, long elapsedNanos) {
+			this(rows, errors, elapsedNanos, "agreements");
+		}
+
+		Summary(long rows, long errors, long elapsedNanos, String outputName) {
+			this.rows = rows;
+			this.errors = errors;
+			this.elapsedNanos = elapsedNanos;
+			this.outputName = outputName;
+		}
+
+		/**
+		 * Gets the throughput of the run.
+		 *
+		 * @return the number of rows processed per second
+		 */
+		public double getRowsPerSecond() {
+			return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Processed %d rows (%d %s, %d errors) in %.3f s, %.0f rows/sec",
+					rows, rows - errors, outputName, errors, elapsedNanos / 1_000_000_000.0, getRowsPerSecond());
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package com.interview.test;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.ReturnRequest;
+import com.interview.test.objects.Settlement;
+import com.interview.test.objects.SettlementResult;
+import com.interview.test.service.SettlementService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.LongFunction;
+
+/**
+ * Settles returns streamed one per line, for back-office processing of return files.
+ * <p>
+ * Each input line is {@code agreementId,returnDate[,damageFee]} with the date as mm/dd/yyyy and the damage fee in
+ * dollars, zero when it is left out. Blank lines, lines starting with {@code #} and a leading header line are skipped.
+ * Lines are read in batches of {@value #BATCH_SIZE}; each batch is settled in parallel on an executor and written out in
+ * input order before the next batch is read, so memory use does not depend on the size of the input.
+ */
+public class BulkSettlementRunner {
+
+	static final int BATCH_SIZE = 4096;
+
+	static final String CSV_HEADER = "agreementId,toolCode,dueDate,returnDate,lateDays,lateChargeDays,lateCharge,"
+			+ "damageFee,finalCharge,totalCharge";
+
+	private final SettlementService settlementService;
+	private final LongFunction<RentalAgreement> agreements;
+	private final Executor executor;
+	private final StringBuilder buffer = new StringBuilder(256);
+
+	/**
+	 * Constructs a BulkSettlementRunner.
+	 *
+	 * @param settlementService the settlement service that prices the returns
+	 * @param agreements        looks up an agreement by ID, returning null for an unknown ID, such as
+	 *                          {@link com.interview.test.persistence.AgreementStore#get(long)}
+	 * @param executor          the executor that settles each batch
+	 */
+	public BulkSettlementRunner(SettlementService settlementService, LongFunction<RentalAgreement> agreements,
+								Executor executor) {
+		this.settlementService = settlementService;
+		this.agreements = agreements;
+		this.executor = executor;
+	}
+
+	/**
+	 * Reads returns until the end of the input, writing a settlement line for each valid return and an error line for
+	 * each invalid one.
+	 *
+	 * @param in     the returns, one per line
+	 * @param out    where settlements are written, as CSV preceded by a header line
+	 * @param errors where rejected lines are reported, as {@code line <n>: <message>}
+	 * @return a summary of the run
+	 * @throws IOException if reading or writing fails
+	 */
+	public BulkCheckoutRunner.Summary run(BufferedReader in, Writer out, Writer errors) throws IOException {
+		long startNanos = System.nanoTime();
+		long lineNumber = 0;
+		long rows = 0;
+		long errorCount = 0;
+
+		out.write(CSV_HEADER);
+		out.write('\n');
+
+		List<Row> batch = new ArrayList<>(BATCH_SIZE);
+		List<ReturnRequest> requests = new ArrayList<>(BATCH_SIZE);
+		String line = in.readLine();
+		while (line != null) {
+			batch.clear();
+			requests.clear();
+			for (; line != null && batch.size() < BATCH_SIZE; line = in.readLine()) {
+				lineNumber++;
+				if (isSkipped(line, lineNumber)) {
+					continue;
+				}
+				Row row = new Row(lineNumber);
+				try {
+					row.agreementId = parseRequest(line, row, requests);
+				} catch (IllegalArgumentException e) {
+					row.error = e.getMessage();
+				}
+				batch.add(row);
+			}
+			rows += batch.size();
+
+			List<SettlementResult> results = settlementService.settleAll(requests, executor);
+			for (Row row : batch) {
+				SettlementResult result = row.request < 0 ? null : results.get(row.request);
+				if (result != null && !result.isSuccess()) {
+					row.error = result.getError().getMessage();
+				}
+				if (row.error != null) {
+					errorCount++;
+					errors.write("line " + row.lineNumber + ": " + row.error + "\n");
+					continue;
+				}
+				buffer.setLength(0);
+				appendCsv(row.agreementId, result.getSettlement());
+				out.append(buffer.append('\n'));
+			}
+		}
+		out.flush();
+		errors.flush();
+		return new BulkCheckoutRunner.Summary(rows, errorCount, System.nanoTime() - startNanos, "settlements");
+	}
+
+	private static boolean isSkipped(String line, long lineNumber) {
+		if (line.isEmpty() || line.charAt(0) == '#' || line.trim().isEmpty()) {
+			return true;
+		}
+		return lineNumber == 1 && line.regionMatches(true, 0, "agreementId", 0, 11);
+	}
+
+	/**
+	 * Parses one input line, looks up its agreement and adds the return to the batch.
+	 *
+	 * @param line     the input line
+	 * @param row      the row of the line, which is given the index of its request
+	 * @param requests the returns of the batch
+	 * @return the agreement ID
+	 * @throws IllegalArgumentException if the line is malformed or the agreement is unknown
+	 */
+	private long parseRequest(String line, Row row, List<ReturnRequest> requests) {
+		int end1 = line.indexOf(',');
+		int end2 = end1 < 0 ? -1 : line.indexOf(',', end1 + 1);
+		if (end1 < 0 || (end2 >= 0 && line.indexOf(',', end2 + 1) >= 0)) {
+			throw new IllegalArgumentException("Expected 2 or 3 fields: agreementId,returnDate,damageFee.");
+		}
+		long agreementId = parseLong(line, 0, end1);
+		LocalDate returnDate = BulkCheckoutRunner.parseDate(line, end1 + 1, end2 < 0 ? line.length() : end2);
+		BigDecimal damageFee = end2 < 0 ? BigDecimal.ZERO : parseAmount(line.substring(end2 + 1).trim());
+		RentalAgreement agreement = agreements.apply(agreementId);
+		if (agreement == null) {
+			throw new IllegalArgumentException("Unknown agreement ID.");
+		}
+		row.request = requests.size();
+		requests.add(new ReturnRequest(agreement, returnDate, damageFee));
+		return agreementId;
+	}
+
+	/**
+	 * Parses a positive decimal long from part of a line, ignoring surrounding spaces.
+	 */
+	private static long parseLong(String line, int from, int to) {
+		while (from < to && line.charAt(from) == ' ') {
+			from++;
+		}
+		while (to > from && line.charAt(to - 1) == ' ') {
+			to--;
+		}
+		if (from == to || to - from > 18) {
+			throw new IllegalArgumentException("Invalid agreement ID.");
+		}
+		long value = 0;
+		for (int i = from; i < to; i++) {
+			int digit = line.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				throw new IllegalArgumentException("Invalid agreement ID.");
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	private static BigDecimal parseAmount(String value) {
+		if (value.isEmpty()) {
+			return BigDecimal.ZERO;
+		}
+		try {
+			return new BigDecimal(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid damage fee.");
+		}
+	}
+
+	private void appendCsv(long agreementId, Settlement settlement) {
+		RentalAgreement agreement = settlement.getAgreement();
+		buffer.append(agreementId).append(',').append(agreement.getToolCode()).append(',');
+		BulkCheckoutRunner.appendDate(agreement.getDueDate(), buffer);
+		buffer.append(',');
+		BulkCheckoutRunner.appendDate(settlement.getReturnDate(), buffer);
+		buffer.append(',').append(settlement.getLateDays())
+				.append(',').append(settlement.getLateChargeDays())
+				.append(',').append(settlement.getLateCharge().toPlainString())
+				.append(',').append(settlement.getDamageFee().toPlainString())
+				.append(',').append(agreement.getFinalCharge().toPlainString())
+				.append(',').append(settlement.getTotalCharge().toPlainString());
+	}
+
+	/**
+	 * An input line of the current batch: its return request, or the error that rejected it while parsing.
+	 */
+	private static final class Row {
+
+		final long lineNumber;
+		long agreementId;
+		int request = -1;
+		String error;
+
+		Row(long lineNumber) {
+			this.lineNumber = lineNumber;
+		}
+	}
+}
@@ -1,17 +1,51 @@
 package com.interview.test;
 
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.http.RentalHttpServer;
+import com.interview.test.metrics.RecordingRentalMetrics;
+import com.interview.test.metrics.RentalMetrics;
 import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.persistence.AgreementStore;
 import com.interview.test.service.RentalService;
+import com.interview.test.service.SettlementService;
+import com.interview.test.startup.CheckoutWarmup;
+import com.interview.test.startup.PricingSnapshot;
+import com.interview.test.startup.StartupClock;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The main application class for the tool rental POS system.
  */
 public class ToolRentalApplication {
+	private static final int IO_BUFFER_SIZE = 1 << 16;
+	private static final List<String> OPTIONS = List.of("--bulk", "--format", "--store", "--http", "--returns", "--stores",
+			"--snapshot", "--write-snapshot", "--warmup");
+	private static final List<String> MODES = List.of("--bulk", "--http", "--returns", "--write-snapshot");
+
 	private RentalService rentalService;
 	private Scanner scanner;
 
@@ -28,15 +62,229 @@ public class ToolRentalApplication {
 
 	/**
 	 * The main method that starts the tool rental application.
+	 * <p>
+	 * With no arguments the application prompts for a single rental. With {@code --bulk <file>} it checks out every
+	 * request in the file (or standard input when the file is {@code -}) and streams the agreements to standard output;
+	 * {@code --format json} switches the output from CSV to JSON lines. With {@code --http <port>} it serves checkouts,
+	 * quotes, the catalog and metrics over HTTP until the process is stopped, and publishes the metrics over JMX. With
+	 * {@code --returns <file>} it settles each return in the file against the agreements in the {@code --store} directory
+	 * and streams the settlements to standard output. In the other modes, {@code --store <directory>} appends every
+	 * agreement to the agreement store in that directory. {@code --stores <file>} loads per-store holiday calendars,
+	 * which bulk lines select with a trailing store ID.
+	 * <p>
+	 * {@code --write-snapshot <file>} writes the catalog and store calendars to a {@link PricingSnapshot} and exits, and
+	 * {@code --snapshot <file>} starts any mode from one instead of the catalog CSV and {@code --stores}.
+	 * {@code --warmup <seconds>} runs a {@link CheckoutWarmup} of up to that long before the mode starts; the startup
+	 * time and the time to the first fast checkout are then reported on standard error and in the metrics.
+	 * <p>
+	 * Unknown options, more than one mode, or options that do not go together print the usage and exit with status 2.
+	 *
+	 * @param args command-line arguments
+	 * @throws IOException if bulk input or output, the store calendars file, a snapshot, or the agreement store fails
+	 */
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options;
+		try {
+			options = parseOptions(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: ToolRentalApplication [--bulk <file|-> [--format csv|json] | --http <port>] [--store <directory>] [--stores <file> | --snapshot <file>] [--warmup <seconds>]");
+			System.err.println("       ToolRentalApplication --returns <file|-> --store <directory>");
+			System.err.println("       ToolRentalApplication --write-snapshot <file> [--stores <file>] [--warmup <seconds>]");
+			System.exit(2);
+			return;
+		}
+		String input = options.get("--bulk");
+		String format = options.getOrDefault("--format", "csv");
+		String storeDirectory = options.get("--store");
+		String httpPort = options.get("--http");
+		String returns = options.get("--returns");
+		String stores = options.get("--stores");
+		String snapshot = options.get("--snapshot");
+		String writeSnapshot = options.get("--write-snapshot");
+		String warmup = options.getOrDefault("--warmup", "0");
+
+		RentalMetrics metrics = RentalMetrics.NOOP;
+		if (httpPort != null) {
+			RecordingRentalMetrics recordingMetrics = new RecordingRentalMetrics();
+			recordingMetrics.registerMBean();
+			metrics = recordingMetrics;
+		}
+		ToolCatalog toolCatalog;
+		StoreCalendars storeCalendars;
+		if (snapshot != null) {
+			PricingSnapshot pricingSnapshot = PricingSnapshot.read(Paths.get(snapshot));
+			toolCatalog = pricingSnapshot.getToolCatalog();
+			storeCalendars = pricingSnapshot.getStoreCalendars();
+		} else {
+			toolCatalog = ToolCatalog.getDefault();
+			storeCalendars = stores == null ? new StoreCalendars(HolidayCalendar.defaultCalendar())
+					: StoreCalendars.load(Paths.get(stores), HolidayCalendar.defaultCalendar());
+		}
+		if (writeSnapshot != null) {
+			new PricingSnapshot(toolCatalog, storeCalendars).write(Paths.get(writeSnapshot));
+			System.err.println("Wrote pricing snapshot " + writeSnapshot);
+		}
+		RentalService rentalService = new RentalService(toolCatalog, storeCalendars, null, metrics);
+		long firstFastCheckoutNanos = -1;
+		int warmupSeconds = Integer.parseInt(warmup);
+		if (warmupSeconds > 0) {
+			// Warmed up through the service that serves requests, before any listener can see the warm-up rentals
+			CheckoutWarmup.Result result = new CheckoutWarmup(rentalService).run(Duration.ofSeconds(warmupSeconds));
+			System.err.println(result);
+			firstFastCheckoutNanos = result.getFirstFastCheckoutNanos();
+		}
+		if (writeSnapshot != null) {
+			return;
+		}
+		if (snapshot != null || warmupSeconds > 0) {
+			long readyNanos = StartupClock.nanosSinceJvmStart();
+			metrics.recordStartup(readyNanos, firstFastCheckoutNanos);
+			System.err.printf("Ready %.0f ms after JVM start%n", readyNanos / 1_000_000.0);
+		}
+		AgreementStore store = storeDirectory == null ? null : new AgreementStore(Paths.get(storeDirectory));
+		try {
+			if (store != null) {
+				rentalService.addCheckoutListener(agreement -> {
+					try {
+						store.append(agreement);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			if (returns != null) {
+				runReturns(rentalService, store, returns);
+				return;
+			}
+			if (httpPort != null) {
+				runHttp(rentalService, Integer.parseInt(httpPort));
+				return;
+			}
+			if (input != null) {
+				runBulk(rentalService, input, BulkCheckoutRunner.OutputFormat.valueOf(format.toUpperCase()));
+				return;
+			}
+			Scanner scanner = new Scanner(System.in);
+			ToolRentalApplication app = new ToolRentalApplication(rentalService, scanner);
+			app.run();
+			scanner.close();
+		} finally {
+			if (store != null) {
+				store.close();
+			}
+		}
+	}
+
+	/**
+	 * Parses the command-line options into a map from option to value.
+	 *
+	 * @param args command-line arguments, as option and value pairs
+	 * @return the options given
+	 * @throws IllegalArgumentException if an option is unknown, given twice or has no value or an invalid value, more
+	 *                                  than one mode is chosen, or options that cannot be combined are
+	 */
+	static Map<String, String> parseOptions(String[] args) {
+		if (args.length % 2 != 0) {
+			throw new IllegalArgumentException("Every option takes a value.");
+		}
+		Map<String, String> options = new HashMap<>();
+		for (int i = 0; i < args.length; i += 2) {
+			if (!OPTIONS.contains(args[i])) {
+				throw new IllegalArgumentException("Unknown option " + args[i] + ".");
+			}
+			if (options.put(args[i], args[i + 1]) != null) {
+				throw new IllegalArgumentException("Option " + args[i] + " is given more than once.");
+			}
+		}
+		if (MODES.stream().filter(options::containsKey).count() > 1) {
+			throw new IllegalArgumentException("Only one of " + String.join(", ", MODES) + " may be given.");
+		}
+		String format = options.getOrDefault("--format", "csv");
+		if (!(format.equalsIgnoreCase("csv") || format.equalsIgnoreCase("json"))) {
+			throw new IllegalArgumentException("Format must be csv or json.");
+		}
+		if (options.containsKey("--format") && !options.containsKey("--bulk")) {
+			throw new IllegalArgumentException("--format applies only to --bulk.");
+		}
+		if (options.containsKey("--http") && !options.get("--http").matches("\\d{1,5}")) {
+			throw new IllegalArgumentException("Port must be a number.");
+		}
+		if (options.containsKey("--returns") && !options.containsKey("--store")) {
+			throw new IllegalArgumentException("--returns needs --store.");
+		}
+		if (options.containsKey("--snapshot") && options.containsKey("--stores")) {
+			throw new IllegalArgumentException("--snapshot and --stores cannot be combined.");
+		}
+		if (!options.getOrDefault("--warmup", "0").matches("\\d{1,4}")) {
+			throw new IllegalArgumentException("Warmup must be a number of seconds.");
+		}
+		return options;
+	}
+
+	/**
+	 * Serves the rental service over HTTP until the thread is interrupted.
 	 *
-	 * @param args command-line arguments (not used)
+	 * @param rentalService the rental service to serve
+	 * @param port          the port to listen on
+	 * @throws IOException if the port cannot be bound
 	 */
-	public static void main(String[] args) {
-		RentalService rentalService = new RentalService();
-		Scanner scanner = new Scanner(System.in);
-		ToolRentalApplication app = new ToolRentalApplication(rentalService, scanner);
-		app.run();
-		scanner.close();
+	private static void runHttp(RentalService rentalService, int port) throws IOException {
+		try (RentalHttpServer server = new RentalHttpServer(rentalService, new InetSocketAddress(port))) {
+			server.start();
+			System.err.println("Listening on http://localhost:" + server.getAddress().getPort());
+			Thread.currentThread().join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Settles a file of returns against the agreements in the agreement store.
+	 *
+	 * @param rentalService the rental service the agreements were checked out with
+	 * @param store         the agreement store to look agreements up in
+	 * @param input         the file of returns, or {@code -} for standard input
+	 * @throws IOException if input or output fails
+	 */
+	private static void runReturns(RentalService rentalService, AgreementStore store, String input) throws IOException {
+		BufferedReader in = input.equals("-")
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), IO_BUFFER_SIZE)
+				: new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(input)), StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+		Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+		Writer errors = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.err), StandardCharsets.UTF_8));
+		try {
+			BulkCheckoutRunner.Summary summary = new BulkSettlementRunner(new SettlementService(rentalService), store::get,
+					ForkJoinPool.commonPool()).run(in, out, errors);
+			errors.write(summary + "\n");
+			errors.flush();
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Runs the non-interactive bulk import mode.
+	 *
+	 * @param rentalService the rental service to use for processing rentals
+	 * @param input         the file of rental requests, or {@code -} for standard input
+	 * @param outputFormat  the format to write agreements in
+	 * @throws IOException if input or output fails
+	 */
+	private static void runBulk(RentalService rentalService, String input, BulkCheckoutRunner.OutputFormat outputFormat)
+			throws IOException {
+		BufferedReader in = input.equals("-")
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), IO_BUFFER_SIZE)
+				: new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(input)), StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+		Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+		Writer errors = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.err), StandardCharsets.UTF_8));
+		try {
+			BulkCheckoutRunner.Summary summary = new BulkCheckoutRunner(rentalService, outputFormat).run(in, out, errors);
+			errors.write(summary + "\n");
+			errors.flush();
+		} finally {
+			in.close();
+		}
 	}
 
 	/**
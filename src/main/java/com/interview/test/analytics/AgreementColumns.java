@@ -0,0 +1,381 @@
+package com.interview.test.analytics;
+
+import com.interview.test.objects.RentalAgreement;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * An in-memory, column-oriented table of rental agreements for reporting.
+ * <p>
+ * Each agreement becomes one row of primitive columns: the tool ordinal, the checkout epoch day, the charge days, the
+ * discount percent and the final charge in cents. Tool codes are dictionary-encoded as ordinals, and a tool code keeps
+ * the tool type it was first appended with. Rows are kept in fixed-size blocks, so the table grows without copying
+ * and a query scans each block as a tight loop over arrays, with the blocks summed in parallel on the common
+ * fork-join pool. Blocks whose checkout dates all fall outside a query's date range are skipped.
+ * <p>
+ * The table is a {@link Consumer} of agreements, so it can be registered with
+ * {@link com.interview.test.service.RentalService#addCheckoutListener(Consumer)} to ingest every checkout. Appends and
+ * queries are thread-safe; a query sees the rows appended before it started.
+ */
+public class AgreementColumns implements Consumer<RentalAgreement> {
+
+	static final int BLOCK_ROWS = 1 << 16;
+
+	// 1970-01-01 is a Thursday, so weeks starting on Monday begin 3 days before epoch day 0
+	private static final int MONDAY_OFFSET = 3;
+
+	private final Map<String, Integer> toolOrdinals = new HashMap<>();
+	private String[] toolCodes = new String[0];
+	private String[] toolTypes = new String[0];
+	private Block[] blocks = new Block[16];
+	private int blockCount;
+	private long size;
+
+	/**
+	 * Appends an agreement as a checkout listener.
+	 *
+	 * @param agreement the agreement to append
+	 */
+	@Override
+	public void accept(RentalAgreement agreement) {
+		append(agreement);
+	}
+
+	/**
+	 * Appends an agreement.
+	 *
+	 * @param agreement the agreement to append
+	 * @throws IllegalArgumentException if the final charge is in fractions of a cent
+	 */
+	public void append(RentalAgreement agreement) {
+		long finalChargeCents = agreement.getFinalChargeCents();
+		int checkOutEpochDay = agreement.getCheckOutEpochDay();
+		synchronized (this) {
+			int tool = toolOrdinal(agreement);
+			Block block = blockCount == 0 ? null : blocks[blockCount - 1];
+			if (block == null || block.rows == BLOCK_ROWS) {
+				if (blockCount == blocks.length) {
+					blocks = Arrays.copyOf(blocks, blockCount * 2);
+				}
+				block = new Block();
+				blocks[blockCount++] = block;
+			}
+			block.append(tool, checkOutEpochDay, agreement.getChargeDays(), agreement.getDiscountPercent(), finalChargeCents);
+			size++;
+		}
+	}
+
+	/**
+	 * Appends every agreement of a collection, such as the agreements read back from a store.
+	 *
+	 * @param agreements the agreements to append
+	 * @throws IllegalArgumentException if a final charge is in fractions of a cent
+	 */
+	public void appendAll(Iterable<RentalAgreement> agreements) {
+		for (RentalAgreement agreement : agreements) {
+			append(agreement);
+		}
+	}
+
+	/**
+	 * Gets the number of rows in the table.
+	 *
+	 * @return the number of agreements appended
+	 */
+	public synchronized long size() {
+		return size;
+	}
+
+	/**
+	 * Adds up a measure over the selected agreements.
+	 *
+	 * @param measure the value to add up
+	 * @param filter  the agreements to include
+	 * @return the total
+	 */
+	public long sum(Measure measure, AgreementFilter filter) {
+		return aggregate(snapshot(), measure, filter, Key.NONE, 0, 1)[0];
+	}
+
+	/**
+	 * Adds up a measure over the selected agreements for each tool type.
+	 *
+	 * @param measure the value to add up
+	 * @param filter  the agreements to include
+	 * @return the total of each tool type with at least one selected agreement, by tool type
+	 */
+	public SortedMap<String, Long> sumByToolType(Measure measure, AgreementFilter filter) {
+		Snapshot snapshot = snapshot();
+		return byTool(snapshot, aggregate(snapshot, measure, filter, Key.TOOL, 0, snapshot.toolCodes.length), snapshot.toolTypes);
+	}
+
+	/**
+	 * Adds up a measure over the selected agreements for each tool code.
+	 *
+	 * @param measure the value to add up
+	 * @param filter  the agreements to include
+	 * @return the total of each tool code with at least one selected agreement, by tool code
+	 */
+	public SortedMap<String, Long> sumByToolCode(Measure measure, AgreementFilter filter) {
+		Snapshot snapshot = snapshot();
+		return byTool(snapshot, aggregate(snapshot, measure, filter, Key.TOOL, 0, snapshot.toolCodes.length), snapshot.toolCodes);
+	}
+
+	/**
+	 * Adds up a measure over the selected agreements for each week of checkout dates. Weeks start on Monday.
+	 *
+	 * @param measure the value to add up
+	 * @param filter  the agreements to include
+	 * @return the total of each week with at least one selected agreement, by the Monday that starts the week
+	 */
+	public SortedMap<LocalDate, Long> sumByWeek(Measure measure, AgreementFilter filter) {
+		Snapshot snapshot = snapshot();
+		SortedMap<LocalDate, Long> totals = new TreeMap<>();
+		int minDay = Math.max(filter.getFromEpochDay(), snapshot.minDay());
+		int maxDay = Math.min(filter.getToEpochDay() - 1, snapshot.maxDay());
+		if (minDay > maxDay) {
+			return totals;
+		}
+		int firstWeek = week(minDay);
+		int weekCount = week(maxDay) - firstWeek + 1;
+		long[] sums = aggregate(snapshot, measure, filter, Key.WEEK, firstWeek, weekCount);
+		for (int i = 0; i < weekCount; i++) {
+			if (sums[weekCount + i] > 0) {
+				totals.put(LocalDate.ofEpochDay(7L * (firstWeek + i) - MONDAY_OFFSET), sums[i]);
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * Adds up a measure over the selected agreements for each band of discount percents.
+	 *
+	 * @param measure   the value to add up
+	 * @param bandWidth the number of discount percents in a band; bands start at 0
+	 * @param filter    the agreements to include
+	 * @return the total of each band with at least one selected agreement, by the lowest discount percent in the band
+	 * @throws IllegalArgumentException if bandWidth is less than 1
+	 */
+	public SortedMap<Integer, Long> sumByDiscountBand(Measure measure, int bandWidth, AgreementFilter filter) {
+		if (bandWidth < 1) {
+			throw new IllegalArgumentException("Band width must be 1 or greater.");
+		}
+		int bandCount = 100 / bandWidth + 1;
+		long[] sums = aggregate(snapshot(), measure, filter, Key.DISCOUNT_BAND, bandWidth, bandCount);
+		SortedMap<Integer, Long> totals = new TreeMap<>();
+		for (int i = 0; i < bandCount; i++) {
+			if (sums[bandCount + i] > 0) {
+				totals.put(i * bandWidth, sums[i]);
+			}
+		}
+		return totals;
+	}
+
+	private int toolOrdinal(RentalAgreement agreement) {
+		String toolCode = agreement.getToolCode();
+		Integer ordinal = toolOrdinals.get(toolCode);
+		if (ordinal != null) {
+			return ordinal;
+		}
+		int next = toolCodes.length;
+		toolCodes = Arrays.copyOf(toolCodes, next + 1);
+		toolTypes = Arrays.copyOf(toolTypes, next + 1);
+		toolCodes[next] = toolCode;
+		toolTypes[next] = agreement.getToolType();
+		toolOrdinals.put(toolCode, next);
+		return next;
+	}
+
+	private synchronized Snapshot snapshot() {
+		Block[] current = Arrays.copyOf(blocks, blockCount);
+		return new Snapshot(current, blockCount == 0 ? 0 : current[blockCount - 1].rows, toolCodes, toolTypes);
+	}
+
+	private static SortedMap<String, Long> byTool(Snapshot snapshot, long[] sums, String[] names) {
+		int toolCount = snapshot.toolCodes.length;
+		SortedMap<String, Long> totals = new TreeMap<>();
+		for (int tool = 0; tool < toolCount; tool++) {
+			if (sums[toolCount + tool] > 0) {
+				totals.merge(names[tool], sums[tool], Long::sum);
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * Scans the selected rows of every block in parallel.
+	 *
+	 * @return the sum of each key followed by the number of rows of each key
+	 */
+	private static long[] aggregate(Snapshot snapshot, Measure measure, AgreementFilter filter, Key key, int keyParameter,
+									int keyCount) {
+		Scan scan = new Scan(snapshot, measure, filter, key, keyParameter, keyCount);
+		return IntStream.range(0, snapshot.blocks.length).parallel()
+				.collect(() -> new long[2 * keyCount], scan::scan, (left, right) -> {
+					for (int i = 0; i < left.length; i++) {
+						left[i] += right[i];
+					}
+				});
+	}
+
+	private static int week(int epochDay) {
+		return Math.floorDiv(epochDay + MONDAY_OFFSET, 7);
+	}
+
+	private enum Key {
+		NONE, TOOL, WEEK, DISCOUNT_BAND
+	}
+
+	/**
+	 * One block of rows, filled in order. Rows below {@code rows} never change once written.
+	 */
+	private static final class Block {
+
+		private final int[] tool = new int[BLOCK_ROWS];
+		private final int[] checkOutDay = new int[BLOCK_ROWS];
+		private final int[] chargeDays = new int[BLOCK_ROWS];
+		private final byte[] discountPercent = new byte[BLOCK_ROWS];
+		private final long[] finalChargeCents = new long[BLOCK_ROWS];
+		private int rows;
+		private int minDay = Integer.MAX_VALUE;
+		private int maxDay = Integer.MIN_VALUE;
+
+		private void append(int toolOrdinal, int day, int charged, int discount, long cents) {
+			tool[rows] = toolOrdinal;
+			checkOutDay[rows] = day;
+			chargeDays[rows] = charged;
+			discountPercent[rows] = (byte) discount;
+			finalChargeCents[rows] = cents;
+			minDay = Math.min(minDay, day);
+			maxDay = Math.max(maxDay, day);
+			rows++;
+		}
+	}
+
+	/**
+	 * The blocks and tool dictionary as of the start of a query.
+	 */
+	private static final class Snapshot {
+
+		private final Block[] blocks;
+		private final int lastBlockRows;
+		private final String[] toolCodes;
+		private final String[] toolTypes;
+
+		private Snapshot(Block[] blocks, int lastBlockRows, String[] toolCodes, String[] toolTypes) {
+			this.blocks = blocks;
+			this.lastBlockRows = lastBlockRows;
+			this.toolCodes = toolCodes;
+			this.toolTypes = toolTypes;
+		}
+
+		private int rows(int block) {
+			return block == blocks.length - 1 ? lastBlockRows : BLOCK_ROWS;
+		}
+
+		private int minDay() {
+			int min = Integer.MAX_VALUE;
+			for (Block block : blocks) {
+				min = Math.min(min, block.minDay);
+			}
+			return min;
+		}
+
+		private int maxDay() {
+			int max = Integer.MIN_VALUE;
+			for (Block block : blocks) {
+				max = Math.max(max, block.maxDay);
+			}
+			return max;
+		}
+	}
+
+	/**
+	 * A query resolved to primitive bounds, applied to one block at a time.
+	 */
+	private static final class Scan {
+
+		private final Snapshot snapshot;
+		private final Measure measure;
+		private final Key key;
+		private final int keyParameter;
+		private final int keyCount;
+		private final int fromDay;
+		private final int toDay;
+		private final int minDiscount;
+		private final int maxDiscount;
+		private final boolean[] selectedTools;
+
+		private Scan(Snapshot snapshot, Measure measure, AgreementFilter filter, Key key, int keyParameter, int keyCount) {
+			this.snapshot = snapshot;
+			this.measure = measure;
+			this.key = key;
+			this.keyParameter = keyParameter;
+			this.keyCount = keyCount;
+			this.fromDay = filter.getFromEpochDay();
+			this.toDay = filter.getToEpochDay();
+			this.minDiscount = filter.getMinDiscountPercent();
+			this.maxDiscount = filter.getMaxDiscountPercent();
+			if (filter.getToolType() == null && filter.getToolCode() == null) {
+				this.selectedTools = null;
+			} else {
+				this.selectedTools = new boolean[snapshot.toolCodes.length];
+				for (int tool = 0; tool < selectedTools.length; tool++) {
+					selectedTools[tool] = (filter.getToolType() == null || filter.getToolType().equals(snapshot.toolTypes[tool]))
+							&& (filter.getToolCode() == null || filter.getToolCode().equals(snapshot.toolCodes[tool]));
+				}
+			}
+		}
+
+		private void scan(long[] sums, int blockIndex) {
+			Block block = snapshot.blocks[blockIndex];
+			if (block.maxDay < fromDay || block.minDay >= toDay) {
+				return;
+			}
+			int rows = snapshot.rows(blockIndex);
+			int[] tool = block.tool;
+			int[] checkOutDay = block.checkOutDay;
+			byte[] discountPercent = block.discountPercent;
+			for (int i = 0; i < rows; i++) {
+				int day = checkOutDay[i];
+				int discount = discountPercent[i];
+				if (day < fromDay || day >= toDay || discount < minDiscount || discount > maxDiscount
+						|| (selectedTools != null && !selectedTools[tool[i]])) {
+					continue;
+				}
+				int k;
+				switch (key) {
+					case TOOL:
+						k = tool[i];
+						break;
+					case WEEK:
+						k = week(day) - keyParameter;
+						break;
+					case DISCOUNT_BAND:
+						k = discount / keyParameter;
+						break;
+					default:
+						k = 0;
+				}
+				switch (measure) {
+					case REVENUE_CENTS:
+						sums[k] += block.finalChargeCents[i];
+						break;
+					case CHARGE_DAYS:
+						sums[k] += block.chargeDays[i];
+						break;
+					default:
+						sums[k]++;
+				}
+				sums[keyCount + k]++;
+			}
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.interview.test.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Selects the agreements an {@link AgreementColumns} query runs over.
+ * <p>
+ * A filter is immutable; each {@code with} method returns a narrower copy. Conditions combine with AND.
+ */
+public final class AgreementFilter {
+
+	private static final AgreementFilter ALL = new AgreementFilter(Integer.MIN_VALUE, Integer.MAX_VALUE, null, null, 0, 100);
+
+	private final int fromEpochDay;
+	private final int toEpochDay;
+	private final String toolType;
+	private final String toolCode;
+	private final int minDiscountPercent;
+	private final int maxDiscountPercent;
+
+	private AgreementFilter(int fromEpochDay, int toEpochDay, String toolType, String toolCode, int minDiscountPercent,
+							int maxDiscountPercent) {
+		this.fromEpochDay = fromEpochDay;
+		this.toEpochDay = toEpochDay;
+		this.toolType = toolType;
+		this.toolCode = toolCode;
+		this.minDiscountPercent = minDiscountPercent;
+		this.maxDiscountPercent = maxDiscountPercent;
+	}
+
+	/**
+	 * Gets the filter that selects every agreement.
+	 *
+	 * @return the filter
+	 */
+	public static AgreementFilter all() {
+		return ALL;
+	}
+
+	/**
+	 * Selects agreements checked out in a range of dates.
+	 *
+	 * @param from the first checkout date to select
+	 * @param to   the day after the last checkout date to select
+	 * @return the narrowed filter
+	 * @throws IllegalArgumentException if to is before from
+	 */
+	public AgreementFilter withCheckOutDates(LocalDate from, LocalDate to) {
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("End date must not be before the start date.");
+		}
+		int from32 = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, from.toEpochDay()));
+		int to32 = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, to.toEpochDay()));
+		return new AgreementFilter(Math.max(fromEpochDay, from32), Math.min(toEpochDay, to32), toolType, toolCode,
+				minDiscountPercent, maxDiscountPercent);
+	}
+
+	/**
+	 * Selects agreements for tools of one type.
+	 *
+	 * @param toolType the tool type
+	 * @return the narrowed filter
+	 */
+	public AgreementFilter withToolType(String toolType) {
+		return new AgreementFilter(fromEpochDay, toEpochDay, toolType, toolCode, minDiscountPercent, maxDiscountPercent);
+	}
+
+	/**
+	 * Selects agreements for one tool.
+	 *
+	 * @param toolCode the tool code
+	 * @return the narrowed filter
+	 */
+	public AgreementFilter withToolCode(String toolCode) {
+		return new AgreementFilter(fromEpochDay, toEpochDay, toolType, toolCode, minDiscountPercent, maxDiscountPercent);
+	}
+
+	/**
+	 * Selects agreements with a discount in a range.
+	 *
+	 * @param min the smallest discount percent to select
+	 * @param max the largest discount percent to select
+	 * @return the narrowed filter
+	 * @throws IllegalArgumentException if the range is not within 0 to 100
+	 */
+	public AgreementFilter withDiscountPercent(int min, int max) {
+		if (min < 0 || max > 100 || min > max) {
+			throw new IllegalArgumentException("Discount range must be within 0 and 100.");
+		}
+		return new AgreementFilter(fromEpochDay, toEpochDay, toolType, toolCode, Math.max(minDiscountPercent, min),
+				Math.min(maxDiscountPercent, max));
+	}
+
+	int getFromEpochDay() {
+		return fromEpochDay;
+	}
+
+	int getToEpochDay() {
+		return toEpochDay;
+	}
+
+	String getToolType() {
+		return toolType;
+	}
+
+	String getToolCode() {
+		return toolCode;
+	}
+
+	int getMinDiscountPercent() {
+		return minDiscountPercent;
+	}
+
+	int getMaxDiscountPercent() {
+		return maxDiscountPercent;
+	}
+}
@@ -0,0 +1,19 @@
+package com.interview.test.analytics;
+
+/**
+ * The values an {@link AgreementColumns} query adds up.
+ */
+public enum Measure {
+	/**
+	 * The final charge of each agreement, in cents.
+	 */
+	REVENUE_CENTS,
+	/**
+	 * The charge days of each agreement.
+	 */
+	CHARGE_DAYS,
+	/**
+	 * One per agreement, to count agreements.
+	 */
+	AGREEMENTS
+}
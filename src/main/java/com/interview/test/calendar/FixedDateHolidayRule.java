@@ -0,0 +1,39 @@
+package com.interview.test.calendar;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+/**
+ * A holiday that falls on the same month and day every year, such as Independence Day.
+ * Rules with the same details are equal, so identical calendars can be recognised and shared.
+ */
+@EqualsAndHashCode
+@Getter(AccessLevel.PACKAGE)
+public class FixedDateHolidayRule implements HolidayRule {
+
+	private final Month month;
+	private final int dayOfMonth;
+	private final ObservedShift observedShift;
+
+	/**
+	 * Constructs a FixedDateHolidayRule with the specified details.
+	 *
+	 * @param month         the month of the holiday
+	 * @param dayOfMonth    the day of the month of the holiday
+	 * @param observedShift how the holiday is moved when it falls on a weekend
+	 */
+	public FixedDateHolidayRule(Month month, int dayOfMonth, ObservedShift observedShift) {
+		this.month = month;
+		this.dayOfMonth = dayOfMonth;
+		this.observedShift = observedShift;
+	}
+
+	@Override
+	public LocalDate observedDate(int year) {
+		return observedShift.apply(LocalDate.of(year, month, dayOfMonth));
+	}
+}
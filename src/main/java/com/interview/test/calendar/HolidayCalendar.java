@@ -0,0 +1,299 @@
+package com.interview.test.calendar;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A calendar of observed holidays built from a set of {@link HolidayRule}s.
+ * <p>
+ * The holidays of each year are computed once and kept as a sorted array of epoch days, so checking a date or
+ * counting the holidays in a range costs a binary search per year instead of re-evaluating the rules.
+ */
+public class HolidayCalendar {
+
+	/**
+	 * The first year whose holidays are cached.
+	 */
+	public static final int FIRST_CACHED_YEAR = 1900;
+
+	/**
+	 * The last year whose holidays are cached.
+	 */
+	public static final int LAST_CACHED_YEAR = 2299;
+
+	private static final long[] YEAR_START_EPOCH_DAYS = new long[LAST_CACHED_YEAR - FIRST_CACHED_YEAR + 2];
+
+	static {
+		for (int i = 0; i < YEAR_START_EPOCH_DAYS.length; i++) {
+			YEAR_START_EPOCH_DAYS[i] = LocalDate.of(FIRST_CACHED_YEAR + i, 1, 1).toEpochDay();
+		}
+	}
+
+	private static final byte FIXED_DATE_RULE = 1;
+	private static final byte NTH_WEEKDAY_RULE = 2;
+	private static final int MAX_RULES = 1 << 16;
+
+	private static final HolidayCalendar DEFAULT_CALENDAR = new HolidayCalendar(Arrays.asList(
+			new FixedDateHolidayRule(Month.JULY, 4, ObservedShift.NEAREST_WEEKDAY),
+			new NthWeekdayHolidayRule(Month.SEPTEMBER, DayOfWeek.MONDAY, 1)));
+
+	private final List<HolidayRule> rules;
+	private final AtomicReferenceArray<long[]> holidaysByYear = new AtomicReferenceArray<>(LAST_CACHED_YEAR - FIRST_CACHED_YEAR + 1);
+
+	/**
+	 * Constructs a HolidayCalendar with the specified rules.
+	 *
+	 * @param rules the rules that determine the observed holidays
+	 */
+	public HolidayCalendar(List<HolidayRule> rules) {
+		this.rules = new ArrayList<>(rules);
+	}
+
+	/**
+	 * Gets the default calendar, which observes Independence Day and Labor Day.
+	 *
+	 * @return the default holiday calendar
+	 */
+	public static HolidayCalendar defaultCalendar() {
+		return DEFAULT_CALENDAR;
+	}
+
+	/**
+	 * Computes the holidays of every cached year now instead of on first use, so no later lookup evaluates the rules.
+	 */
+	public void precompute() {
+		for (int year = FIRST_CACHED_YEAR; year <= LAST_CACHED_YEAR; year++) {
+			getHolidays(year);
+		}
+	}
+
+	/**
+	 * Checks if a given date is a holiday.
+	 *
+	 * @param date the date to check
+	 * @return true if the date is a holiday, false otherwise
+	 */
+	public boolean isHoliday(LocalDate date) {
+		return Arrays.binarySearch(getHolidays(date.getYear()), date.toEpochDay()) >= 0;
+	}
+
+	/**
+	 * Checks if a given epoch day is a holiday.
+	 *
+	 * @param epochDay the epoch day to check
+	 * @return true if the day is a holiday, false otherwise
+	 */
+	public boolean isHoliday(long epochDay) {
+		return Arrays.binarySearch(getHolidays(yearOf(epochDay)), epochDay) >= 0;
+	}
+
+	/**
+	 * Counts the holidays between two epoch days, inclusive.
+	 *
+	 * @param fromEpochDay the first day of the range
+	 * @param toEpochDay   the last day of the range
+	 * @return the number of holidays in the range
+	 */
+	public int countHolidays(long fromEpochDay, long toEpochDay) {
+		return countHolidays(fromEpochDay, toEpochDay, null);
+	}
+
+	/**
+	 * Counts the holidays between two epoch days, inclusive, and tallies them by day of the week.
+	 *
+	 * @param fromEpochDay     the first day of the range
+	 * @param toEpochDay       the last day of the range
+	 * @param countsByDayOfWeek an array of seven counters indexed from Monday, incremented for each holiday found,
+	 *                         or null if only the total is needed
+	 * @return the number of holidays in the range
+	 */
+	public int countHolidays(long fromEpochDay, long toEpochDay, int[] countsByDayOfWeek) {
+		if (fromEpochDay > toEpochDay) {
+			return 0;
+		}
+		int count = 0;
+		int lastYear = yearOf(toEpochDay);
+		for (int year = yearOf(fromEpochDay); year <= lastYear; year++) {
+			long[] holidays = getHolidays(year);
+			for (int i = lowerBound(holidays, fromEpochDay); i < holidays.length && holidays[i] <= toEpochDay; i++) {
+				if (countsByDayOfWeek != null) {
+					countsByDayOfWeek[dayOfWeekIndex(holidays[i])]++;
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the observed holidays of a year as sorted epoch days.
+	 *
+	 * @param year the year to check
+	 * @return the sorted, distinct epoch days of the holidays in the year; the array must not be modified
+	 */
+	long[] getHolidays(int year) {
+		if (year < FIRST_CACHED_YEAR || year > LAST_CACHED_YEAR) {
+			return computeHolidays(year);
+		}
+		long[] holidays = holidaysByYear.get(year - FIRST_CACHED_YEAR);
+		if (holidays == null) {
+			holidays = computeHolidays(year);
+			holidaysByYear.set(year - FIRST_CACHED_YEAR, holidays);
+		}
+		return holidays;
+	}
+
+	/**
+	 * Evaluates every rule for a year. The neighbouring years are evaluated too, because a holiday can be observed
+	 * in the year before or after its actual date.
+	 *
+	 * @param year the year to compute
+	 * @return the sorted, distinct epoch days of the holidays observed in the year
+	 */
+	private long[] computeHolidays(int year) {
+		long[] holidays = new long[rules.size() * 3];
+		int count = 0;
+		for (HolidayRule rule : rules) {
+			for (int ruleYear = year - 1; ruleYear <= year + 1; ruleYear++) {
+				LocalDate date = rule.observedDate(ruleYear);
+				if (date != null && date.getYear() == year) {
+					holidays[count++] = date.toEpochDay();
+				}
+			}
+		}
+		Arrays.sort(holidays, 0, count);
+		int distinct = 0;
+		for (int i = 0; i < count; i++) {
+			if (distinct == 0 || holidays[distinct - 1] != holidays[i]) {
+				holidays[distinct++] = holidays[i];
+			}
+		}
+		return Arrays.copyOf(holidays, distinct);
+	}
+
+	/**
+	 * Writes the rules of this calendar and the holidays of every cached year.
+	 *
+	 * @param out the output to write to
+	 * @throws IOException              if writing fails
+	 * @throws IllegalArgumentException if a rule is not one of the built-in kinds
+	 */
+	void writeTo(DataOutput out) throws IOException {
+		out.writeInt(rules.size());
+		for (HolidayRule rule : rules) {
+			if (rule instanceof FixedDateHolidayRule fixed) {
+				out.writeByte(FIXED_DATE_RULE);
+				out.writeUTF(fixed.getMonth().name());
+				out.writeInt(fixed.getDayOfMonth());
+				out.writeUTF(fixed.getObservedShift().name());
+			} else if (rule instanceof NthWeekdayHolidayRule nth) {
+				out.writeByte(NTH_WEEKDAY_RULE);
+				out.writeUTF(nth.getMonth().name());
+				out.writeUTF(nth.getDayOfWeek().name());
+				out.writeInt(nth.getOrdinal());
+			} else {
+				throw new IllegalArgumentException("Holiday rule " + rule.getClass().getName() + " cannot be written.");
+			}
+		}
+		for (int year = FIRST_CACHED_YEAR; year <= LAST_CACHED_YEAR; year++) {
+			long[] holidays = getHolidays(year);
+			out.writeShort(holidays.length);
+			for (long holiday : holidays) {
+				out.writeInt((int) holiday);
+			}
+		}
+	}
+
+	/**
+	 * Reads a calendar written by {@link #writeTo(DataOutput)}, with the holidays of every cached year already in its
+	 * cache.
+	 *
+	 * @param in the input to read from
+	 * @return the calendar
+	 * @throws IOException              if reading fails
+	 * @throws IllegalArgumentException if the input is not a valid calendar
+	 */
+	static HolidayCalendar readFrom(DataInput in) throws IOException {
+		int ruleCount = in.readInt();
+		if (ruleCount < 0 || ruleCount > MAX_RULES) {
+			throw new IllegalArgumentException("Invalid holiday rule count " + ruleCount + ".");
+		}
+		List<HolidayRule> rules = new ArrayList<>(ruleCount);
+		for (int i = 0; i < ruleCount; i++) {
+			byte kind = in.readByte();
+			if (kind == FIXED_DATE_RULE) {
+				rules.add(new FixedDateHolidayRule(Month.valueOf(in.readUTF()), in.readInt(), ObservedShift.valueOf(in.readUTF())));
+			} else if (kind == NTH_WEEKDAY_RULE) {
+				rules.add(new NthWeekdayHolidayRule(Month.valueOf(in.readUTF()), DayOfWeek.valueOf(in.readUTF()), in.readInt()));
+			} else {
+				throw new IllegalArgumentException("Unknown holiday rule kind " + kind + ".");
+			}
+		}
+		HolidayCalendar calendar = new HolidayCalendar(rules);
+		for (int year = FIRST_CACHED_YEAR; year <= LAST_CACHED_YEAR; year++) {
+			long[] holidays = new long[in.readUnsignedShort()];
+			for (int i = 0; i < holidays.length; i++) {
+				holidays[i] = in.readInt();
+			}
+			calendar.holidaysByYear.set(year - FIRST_CACHED_YEAR, holidays);
+		}
+		return calendar;
+	}
+
+	/**
+	 * Gets the day of the week of an epoch day.
+	 *
+	 * @param epochDay the epoch day
+	 * @return the day of the week as an index from 0 (Monday) to 6 (Sunday)
+	 */
+	public static int dayOfWeekIndex(long epochDay) {
+		// 1970-01-01 was a Thursday
+		return (int) Math.floorMod(epochDay + 3, 7L);
+	}
+
+	/**
+	 * Gets the year of an epoch day without creating a date.
+	 *
+	 * @param epochDay the epoch day
+	 * @return the year containing the day
+	 */
+	static int yearOf(long epochDay) {
+		if (epochDay < YEAR_START_EPOCH_DAYS[0] || epochDay >= YEAR_START_EPOCH_DAYS[YEAR_START_EPOCH_DAYS.length - 1]) {
+			return LocalDate.ofEpochDay(epochDay).getYear();
+		}
+		int index = (int) ((epochDay - YEAR_START_EPOCH_DAYS[0]) / 366);
+		while (YEAR_START_EPOCH_DAYS[index + 1] <= epochDay) {
+			index++;
+		}
+		return FIRST_CACHED_YEAR + index;
+	}
+
+	/**
+	 * Finds the index of the first element that is not less than a key.
+	 *
+	 * @param sorted the sorted array to search
+	 * @param key    the key to find
+	 * @return the index of the first element greater than or equal to the key
+	 */
+	private static int lowerBound(long[] sorted, long key) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
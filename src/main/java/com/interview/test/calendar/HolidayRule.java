@@ -0,0 +1,17 @@
+package com.interview.test.calendar;
+
+import java.time.LocalDate;
+
+/**
+ * A rule that determines the observed date of a holiday in a given year.
+ */
+public interface HolidayRule {
+
+	/**
+	 * Gets the date on which the holiday is observed in the given year.
+	 *
+	 * @param year the year to check
+	 * @return the observed date of the holiday, or null if the holiday is not observed that year
+	 */
+	LocalDate observedDate(int year);
+}
@@ -0,0 +1,54 @@
+package com.interview.test.calendar;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+
+/**
+ * A holiday that falls on the nth occurrence of a day of the week in a month, such as Labor Day, or on its last
+ * occurrence, such as Memorial Day. Rules with the same details are equal.
+ */
+@EqualsAndHashCode
+@Getter(AccessLevel.PACKAGE)
+public class NthWeekdayHolidayRule implements HolidayRule {
+
+	private final Month month;
+	private final DayOfWeek dayOfWeek;
+	private final int ordinal;
+
+	/**
+	 * Constructs a NthWeekdayHolidayRule with the specified details.
+	 *
+	 * @param month     the month of the holiday
+	 * @param dayOfWeek the day of the week of the holiday
+	 * @param ordinal   which occurrence of the day of the week, starting at 1, or -1 for the last one
+	 * @throws IllegalArgumentException if ordinal is not between 1 and 5 or -1
+	 */
+	public NthWeekdayHolidayRule(Month month, DayOfWeek dayOfWeek, int ordinal) {
+		if ((ordinal < 1 || ordinal > 5) && ordinal != -1) {
+			throw new IllegalArgumentException("Ordinal must be between 1 and 5, or -1 for the last occurrence.");
+		}
+		this.month = month;
+		this.dayOfWeek = dayOfWeek;
+		this.ordinal = ordinal;
+	}
+
+	@Override
+	public LocalDate observedDate(int year) {
+		LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+		if (ordinal == -1) {
+			LocalDate lastOfMonth = firstOfMonth.withDayOfMonth(firstOfMonth.lengthOfMonth());
+			return lastOfMonth.minusDays((lastOfMonth.getDayOfWeek().getValue() - dayOfWeek.getValue() + 7) % 7);
+		}
+		int offset = (dayOfWeek.getValue() - firstOfMonth.getDayOfWeek().getValue() + 7) % 7;
+		int dayOfMonth = 1 + offset + (ordinal - 1) * 7;
+		if (dayOfMonth > firstOfMonth.lengthOfMonth()) {
+			return null;
+		}
+		return firstOfMonth.withDayOfMonth(dayOfMonth);
+	}
+}
@@ -0,0 +1,48 @@
+package com.interview.test.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Describes how a holiday falling on a weekend is moved to the day it is observed.
+ */
+public enum ObservedShift {
+
+	/**
+	 * The holiday is observed on its actual date, even on a weekend.
+	 */
+	NONE,
+
+	/**
+	 * A Saturday holiday is observed on the Friday before and a Sunday holiday on the Monday after.
+	 */
+	NEAREST_WEEKDAY,
+
+	/**
+	 * A Saturday or Sunday holiday is observed on the Monday after.
+	 */
+	NEXT_WEEKDAY;
+
+	/**
+	 * Applies this shift to the actual date of a holiday.
+	 *
+	 * @param date the actual date of the holiday
+	 * @return the observed date of the holiday
+	 */
+	public LocalDate apply(LocalDate date) {
+		if (this == NEAREST_WEEKDAY) {
+			if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+				return date.minusDays(1);
+			} else if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+				return date.plusDays(1);
+			}
+		} else if (this == NEXT_WEEKDAY) {
+			if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+				return date.plusDays(2);
+			} else if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+				return date.plusDays(1);
+			}
+		}
+		return date;
+	}
+}
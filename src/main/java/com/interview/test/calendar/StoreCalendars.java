@@ -0,0 +1,258 @@
+package com.interview.test.calendar;
+
+import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The holiday calendar of each store, for chains that operate in several jurisdictions.
+ * <p>
+ * Calendars are defined by name and stores are assigned to them, so memory grows with the number of distinct
+ * calendars rather than the number of stores; calendars defined with the same rules, in any order, are compiled once
+ * and shared. Each {@link HolidayCalendar} caches the holidays of a year on first use, so a lookup by store and year
+ * is a hash lookup and an array read after warm-up, and the cache of a calendar never holds more than
+ * {@code LAST_CACHED_YEAR - FIRST_CACHED_YEAR + 1} years.
+ * <p>
+ * Definitions are loaded from CSV with one entry per line. Blank lines and lines starting with {@code #} are ignored.
+ * <ul>
+ *     <li>{@code calendar,<name>,fixed,<month>,<dayOfMonth>,<NONE|NEAREST_WEEKDAY|NEXT_WEEKDAY>} adds a holiday on a
+ *     fixed date;</li>
+ *     <li>{@code calendar,<name>,nth,<month>,<dayOfWeek>,<ordinal>} adds a holiday on the nth day of the week of a
+ *     month, or the last one when the ordinal is -1;</li>
+ *     <li>{@code store,<storeId>,<name>} assigns a store to a calendar.</li>
+ * </ul>
+ * Months and days of the week are written as in {@link Month} and {@link DayOfWeek}, in any case.
+ */
+public class StoreCalendars {
+
+	private static final int MAX_SERIALIZED_CALENDARS = 1 << 16;
+
+	private final HolidayCalendar defaultCalendar;
+	private final Map<String, HolidayCalendar> calendarsByStore;
+	private final int calendarCount;
+
+	/**
+	 * Constructs a StoreCalendars with no stores.
+	 *
+	 * @param defaultCalendar the calendar for rentals that do not name a store
+	 */
+	public StoreCalendars(HolidayCalendar defaultCalendar) {
+		this(defaultCalendar, Collections.emptyMap(), 0);
+	}
+
+	private StoreCalendars(HolidayCalendar defaultCalendar, Map<String, HolidayCalendar> calendarsByStore, int calendarCount) {
+		this.defaultCalendar = defaultCalendar;
+		this.calendarsByStore = calendarsByStore;
+		this.calendarCount = calendarCount;
+	}
+
+	/**
+	 * Loads store calendars from a CSV file.
+	 *
+	 * @param source          the CSV file to load
+	 * @param defaultCalendar the calendar for rentals that do not name a store
+	 * @return the loaded store calendars
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not valid
+	 */
+	public static StoreCalendars load(Path source, HolidayCalendar defaultCalendar) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+			return parse(reader, defaultCalendar);
+		}
+	}
+
+	/**
+	 * Parses store calendars from CSV.
+	 *
+	 * @param reader          the reader to parse
+	 * @param defaultCalendar the calendar for rentals that do not name a store
+	 * @return the parsed store calendars
+	 * @throws IOException              if reading fails
+	 * @throws IllegalArgumentException if a line is not valid, a store is assigned twice, or a store is assigned to a
+	 *                                  calendar that is not defined
+	 */
+	public static StoreCalendars parse(BufferedReader reader, HolidayCalendar defaultCalendar) throws IOException {
+		Map<String, Set<HolidayRule>> rulesByCalendar = new LinkedHashMap<>();
+		Map<String, String> calendarByStore = new LinkedHashMap<>();
+		int lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] fields = line.split(",", -1);
+			for (int i = 0; i < fields.length; i++) {
+				fields[i] = fields[i].trim();
+			}
+			try {
+				if (fields[0].equals("calendar") && fields.length == 6) {
+					rulesByCalendar.computeIfAbsent(fields[1], name -> new LinkedHashSet<>()).add(parseRule(fields));
+				} else if (fields[0].equals("store") && fields.length == 3) {
+					if (calendarByStore.put(fields[1], fields[2]) != null) {
+						throw new IllegalArgumentException("Store " + fields[1] + " is assigned twice.");
+					}
+				} else {
+					throw new IllegalArgumentException("Expected calendar,<name>,<fixed|nth>,... or store,<storeId>,<name>.");
+				}
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+			}
+		}
+
+		// Calendars with the same rules share one compiled calendar and its cache
+		Map<Set<HolidayRule>, HolidayCalendar> compiled = new HashMap<>();
+		Map<String, HolidayCalendar> calendarsByName = new HashMap<>();
+		rulesByCalendar.forEach((name, rules) -> calendarsByName.put(name,
+				compiled.computeIfAbsent(rules, key -> new HolidayCalendar(new ArrayList<>(key)))));
+		Map<String, HolidayCalendar> calendarsByStore = new HashMap<>();
+		calendarByStore.forEach((storeId, name) -> {
+			HolidayCalendar calendar = calendarsByName.get(name);
+			if (calendar == null) {
+				throw new IllegalArgumentException("Store " + storeId + " is assigned to undefined calendar " + name + ".");
+			}
+			calendarsByStore.put(storeId, calendar);
+		});
+		return new StoreCalendars(defaultCalendar, calendarsByStore, compiled.size());
+	}
+
+	/**
+	 * Writes the default calendar, every distinct store calendar and the store assignments in binary form. Each
+	 * calendar is written with the holidays of every cached year, so calendars read back never evaluate their rules
+	 * for those years.
+	 *
+	 * @param out the output to write to
+	 * @throws IOException              if writing fails
+	 * @throws IllegalArgumentException if a calendar has a rule that is not one of the built-in kinds
+	 * @see #readFrom(DataInput)
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		Map<HolidayCalendar, Integer> indices = new IdentityHashMap<>();
+		List<HolidayCalendar> calendars = new ArrayList<>();
+		indices.put(defaultCalendar, 0);
+		calendars.add(defaultCalendar);
+		for (HolidayCalendar calendar : calendarsByStore.values()) {
+			if (indices.putIfAbsent(calendar, calendars.size()) == null) {
+				calendars.add(calendar);
+			}
+		}
+		out.writeInt(calendars.size());
+		for (HolidayCalendar calendar : calendars) {
+			calendar.writeTo(out);
+		}
+		out.writeInt(calendarsByStore.size());
+		for (Map.Entry<String, HolidayCalendar> entry : calendarsByStore.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeInt(indices.get(entry.getValue()));
+		}
+		out.writeInt(calendarCount);
+	}
+
+	/**
+	 * Reads store calendars written by {@link #writeTo(DataOutput)}. Stores that shared a calendar share it again.
+	 *
+	 * @param in the input to read from
+	 * @return the store calendars
+	 * @throws IOException              if reading fails
+	 * @throws IllegalArgumentException if the input is not valid store calendars
+	 */
+	public static StoreCalendars readFrom(DataInput in) throws IOException {
+		int calendarCount = in.readInt();
+		if (calendarCount < 1 || calendarCount > MAX_SERIALIZED_CALENDARS) {
+			throw new IllegalArgumentException("Invalid calendar count " + calendarCount + ".");
+		}
+		HolidayCalendar[] calendars = new HolidayCalendar[calendarCount];
+		for (int i = 0; i < calendarCount; i++) {
+			calendars[i] = HolidayCalendar.readFrom(in);
+		}
+		int storeCount = in.readInt();
+		if (storeCount < 0) {
+			throw new IllegalArgumentException("Invalid store count " + storeCount + ".");
+		}
+		Map<String, HolidayCalendar> calendarsByStore = new HashMap<>();
+		for (int i = 0; i < storeCount; i++) {
+			String storeId = in.readUTF();
+			int index = in.readInt();
+			if (index < 0 || index >= calendarCount) {
+				throw new IllegalArgumentException("Store " + storeId + " refers to missing calendar " + index + ".");
+			}
+			calendarsByStore.put(storeId, calendars[index]);
+		}
+		return new StoreCalendars(calendars[0], calendarsByStore, in.readInt());
+	}
+
+	private static HolidayRule parseRule(String[] fields) {
+		Month month = Month.valueOf(fields[3].toUpperCase(Locale.ROOT));
+		if (fields[2].equals("fixed")) {
+			return new FixedDateHolidayRule(month, parseInt(fields[4]),
+					ObservedShift.valueOf(fields[5].toUpperCase(Locale.ROOT)));
+		} else if (fields[2].equals("nth")) {
+			return new NthWeekdayHolidayRule(month, DayOfWeek.valueOf(fields[4].toUpperCase(Locale.ROOT)),
+					parseInt(fields[5]));
+		}
+		throw new IllegalArgumentException("Unknown holiday rule type " + fields[2] + ".");
+	}
+
+	private static int parseInt(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid number " + value + ".");
+		}
+	}
+
+	/**
+	 * Gets the calendar for rentals that do not name a store.
+	 *
+	 * @return the default calendar
+	 */
+	public HolidayCalendar getDefaultCalendar() {
+		return defaultCalendar;
+	}
+
+	/**
+	 * Gets the calendar of a store.
+	 *
+	 * @param storeId the store ID, or null for the default calendar
+	 * @return the store's calendar, or null if the store is unknown
+	 */
+	public HolidayCalendar getCalendar(String storeId) {
+		return storeId == null ? defaultCalendar : calendarsByStore.get(storeId);
+	}
+
+	/**
+	 * Gets the IDs of the stores with a calendar.
+	 *
+	 * @return an unmodifiable view of the store IDs
+	 */
+	public Collection<String> getStoreIds() {
+		return Collections.unmodifiableSet(calendarsByStore.keySet());
+	}
+
+	/**
+	 * Gets the number of distinct calendars the stores use, not counting the default calendar.
+	 *
+	 * @return the number of compiled calendars
+	 */
+	public int getCalendarCount() {
+		return calendarCount;
+	}
+}
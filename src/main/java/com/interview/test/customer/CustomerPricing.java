@@ -0,0 +1,170 @@
+package com.interview.test.customer;
+
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link CustomerProfile} resolved against one version of a {@link ToolCatalog}, ready to price orders.
+ * <p>
+ * Resolving works out the base and tool type discount of every tool in the catalog once, and flattens each kind of
+ * tier into ascending thresholds with the best discount reached at each. Pricing a line then takes one lookup by tool
+ * code, which replaces the catalog lookup of a plain checkout, and a scan of a few tier thresholds. A resolved profile
+ * never changes; it is stale once the catalog is replaced, see {@link #isCurrent()}.
+ */
+public final class CustomerPricing {
+
+	private final CustomerProfile profile;
+	private final ToolCatalog toolCatalog;
+	private final long catalogVersion;
+	private final Map<String, ToolTerms> termsByToolCode;
+	private final int[] volumeThresholds;
+	private final int[] volumePercents;
+	private final int[] rentalDayThresholds;
+	private final int[] rentalDayPercents;
+
+	private CustomerPricing(CustomerProfile profile, ToolCatalog toolCatalog, long catalogVersion,
+							Map<String, ToolTerms> termsByToolCode) {
+		this.profile = profile;
+		this.toolCatalog = toolCatalog;
+		this.catalogVersion = catalogVersion;
+		this.termsByToolCode = termsByToolCode;
+		this.volumeThresholds = thresholds(profile.getVolumeTiers());
+		this.volumePercents = bestPercents(profile.getVolumeTiers());
+		this.rentalDayThresholds = thresholds(profile.getRentalDayTiers());
+		this.rentalDayPercents = bestPercents(profile.getRentalDayTiers());
+	}
+
+	/**
+	 * Resolves a profile against the current version of a catalog.
+	 *
+	 * @param profile     the customer's discount terms
+	 * @param toolCatalog the catalog the customer rents from
+	 * @return the resolved profile
+	 */
+	public static CustomerPricing resolve(CustomerProfile profile, ToolCatalog toolCatalog) {
+		// The version is read first: if the catalog is replaced while the tools are read, the result is already stale
+		long catalogVersion = toolCatalog.getVersion();
+		Map<String, ToolTerms> termsByToolCode = new HashMap<>(toolCatalog.size() * 4 / 3 + 1);
+		Map<String, Integer> percentByType = new HashMap<>();
+		for (Tool tool : toolCatalog.getTools()) {
+			int discountPercent = percentByType.computeIfAbsent(tool.getToolType(), profile::getToolTypeDiscountPercent);
+			termsByToolCode.put(tool.getToolCode(), new ToolTerms(tool, discountPercent));
+		}
+		return new CustomerPricing(profile, toolCatalog, catalogVersion, termsByToolCode);
+	}
+
+	public CustomerProfile getProfile() {
+		return profile;
+	}
+
+	public ToolCatalog getToolCatalog() {
+		return toolCatalog;
+	}
+
+	public long getCatalogVersion() {
+		return catalogVersion;
+	}
+
+	/**
+	 * Checks whether the catalog has not been replaced since this profile was resolved.
+	 *
+	 * @return true if the profile was resolved against the current catalog
+	 */
+	public boolean isCurrent() {
+		return toolCatalog.getVersion() == catalogVersion;
+	}
+
+	/**
+	 * Gets the ID of the customer.
+	 *
+	 * @return the customer ID
+	 */
+	public String getCustomerId() {
+		return profile.getCustomerId();
+	}
+
+	/**
+	 * Gets a tool together with the customer's base or tool type discount on it.
+	 *
+	 * @param toolCode the code of the tool
+	 * @return the tool's terms, or null if the catalog had no such tool
+	 */
+	public ToolTerms getTerms(String toolCode) {
+		return toolCode == null ? null : termsByToolCode.get(toolCode);
+	}
+
+	/**
+	 * Gets the volume discount of an order.
+	 *
+	 * @param lineCount the number of lines in the order
+	 * @return the discount percentage every line of the order earns, 0 below the first tier
+	 */
+	public int getVolumeDiscountPercent(int lineCount) {
+		return tierPercent(volumeThresholds, volumePercents, lineCount);
+	}
+
+	/**
+	 * Gets the effective discount of one line of an order: the largest of the tool's terms, the rental length tier and
+	 * the order's volume discount.
+	 *
+	 * @param terms                 the terms of the line's tool
+	 * @param rentalDays            the number of rental days of the line
+	 * @param volumeDiscountPercent the volume discount of the order, from {@link #getVolumeDiscountPercent(int)}
+	 * @return the discount percentage of the line
+	 */
+	public int getDiscountPercent(ToolTerms terms, int rentalDays, int volumeDiscountPercent) {
+		int discountPercent = Math.max(terms.discountPercent, volumeDiscountPercent);
+		return Math.max(discountPercent, tierPercent(rentalDayThresholds, rentalDayPercents, rentalDays));
+	}
+
+	private static int tierPercent(int[] thresholds, int[] percents, int quantity) {
+		for (int i = thresholds.length - 1; i >= 0; i--) {
+			if (quantity >= thresholds[i]) {
+				return percents[i];
+			}
+		}
+		return 0;
+	}
+
+	private static int[] thresholds(List<DiscountTier> tiers) {
+		int[] thresholds = new int[tiers.size()];
+		for (int i = 0; i < thresholds.length; i++) {
+			thresholds[i] = tiers.get(i).getThreshold();
+		}
+		return thresholds;
+	}
+
+	/**
+	 * Gets the best discount reached at each of a list of tiers in ascending order, so a larger quantity never earns
+	 * less.
+	 */
+	private static int[] bestPercents(List<DiscountTier> tiers) {
+		int[] percents = new int[tiers.size()];
+		int best = 0;
+		for (int i = 0; i < percents.length; i++) {
+			best = Math.max(best, tiers.get(i).getDiscountPercent());
+			percents[i] = best;
+		}
+		return percents;
+	}
+
+	/**
+	 * A tool and the customer's discount on it before tiers.
+	 */
+	@Getter
+	public static final class ToolTerms {
+
+		private final Tool tool;
+		private final int discountPercent;
+
+		ToolTerms(Tool tool, int discountPercent) {
+			this.tool = tool;
+			this.discountPercent = discountPercent;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.interview.test.customer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The discount terms of a contract customer.
+ * <p>
+ * A customer can have a base discount, a discount per tool type, and tiers that grow the discount with the number of
+ * lines in an order and with the length of a rental. The terms do not stack: each line of an order gets the largest
+ * discount any of them gives it. Profiles are plain data; {@link CustomerPricing#resolve} turns one into the tables an
+ * order is priced from.
+ */
+@Getter
+@SuppressWarnings("cast") // The builder Lombok generates for the singular map casts each value to Integer
+public class CustomerProfile {
+
+	private final String customerId;
+	private final int baseDiscountPercent;
+	private final Map<String, Integer> toolTypeDiscounts;
+	private final List<DiscountTier> volumeTiers;
+	private final List<DiscountTier> rentalDayTiers;
+
+	/**
+	 * Constructs a CustomerProfile with the specified details.
+	 *
+	 * @param customerId          the ID of the customer
+	 * @param baseDiscountPercent the discount on every line
+	 * @param toolTypeDiscounts   the discount on lines of each tool type, keyed by type ignoring case
+	 * @param volumeTiers         the discounts on every line of an order with at least a number of lines
+	 * @param rentalDayTiers      the discounts on lines of at least a number of rental days
+	 * @throws IllegalArgumentException if customerId is null, a discount is not between 0 and 100, two tool types differ
+	 *                                  only in case, or two tiers of a kind share a threshold
+	 */
+	@Builder(toBuilder = true)
+	public CustomerProfile(String customerId, int baseDiscountPercent, @Singular Map<String, Integer> toolTypeDiscounts,
+						   @Singular List<DiscountTier> volumeTiers, @Singular List<DiscountTier> rentalDayTiers) {
+		if (customerId == null) {
+			throw new IllegalArgumentException("Customer ID is required.");
+		}
+		checkPercent(baseDiscountPercent);
+		Map<String, Integer> byType = new HashMap<>();
+		if (toolTypeDiscounts != null) {
+			toolTypeDiscounts.forEach((toolType, discountPercent) -> {
+				checkPercent(discountPercent);
+				if (byType.put(key(toolType), discountPercent) != null) {
+					throw new IllegalArgumentException("Duplicate tool type discount " + toolType + ".");
+				}
+			});
+		}
+		this.customerId = customerId;
+		this.baseDiscountPercent = baseDiscountPercent;
+		this.toolTypeDiscounts = Collections.unmodifiableMap(byType);
+		this.volumeTiers = sortedTiers(volumeTiers);
+		this.rentalDayTiers = sortedTiers(rentalDayTiers);
+	}
+
+	/**
+	 * Gets the discount this profile gives on a tool type, before tiers.
+	 *
+	 * @param toolType the tool type, ignoring case
+	 * @return the tool type discount, or the base discount if the type has none
+	 */
+	public int getToolTypeDiscountPercent(String toolType) {
+		Integer discountPercent = toolType == null ? null : toolTypeDiscounts.get(key(toolType));
+		return discountPercent == null ? baseDiscountPercent : Math.max(baseDiscountPercent, discountPercent);
+	}
+
+	static String key(String toolType) {
+		return toolType.toLowerCase(Locale.ROOT);
+	}
+
+	private static void checkPercent(Integer discountPercent) {
+		if (discountPercent == null || discountPercent < 0 || discountPercent > 100) {
+			throw new IllegalArgumentException("Discount percent must be between 0 and 100.");
+		}
+	}
+
+	private static List<DiscountTier> sortedTiers(List<DiscountTier> tiers) {
+		List<DiscountTier> sorted = tiers == null ? new ArrayList<>() : new ArrayList<>(tiers);
+		sorted.sort((a, b) -> Integer.compare(a.getThreshold(), b.getThreshold()));
+		for (int i = 1; i < sorted.size(); i++) {
+			if (sorted.get(i).getThreshold() == sorted.get(i - 1).getThreshold()) {
+				throw new IllegalArgumentException("Duplicate tier threshold " + sorted.get(i).getThreshold() + ".");
+			}
+		}
+		return Collections.unmodifiableList(sorted);
+	}
+}
@@ -0,0 +1,88 @@
+package com.interview.test.customer;
+
+import com.interview.test.objects.ToolCatalog;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The contract customers of a catalog and their resolved pricing.
+ * <p>
+ * Each customer's profile is resolved the first time an order asks for it, and the {@link CustomerPricing} is kept
+ * until the profile is replaced or the catalog changes, so pricing an order costs two map reads on top of its lines.
+ * A cached entry remembers the profile it was resolved from, so a profile replaced during resolution is never served.
+ */
+public class CustomerProfiles {
+
+	private final ToolCatalog toolCatalog;
+	private final ConcurrentMap<String, CustomerProfile> profiles = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, CustomerPricing> resolved = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs an empty CustomerProfiles for a catalog.
+	 *
+	 * @param toolCatalog the catalog the customers rent from
+	 */
+	public CustomerProfiles(ToolCatalog toolCatalog) {
+		this.toolCatalog = toolCatalog;
+	}
+
+	/**
+	 * Adds a customer's profile, replacing any profile the customer already has.
+	 *
+	 * @param profile the customer's discount terms
+	 */
+	public void put(CustomerProfile profile) {
+		profiles.put(profile.getCustomerId(), profile);
+		resolved.remove(profile.getCustomerId());
+	}
+
+	/**
+	 * Removes a customer's profile.
+	 *
+	 * @param customerId the ID of the customer
+	 * @return true if the customer had a profile
+	 */
+	public boolean remove(String customerId) {
+		resolved.remove(customerId);
+		return profiles.remove(customerId) != null;
+	}
+
+	/**
+	 * Gets a customer's profile.
+	 *
+	 * @param customerId the ID of the customer
+	 * @return the profile, or null if the customer has none
+	 */
+	public CustomerProfile getProfile(String customerId) {
+		return customerId == null ? null : profiles.get(customerId);
+	}
+
+	/**
+	 * Gets a customer's profile resolved against the current catalog, resolving it if it is not cached or is stale.
+	 *
+	 * @param customerId the ID of the customer
+	 * @return the resolved profile, or null if the customer has none
+	 */
+	public CustomerPricing resolve(String customerId) {
+		CustomerProfile profile = getProfile(customerId);
+		if (profile == null) {
+			return null;
+		}
+		CustomerPricing pricing = resolved.get(customerId);
+		if (pricing == null || pricing.getProfile() != profile || !pricing.isCurrent()) {
+			pricing = CustomerPricing.resolve(profile, toolCatalog);
+			resolved.put(customerId, pricing);
+		}
+		return pricing;
+	}
+
+	/**
+	 * Gets the number of customers with a profile.
+	 *
+	 * @return the number of profiles
+	 */
+	public int size() {
+		return profiles.size();
+	}
+}
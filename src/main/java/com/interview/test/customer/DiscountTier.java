@@ -0,0 +1,34 @@
+package com.interview.test.customer;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * A step of a tiered discount: the discount a contract customer earns once a quantity, such as the number of lines in
+ * an order or the number of days of a rental, reaches a threshold.
+ */
+@Getter
+@EqualsAndHashCode
+public class DiscountTier {
+
+	private final int threshold;
+	private final int discountPercent;
+
+	/**
+	 * Constructs a DiscountTier with the specified details.
+	 *
+	 * @param threshold       the smallest quantity the tier applies to
+	 * @param discountPercent the discount percentage of the tier
+	 * @throws IllegalArgumentException if threshold is less than 1 or discountPercent is not between 0 and 100
+	 */
+	public DiscountTier(int threshold, int discountPercent) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("Tier threshold must be 1 or greater.");
+		}
+		if (discountPercent < 0 || discountPercent > 100) {
+			throw new IllegalArgumentException("Discount percent must be between 0 and 100.");
+		}
+		this.threshold = threshold;
+		this.discountPercent = discountPercent;
+	}
+}
@@ -0,0 +1,146 @@
+package com.interview.test.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parses the flat JSON objects sent as request bodies, such as
+ * {@code {"toolCode":"LADW","rentalDays":3,"discountPercent":10,"checkOutDate":"2020-07-02"}}.
+ * <p>
+ * Values must be strings, numbers, booleans or null; nested objects and arrays are rejected. Every value is returned
+ * as its text, leaving conversion to the caller.
+ */
+final class JsonObjectParser {
+
+	private final String text;
+	private int position;
+
+	private JsonObjectParser(String text) {
+		this.text = text;
+	}
+
+	/**
+	 * Parses a flat JSON object.
+	 *
+	 * @param text the JSON text
+	 * @return the members in document order; a JSON null maps to a null value
+	 * @throws IllegalArgumentException if the text is not a flat JSON object
+	 */
+	static Map<String, String> parse(String text) {
+		JsonObjectParser parser = new JsonObjectParser(text);
+		Map<String, String> members = parser.parseObject();
+		parser.skipWhitespace();
+		if (parser.position != text.length()) {
+			throw malformed();
+		}
+		return members;
+	}
+
+	private Map<String, String> parseObject() {
+		Map<String, String> members = new LinkedHashMap<>();
+		skipWhitespace();
+		expect('{');
+		skipWhitespace();
+		if (peek() == '}') {
+			position++;
+			return members;
+		}
+		while (true) {
+			skipWhitespace();
+			String name = parseString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			members.put(name, parseValue());
+			skipWhitespace();
+			char next = next();
+			if (next == '}') {
+				return members;
+			}
+			if (next != ',') {
+				throw malformed();
+			}
+		}
+	}
+
+	private String parseValue() {
+		char c = peek();
+		if (c == '"') {
+			return parseString();
+		}
+		int start = position;
+		while (position < text.length() && "-+.eE0123456789truefalsn".indexOf(text.charAt(position)) >= 0) {
+			position++;
+		}
+		String literal = text.substring(start, position);
+		if (literal.isEmpty()) {
+			throw malformed();
+		}
+		return literal.equals("null") ? null : literal;
+	}
+
+	private String parseString() {
+		expect('"');
+		StringBuilder value = new StringBuilder();
+		while (true) {
+			char c = next();
+			if (c == '"') {
+				return value.toString();
+			}
+			if (c != '\\') {
+				value.append(c);
+				continue;
+			}
+			char escaped = next();
+			switch (escaped) {
+				case '"', '\\', '/' -> value.append(escaped);
+				case 'b' -> value.append('\b');
+				case 'f' -> value.append('\f');
+				case 'n' -> value.append('\n');
+				case 'r' -> value.append('\r');
+				case 't' -> value.append('\t');
+				case 'u' -> {
+					if (position + 4 > text.length()) {
+						throw malformed();
+					}
+					try {
+						value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+					} catch (NumberFormatException e) {
+						throw malformed();
+					}
+					position += 4;
+				}
+				default -> throw malformed();
+			}
+		}
+	}
+
+	private void skipWhitespace() {
+		while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+			position++;
+		}
+	}
+
+	private void expect(char expected) {
+		if (next() != expected) {
+			throw malformed();
+		}
+	}
+
+	private char peek() {
+		if (position >= text.length()) {
+			throw malformed();
+		}
+		return text.charAt(position);
+	}
+
+	private char next() {
+		char c = peek();
+		position++;
+		return c;
+	}
+
+	private static IllegalArgumentException malformed() {
+		return new IllegalArgumentException("Malformed JSON request body.");
+	}
+}
@@ -0,0 +1,275 @@
+package com.interview.test.http;
+
+import com.interview.test.metrics.RecordingRentalMetrics;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalAgreementJson;
+import com.interview.test.objects.Tool;
+import com.interview.test.service.QuoteCache;
+import com.interview.test.service.RentalService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An embedded HTTP/JSON front end for a {@link RentalService}, built on the JDK's {@code HttpServer}.
+ * <p>
+ * Every exchange runs on its own virtual thread, so thousands of concurrent requests cost no more than their sockets.
+ * The endpoints are:
+ * <ul>
+ *     <li>{@code POST /checkout} with a JSON body {@code {"toolCode","rentalDays","discountPercent","checkOutDate"}}
+ *     checks out a rental and returns the agreement;</li>
+ *     <li>{@code GET /quote?toolCode=&rentalDays=&discountPercent=&checkOutDate=} prices a rental without reserving
+ *     a unit, served through a {@link QuoteCache};</li>
+ *     <li>{@code GET /tools} lists the catalog and {@code GET /tools/<code>} returns one tool;</li>
+ *     <li>{@code GET /metrics} returns the {@link RecordingRentalMetrics#dump() text dump} of the service's metrics,
+ *     when the service records any.</li>
+ * </ul>
+ * Checkouts and quotes take an optional {@code storeId} that selects the store's holiday calendar; quotes without one
+ * are cached. Dates are ISO-8601 ({@code yyyy-mm-dd}). A rejected request gets status 400 and
+ * {@code {"error":"<message>"}}.
+ */
+public class RentalHttpServer implements Closeable {
+
+	private static final int BACKLOG = 4096;
+	private static final int QUOTE_CACHE_SIZE = 65_536;
+	private static final long QUOTE_CACHE_TTL_SECONDS = 60;
+
+	private final RentalService rentalService;
+	private final QuoteCache quoteCache;
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	/**
+	 * Constructs a RentalHttpServer bound to an address. The server does not accept requests until it is started.
+	 *
+	 * @param rentalService the rental service to serve
+	 * @param address       the address to listen on; port 0 picks a free port
+	 * @throws IOException if the address cannot be bound
+	 */
+	public RentalHttpServer(RentalService rentalService, InetSocketAddress address) throws IOException {
+		this.rentalService = rentalService;
+		this.quoteCache = new QuoteCache(rentalService, QUOTE_CACHE_SIZE, QUOTE_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+		this.server = HttpServer.create(address, BACKLOG);
+		this.executor = Executors.newVirtualThreadPerTaskExecutor();
+		server.setExecutor(executor);
+		server.createContext("/checkout", this::handleCheckout);
+		server.createContext("/quote", this::handleQuote);
+		server.createContext("/tools", this::handleTools);
+		if (rentalService.getMetrics() instanceof RecordingRentalMetrics) {
+			server.createContext("/metrics", this::handleMetrics);
+		}
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Gets the address the server listens on.
+	 *
+	 * @return the bound address, with the actual port
+	 */
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	/**
+	 * Stops accepting requests and waits for the requests in progress to finish.
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.close();
+	}
+
+	private void handleCheckout(HttpExchange exchange) throws IOException {
+		respond(exchange, "POST", () -> {
+			String body;
+			try (InputStream in = exchange.getRequestBody()) {
+				body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			}
+			RentalAgreement agreement = checkout(JsonObjectParser.parse(body), false);
+			StringBuilder json = new StringBuilder(320);
+			RentalAgreementJson.append(agreement, json);
+			return json;
+		});
+	}
+
+	private void handleQuote(HttpExchange exchange) throws IOException {
+		respond(exchange, "GET", () -> {
+			RentalAgreement agreement = checkout(parseQuery(exchange.getRequestURI().getRawQuery()), true);
+			StringBuilder json = new StringBuilder(320);
+			RentalAgreementJson.append(agreement, json);
+			return json;
+		});
+	}
+
+	private void handleTools(HttpExchange exchange) throws IOException {
+		respond(exchange, "GET", () -> {
+			String path = exchange.getRequestURI().getPath();
+			StringBuilder json = new StringBuilder(256);
+			if (path.equals("/tools") || path.equals("/tools/")) {
+				List<Tool> tools = new ArrayList<>(rentalService.getToolCatalog().getTools());
+				tools.sort(Comparator.comparing(Tool::getToolCode));
+				json.append('[');
+				for (int i = 0; i < tools.size(); i++) {
+					if (i > 0) {
+						json.append(',');
+					}
+					RentalAgreementJson.append(tools.get(i), json);
+				}
+				return json.append(']');
+			}
+			Tool tool = rentalService.getToolCatalog().getTool(path.substring("/tools/".length()));
+			if (tool == null) {
+				throw new NotFoundException("Unknown tool code.");
+			}
+			RentalAgreementJson.append(tool, json);
+			return json;
+		});
+	}
+
+	private void handleMetrics(HttpExchange exchange) throws IOException {
+		if (!exchange.getRequestMethod().equals("GET")) {
+			respond(exchange, "GET", () -> "");
+			return;
+		}
+		byte[] bytes = ((RecordingRentalMetrics) rentalService.getMetrics()).dump().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Checks out or quotes the rental described by request parameters.
+	 */
+	private RentalAgreement checkout(Map<String, String> parameters, boolean quote) {
+		String storeId = parameters.get("storeId");
+		String toolCode = parameters.get("toolCode");
+		int rentalDays = parseInt(parameters.get("rentalDays"), "rental day count");
+		int discountPercent = parseInt(parameters.get("discountPercent"), "discount percent");
+		LocalDate checkOutDate = parseDate(parameters.get("checkOutDate"));
+		if (toolCode == null) {
+			throw new IllegalArgumentException("Invalid tool code.");
+		}
+		if (!quote) {
+			return rentalService.checkout(storeId, toolCode, rentalDays, discountPercent, checkOutDate);
+		}
+		return storeId == null
+				? quoteCache.quote(toolCode, rentalDays, discountPercent, checkOutDate)
+				: rentalService.quote(storeId, toolCode, rentalDays, discountPercent, checkOutDate);
+	}
+
+	private static int parseInt(String value, String field) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid " + field + ".");
+		}
+	}
+
+	private static LocalDate parseDate(String value) {
+		try {
+			return LocalDate.parse(value);
+		} catch (DateTimeParseException | NullPointerException e) {
+			throw new IllegalArgumentException("Invalid date format. Please use yyyy-mm-dd.");
+		}
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> parameters = new HashMap<>();
+		if (rawQuery == null) {
+			return parameters;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int equals = pair.indexOf('=');
+			if (equals > 0) {
+				parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+						URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return parameters;
+	}
+
+	/**
+	 * Runs a handler and writes its JSON result, or the error that rejected the request.
+	 */
+	private static void respond(HttpExchange exchange, String method, JsonHandler handler) throws IOException {
+		int status;
+		CharSequence body;
+		try {
+			if (!exchange.getRequestMethod().equals(method)) {
+				exchange.getResponseHeaders().set("Allow", method);
+				status = 405;
+				body = error("Method not allowed.");
+			} else {
+				body = handler.handle();
+				status = 200;
+			}
+		} catch (NotFoundException e) {
+			status = 404;
+			body = error(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			status = 400;
+			body = error(e.getMessage());
+		} catch (RuntimeException e) {
+			status = 500;
+			body = error("Internal server error.");
+		}
+		byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static StringBuilder error(String message) {
+		StringBuilder json = new StringBuilder("{\"error\":");
+		RentalAgreementJson.appendString(message, json);
+		return json.append('}');
+	}
+
+	/**
+	 * Produces the JSON body of a successful response.
+	 */
+	@FunctionalInterface
+	private interface JsonHandler {
+
+		CharSequence handle() throws IOException;
+	}
+
+	/**
+	 * Signals a request for something that does not exist.
+	 */
+	private static final class NotFoundException extends IllegalArgumentException {
+
+		private static final long serialVersionUID = 1L;
+
+		NotFoundException(String message) {
+			super(message);
+		}
+	}
+}
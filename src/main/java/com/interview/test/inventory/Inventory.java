@@ -0,0 +1,220 @@
+package com.interview.test.inventory;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the units owned of each tool and the days each unit is reserved.
+ * <p>
+ * Each unit keeps its reserved days in a lock-free bitmap, so availability queries and reservations run concurrently
+ * without locks and a unit can never be booked twice for the same day. A reservation holds the days from its first
+ * day up to, but not including, its end day: a unit returned on its due date can go out again that day. Dates must
+ * fall between 01/01/1900 and 12/31/2299.
+ * <p>
+ * The units of a tool are also grouped in {@link UnitGroup}s that record, for each day, which units of the group are
+ * out, so the free units of a range are found a group of {@value UnitGroup#SIZE} at a time.
+ */
+public class Inventory {
+
+	private static final Units NO_UNITS = new Units(new UnitCalendar[0], new UnitGroup[0]);
+
+	private final ConcurrentMap<String, Units> unitsByToolCode = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds units of a tool to the inventory.
+	 *
+	 * @param toolCode the code of the tool
+	 * @param count    the number of units to add
+	 * @throws IllegalArgumentException if count is negative
+	 */
+	public void addUnits(String toolCode, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Unit count must be 0 or greater.");
+		}
+		unitsByToolCode.compute(toolCode, (code, units) -> {
+			Units current = units == null ? NO_UNITS : units;
+			UnitCalendar[] calendars = Arrays.copyOf(current.calendars, current.calendars.length + count);
+			for (int i = current.calendars.length; i < calendars.length; i++) {
+				calendars[i] = new UnitCalendar();
+			}
+			// Existing groups are kept: a unit added to a partly filled group starts with its bits clear
+			UnitGroup[] groups = Arrays.copyOf(current.groups, (calendars.length + UnitGroup.SIZE - 1) / UnitGroup.SIZE);
+			for (int i = current.groups.length; i < groups.length; i++) {
+				groups[i] = new UnitGroup();
+			}
+			return new Units(calendars, groups);
+		});
+	}
+
+	/**
+	 * Gets the number of units owned of a tool.
+	 *
+	 * @param toolCode the code of the tool
+	 * @return the number of units, or 0 for a tool the inventory does not stock
+	 */
+	public int getUnitCount(String toolCode) {
+		return units(toolCode).calendars.length;
+	}
+
+	/**
+	 * Reserves any unit of a tool that is free for a whole range of days.
+	 * <p>
+	 * Units are tried starting from a random one so that concurrent callers rarely contend for the same unit.
+	 *
+	 * @param toolCode the code of the tool
+	 * @param fromDate the first day to reserve
+	 * @param toDate   the day the unit becomes free again
+	 * @return the reservation, or null if no unit is free for the whole range
+	 * @throws IllegalArgumentException if the range is empty or outside the supported dates
+	 */
+	public Reservation reserve(String toolCode, LocalDate fromDate, LocalDate toDate) {
+		long fromDay = fromDate.toEpochDay();
+		long toDay = toDate.toEpochDay();
+		checkRange(fromDay, toDay);
+		Units units = units(toolCode);
+		UnitCalendar[] calendars = units.calendars;
+		if (calendars.length == 0) {
+			return null;
+		}
+		int start = ThreadLocalRandom.current().nextInt(calendars.length);
+		for (int i = 0; i < calendars.length; i++) {
+			int unit = (start + i) % calendars.length;
+			if (calendars[unit].isFree(fromDay, toDay) && calendars[unit].tryReserve(fromDay, toDay)) {
+				units.groups[unit / UnitGroup.SIZE].set(unit % UnitGroup.SIZE, fromDay, toDay);
+				return new Reservation(toolCode, unit, fromDate, toDate);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Frees the days held by a reservation. Releasing a reservation that was already released does nothing, since
+	 * its days may since have been reserved again.
+	 *
+	 * @param reservation the reservation to release
+	 * @return true if the days were freed, false if the reservation was already released
+	 */
+	public boolean release(Reservation reservation) {
+		if (!reservation.markReleased()) {
+			return false;
+		}
+		Units units = units(reservation.getToolCode());
+		int unit = reservation.getUnit();
+		long fromDay = reservation.getFromDate().toEpochDay();
+		long toDay = reservation.getToDate().toEpochDay();
+		// The group is cleared first, while the days still belong to this reservation
+		units.groups[unit / UnitGroup.SIZE].clear(unit % UnitGroup.SIZE, fromDay, toDay);
+		units.calendars[unit].clear(fromDay, toDay);
+		return true;
+	}
+
+	/**
+	 * Counts the units of a tool that are free for a whole range of days. The count may be stale as soon as it is
+	 * returned; only {@link #reserve(String, LocalDate, LocalDate)} guarantees a unit.
+	 *
+	 * @param toolCode the code of the tool
+	 * @param fromDate the first day of the range
+	 * @param toDate   the day after the last day of the range
+	 * @return the number of free units
+	 * @throws IllegalArgumentException if the range is empty or outside the supported dates
+	 */
+	public int countAvailable(String toolCode, LocalDate fromDate, LocalDate toDate) {
+		long fromDay = fromDate.toEpochDay();
+		long toDay = toDate.toEpochDay();
+		checkRange(fromDay, toDay);
+		Units units = units(toolCode);
+		int available = 0;
+		for (int group = 0; group < units.groups.length; group++) {
+			available += Long.bitCount(units.freeMask(group, fromDay, toDay));
+		}
+		return available;
+	}
+
+	/**
+	 * Finds the units of a tool that are free for a whole range of days. Each group of units is checked by reading one
+	 * word per day of the range, so the cost grows with neither the number of reservations nor, up to a group, the
+	 * number of units. The answer may be stale as soon as it is returned; only
+	 * {@link #reserve(String, LocalDate, LocalDate)} guarantees a unit.
+	 *
+	 * @param toolCode the code of the tool
+	 * @param fromDate the first day of the range
+	 * @param toDate   the day after the last day of the range
+	 * @return the indices of the free units in ascending order
+	 * @throws IllegalArgumentException if the range is empty or outside the supported dates
+	 */
+	public int[] findAvailableUnits(String toolCode, LocalDate fromDate, LocalDate toDate) {
+		long fromDay = fromDate.toEpochDay();
+		long toDay = toDate.toEpochDay();
+		checkRange(fromDay, toDay);
+		Units units = units(toolCode);
+		int[] available = new int[units.calendars.length];
+		int count = 0;
+		for (int group = 0; group < units.groups.length; group++) {
+			for (long free = units.freeMask(group, fromDay, toDay); free != 0; free &= free - 1) {
+				available[count++] = group * UnitGroup.SIZE + Long.numberOfTrailingZeros(free);
+			}
+		}
+		return count == available.length ? available : Arrays.copyOf(available, count);
+	}
+
+	/**
+	 * Checks whether any unit of a tool is free for a whole range of days.
+	 *
+	 * @param toolCode the code of the tool
+	 * @param fromDate the first day of the range
+	 * @param toDate   the day after the last day of the range
+	 * @return true if at least one unit is free
+	 * @throws IllegalArgumentException if the range is empty or outside the supported dates
+	 */
+	public boolean isAvailable(String toolCode, LocalDate fromDate, LocalDate toDate) {
+		long fromDay = fromDate.toEpochDay();
+		long toDay = toDate.toEpochDay();
+		checkRange(fromDay, toDay);
+		for (UnitCalendar unit : units(toolCode).calendars) {
+			if (unit.isFree(fromDay, toDay)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Units units(String toolCode) {
+		Units units = toolCode == null ? null : unitsByToolCode.get(toolCode);
+		return units == null ? NO_UNITS : units;
+	}
+
+	private static void checkRange(long fromDay, long toDay) {
+		if (toDay <= fromDay) {
+			throw new IllegalArgumentException("Reservation must cover at least one day.");
+		}
+		if (fromDay < UnitCalendar.FIRST_DAY || toDay > UnitCalendar.END_DAY) {
+			throw new IllegalArgumentException("Reservation dates must be between 01/01/1900 and 12/31/2299.");
+		}
+	}
+
+	/**
+	 * The units of one tool: each unit's calendar and the groups they form.
+	 */
+	private static final class Units {
+
+		private final UnitCalendar[] calendars;
+		private final UnitGroup[] groups;
+
+		Units(UnitCalendar[] calendars, UnitGroup[] groups) {
+			this.calendars = calendars;
+			this.groups = groups;
+		}
+
+		/**
+		 * Finds the units of a group that are free for a whole range, leaving out bits past the last unit.
+		 */
+		long freeMask(int group, long fromDay, long toDay) {
+			int members = Math.min(UnitGroup.SIZE, calendars.length - group * UnitGroup.SIZE);
+			long owned = members == UnitGroup.SIZE ? -1L : (1L << members) - 1;
+			return ~groups[group].reserved(fromDay, toDay) & owned;
+		}
+	}
+}
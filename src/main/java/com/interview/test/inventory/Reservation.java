@@ -0,0 +1,55 @@
+package com.interview.test.inventory;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A tool unit held for a range of days. A reservation is released at most once; releasing it again does nothing, so
+ * a repeated return cannot free days that a later reservation of the unit holds.
+ */
+@Getter
+public class Reservation {
+
+	private final String toolCode;
+	private final int unit;
+	private final LocalDate fromDate;
+	private final LocalDate toDate;
+	@Getter(AccessLevel.NONE)
+	private final AtomicBoolean released = new AtomicBoolean();
+
+	/**
+	 * Constructs a Reservation with the specified details.
+	 *
+	 * @param toolCode the code of the reserved tool
+	 * @param unit     the index of the reserved unit among the units of the tool
+	 * @param fromDate the first reserved day
+	 * @param toDate   the day the unit becomes free again, which is not reserved
+	 */
+	Reservation(String toolCode, int unit, LocalDate fromDate, LocalDate toDate) {
+		this.toolCode = toolCode;
+		this.unit = unit;
+		this.fromDate = fromDate;
+		this.toDate = toDate;
+	}
+
+	/**
+	 * Checks whether the reservation has been released.
+	 *
+	 * @return true if the reservation's days have been freed
+	 */
+	public boolean isReleased() {
+		return released.get();
+	}
+
+	/**
+	 * Marks the reservation released, once.
+	 *
+	 * @return true if this call released it, false if it was already released
+	 */
+	boolean markReleased() {
+		return released.compareAndSet(false, true);
+	}
+}
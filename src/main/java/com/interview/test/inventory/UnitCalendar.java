@@ -0,0 +1,132 @@
+package com.interview.test.inventory;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The reserved days of one tool unit, kept as a bitmap with one bit per epoch day.
+ * <p>
+ * The bitmap is split into pages of {@value #PAGE_DAYS} days that are allocated the first time a day on them is
+ * reserved. Every word is claimed with compare-and-set, so a bit only ever goes from free to reserved for a single
+ * caller and two reservations of the same unit can never overlap. A reservation that finds a reserved day part way
+ * through its range clears the bits it already claimed before reporting the conflict.
+ */
+final class UnitCalendar {
+
+	static final int PAGE_DAYS = 1024;
+
+	private static final int WORDS_PER_PAGE = PAGE_DAYS / Long.SIZE;
+
+	/**
+	 * The first day that can be reserved, 01/01/1900.
+	 */
+	static final long FIRST_DAY = LocalDate.of(1900, 1, 1).toEpochDay();
+
+	/**
+	 * The day after the last day that can be reserved, 01/01/2300.
+	 */
+	static final long END_DAY = LocalDate.of(2300, 1, 1).toEpochDay();
+
+	private final AtomicReferenceArray<AtomicLongArray> pages =
+			new AtomicReferenceArray<>((int) ((END_DAY - FIRST_DAY + PAGE_DAYS - 1) / PAGE_DAYS));
+
+	/**
+	 * Reserves a range of days if none of them is reserved yet.
+	 *
+	 * @param fromDay the first epoch day to reserve
+	 * @param toDay   the epoch day after the last day to reserve
+	 * @return true if the whole range was reserved, false if any day of it was already reserved
+	 */
+	boolean tryReserve(long fromDay, long toDay) {
+		for (long day = fromDay; day < toDay; ) {
+			long wordEnd = Math.min(toDay, wordStart(day) + Long.SIZE);
+			long mask = mask(day, wordEnd);
+			AtomicLongArray page = page(day, true);
+			int word = wordIndex(day);
+			long current;
+			do {
+				current = page.get(word);
+				if ((current & mask) != 0) {
+					clear(fromDay, day);
+					return false;
+				}
+			} while (!page.compareAndSet(word, current, current | mask));
+			day = wordEnd;
+		}
+		return true;
+	}
+
+	/**
+	 * Frees a range of days previously reserved through {@link #tryReserve(long, long)}.
+	 *
+	 * @param fromDay the first epoch day to free
+	 * @param toDay   the epoch day after the last day to free
+	 */
+	void clear(long fromDay, long toDay) {
+		for (long day = fromDay; day < toDay; ) {
+			long wordEnd = Math.min(toDay, wordStart(day) + Long.SIZE);
+			AtomicLongArray page = page(day, false);
+			if (page != null) {
+				long mask = mask(day, wordEnd);
+				page.accumulateAndGet(wordIndex(day), mask, (current, bits) -> current & ~bits);
+			}
+			day = wordEnd;
+		}
+	}
+
+	/**
+	 * Checks whether every day of a range is free. The answer may be stale as soon as it is returned.
+	 *
+	 * @param fromDay the first epoch day to check
+	 * @param toDay   the epoch day after the last day to check
+	 * @return true if no day of the range is reserved
+	 */
+	boolean isFree(long fromDay, long toDay) {
+		for (long day = fromDay; day < toDay; ) {
+			long pageEnd = pageStart(day) + PAGE_DAYS;
+			AtomicLongArray page = page(day, false);
+			if (page == null) {
+				day = pageEnd;
+				continue;
+			}
+			long wordEnd = Math.min(toDay, wordStart(day) + Long.SIZE);
+			if ((page.get(wordIndex(day)) & mask(day, wordEnd)) != 0) {
+				return false;
+			}
+			day = wordEnd;
+		}
+		return true;
+	}
+
+	private AtomicLongArray page(long day, boolean create) {
+		int index = (int) ((day - FIRST_DAY) / PAGE_DAYS);
+		AtomicLongArray page = pages.get(index);
+		if (page == null && create) {
+			pages.compareAndSet(index, null, new AtomicLongArray(WORDS_PER_PAGE));
+			page = pages.get(index);
+		}
+		return page;
+	}
+
+	private static long pageStart(long day) {
+		return day - (day - FIRST_DAY) % PAGE_DAYS;
+	}
+
+	private static long wordStart(long day) {
+		return day - (day - FIRST_DAY) % Long.SIZE;
+	}
+
+	private static int wordIndex(long day) {
+		return (int) ((day - FIRST_DAY) % PAGE_DAYS / Long.SIZE);
+	}
+
+	/**
+	 * Builds the bits of the days from {@code fromDay} up to {@code toDay}, which lie in the same word.
+	 */
+	private static long mask(long fromDay, long toDay) {
+		int from = (int) ((fromDay - FIRST_DAY) % Long.SIZE);
+		int length = (int) (toDay - fromDay);
+		return length == Long.SIZE ? -1L : ((1L << length) - 1) << from;
+	}
+}
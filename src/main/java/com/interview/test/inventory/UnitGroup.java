@@ -0,0 +1,90 @@
+package com.interview.test.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The reserved days of up to {@value #SIZE} units of one tool, kept day by day with one bit per unit.
+ * <p>
+ * This is the transpose of the units' {@link UnitCalendar}s: the word of a day holds a bit for every unit of the group
+ * that is reserved on it, so the units free for a whole range are found by combining one word per day instead of
+ * checking each unit. The unit calendars stay the record of which unit holds which days; a unit's bits are set only
+ * after its calendar is reserved and cleared before its calendar is freed, so only the unit's owner ever writes
+ * them. Pages of {@value UnitCalendar#PAGE_DAYS} days are allocated the first time a day on them is reserved.
+ */
+final class UnitGroup {
+
+	static final int SIZE = Long.SIZE;
+
+	private final AtomicReferenceArray<AtomicLongArray> pages =
+			new AtomicReferenceArray<>((int) ((UnitCalendar.END_DAY - UnitCalendar.FIRST_DAY + UnitCalendar.PAGE_DAYS - 1)
+					/ UnitCalendar.PAGE_DAYS));
+
+	/**
+	 * Marks a range of days as reserved by a unit.
+	 *
+	 * @param member  the index of the unit within the group
+	 * @param fromDay the first epoch day reserved
+	 * @param toDay   the epoch day after the last day reserved
+	 */
+	void set(int member, long fromDay, long toDay) {
+		long bit = 1L << member;
+		for (long day = fromDay; day < toDay; day++) {
+			page(day, true).getAndAccumulate(dayIndex(day), bit, (current, bits) -> current | bits);
+		}
+	}
+
+	/**
+	 * Marks a range of days as free again for a unit.
+	 *
+	 * @param member  the index of the unit within the group
+	 * @param fromDay the first epoch day freed
+	 * @param toDay   the epoch day after the last day freed
+	 */
+	void clear(int member, long fromDay, long toDay) {
+		long bit = 1L << member;
+		for (long day = fromDay; day < toDay; day++) {
+			AtomicLongArray page = page(day, false);
+			if (page != null) {
+				page.getAndAccumulate(dayIndex(day), bit, (current, bits) -> current & ~bits);
+			}
+		}
+	}
+
+	/**
+	 * Finds the units of the group that are reserved on any day of a range. The answer may be stale as soon as it is
+	 * returned.
+	 *
+	 * @param fromDay the first epoch day to check
+	 * @param toDay   the epoch day after the last day to check
+	 * @return a bit for every unit reserved on at least one day of the range
+	 */
+	long reserved(long fromDay, long toDay) {
+		long reserved = 0;
+		for (long day = fromDay; day < toDay && reserved != -1L; ) {
+			long pageEnd = Math.min(toDay, day - (day - UnitCalendar.FIRST_DAY) % UnitCalendar.PAGE_DAYS + UnitCalendar.PAGE_DAYS);
+			AtomicLongArray page = page(day, false);
+			if (page != null) {
+				for (int index = dayIndex(day), end = index + (int) (pageEnd - day); index < end; index++) {
+					reserved |= page.get(index);
+				}
+			}
+			day = pageEnd;
+		}
+		return reserved;
+	}
+
+	private AtomicLongArray page(long day, boolean create) {
+		int index = (int) ((day - UnitCalendar.FIRST_DAY) / UnitCalendar.PAGE_DAYS);
+		AtomicLongArray page = pages.get(index);
+		if (page == null && create) {
+			pages.compareAndSet(index, null, new AtomicLongArray(UnitCalendar.PAGE_DAYS));
+			page = pages.get(index);
+		}
+		return page;
+	}
+
+	private static int dayIndex(long day) {
+		return (int) ((day - UnitCalendar.FIRST_DAY) % UnitCalendar.PAGE_DAYS);
+	}
+}
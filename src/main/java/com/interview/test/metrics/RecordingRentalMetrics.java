@@ -0,0 +1,247 @@
+package com.interview.test.metrics;
+
+import org.HdrHistogram.AtomicHistogram;
+import org.HdrHistogram.Histogram;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Metrics that count checkouts per tool code and rejections per reason, and keep a latency histogram per
+ * {@link Stage}.
+ * <p>
+ * Counters are {@link LongAdder}s and histograms are fixed-size HdrHistogram {@link AtomicHistogram}s with three
+ * significant digits, so recording never locks or allocates and costs one atomic increment. Readers see a snapshot that
+ * may miss values recorded while it is taken. Latencies above one minute are recorded as one minute.
+ * Startup times are recorded once and kept across {@link #reset()}. The metrics can be read through the getters, a
+ * text {@link #dump()}, or JMX after {@link #registerMBean()}.
+ */
+public class RecordingRentalMetrics implements RentalMetrics, RentalMetricsMXBean {
+
+	/**
+	 * The JMX object name the metrics are registered under.
+	 */
+	public static final String OBJECT_NAME = "com.interview.test:type=RentalMetrics";
+
+	private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	private final ConcurrentMap<String, LongAdder> checkoutsByToolCode = new ConcurrentHashMap<>();
+	private final LongAdder[] rejectionsByReason = new LongAdder[RejectionReason.values().length];
+	private final Histogram[] stageHistograms = new Histogram[Stage.values().length];
+	private volatile long startupNanos = -1;
+	private volatile long firstFastCheckoutNanos = -1;
+
+	/**
+	 * Constructs a RecordingRentalMetrics with every counter and histogram empty.
+	 */
+	public RecordingRentalMetrics() {
+		for (int i = 0; i < rejectionsByReason.length; i++) {
+			rejectionsByReason[i] = new LongAdder();
+		}
+		for (int i = 0; i < stageHistograms.length; i++) {
+			stageHistograms[i] = new AtomicHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public void recordStage(Stage stage, long nanos) {
+		stageHistograms[stage.ordinal()].recordValue(Math.max(0, Math.min(nanos, HIGHEST_TRACKABLE_NANOS)));
+	}
+
+	@Override
+	public void recordCheckout(String toolCode) {
+		checkoutsByToolCode.computeIfAbsent(toolCode, code -> new LongAdder()).increment();
+	}
+
+	@Override
+	public void recordRejection(RejectionReason reason) {
+		rejectionsByReason[reason.ordinal()].increment();
+	}
+
+	@Override
+	public void recordStartup(long readyNanos, long firstFastCheckoutNanos) {
+		this.startupNanos = readyNanos;
+		this.firstFastCheckoutNanos = firstFastCheckoutNanos;
+	}
+
+	@Override
+	public long getStartupNanos() {
+		return startupNanos;
+	}
+
+	@Override
+	public long getFirstFastCheckoutNanos() {
+		return firstFastCheckoutNanos;
+	}
+
+	/**
+	 * Gets the number of checkouts of a tool.
+	 *
+	 * @param toolCode the code of the tool
+	 * @return the checkout count
+	 */
+	public long getCheckoutCount(String toolCode) {
+		LongAdder count = checkoutsByToolCode.get(toolCode);
+		return count == null ? 0 : count.sum();
+	}
+
+	/**
+	 * Gets the number of rejections for a reason.
+	 *
+	 * @param reason the rejection reason
+	 * @return the rejection count
+	 */
+	public long getRejectionCount(RejectionReason reason) {
+		return rejectionsByReason[reason.ordinal()].sum();
+	}
+
+	/**
+	 * Gets a snapshot of the latency histogram of a stage.
+	 *
+	 * @param stage the stage
+	 * @return a copy of the histogram, in nanoseconds
+	 */
+	public Histogram getStageHistogram(Stage stage) {
+		return stageHistograms[stage.ordinal()].copy();
+	}
+
+	@Override
+	public Map<String, Long> getCheckoutsByToolCode() {
+		Map<String, Long> counts = new TreeMap<>();
+		checkoutsByToolCode.forEach((toolCode, count) -> counts.put(toolCode, count.sum()));
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getRejectionsByReason() {
+		Map<String, Long> counts = new TreeMap<>();
+		for (RejectionReason reason : RejectionReason.values()) {
+			counts.put(reason.name(), getRejectionCount(reason));
+		}
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getStageCounts() {
+		return byStage(Histogram::getTotalCount);
+	}
+
+	@Override
+	public Map<String, Long> getStageP50Nanos() {
+		return byStage(histogram -> histogram.getValueAtPercentile(50));
+	}
+
+	@Override
+	public Map<String, Long> getStageP99Nanos() {
+		return byStage(histogram -> histogram.getValueAtPercentile(99));
+	}
+
+	@Override
+	public Map<String, Long> getStageMaxNanos() {
+		return byStage(Histogram::getMaxValue);
+	}
+
+	/**
+	 * Renders every metric as text, one {@code name{labels} value} line per value.
+	 *
+	 * @return the text dump
+	 */
+	@Override
+	public String dump() {
+		StringBuilder out = new StringBuilder(1024);
+		getCheckoutsByToolCode().forEach((toolCode, count) ->
+				out.append("rental_checkouts_total{tool=\"").append(toolCode).append("\"} ").append(count).append('\n'));
+		for (RejectionReason reason : RejectionReason.values()) {
+			out.append("rental_rejections_total{reason=\"").append(label(reason)).append("\"} ")
+					.append(getRejectionCount(reason)).append('\n');
+		}
+		for (Stage stage : Stage.values()) {
+			Histogram histogram = getStageHistogram(stage);
+			String prefix = "rental_stage_latency_nanos{stage=\"" + label(stage) + "\"";
+			out.append(prefix).append(",quantile=\"0.5\"} ").append(histogram.getValueAtPercentile(50)).append('\n');
+			out.append(prefix).append(",quantile=\"0.99\"} ").append(histogram.getValueAtPercentile(99)).append('\n');
+			out.append(prefix).append(",quantile=\"1\"} ").append(histogram.getMaxValue()).append('\n');
+			out.append("rental_stage_latency_nanos_count{stage=\"").append(label(stage)).append("\"} ")
+					.append(histogram.getTotalCount()).append('\n');
+		}
+		if (startupNanos >= 0) {
+			out.append("rental_startup_nanos ").append(startupNanos).append('\n');
+			out.append("rental_first_fast_checkout_nanos ").append(firstFastCheckoutNanos).append('\n');
+		}
+		return out.toString();
+	}
+
+	@Override
+	public void reset() {
+		checkoutsByToolCode.clear();
+		for (LongAdder count : rejectionsByReason) {
+			count.reset();
+		}
+		for (Histogram histogram : stageHistograms) {
+			histogram.reset();
+		}
+	}
+
+	/**
+	 * Registers these metrics with the platform MBean server under {@value #OBJECT_NAME}, replacing any metrics
+	 * registered there before.
+	 *
+	 * @throws IllegalStateException if the MBean cannot be registered
+	 */
+	public void registerMBean() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			try {
+				server.registerMBean(this, name);
+			} catch (InstanceAlreadyExistsException e) {
+				server.unregisterMBean(name);
+				server.registerMBean(this, name);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not register the rental metrics MBean.", e);
+		}
+	}
+
+	/**
+	 * Removes the metrics registered under {@value #OBJECT_NAME} from the platform MBean server, if any.
+	 */
+	public void unregisterMBean() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+		} catch (InstanceNotFoundException e) {
+			// Not registered
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not unregister the rental metrics MBean.", e);
+		}
+	}
+
+	private Map<String, Long> byStage(ToLongFunction<Histogram> value) {
+		Map<String, Long> values = new TreeMap<>();
+		for (Stage stage : Stage.values()) {
+			values.put(stage.name(), value.applyAsLong(getStageHistogram(stage)));
+		}
+		return values;
+	}
+
+	private static String label(Enum<?> value) {
+		return value.name().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,27 @@
+package com.interview.test.metrics;
+
+/**
+ * The reasons a checkout or quote is rejected.
+ */
+public enum RejectionReason {
+	/**
+	 * The rental day count is less than 1.
+	 */
+	INVALID_RENTAL_DAYS,
+	/**
+	 * The discount percent is not between 0 and 100.
+	 */
+	INVALID_DISCOUNT_PERCENT,
+	/**
+	 * The tool code is not in the catalog.
+	 */
+	UNKNOWN_TOOL_CODE,
+	/**
+	 * The store ID has no holiday calendar.
+	 */
+	UNKNOWN_STORE_ID,
+	/**
+	 * Every unit of the tool is reserved for part of the rental period.
+	 */
+	NO_UNIT_AVAILABLE
+}
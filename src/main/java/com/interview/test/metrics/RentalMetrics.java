@@ -0,0 +1,71 @@
+package com.interview.test.metrics;
+
+/**
+ * Receives measurements from the checkout path.
+ * <p>
+ * The rental service asks {@link #isEnabled()} once, when it is constructed; with {@link #NOOP} it then skips reading
+ * the clock and calling the recording methods, so instrumentation that is turned off costs a predictable branch.
+ */
+public interface RentalMetrics {
+
+	/**
+	 * Metrics that record nothing.
+	 */
+	RentalMetrics NOOP = new RentalMetrics() {
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+
+		@Override
+		public void recordStage(Stage stage, long nanos) {
+		}
+
+		@Override
+		public void recordCheckout(String toolCode) {
+		}
+
+		@Override
+		public void recordRejection(RejectionReason reason) {
+		}
+	};
+
+	/**
+	 * Indicates if the metrics record anything. Callers skip measuring when this is false.
+	 *
+	 * @return true if measurements are recorded
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Records how long a stage took.
+	 *
+	 * @param stage the stage
+	 * @param nanos the elapsed time in nanoseconds
+	 */
+	void recordStage(Stage stage, long nanos);
+
+	/**
+	 * Records a successful checkout.
+	 *
+	 * @param toolCode the code of the rented tool
+	 */
+	void recordCheckout(String toolCode);
+
+	/**
+	 * Records a rejected checkout or quote.
+	 *
+	 * @param reason why it was rejected
+	 */
+	void recordRejection(RejectionReason reason);
+
+	/**
+	 * Records how long the process took to start. Metrics that do not track startup ignore it.
+	 *
+	 * @param readyNanos             the time from the start of the JVM until the service was ready
+	 * @param firstFastCheckoutNanos the time from the start of the JVM until checkouts ran at their warmed-up speed,
+	 *                               or -1 if the service was not warmed up
+	 */
+	default void recordStartup(long readyNanos, long firstFastCheckoutNanos) {
+	}
+}
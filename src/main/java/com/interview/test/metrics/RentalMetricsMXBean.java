@@ -0,0 +1,77 @@
+package com.interview.test.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link RecordingRentalMetrics}, registered as {@value RecordingRentalMetrics#OBJECT_NAME}.
+ */
+public interface RentalMetricsMXBean {
+
+	/**
+	 * Gets the number of checkouts of each tool.
+	 *
+	 * @return the checkout count by tool code
+	 */
+	Map<String, Long> getCheckoutsByToolCode();
+
+	/**
+	 * Gets the number of rejections for each reason.
+	 *
+	 * @return the rejection count by reason name
+	 */
+	Map<String, Long> getRejectionsByReason();
+
+	/**
+	 * Gets the number of timed executions of each stage.
+	 *
+	 * @return the count by stage name
+	 */
+	Map<String, Long> getStageCounts();
+
+	/**
+	 * Gets the median latency of each stage.
+	 *
+	 * @return the 50th percentile in nanoseconds by stage name
+	 */
+	Map<String, Long> getStageP50Nanos();
+
+	/**
+	 * Gets the 99th percentile latency of each stage.
+	 *
+	 * @return the 99th percentile in nanoseconds by stage name
+	 */
+	Map<String, Long> getStageP99Nanos();
+
+	/**
+	 * Gets the slowest recorded execution of each stage.
+	 *
+	 * @return the maximum in nanoseconds by stage name
+	 */
+	Map<String, Long> getStageMaxNanos();
+
+	/**
+	 * Gets the time the process took to become ready.
+	 *
+	 * @return the nanoseconds from the start of the JVM until the service was ready, or -1 if not recorded
+	 */
+	long getStartupNanos();
+
+	/**
+	 * Gets the time until checkouts ran at their warmed-up speed.
+	 *
+	 * @return the nanoseconds from the start of the JVM until the first fast checkout, or -1 if not recorded
+	 */
+	long getFirstFastCheckoutNanos();
+
+	/**
+	 * Renders every metric as text.
+	 *
+	 * @return the text dump
+	 */
+	String dump();
+
+	/**
+	 * Clears every counter and histogram.
+	 */
+	void reset();
+}
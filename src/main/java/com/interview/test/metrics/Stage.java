@@ -0,0 +1,23 @@
+package com.interview.test.metrics;
+
+/**
+ * The timed stages of pricing a rental.
+ */
+public enum Stage {
+	/**
+	 * Finding the tool in the catalog.
+	 */
+	CATALOG_LOOKUP,
+	/**
+	 * Counting the charge days and pricing them.
+	 */
+	CHARGE_CALCULATION,
+	/**
+	 * Reserving a unit from the inventory.
+	 */
+	RESERVATION,
+	/**
+	 * A whole checkout or quote, from validation to the finished agreement.
+	 */
+	CHECKOUT
+}
@@ -0,0 +1,33 @@
+package com.interview.test.objects;
+
+import lombok.Getter;
+
+/**
+ * The units of one tool that are free for a rental period, with what renting any of them would cost.
+ */
+@Getter
+public class AvailableUnits {
+
+	private final RentalAgreement quote;
+	private final int[] units;
+
+	/**
+	 * Constructs an AvailableUnits with the specified details.
+	 *
+	 * @param quote the priced rental of the tool, without a reservation
+	 * @param units the indices of the free units among the units of the tool, in ascending order
+	 */
+	public AvailableUnits(RentalAgreement quote, int[] units) {
+		this.quote = quote;
+		this.units = units;
+	}
+
+	/**
+	 * Gets the tool the units belong to.
+	 *
+	 * @return the tool
+	 */
+	public Tool getTool() {
+		return quote.getTool();
+	}
+}
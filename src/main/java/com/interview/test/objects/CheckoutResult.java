@@ -0,0 +1,51 @@
+package com.interview.test.objects;
+
+import lombok.Getter;
+
+/**
+ * The outcome of one checkout in a batch: either a rental agreement or the reason the request was rejected.
+ */
+@Getter
+public class CheckoutResult {
+
+	private final RentalRequest request;
+	private final RentalAgreement agreement;
+	private final IllegalArgumentException error;
+
+	private CheckoutResult(RentalRequest request, RentalAgreement agreement, IllegalArgumentException error) {
+		this.request = request;
+		this.agreement = agreement;
+		this.error = error;
+	}
+
+	/**
+	 * Creates a result for a request that was checked out successfully.
+	 *
+	 * @param request   the rental request
+	 * @param agreement the rental agreement created for the request
+	 * @return the successful result
+	 */
+	public static CheckoutResult success(RentalRequest request, RentalAgreement agreement) {
+		return new CheckoutResult(request, agreement, null);
+	}
+
+	/**
+	 * Creates a result for a request that was rejected.
+	 *
+	 * @param request the rental request
+	 * @param error   the validation error that rejected the request
+	 * @return the failed result
+	 */
+	public static CheckoutResult failure(RentalRequest request, IllegalArgumentException error) {
+		return new CheckoutResult(request, null, error);
+	}
+
+	/**
+	 * Checks if the request was checked out successfully.
+	 *
+	 * @return true if an agreement was created, false if the request was rejected
+	 */
+	public boolean isSuccess() {
+		return error == null;
+	}
+}
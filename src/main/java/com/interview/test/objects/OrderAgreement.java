@@ -0,0 +1,95 @@
+package com.interview.test.objects;
+
+import com.interview.test.util.Money;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The combined agreement of an order of several rentals checked out together.
+ * <p>
+ * Each line is a full {@link RentalAgreement} with its own tool, dates, discount and reserved unit. The order totals
+ * are the sums of the lines' charges, each line rounded as a single checkout rounds it.
+ */
+public final class OrderAgreement {
+
+	private final String customerId;
+	private final List<RentalAgreement> lines;
+	private final long preDiscountChargeCents;
+	private final long discountAmountCents;
+	private final long finalChargeCents;
+
+	/**
+	 * Constructs an OrderAgreement from the agreements of its lines.
+	 *
+	 * @param customerId the contract customer the order was priced for, or null
+	 * @param lines      the agreement of each line, in order
+	 */
+	public OrderAgreement(String customerId, List<RentalAgreement> lines) {
+		this.customerId = customerId;
+		this.lines = Collections.unmodifiableList(lines);
+		long preDiscount = 0;
+		long discount = 0;
+		long finalCharge = 0;
+		for (RentalAgreement line : lines) {
+			preDiscount += line.getPreDiscountChargeCents();
+			discount += line.getDiscountAmountCents();
+			finalCharge += line.getFinalChargeCents();
+		}
+		this.preDiscountChargeCents = preDiscount;
+		this.discountAmountCents = discount;
+		this.finalChargeCents = finalCharge;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public List<RentalAgreement> getLines() {
+		return lines;
+	}
+
+	public int getLineCount() {
+		return lines.size();
+	}
+
+	public BigDecimal getPreDiscountCharge() {
+		return Money.fromCents(preDiscountChargeCents);
+	}
+
+	public BigDecimal getDiscountAmount() {
+		return Money.fromCents(discountAmountCents);
+	}
+
+	public BigDecimal getFinalCharge() {
+		return Money.fromCents(finalChargeCents);
+	}
+
+	/**
+	 * Gets the total charge of the lines before discount, in cents.
+	 *
+	 * @return the pre-discount charge in cents
+	 */
+	public long getPreDiscountChargeCents() {
+		return preDiscountChargeCents;
+	}
+
+	/**
+	 * Gets the total discount of the lines, in cents.
+	 *
+	 * @return the discount amount in cents
+	 */
+	public long getDiscountAmountCents() {
+		return discountAmountCents;
+	}
+
+	/**
+	 * Gets the total final charge of the lines, in cents.
+	 *
+	 * @return the final charge in cents
+	 */
+	public long getFinalChargeCents() {
+		return finalChargeCents;
+	}
+}
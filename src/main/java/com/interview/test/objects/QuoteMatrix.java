@@ -0,0 +1,146 @@
+package com.interview.test.objects;
+
+import com.interview.test.util.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The prices of renting one tool for every length from 1 day up to a maximum, starting on each of a run of
+ * consecutive checkout dates.
+ * <p>
+ * A cell is addressed by the index of its checkout date, counted from the first date, and its number of rental days.
+ * Every cell holds what a checkout of that rental would charge; {@link #toAgreement(int, int)} builds the agreement.
+ */
+public final class QuoteMatrix {
+
+	private final Tool tool;
+	private final LocalDate firstCheckOutDate;
+	private final int dateCount;
+	private final int maxRentalDays;
+	private final int discountPercent;
+	private final int[] chargeDays;
+	private final long[] preDiscountChargeCents;
+
+	/**
+	 * Constructs a QuoteMatrix from priced cells.
+	 *
+	 * @param tool                   the quoted tool
+	 * @param firstCheckOutDate      the first checkout date
+	 * @param dateCount              the number of consecutive checkout dates
+	 * @param maxRentalDays          the longest rental quoted
+	 * @param discountPercent        the discount percentage applied to every quote
+	 * @param chargeDays             the charge days of each cell, at {@code date * maxRentalDays + rentalDays - 1}
+	 * @param preDiscountChargeCents the charge before discount of each cell, in cents, at the same index
+	 */
+	public QuoteMatrix(Tool tool, LocalDate firstCheckOutDate, int dateCount, int maxRentalDays, int discountPercent,
+					   int[] chargeDays, long[] preDiscountChargeCents) {
+		this.tool = tool;
+		this.firstCheckOutDate = firstCheckOutDate;
+		this.dateCount = dateCount;
+		this.maxRentalDays = maxRentalDays;
+		this.discountPercent = discountPercent;
+		this.chargeDays = chargeDays;
+		this.preDiscountChargeCents = preDiscountChargeCents;
+	}
+
+	public Tool getTool() {
+		return tool;
+	}
+
+	public LocalDate getFirstCheckOutDate() {
+		return firstCheckOutDate;
+	}
+
+	public int getDateCount() {
+		return dateCount;
+	}
+
+	public int getMaxRentalDays() {
+		return maxRentalDays;
+	}
+
+	public int getDiscountPercent() {
+		return discountPercent;
+	}
+
+	/**
+	 * Gets the checkout date of a row of the matrix.
+	 *
+	 * @param dateIndex the index of the checkout date, from 0
+	 * @return the checkout date
+	 */
+	public LocalDate getCheckOutDate(int dateIndex) {
+		return firstCheckOutDate.plusDays(Objects.checkIndex(dateIndex, dateCount));
+	}
+
+	/**
+	 * Gets the number of chargeable days of a rental.
+	 *
+	 * @param dateIndex  the index of the checkout date, from 0
+	 * @param rentalDays the number of rental days, from 1 to the maximum
+	 * @return the charge days
+	 * @throws IndexOutOfBoundsException if the rental is outside the matrix
+	 */
+	public int getChargeDays(int dateIndex, int rentalDays) {
+		return chargeDays[cell(dateIndex, rentalDays)];
+	}
+
+	/**
+	 * Gets the charge of a rental before discount.
+	 *
+	 * @param dateIndex  the index of the checkout date, from 0
+	 * @param rentalDays the number of rental days, from 1 to the maximum
+	 * @return the pre-discount charge in cents
+	 * @throws IndexOutOfBoundsException if the rental is outside the matrix
+	 */
+	public long getPreDiscountChargeCents(int dateIndex, int rentalDays) {
+		return preDiscountChargeCents[cell(dateIndex, rentalDays)];
+	}
+
+	/**
+	 * Gets the final charge of a rental after discount, rounded as a checkout rounds it.
+	 *
+	 * @param dateIndex  the index of the checkout date, from 0
+	 * @param rentalDays the number of rental days, from 1 to the maximum
+	 * @return the final charge in cents
+	 * @throws IndexOutOfBoundsException if the rental is outside the matrix
+	 */
+	public long getFinalChargeCents(int dateIndex, int rentalDays) {
+		long cents = getPreDiscountChargeCents(dateIndex, rentalDays);
+		return cents - Money.percentFloor(cents, discountPercent);
+	}
+
+	/**
+	 * Gets the final charge of a rental after discount.
+	 *
+	 * @param dateIndex  the index of the checkout date, from 0
+	 * @param rentalDays the number of rental days, from 1 to the maximum
+	 * @return the final charge
+	 * @throws IndexOutOfBoundsException if the rental is outside the matrix
+	 */
+	public BigDecimal getFinalCharge(int dateIndex, int rentalDays) {
+		return Money.fromCents(getFinalChargeCents(dateIndex, rentalDays));
+	}
+
+	/**
+	 * Builds the agreement of one rental of the matrix, without a reservation.
+	 *
+	 * @param dateIndex  the index of the checkout date, from 0
+	 * @param rentalDays the number of rental days, from 1 to the maximum
+	 * @return the agreement
+	 * @throws IndexOutOfBoundsException if the rental is outside the matrix
+	 */
+	public RentalAgreement toAgreement(int dateIndex, int rentalDays) {
+		int cell = cell(dateIndex, rentalDays);
+		return new RentalAgreement(tool, firstCheckOutDate.plusDays(dateIndex), rentalDays, chargeDays[cell],
+				preDiscountChargeCents[cell], discountPercent, null);
+	}
+
+	private int cell(int dateIndex, int rentalDays) {
+		Objects.checkIndex(dateIndex, dateCount);
+		Objects.checkIndex(rentalDays - 1, maxRentalDays);
+		return dateIndex * maxRentalDays + rentalDays - 1;
+	}
+}
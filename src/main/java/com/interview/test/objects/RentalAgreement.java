@@ -1,31 +1,72 @@
 package com.interview.test.objects;
 
-import lombok.Getter;
+import com.interview.test.inventory.Reservation;
+import com.interview.test.util.Money;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a rental agreement for a tool.
+ * <p>
+ * An agreement priced by the rental service is held in compact form: it references the shared {@link Tool} for the
+ * tool code, type, brand and daily charge, keeps the checkout date as an epoch day and the pre-discount charge in
+ * cents, and derives the due date, discount amount and final charge when they are asked for. Agreements built from
+ * explicit values, such as those read back from storage, keep the values they were given.
  */
-@Getter
-public class RentalAgreement {
-
-	private String toolCode;
-	private String toolType;
-	private String brand;
-	private int rentalDays;
-	private LocalDate checkOutDate;
-	private LocalDate dueDate;
-	private BigDecimal dailyCharge;
-	private int chargeDays;
-	private BigDecimal preDiscountCharge;
-	private int discountPercent;
-	private BigDecimal discountAmount;
-	private BigDecimal finalCharge;
-
-	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yy");
+public final class RentalAgreement {
+
+	private final Tool tool;
+	private final String storeId;
+	private final int checkOutEpochDay;
+	private final int rentalDays;
+	private final int chargeDays;
+	private final int discountPercent;
+	private final long preDiscountChargeCents;
+	private final Reservation reservation;
+	private final Explicit explicit;
+
+	/**
+	 * Constructs a compact RentalAgreement for a priced rental. The due date is the checkout date plus the rental days,
+	 * and the discount and the final charge are each rounded up to the cent from the exact discounted amount.
+	 *
+	 * @param tool                   the rented tool
+	 * @param checkOutDate           the date the tool is checked out
+	 * @param rentalDays             the number of days the tool is rented
+	 * @param chargeDays             the number of chargeable days
+	 * @param preDiscountChargeCents the total charge before applying any discount, in cents
+	 * @param discountPercent        the discount percentage applied to the rental
+	 * @param reservation            the unit reserved for the rental, or null if inventory is not tracked
+	 */
+	public RentalAgreement(Tool tool, LocalDate checkOutDate, int rentalDays, int chargeDays, long preDiscountChargeCents,
+						   int discountPercent, Reservation reservation) {
+		this(null, tool, checkOutDate, rentalDays, chargeDays, preDiscountChargeCents, discountPercent, reservation);
+	}
+
+	/**
+	 * Constructs a compact RentalAgreement for a rental priced with a store's holiday calendar.
+	 *
+	 * @param storeId                the store the tool is checked out at, or null for the default calendar
+	 * @param tool                   the rented tool
+	 * @param checkOutDate           the date the tool is checked out
+	 * @param rentalDays             the number of days the tool is rented
+	 * @param chargeDays             the number of chargeable days
+	 * @param preDiscountChargeCents the total charge before applying any discount, in cents
+	 * @param discountPercent        the discount percentage applied to the rental
+	 * @param reservation            the unit reserved for the rental, or null if inventory is not tracked
+	 */
+	public RentalAgreement(String storeId, Tool tool, LocalDate checkOutDate, int rentalDays, int chargeDays,
+						   long preDiscountChargeCents, int discountPercent, Reservation reservation) {
+		this.tool = tool;
+		this.storeId = storeId;
+		this.checkOutEpochDay = Math.toIntExact(checkOutDate.toEpochDay());
+		this.rentalDays = rentalDays;
+		this.chargeDays = chargeDays;
+		this.discountPercent = discountPercent;
+		this.preDiscountChargeCents = preDiscountChargeCents;
+		this.reservation = reservation;
+		this.explicit = null;
+	}
 
 	/**
 	 * Constructs a RentalAgreement with the specified details.
@@ -46,35 +87,201 @@ public class RentalAgreement {
 	public RentalAgreement(String toolCode, String toolType, String brand, int rentalDays, LocalDate checkOutDate,
 						   LocalDate dueDate, BigDecimal dailyCharge, int chargeDays, BigDecimal preDiscountCharge,
 						   int discountPercent, BigDecimal discountAmount, BigDecimal finalCharge) {
-		this.toolCode = toolCode;
-		this.toolType = toolType;
-		this.brand = brand;
+		this(toolCode, toolType, brand, rentalDays, checkOutDate, dueDate, dailyCharge, chargeDays, preDiscountCharge,
+				discountPercent, discountAmount, finalCharge, null);
+	}
+
+	/**
+	 * Constructs a RentalAgreement that holds a reserved tool unit.
+	 *
+	 * @param toolCode          the code of the rented tool
+	 * @param toolType          the type of the rented tool
+	 * @param brand             the brand of the rented tool
+	 * @param rentalDays        the number of days the tool is rented
+	 * @param checkOutDate      the date the tool is checked out
+	 * @param dueDate           the date the tool is due back
+	 * @param dailyCharge       the daily rental charge for the tool
+	 * @param chargeDays        the number of chargeable days
+	 * @param preDiscountCharge the total charge before applying any discount
+	 * @param discountPercent   the discount percentage applied to the rental
+	 * @param discountAmount    the amount of discount applied
+	 * @param finalCharge       the final charge after applying the discount
+	 * @param reservation       the unit reserved for the rental, or null if inventory is not tracked
+	 */
+	public RentalAgreement(String toolCode, String toolType, String brand, int rentalDays, LocalDate checkOutDate,
+						   LocalDate dueDate, BigDecimal dailyCharge, int chargeDays, BigDecimal preDiscountCharge,
+						   int discountPercent, BigDecimal discountAmount, BigDecimal finalCharge, Reservation reservation) {
+		this.tool = null;
+		this.storeId = null;
+		this.checkOutEpochDay = Math.toIntExact(checkOutDate.toEpochDay());
 		this.rentalDays = rentalDays;
-		this.checkOutDate = checkOutDate;
-		this.dueDate = dueDate;
-		this.dailyCharge = dailyCharge;
 		this.chargeDays = chargeDays;
-		this.preDiscountCharge = preDiscountCharge;
 		this.discountPercent = discountPercent;
-		this.discountAmount = discountAmount;
-		this.finalCharge = finalCharge;
+		this.preDiscountChargeCents = 0;
+		this.reservation = reservation;
+		this.explicit = new Explicit(toolCode, toolType, brand, checkOutDate, dueDate, dailyCharge, preDiscountCharge,
+				discountAmount, finalCharge);
+	}
+
+	/**
+	 * Gets the rented tool.
+	 *
+	 * @return the tool, or null if the agreement was built from explicit values
+	 */
+	public Tool getTool() {
+		return tool;
+	}
+
+	/**
+	 * Gets the store whose holiday calendar priced the rental.
+	 *
+	 * @return the store ID, or null if the rental was priced with the default calendar or built from explicit values
+	 */
+	public String getStoreId() {
+		return storeId;
+	}
+
+	public String getToolCode() {
+		return explicit != null ? explicit.toolCode : tool.getToolCode();
+	}
+
+	public String getToolType() {
+		return explicit != null ? explicit.toolType : tool.getToolType();
+	}
+
+	public String getBrand() {
+		return explicit != null ? explicit.brand : tool.getBrand();
+	}
+
+	public int getRentalDays() {
+		return rentalDays;
+	}
+
+	public LocalDate getCheckOutDate() {
+		return explicit != null ? explicit.checkOutDate : LocalDate.ofEpochDay(checkOutEpochDay);
+	}
+
+	/**
+	 * Gets the checkout date as an epoch day, without creating a date.
+	 *
+	 * @return the checkout date as a number of days since 1970-01-01
+	 */
+	public int getCheckOutEpochDay() {
+		return checkOutEpochDay;
+	}
+
+	public LocalDate getDueDate() {
+		return explicit != null ? explicit.dueDate : LocalDate.ofEpochDay((long) checkOutEpochDay + rentalDays);
+	}
+
+	public BigDecimal getDailyCharge() {
+		return explicit != null ? explicit.dailyCharge : tool.getDailyCharge();
+	}
+
+	public int getChargeDays() {
+		return chargeDays;
+	}
+
+	public BigDecimal getPreDiscountCharge() {
+		return explicit != null ? explicit.preDiscountCharge : Money.fromCents(preDiscountChargeCents);
+	}
+
+	public int getDiscountPercent() {
+		return discountPercent;
+	}
+
+	public BigDecimal getDiscountAmount() {
+		return explicit != null ? explicit.discountAmount : Money.fromCents(getDiscountAmountCents());
+	}
+
+	public BigDecimal getFinalCharge() {
+		return explicit != null ? explicit.finalCharge : Money.fromCents(getFinalChargeCents());
+	}
+
+	public Reservation getReservation() {
+		return reservation;
+	}
+
+	/**
+	 * Gets the daily rental charge in cents.
+	 *
+	 * @return the daily charge in cents
+	 * @throws IllegalArgumentException if the agreement was built with a daily charge in fractions of a cent
+	 */
+	public long getDailyChargeCents() {
+		return explicit != null ? Money.toCents(explicit.dailyCharge) : tool.getDailyChargeCents();
+	}
+
+	/**
+	 * Gets the total charge before applying any discount, in cents.
+	 *
+	 * @return the pre-discount charge in cents
+	 * @throws IllegalArgumentException if the agreement was built with a charge in fractions of a cent
+	 */
+	public long getPreDiscountChargeCents() {
+		return explicit != null ? Money.toCents(explicit.preDiscountCharge) : preDiscountChargeCents;
+	}
+
+	/**
+	 * Gets the amount of discount applied, in cents.
+	 *
+	 * @return the discount amount in cents
+	 * @throws IllegalArgumentException if the agreement was built with a discount in fractions of a cent
+	 */
+	public long getDiscountAmountCents() {
+		return explicit != null ? Money.toCents(explicit.discountAmount)
+				: Money.percentCeiling(preDiscountChargeCents, discountPercent);
+	}
+
+	/**
+	 * Gets the final charge after applying the discount, in cents.
+	 *
+	 * @return the final charge in cents
+	 * @throws IllegalArgumentException if the agreement was built with a charge in fractions of a cent
+	 */
+	public long getFinalChargeCents() {
+		return explicit != null ? Money.toCents(explicit.finalCharge)
+				: preDiscountChargeCents - Money.percentFloor(preDiscountChargeCents, discountPercent);
 	}
 
 	/**
 	 * Prints the rental agreement details to the console.
+	 *
+	 * @see RentalAgreementRenderer
 	 */
 	public void printAgreement() {
-		System.out.println("Tool code: " + toolCode);
-		System.out.println("Tool type: " + toolType);
-		System.out.println("Tool brand: " + brand);
-		System.out.println("Rental days: " + rentalDays);
-		System.out.println("Check out date: " + checkOutDate.format(DATE_FORMAT));
-		System.out.println("Due date: " + dueDate.format(DATE_FORMAT));
-		System.out.printf("Daily rental charge: $%.2f%n", dailyCharge);
-		System.out.println("Charge days: " + chargeDays);
-		System.out.printf("Pre-discount charge: $%.2f%n", preDiscountCharge);
-		System.out.printf("Discount percent: %d%%%n", discountPercent);
-		System.out.printf("Discount amount: $%.2f%n", discountAmount);
-		System.out.printf("Final charge: $%.2f%n", finalCharge);
+		StringBuilder text = new StringBuilder(320);
+		RentalAgreementRenderer.render(this, text);
+		System.out.print(text);
+	}
+
+	/**
+	 * The values of an agreement that was not priced from a shared tool, kept as given.
+	 */
+	private static final class Explicit {
+
+		private final String toolCode;
+		private final String toolType;
+		private final String brand;
+		private final LocalDate checkOutDate;
+		private final LocalDate dueDate;
+		private final BigDecimal dailyCharge;
+		private final BigDecimal preDiscountCharge;
+		private final BigDecimal discountAmount;
+		private final BigDecimal finalCharge;
+
+		private Explicit(String toolCode, String toolType, String brand, LocalDate checkOutDate, LocalDate dueDate,
+						 BigDecimal dailyCharge, BigDecimal preDiscountCharge, BigDecimal discountAmount,
+						 BigDecimal finalCharge) {
+			this.toolCode = toolCode;
+			this.toolType = toolType;
+			this.brand = brand;
+			this.checkOutDate = checkOutDate;
+			this.dueDate = dueDate;
+			this.dailyCharge = dailyCharge;
+			this.preDiscountCharge = preDiscountCharge;
+			this.discountAmount = discountAmount;
+			this.finalCharge = finalCharge;
+		}
 	}
 }
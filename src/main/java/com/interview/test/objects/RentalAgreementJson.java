@@ -0,0 +1,83 @@
+package com.interview.test.objects;
+
+/**
+ * Writes rental agreements and tools as JSON objects.
+ * <p>
+ * Dates are ISO-8601 strings and money amounts are plain decimal numbers, so the output can be read back without
+ * losing precision.
+ */
+public final class RentalAgreementJson {
+
+	private RentalAgreementJson() {
+	}
+
+	/**
+	 * Appends an agreement as a single-line JSON object.
+	 *
+	 * @param agreement the agreement to write
+	 * @param out       the builder to append to
+	 */
+	public static void append(RentalAgreement agreement, StringBuilder out) {
+		out.append("{\"toolCode\":");
+		appendString(agreement.getToolCode(), out);
+		out.append(",\"toolType\":");
+		appendString(agreement.getToolType(), out);
+		out.append(",\"brand\":");
+		appendString(agreement.getBrand(), out);
+		out.append(",\"rentalDays\":").append(agreement.getRentalDays())
+				.append(",\"checkOutDate\":\"").append(agreement.getCheckOutDate())
+				.append("\",\"dueDate\":\"").append(agreement.getDueDate())
+				.append("\",\"dailyCharge\":").append(agreement.getDailyCharge().toPlainString())
+				.append(",\"chargeDays\":").append(agreement.getChargeDays())
+				.append(",\"preDiscountCharge\":").append(agreement.getPreDiscountCharge().toPlainString())
+				.append(",\"discountPercent\":").append(agreement.getDiscountPercent())
+				.append(",\"discountAmount\":").append(agreement.getDiscountAmount().toPlainString())
+				.append(",\"finalCharge\":").append(agreement.getFinalCharge().toPlainString())
+				.append('}');
+	}
+
+	/**
+	 * Appends a tool as a single-line JSON object.
+	 *
+	 * @param tool the tool to write
+	 * @param out  the builder to append to
+	 */
+	public static void append(Tool tool, StringBuilder out) {
+		out.append("{\"toolCode\":");
+		appendString(tool.getToolCode(), out);
+		out.append(",\"toolType\":");
+		appendString(tool.getToolType(), out);
+		out.append(",\"brand\":");
+		appendString(tool.getBrand(), out);
+		out.append(",\"dailyCharge\":").append(tool.getDailyCharge().toPlainString())
+				.append(",\"weekdayCharge\":").append(tool.isWeekdayCharge())
+				.append(",\"weekendCharge\":").append(tool.isWeekendCharge())
+				.append(",\"holidayCharge\":").append(tool.isHolidayCharge())
+				.append('}');
+	}
+
+	/**
+	 * Appends a quoted JSON string, escaping quotes, backslashes and control characters.
+	 *
+	 * @param value the string to write, or null
+	 * @param out   the builder to append to
+	 */
+	public static void appendString(String value, StringBuilder out) {
+		if (value == null) {
+			out.append("null");
+			return;
+		}
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				out.append('\\').append(c);
+			} else if (c < 0x20) {
+				out.append(String.format("\\u%04x", (int) c));
+			} else {
+				out.append(c);
+			}
+		}
+		out.append('"');
+	}
+}
@@ -0,0 +1,174 @@
+package com.interview.test.objects;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CoderResult;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Renders a rental agreement as the text printed by {@link RentalAgreement#printAgreement()}.
+ * <p>
+ * The output is built by appending preformatted fields, without format strings, and produces exactly what the
+ * equivalent {@code printf} calls would: dates as MM/dd/yy, money rounded half up to two decimals, and digits and the
+ * decimal separator of the default formatting locale.
+ */
+public final class RentalAgreementRenderer {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	private static volatile NumberSymbols numberSymbols = new NumberSymbols(Locale.getDefault(Locale.Category.FORMAT));
+
+	private RentalAgreementRenderer() {
+	}
+
+	/**
+	 * Renders an agreement into a string builder.
+	 *
+	 * @param agreement the agreement to render
+	 * @param out       the builder to append to
+	 */
+	public static void render(RentalAgreement agreement, StringBuilder out) {
+		NumberSymbols symbols = currentNumberSymbols();
+		out.append("Tool code: ").append(agreement.getToolCode()).append(LINE_SEPARATOR);
+		out.append("Tool type: ").append(agreement.getToolType()).append(LINE_SEPARATOR);
+		out.append("Tool brand: ").append(agreement.getBrand()).append(LINE_SEPARATOR);
+		out.append("Rental days: ").append(agreement.getRentalDays()).append(LINE_SEPARATOR);
+		out.append("Check out date: ");
+		appendDate(out, agreement.getCheckOutDate());
+		out.append(LINE_SEPARATOR).append("Due date: ");
+		appendDate(out, agreement.getDueDate());
+		out.append(LINE_SEPARATOR).append("Daily rental charge: $");
+		appendMoney(out, agreement.getDailyCharge(), symbols);
+		out.append(LINE_SEPARATOR).append("Charge days: ").append(agreement.getChargeDays());
+		out.append(LINE_SEPARATOR).append("Pre-discount charge: $");
+		appendMoney(out, agreement.getPreDiscountCharge(), symbols);
+		out.append(LINE_SEPARATOR).append("Discount percent: ");
+		appendInteger(out, agreement.getDiscountPercent(), symbols);
+		out.append('%').append(LINE_SEPARATOR).append("Discount amount: $");
+		appendMoney(out, agreement.getDiscountAmount(), symbols);
+		out.append(LINE_SEPARATOR).append("Final charge: $");
+		appendMoney(out, agreement.getFinalCharge(), symbols);
+		out.append(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Renders an agreement into any appendable, such as a writer.
+	 *
+	 * @param agreement the agreement to render
+	 * @param out       the appendable to write to
+	 * @throws IOException if the appendable fails
+	 */
+	public static void render(RentalAgreement agreement, Appendable out) throws IOException {
+		if (out instanceof StringBuilder) {
+			render(agreement, (StringBuilder) out);
+			return;
+		}
+		StringBuilder text = new StringBuilder(320);
+		render(agreement, text);
+		out.append(text);
+	}
+
+	/**
+	 * Renders an agreement into a byte buffer.
+	 *
+	 * @param agreement the agreement to render
+	 * @param out       the buffer to write to, starting at its position
+	 * @param charset   the charset to encode the text with
+	 * @throws BufferOverflowException if the buffer does not have room for the agreement
+	 */
+	public static void render(RentalAgreement agreement, ByteBuffer out, Charset charset) {
+		StringBuilder text = new StringBuilder(320);
+		render(agreement, text);
+		try {
+			CoderResult result = charset.newEncoder().encode(CharBuffer.wrap(text), out, true);
+			if (result.isError()) {
+				result.throwException();
+			} else if (result.isOverflow()) {
+				throw new BufferOverflowException();
+			}
+		} catch (CharacterCodingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void appendDate(StringBuilder out, LocalDate date) {
+		appendTwoDigits(out, date.getMonthValue(), '0');
+		out.append('/');
+		appendTwoDigits(out, date.getDayOfMonth(), '0');
+		out.append('/');
+		appendTwoDigits(out, Math.floorMod(date.getYear(), 100), '0');
+	}
+
+	private static void appendMoney(StringBuilder out, BigDecimal amount, NumberSymbols symbols) {
+		BigDecimal rounded = amount.setScale(2, RoundingMode.HALF_UP);
+		long cents = rounded.unscaledValue().longValue();
+		if (rounded.signum() < 0) {
+			out.append('-');
+			cents = -cents;
+		}
+		appendDigits(out, cents / 100, symbols.zeroDigit);
+		out.append(symbols.decimalSeparator);
+		appendTwoDigits(out, (int) (cents % 100), symbols.zeroDigit);
+	}
+
+	private static void appendInteger(StringBuilder out, int value, NumberSymbols symbols) {
+		if (value < 0) {
+			out.append('-');
+			appendDigits(out, -(long) value, symbols.zeroDigit);
+		} else {
+			appendDigits(out, value, symbols.zeroDigit);
+		}
+	}
+
+	private static void appendDigits(StringBuilder out, long value, char zeroDigit) {
+		if (zeroDigit == '0') {
+			out.append(value);
+			return;
+		}
+		int start = out.length();
+		out.append(value);
+		for (int i = start; i < out.length(); i++) {
+			out.setCharAt(i, (char) (zeroDigit + (out.charAt(i) - '0')));
+		}
+	}
+
+	private static void appendTwoDigits(StringBuilder out, int value, char zeroDigit) {
+		out.append((char) (zeroDigit + value / 10)).append((char) (zeroDigit + value % 10));
+	}
+
+	private static NumberSymbols currentNumberSymbols() {
+		Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+		NumberSymbols symbols = numberSymbols;
+		if (!symbols.locale.equals(locale)) {
+			symbols = new NumberSymbols(locale);
+			numberSymbols = symbols;
+		}
+		return symbols;
+	}
+
+	/**
+	 * The locale-specific characters used when formatting numbers.
+	 */
+	private static final class NumberSymbols {
+
+		private final Locale locale;
+		private final char zeroDigit;
+		private final char decimalSeparator;
+
+		NumberSymbols(Locale locale) {
+			DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+			this.locale = locale;
+			this.zeroDigit = symbols.getZeroDigit();
+			this.decimalSeparator = symbols.getDecimalSeparator();
+		}
+	}
+}
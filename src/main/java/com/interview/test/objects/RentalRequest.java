@@ -0,0 +1,47 @@
+package com.interview.test.objects;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a request to rent a tool, as accepted by a checkout.
+ */
+@Getter
+public class RentalRequest {
+
+	private final String storeId;
+	private final String toolCode;
+	private final int rentalDays;
+	private final int discountPercent;
+	private final LocalDate checkOutDate;
+
+	/**
+	 * Constructs a RentalRequest with the specified details.
+	 *
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 */
+	public RentalRequest(String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate) {
+		this(null, toolCode, rentalDays, discountPercent, checkOutDate);
+	}
+
+	/**
+	 * Constructs a RentalRequest at a store with the specified details.
+	 *
+	 * @param storeId         the store the tool is checked out at, or null for the default holiday calendar
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 */
+	public RentalRequest(String storeId, String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate) {
+		this.storeId = storeId;
+		this.toolCode = toolCode;
+		this.rentalDays = rentalDays;
+		this.discountPercent = discountPercent;
+		this.checkOutDate = checkOutDate;
+	}
+}
@@ -0,0 +1,30 @@
+package com.interview.test.objects;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Represents the return of a rented tool, as accepted by a settlement.
+ */
+@Getter
+public class ReturnRequest {
+
+	private final RentalAgreement agreement;
+	private final LocalDate returnDate;
+	private final BigDecimal damageFee;
+
+	/**
+	 * Constructs a ReturnRequest with the specified details.
+	 *
+	 * @param agreement  the agreement the tool was rented under
+	 * @param returnDate the date the tool is actually returned
+	 * @param damageFee  the fee charged for damage to the tool, zero if it came back undamaged
+	 */
+	public ReturnRequest(RentalAgreement agreement, LocalDate returnDate, BigDecimal damageFee) {
+		this.agreement = agreement;
+		this.returnDate = returnDate;
+		this.damageFee = damageFee;
+	}
+}
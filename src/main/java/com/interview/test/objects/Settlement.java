@@ -0,0 +1,52 @@
+package com.interview.test.objects;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Represents the settlement of a returned rental: the agreed charge plus any late charge and damage fee.
+ */
+@Getter
+public class Settlement {
+
+	private final RentalAgreement agreement;
+	private final LocalDate returnDate;
+	private final int lateDays;
+	private final int lateChargeDays;
+	private final BigDecimal lateCharge;
+	private final BigDecimal damageFee;
+	private final BigDecimal totalCharge;
+
+	/**
+	 * Constructs a Settlement with the specified details.
+	 *
+	 * @param agreement      the agreement the tool was rented under
+	 * @param returnDate     the date the tool was returned
+	 * @param lateDays       the number of days after the due date the tool was returned, zero if it was on time
+	 * @param lateChargeDays the number of late days that are chargeable
+	 * @param lateCharge     the charge for the late days, without the agreement's discount
+	 * @param damageFee      the fee charged for damage to the tool
+	 * @param totalCharge    the agreement's final charge plus the late charge and the damage fee
+	 */
+	public Settlement(RentalAgreement agreement, LocalDate returnDate, int lateDays, int lateChargeDays,
+					  BigDecimal lateCharge, BigDecimal damageFee, BigDecimal totalCharge) {
+		this.agreement = agreement;
+		this.returnDate = returnDate;
+		this.lateDays = lateDays;
+		this.lateChargeDays = lateChargeDays;
+		this.lateCharge = lateCharge;
+		this.damageFee = damageFee;
+		this.totalCharge = totalCharge;
+	}
+
+	/**
+	 * Checks if the tool was returned after its due date.
+	 *
+	 * @return true if there are late days
+	 */
+	public boolean isLate() {
+		return lateDays > 0;
+	}
+}
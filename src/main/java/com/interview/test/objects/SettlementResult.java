@@ -0,0 +1,51 @@
+package com.interview.test.objects;
+
+import lombok.Getter;
+
+/**
+ * The outcome of one settlement in a batch: either a settlement or the reason the return was rejected.
+ */
+@Getter
+public class SettlementResult {
+
+	private final ReturnRequest request;
+	private final Settlement settlement;
+	private final IllegalArgumentException error;
+
+	private SettlementResult(ReturnRequest request, Settlement settlement, IllegalArgumentException error) {
+		this.request = request;
+		this.settlement = settlement;
+		this.error = error;
+	}
+
+	/**
+	 * Creates a result for a return that was settled successfully.
+	 *
+	 * @param request    the return request
+	 * @param settlement the settlement created for the return
+	 * @return the successful result
+	 */
+	public static SettlementResult success(ReturnRequest request, Settlement settlement) {
+		return new SettlementResult(request, settlement, null);
+	}
+
+	/**
+	 * Creates a result for a return that was rejected.
+	 *
+	 * @param request the return request
+	 * @param error   the validation error that rejected the return
+	 * @return the failed result
+	 */
+	public static SettlementResult failure(ReturnRequest request, IllegalArgumentException error) {
+		return new SettlementResult(request, null, error);
+	}
+
+	/**
+	 * Checks if the return was settled successfully.
+	 *
+	 * @return true if a settlement was created, false if the return was rejected
+	 */
+	public boolean isSuccess() {
+		return error == null;
+	}
+}
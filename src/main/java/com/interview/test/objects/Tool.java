@@ -1,10 +1,12 @@
 package com.interview.test.objects;
 
+import com.interview.test.pricing.ChargeEvaluator;
+import com.interview.test.pricing.ChargeRules;
+import com.interview.test.pricing.HolidayPolicy;
+import com.interview.test.util.Money;
 import lombok.Getter;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Represents a tool available for rental.
@@ -16,18 +18,12 @@ public class Tool {
 	private String toolType;
 	private String brand;
 	private BigDecimal dailyCharge;
+	private long dailyChargeCents;
 	private boolean weekdayCharge;
 	private boolean weekendCharge;
 	private boolean holidayCharge;
-
-	private static final Map<String, Tool> toolCatalog = new HashMap<>();
-
-	static {
-		toolCatalog.put("CHNS", new Tool("CHNS", "Chainsaw", "Stihl", BigDecimal.valueOf(1.49), true, false, true));
-		toolCatalog.put("LADW", new Tool("LADW", "Ladder", "Werner", BigDecimal.valueOf(1.99), true, true, false));
-		toolCatalog.put("JAKD", new Tool("JAKD", "Jackhammer", "DeWalt", BigDecimal.valueOf(2.99), true, false, false));
-		toolCatalog.put("JAKR", new Tool("JAKR", "Jackhammer", "Ridgid", BigDecimal.valueOf(2.99), true, false, false));
-	}
+	private ChargeRules chargeRules;
+	private ChargeEvaluator chargeEvaluator;
 
 	/**
 	 * Constructs a Tool with the specified details.
@@ -39,25 +35,54 @@ public class Tool {
 	 * @param weekdayCharge indicates if the tool has a weekday charge
 	 * @param weekendCharge indicates if the tool has a weekend charge
 	 * @param holidayCharge indicates if the tool has a holiday charge
+	 * @throws IllegalArgumentException if the daily charge is not a whole number of cents
 	 */
 	public Tool(String toolCode, String toolType, String brand, BigDecimal dailyCharge, boolean weekdayCharge, boolean weekendCharge, boolean holidayCharge) {
 		this.toolCode = toolCode;
 		this.toolType = toolType;
 		this.brand = brand;
 		this.dailyCharge = dailyCharge;
+		this.dailyChargeCents = Money.toCents(dailyCharge);
 		this.weekdayCharge = weekdayCharge;
 		this.weekendCharge = weekendCharge;
 		this.holidayCharge = holidayCharge;
+		this.chargeRules = ChargeRules.standard(dailyChargeCents, weekdayCharge, weekendCharge, holidayCharge);
+		this.chargeEvaluator = chargeRules.compile();
+	}
+
+	/**
+	 * Constructs a Tool priced by custom charge rules. The weekday, weekend and holiday charge flags are derived from
+	 * the rules: a flag is set if any day of that kind has a rate.
+	 *
+	 * @param toolCode    the code of the tool
+	 * @param toolType    the type of the tool
+	 * @param brand       the brand of the tool
+	 * @param dailyCharge the daily rental charge for the tool
+	 * @param chargeRules the rules that decide which days are charged and at what rate
+	 * @throws IllegalArgumentException if the daily charge is not a whole number of cents or the rules are invalid
+	 */
+	public Tool(String toolCode, String toolType, String brand, BigDecimal dailyCharge, ChargeRules chargeRules) {
+		long[] rates = chargeRules.getDayOfWeekRatesCents();
+		this.toolCode = toolCode;
+		this.toolType = toolType;
+		this.brand = brand;
+		this.dailyCharge = dailyCharge;
+		this.dailyChargeCents = Money.toCents(dailyCharge);
+		this.weekdayCharge = rates[0] > 0 || rates[1] > 0 || rates[2] > 0 || rates[3] > 0 || rates[4] > 0;
+		this.weekendCharge = rates[5] > 0 || rates[6] > 0;
+		this.holidayCharge = chargeRules.getHolidayPolicy() == HolidayPolicy.CHARGED;
+		this.chargeRules = chargeRules;
+		this.chargeEvaluator = chargeRules.compile();
 	}
 
 	/**
-	 * Retrieves a Tool object by its code.
+	 * Retrieves a Tool object by its code from the default catalog.
 	 *
 	 * @param toolCode the code of the tool to retrieve
 	 * @return the Tool object corresponding to the specified code, or null if no such tool exists
 	 */
 	public static Tool getToolByCode(String toolCode) {
-		return toolCatalog.get(toolCode);
+		return ToolCatalog.getDefault().getTool(toolCode);
 	}
 }
 
@@ -0,0 +1,410 @@
+package com.interview.test.objects;
+
+import com.interview.test.pricing.ChargeRules;
+import com.interview.test.pricing.HolidayPolicy;
+import com.interview.test.pricing.SeasonalRate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The catalog of tools available for rental.
+ * <p>
+ * The catalog is published as an immutable snapshot held in a volatile field. Reloading builds a complete new
+ * snapshot and swaps it in with a single write, so lookups never lock and a checkout in progress keeps the snapshot it
+ * started with. Each snapshot also indexes its tools by type and brand, so a search for any tool of a type reads a
+ * prebuilt list. Catalogs are loaded from CSV with one tool per line:
+ * {@code toolCode,toolType,brand,dailyCharge,weekdayCharge,weekendCharge,holidayCharge}. Blank lines and lines
+ * starting with {@code #} are ignored.
+ */
+public class ToolCatalog {
+
+	private static final String DEFAULT_CATALOG_RESOURCE = "/tools.csv";
+	private static final int MAX_SERIALIZED_TOOLS = 1 << 20;
+
+	private final Path source;
+	private volatile Snapshot snapshot;
+	private volatile Exception lastReloadFailure;
+
+	/**
+	 * Constructs a ToolCatalog containing the given tools.
+	 *
+	 * @param tools the tools in the catalog
+	 * @throws IllegalArgumentException if two tools have the same code
+	 */
+	public ToolCatalog(Collection<Tool> tools) {
+		this(null, tools);
+	}
+
+	private ToolCatalog(Path source, Collection<Tool> tools) {
+		this.source = source;
+		this.snapshot = new Snapshot(tools, 0);
+	}
+
+	/**
+	 * Loads a catalog from a CSV file. The catalog can later be reloaded from the same file.
+	 *
+	 * @param source the CSV file to load
+	 * @return the loaded catalog
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a valid catalog
+	 */
+	public static ToolCatalog load(Path source) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+			return new ToolCatalog(source, parse(reader));
+		}
+	}
+
+	/**
+	 * Gets the default catalog, loaded from the {@code tools.csv} resource on first use, so a catalog read from a
+	 * snapshot never parses it.
+	 *
+	 * @return the default tool catalog
+	 */
+	public static ToolCatalog getDefault() {
+		return DefaultCatalog.INSTANCE;
+	}
+
+	/**
+	 * Retrieves a Tool object by its code.
+	 *
+	 * @param toolCode the code of the tool to retrieve
+	 * @return the Tool object corresponding to the specified code, or null if no such tool exists
+	 */
+	public Tool getTool(String toolCode) {
+		return snapshot.byCode.get(toolCode);
+	}
+
+	/**
+	 * Gets every tool in the current snapshot.
+	 *
+	 * @return an unmodifiable view of the tools
+	 */
+	public Collection<Tool> getTools() {
+		return snapshot.byCode.values();
+	}
+
+	/**
+	 * Gets every tool of a type, ignoring case.
+	 *
+	 * @param toolType the type of the tools, such as {@code Jackhammer}
+	 * @return an unmodifiable list of the tools in catalog order, empty if no tool has the type
+	 */
+	public List<Tool> getToolsByType(String toolType) {
+		return getToolsByType(toolType, null);
+	}
+
+	/**
+	 * Gets every tool of a type and brand, ignoring case.
+	 *
+	 * @param toolType the type of the tools, such as {@code Jackhammer}
+	 * @param brand    the brand of the tools, or null for any brand
+	 * @return an unmodifiable list of the tools in catalog order, empty if no tool matches
+	 */
+	public List<Tool> getToolsByType(String toolType, String brand) {
+		if (toolType == null) {
+			return List.of();
+		}
+		List<Tool> tools = snapshot.byType.get(brand == null ? key(toolType) : key(toolType, brand));
+		return tools == null ? List.of() : tools;
+	}
+
+	/**
+	 * Gets the version of the current snapshot. It goes up by one each time the catalog is replaced or reloaded, so data
+	 * derived from the tools can tell when it is stale.
+	 *
+	 * @return the snapshot version, 0 for a new catalog
+	 */
+	public long getVersion() {
+		return snapshot.version;
+	}
+
+	/**
+	 * Gets the number of tools in the current snapshot.
+	 *
+	 * @return the number of tools
+	 */
+	public int size() {
+		return snapshot.byCode.size();
+	}
+
+	/**
+	 * Atomically replaces the contents of the catalog.
+	 *
+	 * @param tools the new tools in the catalog
+	 * @throws IllegalArgumentException if two tools have the same code
+	 */
+	public synchronized void replace(Collection<Tool> tools) {
+		this.snapshot = new Snapshot(tools, snapshot.version + 1);
+	}
+
+	/**
+	 * Reloads the catalog from the file it was loaded from. The current snapshot stays in place if the file cannot be
+	 * read or is invalid.
+	 *
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a valid catalog or contains no tools
+	 * @throws IllegalStateException    if the catalog was not loaded from a file
+	 */
+	public void reload() throws IOException {
+		if (source == null) {
+			throw new IllegalStateException("Catalog was not loaded from a file.");
+		}
+		List<Tool> reloaded;
+		try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+			reloaded = parse(reader);
+		}
+		// An empty file is most likely being rewritten, so it must not wipe out the catalog
+		if (reloaded.isEmpty()) {
+			throw new IllegalArgumentException("Catalog file " + source + " contains no tools.");
+		}
+		replace(reloaded);
+	}
+
+	/**
+	 * Starts a daemon thread that reloads the catalog whenever its file changes. A failed reload keeps the current
+	 * snapshot and is reported through {@link #getLastReloadFailure()}.
+	 *
+	 * @return a handle that stops watching when closed
+	 * @throws IOException           if the file system cannot be watched
+	 * @throws IllegalStateException if the catalog was not loaded from a file
+	 */
+	public Closeable watch() throws IOException {
+		if (source == null) {
+			throw new IllegalStateException("Catalog was not loaded from a file.");
+		}
+		Path directory = source.toAbsolutePath().getParent();
+		Path fileName = source.getFileName();
+		WatchService watchService = FileSystems.getDefault().newWatchService();
+		directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+		Thread watcher = new Thread(() -> {
+			try {
+				while (true) {
+					WatchKey key = watchService.take();
+					boolean changed = false;
+					for (WatchEvent<?> event : key.pollEvents()) {
+						changed |= fileName.equals(event.context());
+					}
+					key.reset();
+					if (changed) {
+						try {
+							reload();
+							lastReloadFailure = null;
+						} catch (IOException | RuntimeException e) {
+							lastReloadFailure = e;
+						}
+					}
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				// watching stopped
+			}
+		}, "tool-catalog-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+		return watchService;
+	}
+
+	/**
+	 * Gets the error from the most recent reload triggered by {@link #watch()}.
+	 *
+	 * @return the error, or null if the most recent reload succeeded
+	 */
+	public Exception getLastReloadFailure() {
+		return lastReloadFailure;
+	}
+
+	/**
+	 * Writes the tools of the current snapshot in binary form, each with its complete charge rules.
+	 *
+	 * @param out the output to write to
+	 * @throws IOException if writing fails
+	 * @see #readFrom(DataInput)
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		Collection<Tool> snapshotTools = getTools();
+		out.writeInt(snapshotTools.size());
+		for (Tool tool : snapshotTools) {
+			out.writeUTF(tool.getToolCode());
+			out.writeUTF(tool.getToolType());
+			out.writeUTF(tool.getBrand());
+			out.writeUTF(tool.getDailyCharge().toPlainString());
+			ChargeRules rules = tool.getChargeRules();
+			out.writeLong(rules.getBaseRateCents());
+			for (long rate : rules.getDayOfWeekRatesCents()) {
+				out.writeLong(rate);
+			}
+			out.writeUTF(rules.getHolidayPolicy().name());
+			out.writeLong(rules.getHolidayRateCents());
+			out.writeInt(rules.getSeasonalRates().size());
+			for (SeasonalRate season : rules.getSeasonalRates()) {
+				out.writeUTF(season.getFrom().toString());
+				out.writeUTF(season.getTo().toString());
+				out.writeInt(season.getRatePercent());
+			}
+			out.writeInt(rules.getMinimumChargeDays());
+			out.writeInt(rules.getCapWindowDays());
+			out.writeLong(rules.getCapAmountCents());
+		}
+	}
+
+	/**
+	 * Reads a catalog written by {@link #writeTo(DataOutput)}. The catalog cannot be reloaded.
+	 *
+	 * @param in the input to read from
+	 * @return the catalog
+	 * @throws IOException              if reading fails
+	 * @throws IllegalArgumentException if the input is not a valid catalog
+	 */
+	public static ToolCatalog readFrom(DataInput in) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > MAX_SERIALIZED_TOOLS) {
+			throw new IllegalArgumentException("Invalid tool count " + count + ".");
+		}
+		List<Tool> tools = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String toolCode = in.readUTF();
+			String toolType = in.readUTF();
+			String brand = in.readUTF();
+			BigDecimal dailyCharge = new BigDecimal(in.readUTF());
+			ChargeRules.ChargeRulesBuilder rules = ChargeRules.builder().baseRateCents(in.readLong());
+			long[] dayOfWeekRates = new long[7];
+			for (int day = 0; day < dayOfWeekRates.length; day++) {
+				dayOfWeekRates[day] = in.readLong();
+			}
+			rules.dayOfWeekRatesCents(dayOfWeekRates)
+					.holidayPolicy(HolidayPolicy.valueOf(in.readUTF()))
+					.holidayRateCents(in.readLong());
+			int seasons = in.readInt();
+			if (seasons < 0 || seasons > 366) {
+				throw new IllegalArgumentException("Invalid seasonal rate count " + seasons + ".");
+			}
+			for (int season = 0; season < seasons; season++) {
+				rules.seasonalRate(new SeasonalRate(MonthDay.parse(in.readUTF()), MonthDay.parse(in.readUTF()), in.readInt()));
+			}
+			rules.minimumChargeDays(in.readInt()).capWindowDays(in.readInt()).capAmountCents(in.readLong());
+			tools.add(new Tool(toolCode, toolType, brand, dailyCharge, rules.build()));
+		}
+		return new ToolCatalog(tools);
+	}
+
+	/**
+	 * Parses a catalog in CSV form.
+	 *
+	 * @param reader the reader to parse
+	 * @return the tools in the order they appear
+	 * @throws IOException              if the reader fails
+	 * @throws IllegalArgumentException if a line is not a valid tool
+	 */
+	static List<Tool> parse(BufferedReader reader) throws IOException {
+		List<Tool> tools = new ArrayList<>();
+		int lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] fields = line.split(",", -1);
+			if (fields.length != 7) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": expected 7 fields but found " + fields.length + ".");
+			}
+			try {
+				tools.add(new Tool(fields[0].trim(), fields[1].trim(), fields[2].trim(), new BigDecimal(fields[3].trim()),
+						parseBoolean(fields[4]), parseBoolean(fields[5]), parseBoolean(fields[6])));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+			}
+		}
+		return tools;
+	}
+
+	private static boolean parseBoolean(String field) {
+		String value = field.trim();
+		if (value.equalsIgnoreCase("true")) {
+			return true;
+		} else if (value.equalsIgnoreCase("false")) {
+			return false;
+		}
+		throw new IllegalArgumentException("Invalid flag '" + value + "'.");
+	}
+
+	private static String key(String toolType) {
+		return toolType.toLowerCase(Locale.ROOT);
+	}
+
+	private static String key(String toolType, String brand) {
+		return toolType.toLowerCase(Locale.ROOT) + '\0' + brand.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * The tools of one version of the catalog, by code, by type, and by type and brand.
+	 */
+	private static final class Snapshot {
+
+		private final Map<String, Tool> byCode;
+		private final Map<String, List<Tool>> byType;
+		private final long version;
+
+		Snapshot(Collection<Tool> tools, long version) {
+			Map<String, Tool> byCode = new HashMap<>(tools.size() * 4 / 3 + 1);
+			Map<String, List<Tool>> byType = new HashMap<>();
+			for (Tool tool : tools) {
+				if (byCode.put(tool.getToolCode(), tool) != null) {
+					throw new IllegalArgumentException("Duplicate tool code " + tool.getToolCode() + ".");
+				}
+				byType.computeIfAbsent(key(tool.getToolType()), type -> new ArrayList<>()).add(tool);
+				byType.computeIfAbsent(key(tool.getToolType(), tool.getBrand()), typeAndBrand -> new ArrayList<>()).add(tool);
+			}
+			byType.replaceAll((type, matches) -> List.copyOf(matches));
+			this.byCode = Collections.unmodifiableMap(byCode);
+			this.byType = byType;
+			this.version = version;
+		}
+	}
+
+	/**
+	 * Holds the default catalog, which the JVM loads when the class is first used.
+	 */
+	private static final class DefaultCatalog {
+
+		private static final ToolCatalog INSTANCE = loadDefault();
+	}
+
+	private static ToolCatalog loadDefault() {
+		InputStream in = ToolCatalog.class.getResourceAsStream(DEFAULT_CATALOG_RESOURCE);
+		if (in == null) {
+			throw new IllegalStateException("Missing catalog resource " + DEFAULT_CATALOG_RESOURCE + ".");
+		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			return new ToolCatalog(parse(reader));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
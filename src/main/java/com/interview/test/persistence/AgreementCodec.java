@@ -0,0 +1,133 @@
+package com.interview.test.persistence;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.util.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * The binary form of a rental agreement inside a store record.
+ * <p>
+ * A payload is the agreement ID, the checkout date, due date and day counts as ints, the four money amounts as long
+ * cents, and the tool code, type and brand as length-prefixed UTF-8. Dates are epoch days. The reservation of an
+ * agreement is not stored; it belongs to the in-memory inventory.
+ */
+final class AgreementCodec {
+
+	/**
+	 * The size of the fixed-width fields of a payload, excluding the strings.
+	 */
+	static final int FIXED_BYTES = Long.BYTES + 5 * Integer.BYTES + 4 * Long.BYTES;
+
+	private AgreementCodec() {
+	}
+
+	/**
+	 * Gets the number of bytes a string takes in a payload.
+	 */
+	static int encodedLength(byte[] utf8) {
+		return Short.BYTES + (utf8 == null ? 0 : utf8.length);
+	}
+
+	/**
+	 * Writes a payload at the position of a buffer, advancing the position past it.
+	 *
+	 * @param id        the agreement ID
+	 * @param agreement the agreement
+	 * @param toolCode  the UTF-8 tool code
+	 * @param toolType  the UTF-8 tool type
+	 * @param brand     the UTF-8 brand
+	 * @param out       the buffer to write to
+	 */
+	static void encode(long id, RentalAgreement agreement, byte[] toolCode, byte[] toolType, byte[] brand, ByteBuffer out) {
+		out.putLong(id);
+		out.putInt(agreement.getCheckOutEpochDay());
+		out.putInt(Math.toIntExact(agreement.getDueDate().toEpochDay()));
+		out.putInt(agreement.getRentalDays());
+		out.putInt(agreement.getChargeDays());
+		out.putInt(agreement.getDiscountPercent());
+		out.putLong(agreement.getDailyChargeCents());
+		out.putLong(agreement.getPreDiscountChargeCents());
+		out.putLong(agreement.getDiscountAmountCents());
+		out.putLong(agreement.getFinalChargeCents());
+		putString(out, toolCode);
+		putString(out, toolType);
+		putString(out, brand);
+	}
+
+	/**
+	 * Reads the agreement ID of a payload without decoding the rest.
+	 */
+	static long readId(ByteBuffer payload, int offset) {
+		return payload.getLong(offset);
+	}
+
+	/**
+	 * Reads the checkout date of a payload, as an epoch day, without decoding the rest.
+	 */
+	static int readCheckOutEpochDay(ByteBuffer payload, int offset) {
+		return payload.getInt(offset + Long.BYTES);
+	}
+
+	/**
+	 * Decodes the payload at the position of a buffer, advancing the position past it.
+	 *
+	 * @param in the buffer to read from
+	 * @return the agreement
+	 */
+	static RentalAgreement decode(ByteBuffer in) {
+		in.getLong();
+		LocalDate checkOutDate = LocalDate.ofEpochDay(in.getInt());
+		LocalDate dueDate = LocalDate.ofEpochDay(in.getInt());
+		int rentalDays = in.getInt();
+		int chargeDays = in.getInt();
+		int discountPercent = in.getInt();
+		long dailyChargeCents = in.getLong();
+		long preDiscountCents = in.getLong();
+		long discountCents = in.getLong();
+		long finalCents = in.getLong();
+		String toolCode = getString(in);
+		String toolType = getString(in);
+		String brand = getString(in);
+		return new RentalAgreement(toolCode, toolType, brand, rentalDays, checkOutDate, dueDate,
+				Money.fromCents(dailyChargeCents), chargeDays, Money.fromCents(preDiscountCents), discountPercent,
+				Money.fromCents(discountCents), Money.fromCents(finalCents));
+	}
+
+	/**
+	 * Encodes a string as UTF-8.
+	 *
+	 * @throws IllegalArgumentException if the string does not fit a length prefix
+	 */
+	static byte[] utf8(String value) {
+		if (value == null) {
+			return null;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length >= Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Agreement text fields must be shorter than 32767 bytes.");
+		}
+		return bytes;
+	}
+
+	private static void putString(ByteBuffer out, byte[] utf8) {
+		if (utf8 == null) {
+			out.putShort((short) -1);
+		} else {
+			out.putShort((short) utf8.length);
+			out.put(utf8);
+		}
+	}
+
+	private static String getString(ByteBuffer in) {
+		int length = in.getShort();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,451 @@
+package com.interview.test.persistence;
+
+import com.interview.test.objects.RentalAgreement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A durable, append-only store of rental agreements.
+ * <p>
+ * Agreements are appended as binary records to memory-mapped segment files named {@code agreements-<n>.log} in the
+ * store directory. Each record is framed as {@code [payload length][CRC-32 of payload][payload]}, see
+ * {@link AgreementCodec} for the payload, and a zero length marks the end of a segment. An append only copies the
+ * record into the mapping, so it costs no system call; a background thread forces the mapping to disk every flush
+ * interval, and {@link #sync()} waits for the next force, so concurrent callers that need durability share one
+ * {@code fsync} (group commit).
+ * <p>
+ * Opening a store replays every segment to rebuild the in-memory indexes by agreement ID and by checkout date. Replay
+ * stops at the first record whose length runs past the segment or whose checksum does not match, which is where a
+ * crash tore the last write; the rest of that segment is zeroed and appending resumes there.
+ * <p>
+ * Agreement IDs are assigned by the store, starting at 1. All methods are thread-safe.
+ */
+public class AgreementStore implements Closeable {
+
+	/**
+	 * The default size of a segment file.
+	 */
+	public static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+
+	/**
+	 * The default time between background forces, in milliseconds.
+	 */
+	public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 10;
+
+	private static final int HEADER_BYTES = 2 * Integer.BYTES;
+	private static final int MIN_SEGMENT_BYTES = 1 << 12;
+	private static final String SEGMENT_PREFIX = "agreements-";
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private final Path directory;
+	private final int segmentBytes;
+	private final long flushIntervalMillis;
+	private final List<Segment> segments = new ArrayList<>();
+	private final TreeMap<Integer, IdList> idsByCheckOutDay = new TreeMap<>();
+	private final CRC32 crc = new CRC32();
+	private final Object flushMonitor = new Object();
+	private final Thread flusher;
+
+	private Segment current;
+	private long[] positions = new long[1024];
+	private long lastId;
+	private int recordCount;
+
+	private long durableId;
+	private boolean flushRequested;
+	private volatile boolean closed;
+
+	/**
+	 * Opens the store in a directory with the default segment size and flush interval, creating it if needed.
+	 *
+	 * @param directory the directory holding the segment files
+	 * @throws IOException if the directory or its segments cannot be read or created
+	 */
+	public AgreementStore(Path directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Opens the store in a directory, creating it if needed.
+	 *
+	 * @param directory     the directory holding the segment files
+	 * @param segmentBytes  the size of each segment file
+	 * @param flushInterval the longest time an appended record stays in memory before being forced to disk
+	 * @param unit          the unit of the flush interval
+	 * @throws IOException              if the directory or its segments cannot be read or created
+	 * @throws IllegalArgumentException if segmentBytes is less than 4096 or flushInterval is less than 1 millisecond
+	 */
+	public AgreementStore(Path directory, int segmentBytes, long flushInterval, TimeUnit unit) throws IOException {
+		if (segmentBytes < MIN_SEGMENT_BYTES) {
+			throw new IllegalArgumentException("Segment size must be 4096 bytes or greater.");
+		}
+		if (unit.toMillis(flushInterval) < 1) {
+			throw new IllegalArgumentException("Flush interval must be 1 millisecond or greater.");
+		}
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+		this.flushIntervalMillis = unit.toMillis(flushInterval);
+
+		Files.createDirectories(directory);
+		for (Path path : segmentFiles(directory)) {
+			Segment segment = Segment.open(path, segments.size(), Math.max(segmentBytes, (int) Files.size(path)));
+			segments.add(segment);
+			replay(segment);
+		}
+		current = segments.isEmpty() ? openSegment() : segments.get(segments.size() - 1);
+		durableId = lastId;
+
+		flusher = new Thread(this::runFlusher, "agreement-store-flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * Appends an agreement. The record is visible to readers at once and reaches the disk within the flush interval;
+	 * call {@link #sync()} to wait until it has.
+	 *
+	 * @param agreement the agreement to store
+	 * @return the ID assigned to the agreement
+	 * @throws IOException              if a new segment cannot be created
+	 * @throws IllegalArgumentException if the agreement has amounts in fractions of a cent or does not fit a segment
+	 * @throws IllegalStateException    if the store is closed
+	 */
+	public long append(RentalAgreement agreement) throws IOException {
+		byte[] toolCode = AgreementCodec.utf8(agreement.getToolCode());
+		byte[] toolType = AgreementCodec.utf8(agreement.getToolType());
+		byte[] brand = AgreementCodec.utf8(agreement.getBrand());
+		int payloadLength = AgreementCodec.FIXED_BYTES + AgreementCodec.encodedLength(toolCode)
+				+ AgreementCodec.encodedLength(toolType) + AgreementCodec.encodedLength(brand);
+		int recordLength = HEADER_BYTES + payloadLength;
+		if (recordLength + Integer.BYTES > segmentBytes) {
+			throw new IllegalArgumentException("Agreement does not fit in a segment.");
+		}
+
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Agreement store is closed.");
+			}
+			// Keep room for the zero length that ends a segment
+			if (current.writeOffset + recordLength + Integer.BYTES > current.capacity) {
+				current.buffer.force();
+				current = openSegment();
+			}
+			long id = lastId + 1;
+			int offset = current.writeOffset;
+			ByteBuffer buffer = current.buffer;
+			buffer.position(offset + HEADER_BYTES);
+			AgreementCodec.encode(id, agreement, toolCode, toolType, brand, buffer);
+
+			ByteBuffer payload = buffer.duplicate();
+			payload.limit(offset + recordLength);
+			payload.position(offset + HEADER_BYTES);
+			crc.reset();
+			crc.update(payload);
+			buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+			buffer.putInt(offset, payloadLength);
+
+			current.writeOffset = offset + recordLength;
+			index(id, current.index, offset, agreement.getCheckOutEpochDay());
+			return id;
+		}
+	}
+
+	/**
+	 * Waits until every agreement appended before this call is on disk. Callers that sync concurrently are served by
+	 * the same force.
+	 *
+	 * @throws InterruptedIOException if the thread is interrupted while waiting
+	 */
+	public void sync() throws InterruptedIOException {
+		long target;
+		synchronized (this) {
+			target = lastId;
+		}
+		synchronized (flushMonitor) {
+			while (durableId < target) {
+				// Only the waiter that raises the request wakes the flusher; the others would only wake each other
+				if (!flushRequested) {
+					flushRequested = true;
+					flushMonitor.notifyAll();
+				}
+				try {
+					flushMonitor.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for the agreement store to sync.");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets an agreement by ID.
+	 *
+	 * @param id the agreement ID
+	 * @return the agreement, or null if there is none with that ID
+	 */
+	public synchronized RentalAgreement get(long id) {
+		if (id < 1 || id > lastId || positions[(int) (id - 1)] < 0) {
+			return null;
+		}
+		return read(positions[(int) (id - 1)]);
+	}
+
+	/**
+	 * Gets the agreements checked out on a date.
+	 *
+	 * @param checkOutDate the checkout date
+	 * @return the agreements in ID order
+	 */
+	public List<RentalAgreement> findByCheckOutDate(LocalDate checkOutDate) {
+		return findByCheckOutDate(checkOutDate, checkOutDate);
+	}
+
+	/**
+	 * Gets the agreements checked out within a range of dates.
+	 *
+	 * @param from the first checkout date, inclusive
+	 * @param to   the last checkout date, inclusive
+	 * @return the agreements ordered by checkout date, then by ID
+	 */
+	public synchronized List<RentalAgreement> findByCheckOutDate(LocalDate from, LocalDate to) {
+		if (to.isBefore(from)) {
+			return Collections.emptyList();
+		}
+		List<RentalAgreement> agreements = new ArrayList<>();
+		for (IdList ids : idsByCheckOutDay.subMap((int) from.toEpochDay(), true, (int) to.toEpochDay(), true).values()) {
+			for (int i = 0; i < ids.size; i++) {
+				agreements.add(read(positions[(int) (ids.ids[i] - 1)]));
+			}
+		}
+		return agreements;
+	}
+
+	/**
+	 * Gets the number of stored agreements.
+	 *
+	 * @return the number of agreements
+	 */
+	public synchronized int size() {
+		return recordCount;
+	}
+
+	/**
+	 * Gets the ID of the most recently appended agreement.
+	 *
+	 * @return the last ID, or 0 if the store is empty
+	 */
+	public synchronized long getLastId() {
+		return lastId;
+	}
+
+	/**
+	 * Forces every appended agreement to disk and closes the segment files.
+	 *
+	 * @throws IOException if a segment file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		synchronized (flushMonitor) {
+			flushMonitor.notifyAll();
+		}
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+		synchronized (this) {
+			for (Segment segment : segments) {
+				segment.channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the indexes from one segment, truncating a torn record at its end.
+	 */
+	private void replay(Segment segment) {
+		ByteBuffer buffer = segment.buffer;
+		int offset = 0;
+		boolean torn = false;
+		while (offset + HEADER_BYTES <= segment.capacity) {
+			int payloadLength = buffer.getInt(offset);
+			if (payloadLength == 0) {
+				break;
+			}
+			if (payloadLength < AgreementCodec.FIXED_BYTES || payloadLength > segment.capacity - offset - HEADER_BYTES) {
+				torn = true;
+				break;
+			}
+			ByteBuffer payload = buffer.duplicate();
+			payload.limit(offset + HEADER_BYTES + payloadLength);
+			payload.position(offset + HEADER_BYTES);
+			crc.reset();
+			crc.update(payload);
+			if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+				torn = true;
+				break;
+			}
+			int payloadOffset = offset + HEADER_BYTES;
+			index(AgreementCodec.readId(buffer, payloadOffset), segment.index, offset,
+					AgreementCodec.readCheckOutEpochDay(buffer, payloadOffset));
+			offset += HEADER_BYTES + payloadLength;
+		}
+		if (torn) {
+			for (int i = offset; i < segment.capacity; i++) {
+				buffer.put(i, (byte) 0);
+			}
+			segment.buffer.force();
+		}
+		segment.writeOffset = offset;
+	}
+
+	private void index(long id, int segmentIndex, int offset, long checkOutEpochDay) {
+		if (id > positions.length) {
+			int length = positions.length;
+			positions = Arrays.copyOf(positions, (int) Math.max(id, 2L * length));
+			Arrays.fill(positions, length, positions.length, -1);
+		}
+		for (long missing = lastId + 1; missing < id; missing++) {
+			positions[(int) (missing - 1)] = -1;
+		}
+		positions[(int) (id - 1)] = (long) segmentIndex << 32 | offset;
+		lastId = Math.max(lastId, id);
+		recordCount++;
+		IdList ids = idsByCheckOutDay.get((int) checkOutEpochDay);
+		if (ids == null) {
+			ids = new IdList();
+			idsByCheckOutDay.put((int) checkOutEpochDay, ids);
+		}
+		ids.add(id);
+	}
+
+	private RentalAgreement read(long position) {
+		ByteBuffer buffer = segments.get((int) (position >>> 32)).buffer.duplicate();
+		buffer.position((int) position + HEADER_BYTES);
+		return AgreementCodec.decode(buffer);
+	}
+
+	private Segment openSegment() throws IOException {
+		String name = String.format("%s%08d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX);
+		Segment segment = Segment.open(directory.resolve(name), segments.size(), segmentBytes);
+		segments.add(segment);
+		return segment;
+	}
+
+	private void runFlusher() {
+		while (!closed) {
+			synchronized (flushMonitor) {
+				if (!flushRequested) {
+					try {
+						flushMonitor.wait(flushIntervalMillis);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				flushRequested = false;
+			}
+			flush();
+		}
+	}
+
+	/**
+	 * Forces the current segment and publishes the last appended ID as durable. Earlier segments were forced when
+	 * they filled up.
+	 */
+	private void flush() {
+		Segment segment;
+		long target;
+		synchronized (this) {
+			segment = current;
+			target = lastId;
+		}
+		synchronized (flushMonitor) {
+			if (target <= durableId) {
+				flushMonitor.notifyAll();
+				return;
+			}
+		}
+		segment.buffer.force();
+		synchronized (flushMonitor) {
+			durableId = Math.max(durableId, target);
+			flushMonitor.notifyAll();
+		}
+	}
+
+	private static List<Path> segmentFiles(Path directory) throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path path : stream) {
+				files.add(path);
+			}
+		}
+		Collections.sort(files);
+		return files;
+	}
+
+	/**
+	 * One memory-mapped segment file.
+	 */
+	private static final class Segment {
+
+		private final int index;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private final int capacity;
+		private int writeOffset;
+
+		private Segment(int index, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+			this.index = index;
+			this.channel = channel;
+			this.buffer = buffer;
+			this.capacity = capacity;
+		}
+
+		static Segment open(Path path, int index, int capacity) throws IOException {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			return new Segment(index, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+		}
+	}
+
+	/**
+	 * A growable list of agreement IDs.
+	 */
+	private static final class IdList {
+
+		private long[] ids = new long[4];
+		private int size;
+
+		void add(long id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.interview.test.pricing;
+
+import lombok.Getter;
+
+/**
+ * The charge for a rental period as computed by a {@link ChargeEvaluator}.
+ */
+@Getter
+public class Charge {
+
+	private final int chargeDays;
+	private final long amountCents;
+
+	/**
+	 * Constructs a Charge with the specified details.
+	 *
+	 * @param chargeDays  the number of chargeable days
+	 * @param amountCents the total charge before any discount, in cents
+	 */
+	public Charge(int chargeDays, long amountCents) {
+		this.chargeDays = chargeDays;
+		this.amountCents = amountCents;
+	}
+}
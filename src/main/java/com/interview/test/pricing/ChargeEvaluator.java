@@ -0,0 +1,330 @@
+package com.interview.test.pricing;
+
+import com.interview.test.calendar.HolidayCalendar;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+
+/**
+ * The compiled form of a {@link ChargeRules}, which prices a rental period in time independent of its length.
+ * <p>
+ * Every rate table, including the scaled table of each season, is precomputed as a seven-entry day-of-week array.
+ * A period is priced by counting each day of the week arithmetically over whole weeks, subtracting the holidays found
+ * in the holiday calendar and adding them back at the holiday rate. Seasons split the period into a few segments
+ * that are priced the same way; only a charge cap needs a pass per capped window.
+ */
+public final class ChargeEvaluator {
+
+	private static final int LEAP_YEAR = 2000;
+
+	private final RateTable baseRates;
+	private final Season[] seasons;
+	private final boolean holidaysCharged;
+	private final int minimumChargeDays;
+	private final long baseRateCents;
+	private final int capWindowDays;
+	private final long capAmountCents;
+
+	/**
+	 * Compiles a set of rules.
+	 *
+	 * @param rules the rules to compile
+	 * @throws IllegalArgumentException if seasons overlap
+	 */
+	ChargeEvaluator(ChargeRules rules) {
+		this.baseRates = new RateTable(rules.getDayOfWeekRatesCents(), rules.getHolidayRateCents());
+		this.holidaysCharged = rules.getHolidayPolicy() == HolidayPolicy.CHARGED;
+		this.minimumChargeDays = rules.getMinimumChargeDays();
+		this.baseRateCents = rules.getBaseRateCents();
+		this.capWindowDays = rules.getCapWindowDays();
+		this.capAmountCents = rules.getCapAmountCents();
+
+		List<SeasonalRate> seasonalRates = rules.getSeasonalRates();
+		this.seasons = new Season[seasonalRates.size()];
+		boolean[] covered = new boolean[367];
+		for (int i = 0; i < seasons.length; i++) {
+			SeasonalRate rate = seasonalRates.get(i);
+			seasons[i] = new Season(rate.getFrom(), rate.getTo(), baseRates.scale(rate.getRatePercent()));
+			int from = rate.getFrom().atYear(LEAP_YEAR).getDayOfYear();
+			int to = rate.getTo().atYear(LEAP_YEAR).getDayOfYear();
+			int length = (to - from + 366) % 366 + 1;
+			for (int day = from, n = 0; n < length; day = day % 366 + 1, n++) {
+				if (covered[day]) {
+					throw new IllegalArgumentException("Seasonal rates must not overlap.");
+				}
+				covered[day] = true;
+			}
+		}
+	}
+
+	/**
+	 * Prices the days between two epoch days, inclusive.
+	 *
+	 * @param firstDay        the first chargeable day of the rental period
+	 * @param lastDay         the last chargeable day of the rental period
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 * @return the charge days and the charge before any discount
+	 */
+	public Charge evaluate(long firstDay, long lastDay, HolidayCalendar holidayCalendar) {
+		Tally tally = new Tally();
+		if (capWindowDays == 0) {
+			priceSeasons(firstDay, lastDay, holidayCalendar, tally);
+		} else {
+			Tally window = new Tally();
+			for (long windowStart = firstDay; windowStart <= lastDay; windowStart += capWindowDays) {
+				window.days = 0;
+				window.cents = 0;
+				priceSeasons(windowStart, Math.min(lastDay, windowStart + capWindowDays - 1), holidayCalendar, window);
+				tally.days += window.days;
+				tally.cents += Math.min(window.cents, capAmountCents);
+			}
+		}
+		if (tally.days < minimumChargeDays) {
+			tally.cents += (minimumChargeDays - tally.days) * baseRateCents;
+			tally.days = minimumChargeDays;
+		}
+		return new Charge(Math.toIntExact(tally.days), tally.cents);
+	}
+
+	/**
+	 * Prices the days of a range whose calendar facts are already worked out, as {@link #evaluate(long, long,
+	 * HolidayCalendar)} would price them. Without seasons or a cap the charge follows from the facts alone; otherwise
+	 * the range is priced from scratch, since seasons and cap windows split it.
+	 *
+	 * @param facts the facts of the rental period
+	 * @return the charge days and the charge before any discount
+	 */
+	public Charge evaluate(DateRangeFacts facts) {
+		if (seasons.length > 0 || capWindowDays > 0) {
+			return evaluate(facts.getFirstDay(), facts.getLastDay(), facts.getHolidayCalendar());
+		}
+		long days = 0;
+		long cents = 0;
+		for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+			long rate = baseRates.dayOfWeekRates[dayIndex];
+			if (rate > 0) {
+				days += facts.getWorkingDays(dayIndex);
+				cents += facts.getWorkingDays(dayIndex) * rate;
+			}
+		}
+		if (holidaysCharged) {
+			days += facts.getHolidayCount();
+			cents += facts.getHolidayCount() * baseRates.holidayRate;
+		}
+		if (days < minimumChargeDays) {
+			cents += (minimumChargeDays - days) * baseRateCents;
+			days = minimumChargeDays;
+		}
+		return new Charge((int) days, cents);
+	}
+
+	/**
+	 * Prices every rental period of a grid of consecutive checkout dates and rental lengths, as {@link #evaluate}
+	 * would price each one.
+	 * <p>
+	 * Each day of the whole span is priced once into running totals of charge days and cents, so a period costs a
+	 * subtraction of two totals, plus one comparison per completed window when the charge is capped.
+	 *
+	 * @param firstCheckOutDay the epoch day of the first checkout date; its periods start the day after
+	 * @param dateCount        the number of consecutive checkout dates
+	 * @param maxRentalDays    the longest rental; every length from 1 day up to it is priced
+	 * @param holidayCalendar  the calendar that determines which days are holidays
+	 * @param chargeDays       receives the charge days of each period at {@code date * maxRentalDays + rentalDays - 1}
+	 * @param amountCents      receives the charge before any discount of each period, at the same index
+	 */
+	public void evaluateGrid(long firstCheckOutDay, int dateCount, int maxRentalDays, HolidayCalendar holidayCalendar,
+							 int[] chargeDays, long[] amountCents) {
+		int span = dateCount - 1 + maxRentalDays;
+		int[] daysBefore = new int[span + 1];
+		long[] centsBefore = new long[span + 1];
+		priceDaily(firstCheckOutDay + 1, span, holidayCalendar, daysBefore, centsBefore);
+
+		for (int date = 0; date < dateCount; date++) {
+			int cell = date * maxRentalDays;
+			long cappedCents = 0;
+			int windowStart = date;
+			for (int end = date + 1; end <= date + maxRentalDays; end++, cell++) {
+				int days = daysBefore[end] - daysBefore[date];
+				long cents;
+				if (capWindowDays == 0) {
+					cents = centsBefore[end] - centsBefore[date];
+				} else {
+					if (end - windowStart > capWindowDays) {
+						cappedCents += Math.min(centsBefore[windowStart + capWindowDays] - centsBefore[windowStart], capAmountCents);
+						windowStart += capWindowDays;
+					}
+					cents = cappedCents + Math.min(centsBefore[end] - centsBefore[windowStart], capAmountCents);
+				}
+				if (days < minimumChargeDays) {
+					cents += (minimumChargeDays - days) * baseRateCents;
+					days = minimumChargeDays;
+				}
+				chargeDays[cell] = days;
+				amountCents[cell] = cents;
+			}
+		}
+	}
+
+	/**
+	 * Prices a run of days one by one into running totals: entry i + 1 of each array is the total of the first i + 1
+	 * days, and entry 0 is left at 0.
+	 */
+	private void priceDaily(long firstDay, int count, HolidayCalendar holidayCalendar, int[] daysBefore, long[] centsBefore) {
+		Tally tally = new Tally();
+		long lastDay = firstDay + count - 1;
+		long day = firstDay;
+		int i = 0;
+		while (day <= lastDay) {
+			RateTable rates = seasonAt(day, tally);
+			long segmentEnd = Math.min(tally.segmentEnd, lastDay);
+			int dayIndex = HolidayCalendar.dayOfWeekIndex(day);
+			for (; day <= segmentEnd; day++, i++) {
+				int charged;
+				long cents;
+				if (holidayCalendar.isHoliday(day)) {
+					charged = holidaysCharged ? 1 : 0;
+					cents = holidaysCharged ? rates.holidayRate : 0;
+				} else {
+					cents = rates.dayOfWeekRates[dayIndex];
+					charged = cents > 0 ? 1 : 0;
+				}
+				daysBefore[i + 1] = daysBefore[i] + charged;
+				centsBefore[i + 1] = centsBefore[i] + cents;
+				dayIndex = dayIndex == 6 ? 0 : dayIndex + 1;
+			}
+		}
+	}
+
+	/**
+	 * Splits a range at season boundaries and prices each part with its own rate table.
+	 */
+	private void priceSeasons(long firstDay, long lastDay, HolidayCalendar holidayCalendar, Tally tally) {
+		if (seasons.length == 0) {
+			priceRange(firstDay, lastDay, baseRates, holidayCalendar, tally);
+			return;
+		}
+		long day = firstDay;
+		while (day <= lastDay) {
+			RateTable rates = seasonAt(day, tally);
+			long segmentEnd = Math.min(tally.segmentEnd, lastDay);
+			priceRange(day, segmentEnd, rates, holidayCalendar, tally);
+			day = segmentEnd + 1;
+		}
+	}
+
+	/**
+	 * Finds the rate table of a day and the last day it applies to, which is stored in the tally.
+	 */
+	private RateTable seasonAt(long day, Tally tally) {
+		RateTable rates = baseRates;
+		long segmentEnd = Long.MAX_VALUE;
+		if (seasons.length > 0) {
+			int year = LocalDate.ofEpochDay(day).getYear();
+			for (Season season : seasons) {
+				for (int seasonYear = year - 1; seasonYear <= year + 1; seasonYear++) {
+					long start = season.from.atYear(seasonYear).toEpochDay();
+					long end = season.to.atYear(season.wrapsYearEnd ? seasonYear + 1 : seasonYear).toEpochDay();
+					if (start <= day && day <= end) {
+						rates = season.rates;
+						segmentEnd = end;
+					} else if (start > day && rates == baseRates) {
+						segmentEnd = Math.min(segmentEnd, start - 1);
+					}
+				}
+				if (rates != baseRates) {
+					break;
+				}
+			}
+		}
+		tally.segmentEnd = segmentEnd;
+		return rates;
+	}
+
+	/**
+	 * Prices a range with a single rate table.
+	 */
+	private void priceRange(long firstDay, long lastDay, RateTable rates, HolidayCalendar holidayCalendar, Tally tally) {
+		if (lastDay < firstDay) {
+			return;
+		}
+		long days = lastDay - firstDay + 1;
+		long fullWeeks = days / 7;
+		int remainder = (int) (days % 7);
+		int firstDayIndex = HolidayCalendar.dayOfWeekIndex(firstDay);
+
+		int[] holidays = tally.holidaysByDayOfWeek;
+		boolean anyHolidays = holidayCalendar.countHolidays(firstDay, lastDay, holidays) > 0;
+		for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+			long count = fullWeeks + ((dayIndex - firstDayIndex + 7) % 7 < remainder ? 1 : 0);
+			long rate = rates.dayOfWeekRates[dayIndex];
+			if (anyHolidays && holidays[dayIndex] > 0) {
+				int holidayCount = holidays[dayIndex];
+				holidays[dayIndex] = 0;
+				count -= holidayCount;
+				if (holidaysCharged) {
+					tally.days += holidayCount;
+					tally.cents += holidayCount * rates.holidayRate;
+				}
+			}
+			if (rate > 0) {
+				tally.days += count;
+				tally.cents += count * rate;
+			}
+		}
+	}
+
+	/**
+	 * A day-of-week rate table and the matching holiday rate.
+	 */
+	private static final class RateTable {
+
+		private final long[] dayOfWeekRates;
+		private final long holidayRate;
+
+		RateTable(long[] dayOfWeekRates, long holidayRate) {
+			this.dayOfWeekRates = dayOfWeekRates;
+			this.holidayRate = holidayRate;
+		}
+
+		/**
+		 * Scales every rate by a percentage, rounding each up to whole cents.
+		 */
+		RateTable scale(int percent) {
+			long[] scaled = new long[7];
+			for (int i = 0; i < 7; i++) {
+				scaled[i] = (dayOfWeekRates[i] * percent + 99) / 100;
+			}
+			return new RateTable(scaled, (holidayRate * percent + 99) / 100);
+		}
+	}
+
+	/**
+	 * A compiled seasonal rate.
+	 */
+	private static final class Season {
+
+		private final MonthDay from;
+		private final MonthDay to;
+		private final boolean wrapsYearEnd;
+		private final RateTable rates;
+
+		Season(MonthDay from, MonthDay to, RateTable rates) {
+			this.from = from;
+			this.to = to;
+			this.wrapsYearEnd = to.isBefore(from);
+			this.rates = rates;
+		}
+	}
+
+	/**
+	 * Running totals for one evaluation.
+	 */
+	private static final class Tally {
+
+		private long days;
+		private long cents;
+		private long segmentEnd;
+		private final int[] holidaysByDayOfWeek = new int[7];
+	}
+}
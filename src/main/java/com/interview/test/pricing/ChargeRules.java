@@ -0,0 +1,106 @@
+package com.interview.test.pricing;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data-driven rules that decide which days of a rental are charged and at what rate.
+ * <p>
+ * Rules are plain data; {@link #compile()} turns them into a {@link ChargeEvaluator} that prices a rental period
+ * without walking it day by day. Rules are usually built from {@link #standard(long, boolean, boolean, boolean)} and
+ * refined through {@link #toBuilder()}.
+ */
+@Getter
+public class ChargeRules {
+
+	private final long baseRateCents;
+	private final long[] dayOfWeekRatesCents;
+	private final HolidayPolicy holidayPolicy;
+	private final long holidayRateCents;
+	private final List<SeasonalRate> seasonalRates;
+	private final int minimumChargeDays;
+	private final int capWindowDays;
+	private final long capAmountCents;
+
+	/**
+	 * Constructs a ChargeRules with the specified details.
+	 *
+	 * @param baseRateCents       the tool's daily rate, charged for days added to reach the minimum charge days
+	 * @param dayOfWeekRatesCents the rate for each day of the week from Monday to Sunday; 0 means the day is free
+	 * @param holidayPolicy       how holidays are charged
+	 * @param holidayRateCents    the rate for a holiday when holidays are charged
+	 * @param seasonalRates       non-overlapping yearly periods with scaled rates
+	 * @param minimumChargeDays   the smallest number of days charged for any rental, or 0 for no minimum
+	 * @param capWindowDays       the length of the consecutive windows, starting on the first rental day, whose charge
+	 *                            is capped, or 0 for no cap
+	 * @param capAmountCents      the most charged for one window
+	 * @throws IllegalArgumentException if the rates do not cover seven days, any value is negative, or seasons overlap
+	 */
+	@Builder(toBuilder = true)
+	public ChargeRules(long baseRateCents, long[] dayOfWeekRatesCents, HolidayPolicy holidayPolicy, long holidayRateCents,
+					   @Singular List<SeasonalRate> seasonalRates, int minimumChargeDays, int capWindowDays, long capAmountCents) {
+		if (dayOfWeekRatesCents == null || dayOfWeekRatesCents.length != 7) {
+			throw new IllegalArgumentException("Day of week rates must cover seven days.");
+		}
+		for (long rate : dayOfWeekRatesCents) {
+			if (rate < 0) {
+				throw new IllegalArgumentException("Rates must be 0 or greater.");
+			}
+		}
+		if (baseRateCents < 0 || holidayRateCents < 0 || minimumChargeDays < 0 || capWindowDays < 0 || capAmountCents < 0) {
+			throw new IllegalArgumentException("Rates, minimum charge days and caps must be 0 or greater.");
+		}
+		this.baseRateCents = baseRateCents;
+		this.dayOfWeekRatesCents = dayOfWeekRatesCents.clone();
+		this.holidayPolicy = holidayPolicy == null ? HolidayPolicy.FREE : holidayPolicy;
+		this.holidayRateCents = holidayRateCents;
+		this.seasonalRates = seasonalRates == null ? new ArrayList<>() : new ArrayList<>(seasonalRates);
+		this.minimumChargeDays = minimumChargeDays;
+		this.capWindowDays = capWindowDays;
+		this.capAmountCents = capAmountCents;
+	}
+
+	/**
+	 * Creates the rules equivalent to a tool's weekday, weekend and holiday charge flags: charged days cost the daily
+	 * rate, uncharged days are free, and holidays are either always charged or always free.
+	 *
+	 * @param dailyChargeCents the daily rental charge in cents
+	 * @param weekdayCharge    indicates if weekdays are charged
+	 * @param weekendCharge    indicates if weekends are charged
+	 * @param holidayCharge    indicates if holidays are charged
+	 * @return the standard rules
+	 */
+	public static ChargeRules standard(long dailyChargeCents, boolean weekdayCharge, boolean weekendCharge, boolean holidayCharge) {
+		long weekdayRate = weekdayCharge ? dailyChargeCents : 0;
+		long weekendRate = weekendCharge ? dailyChargeCents : 0;
+		return builder()
+				.baseRateCents(dailyChargeCents)
+				.dayOfWeekRatesCents(new long[]{weekdayRate, weekdayRate, weekdayRate, weekdayRate, weekdayRate, weekendRate, weekendRate})
+				.holidayPolicy(holidayCharge ? HolidayPolicy.CHARGED : HolidayPolicy.FREE)
+				.holidayRateCents(dailyChargeCents)
+				.build();
+	}
+
+	/**
+	 * Gets the rate for each day of the week.
+	 *
+	 * @return a copy of the rates from Monday to Sunday, in cents
+	 */
+	public long[] getDayOfWeekRatesCents() {
+		return dayOfWeekRatesCents.clone();
+	}
+
+	/**
+	 * Compiles these rules into an evaluator.
+	 *
+	 * @return the evaluator for these rules
+	 * @throws IllegalArgumentException if seasons overlap
+	 */
+	public ChargeEvaluator compile() {
+		return new ChargeEvaluator(this);
+	}
+}
@@ -0,0 +1,104 @@
+package com.interview.test.pricing;
+
+import com.interview.test.calendar.HolidayCalendar;
+
+/**
+ * The calendar facts of a run of days that do not depend on the tool being priced: how many of each day of the week
+ * fall in it, and how many of those are holidays.
+ * <p>
+ * Facts are worked out once and shared by every tool priced over the same days with the same calendar, see
+ * {@link ChargeEvaluator#evaluate(DateRangeFacts)}.
+ */
+public final class DateRangeFacts {
+
+	private final long firstDay;
+	private final long lastDay;
+	private final HolidayCalendar holidayCalendar;
+	private final int[] workingDaysByDayOfWeek = new int[7];
+	private final int[] holidaysByDayOfWeek = new int[7];
+	private final int holidayCount;
+
+	/**
+	 * Works out the facts of the days between two epoch days, inclusive.
+	 *
+	 * @param firstDay        the first day of the range
+	 * @param lastDay         the last day of the range
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 */
+	public DateRangeFacts(long firstDay, long lastDay, HolidayCalendar holidayCalendar) {
+		this.firstDay = firstDay;
+		this.lastDay = lastDay;
+		this.holidayCalendar = holidayCalendar;
+		this.holidayCount = holidayCalendar.countHolidays(firstDay, lastDay, holidaysByDayOfWeek);
+		if (lastDay >= firstDay) {
+			long days = lastDay - firstDay + 1;
+			int fullWeeks = (int) (days / 7);
+			int remainder = (int) (days % 7);
+			int firstDayIndex = HolidayCalendar.dayOfWeekIndex(firstDay);
+			for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+				int count = fullWeeks + ((dayIndex - firstDayIndex + 7) % 7 < remainder ? 1 : 0);
+				workingDaysByDayOfWeek[dayIndex] = count - holidaysByDayOfWeek[dayIndex];
+			}
+		}
+	}
+
+	public long getFirstDay() {
+		return firstDay;
+	}
+
+	public long getLastDay() {
+		return lastDay;
+	}
+
+	public HolidayCalendar getHolidayCalendar() {
+		return holidayCalendar;
+	}
+
+	/**
+	 * Gets the number of days of the range that are not holidays and fall on a day of the week.
+	 *
+	 * @param dayIndex the day of the week, from 0 for Monday to 6 for Sunday
+	 * @return the number of such days
+	 */
+	public int getWorkingDays(int dayIndex) {
+		return workingDaysByDayOfWeek[dayIndex];
+	}
+
+	/**
+	 * Gets the number of holidays of the range that fall on a day of the week.
+	 *
+	 * @param dayIndex the day of the week, from 0 for Monday to 6 for Sunday
+	 * @return the number of such holidays
+	 */
+	public int getHolidays(int dayIndex) {
+		return holidaysByDayOfWeek[dayIndex];
+	}
+
+	/**
+	 * Gets the number of weekdays of the range that are not holidays.
+	 *
+	 * @return the weekday count
+	 */
+	public int getWeekdayCount() {
+		return workingDaysByDayOfWeek[0] + workingDaysByDayOfWeek[1] + workingDaysByDayOfWeek[2]
+				+ workingDaysByDayOfWeek[3] + workingDaysByDayOfWeek[4];
+	}
+
+	/**
+	 * Gets the number of weekend days of the range that are not holidays.
+	 *
+	 * @return the weekend day count
+	 */
+	public int getWeekendCount() {
+		return workingDaysByDayOfWeek[5] + workingDaysByDayOfWeek[6];
+	}
+
+	/**
+	 * Gets the number of holidays of the range.
+	 *
+	 * @return the holiday count
+	 */
+	public int getHolidayCount() {
+		return holidayCount;
+	}
+}
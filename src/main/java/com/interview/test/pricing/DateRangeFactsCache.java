@@ -0,0 +1,94 @@
+package com.interview.test.pricing;
+
+import com.interview.test.calendar.HolidayCalendar;
+
+/**
+ * The {@link DateRangeFacts} of the rental periods of one order, so each distinct period is worked out once.
+ * <p>
+ * The cache is an open-addressing table keyed on the first day and length of a period packed into one long, with the
+ * holiday calendar compared by identity, so a lookup allocates nothing. It is meant to live for a single order and
+ * is not thread safe.
+ */
+public final class DateRangeFactsCache {
+
+	private long[] keys;
+	private HolidayCalendar[] calendars;
+	private DateRangeFacts[] facts;
+	private int size;
+
+	/**
+	 * Constructs an empty cache.
+	 *
+	 * @param expectedRanges the number of periods expected, at most; the cache grows past it
+	 */
+	public DateRangeFactsCache(int expectedRanges) {
+		int capacity = Integer.highestOneBit(Math.max(8, expectedRanges) * 2 - 1) << 1;
+		keys = new long[capacity];
+		calendars = new HolidayCalendar[capacity];
+		facts = new DateRangeFacts[capacity];
+	}
+
+	/**
+	 * Gets the facts of the days between two epoch days, inclusive, working them out on first use.
+	 *
+	 * @param firstDay        the first day of the range
+	 * @param lastDay         the last day of the range, no more than {@link Integer#MAX_VALUE} days after the first
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 * @return the facts of the range
+	 */
+	public DateRangeFacts get(long firstDay, long lastDay, HolidayCalendar holidayCalendar) {
+		long key = firstDay << 32 | (lastDay - firstDay) & 0xFFFFFFFFL;
+		int mask = keys.length - 1;
+		for (int slot = hash(key, holidayCalendar) & mask; ; slot = (slot + 1) & mask) {
+			DateRangeFacts found = facts[slot];
+			if (found == null) {
+				DateRangeFacts added = new DateRangeFacts(firstDay, lastDay, holidayCalendar);
+				keys[slot] = key;
+				calendars[slot] = holidayCalendar;
+				facts[slot] = added;
+				if (++size * 2 > keys.length) {
+					grow();
+				}
+				return added;
+			}
+			if (keys[slot] == key && calendars[slot] == holidayCalendar) {
+				return found;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of distinct periods worked out.
+	 *
+	 * @return the number of cached facts
+	 */
+	public int size() {
+		return size;
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		HolidayCalendar[] oldCalendars = calendars;
+		DateRangeFacts[] oldFacts = facts;
+		keys = new long[oldKeys.length * 2];
+		calendars = new HolidayCalendar[oldKeys.length * 2];
+		facts = new DateRangeFacts[oldKeys.length * 2];
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldFacts[i] != null) {
+				int slot = hash(oldKeys[i], oldCalendars[i]) & mask;
+				while (facts[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				calendars[slot] = oldCalendars[i];
+				facts[slot] = oldFacts[i];
+			}
+		}
+	}
+
+	private static int hash(long key, HolidayCalendar holidayCalendar) {
+		long h = (key ^ System.identityHashCode(holidayCalendar)) * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> 32);
+	}
+}
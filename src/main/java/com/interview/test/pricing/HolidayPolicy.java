@@ -0,0 +1,17 @@
+package com.interview.test.pricing;
+
+/**
+ * Describes how a tool is charged on a holiday.
+ */
+public enum HolidayPolicy {
+
+	/**
+	 * Holidays are charged at the holiday rate, whatever day of the week they fall on.
+	 */
+	CHARGED,
+
+	/**
+	 * Holidays are free of charge.
+	 */
+	FREE
+}
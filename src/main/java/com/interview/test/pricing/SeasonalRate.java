@@ -0,0 +1,34 @@
+package com.interview.test.pricing;
+
+import lombok.Getter;
+
+import java.time.MonthDay;
+
+/**
+ * A yearly period during which a tool's rates are scaled, such as a summer peak season.
+ */
+@Getter
+public class SeasonalRate {
+
+	private final MonthDay from;
+	private final MonthDay to;
+	private final int ratePercent;
+
+	/**
+	 * Constructs a SeasonalRate with the specified details. A period whose end comes before its start wraps around
+	 * the end of the year.
+	 *
+	 * @param from        the first day of the season
+	 * @param to          the last day of the season
+	 * @param ratePercent the percentage of the normal rates charged during the season
+	 * @throws IllegalArgumentException if ratePercent is negative
+	 */
+	public SeasonalRate(MonthDay from, MonthDay to, int ratePercent) {
+		if (ratePercent < 0) {
+			throw new IllegalArgumentException("Seasonal rate percent must be 0 or greater.");
+		}
+		this.from = from;
+		this.to = to;
+		this.ratePercent = ratePercent;
+	}
+}
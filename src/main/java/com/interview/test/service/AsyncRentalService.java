@@ -0,0 +1,263 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An asynchronous facade over a {@link RentalService}.
+ * <p>
+ * Submissions run on a fixed pool of worker threads fed by a bounded queue. When the queue is full, the
+ * {@link BackpressurePolicy} decides whether a submission is rejected, blocks the caller or runs on the caller. Every
+ * method returns a future and never throws on the caller's thread: validation failures, rejections and failures of
+ * later stages all complete the future exceptionally. A checkout whose future is cancelled, or completed by a timeout,
+ * before the checkout finishes releases the unit it reserved.
+ * <p>
+ * Stages chained onto an agreement run on the worker right after the checkout, without a thread hop; stages that are
+ * expensive enough to deserve their own task can be scheduled through {@link #submit(Supplier)}, which queues them
+ * under the same backpressure:
+ * <pre>{@code
+ * async.checkoutAsync(request, agreement -> agreement.getFinalCharge())
+ *         .thenCompose(charge -> async.submit(() -> billing.charge(charge)));
+ * }</pre>
+ */
+public class AsyncRentalService implements AutoCloseable {
+
+	private final RentalService rentalService;
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Constructs an AsyncRentalService with its own worker threads.
+	 *
+	 * @param rentalService the service that checks out and quotes
+	 * @param threads       the number of worker threads
+	 * @param queueCapacity the number of submissions that can wait for a worker
+	 * @param policy        what to do with a submission when the queue is full
+	 * @throws IllegalArgumentException if threads or queueCapacity is less than 1
+	 */
+	public AsyncRentalService(RentalService rentalService, int threads, int queueCapacity, BackpressurePolicy policy) {
+		if (threads < 1 || queueCapacity < 1) {
+			throw new IllegalArgumentException("Thread count and queue capacity must be 1 or greater.");
+		}
+		this.rentalService = rentalService;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+			Thread thread = new Thread(runnable, "rental-async-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}, rejectionHandler(policy));
+		executor.prestartAllCoreThreads();
+	}
+
+	/**
+	 * Gets the service this facade submits to.
+	 *
+	 * @return the rental service
+	 */
+	public RentalService getRentalService() {
+		return rentalService;
+	}
+
+	/**
+	 * Gets the number of submissions waiting for a worker.
+	 *
+	 * @return the queue length
+	 */
+	public int getQueuedCount() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Checks out a rental on a worker thread.
+	 *
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return a future of the agreement, completed exceptionally if the rental is rejected or the submission is
+	 * rejected by backpressure
+	 * @see RentalService#checkout(String, int, int, LocalDate)
+	 */
+	public CompletableFuture<RentalAgreement> checkoutAsync(String toolCode, int rentalDays, int discountPercent,
+															LocalDate checkOutDate) {
+		return checkoutAsync(toolCode, rentalDays, discountPercent, checkOutDate, Function.identity());
+	}
+
+	/**
+	 * Checks out a rental request on a worker thread.
+	 *
+	 * @param request the rental request, which may name a store
+	 * @return a future of the agreement, completed exceptionally if the rental is rejected or the submission is
+	 * rejected by backpressure
+	 * @see RentalService#checkout(String, String, int, int, LocalDate)
+	 */
+	public CompletableFuture<RentalAgreement> checkoutAsync(RentalRequest request) {
+		return checkoutAsync(request, Function.identity());
+	}
+
+	/**
+	 * Checks out a rental on a worker thread and passes the agreement to a further stage on the same thread, such as
+	 * persisting or rendering it.
+	 *
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @param stage           the stage to apply to the agreement
+	 * @param <T>             the type of the stage's result
+	 * @return a future of the stage's result, completed exceptionally if the rental is rejected, the stage fails or the
+	 * submission is rejected by backpressure; a stage that fails releases the agreement's unit
+	 */
+	public <T> CompletableFuture<T> checkoutAsync(String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate,
+												  Function<? super RentalAgreement, ? extends T> stage) {
+		return submitCheckout(() -> rentalService.checkout(toolCode, rentalDays, discountPercent, checkOutDate), stage);
+	}
+
+	/**
+	 * Checks out a rental request on a worker thread and passes the agreement to a further stage on the same thread.
+	 *
+	 * @param request the rental request, which may name a store
+	 * @param stage   the stage to apply to the agreement
+	 * @param <T>     the type of the stage's result
+	 * @return a future of the stage's result, completed exceptionally if the rental is rejected, the stage fails or the
+	 * submission is rejected by backpressure; a stage that fails releases the agreement's unit
+	 */
+	public <T> CompletableFuture<T> checkoutAsync(RentalRequest request, Function<? super RentalAgreement, ? extends T> stage) {
+		return submitCheckout(() -> rentalService.checkout(request.getStoreId(), request.getToolCode(),
+				request.getRentalDays(), request.getDiscountPercent(), request.getCheckOutDate()), stage);
+	}
+
+	/**
+	 * Prices a rental on a worker thread without checking out.
+	 *
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return a future of the agreement, completed exceptionally if the rental is rejected or the submission is
+	 * rejected by backpressure
+	 * @see RentalService#quote(String, int, int, LocalDate)
+	 */
+	public CompletableFuture<RentalAgreement> quoteAsync(String toolCode, int rentalDays, int discountPercent,
+														 LocalDate checkOutDate) {
+		return submit(() -> rentalService.quote(toolCode, rentalDays, discountPercent, checkOutDate));
+	}
+
+	/**
+	 * Runs a stage of a pipeline on a worker thread, under the same queue and backpressure as checkouts.
+	 *
+	 * @param stage the stage to run
+	 * @param <T>   the type of the stage's result
+	 * @return a future of the stage's result, completed exceptionally if the stage fails or the submission is rejected
+	 * by backpressure
+	 */
+	public <T> CompletableFuture<T> submit(Supplier<? extends T> stage) {
+		return schedule(future -> future.complete(stage.get()));
+	}
+
+	/**
+	 * Stops accepting submissions and waits for the queued ones to finish. If interrupted while waiting, it stops
+	 * waiting and leaves the thread's interrupt status set.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Checks out on a worker thread and applies a stage to the agreement. A checkout whose future was cancelled or
+	 * otherwise completed while it ran has no one to hand its agreement to, so its unit is released.
+	 */
+	private <T> CompletableFuture<T> submitCheckout(Supplier<RentalAgreement> checkout,
+													 Function<? super RentalAgreement, ? extends T> stage) {
+		return schedule(future -> {
+			RentalAgreement agreement = checkout.get();
+			if (!future.complete(applyStage(agreement, stage))) {
+				rentalService.release(agreement);
+			}
+		});
+	}
+
+	/**
+	 * Queues a task that completes a future, and completes the future exceptionally if the task fails or the
+	 * submission is rejected by backpressure. A task whose future is already done when a worker reaches it is skipped.
+	 */
+	private <T> CompletableFuture<T> schedule(Consumer<CompletableFuture<T>> task) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				if (future.isDone()) {
+					return;
+				}
+				try {
+					task.accept(future);
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	private <T> T applyStage(RentalAgreement agreement, Function<? super RentalAgreement, ? extends T> stage) {
+		try {
+			return stage.apply(agreement);
+		} catch (RuntimeException e) {
+			// Like a failed checkout listener, a failed stage does not keep the unit reserved
+			rentalService.release(agreement);
+			throw e;
+		}
+	}
+
+	private static RejectedExecutionHandler rejectionHandler(BackpressurePolicy policy) {
+		switch (policy) {
+			case BLOCK:
+				return (runnable, executor) -> {
+					if (executor.isShutdown()) {
+						throw new RejectedExecutionException("Async rental service is closed.");
+					}
+					try {
+						executor.getQueue().put(runnable);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RejectedExecutionException("Interrupted while waiting for queue space.", e);
+					}
+					// A close that raced the wait leaves the task queued with no worker to run it
+					if (executor.isShutdown() && executor.getQueue().remove(runnable)) {
+						throw new RejectedExecutionException("Async rental service is closed.");
+					}
+				};
+			case CALLER_RUNS:
+				return (runnable, executor) -> {
+					if (executor.isShutdown()) {
+						throw new RejectedExecutionException("Async rental service is closed.");
+					}
+					runnable.run();
+				};
+			default:
+				return (runnable, executor) -> {
+					throw new RejectedExecutionException(executor.isShutdown() ? "Async rental service is closed."
+							: "Async rental service queue is full.");
+				};
+		}
+	}
+}
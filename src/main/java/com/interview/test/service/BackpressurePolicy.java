@@ -0,0 +1,19 @@
+package com.interview.test.service;
+
+/**
+ * What an {@link AsyncRentalService} does with a submission when its queue is full.
+ */
+public enum BackpressurePolicy {
+	/**
+	 * Completes the submission's future exceptionally with a {@link java.util.concurrent.RejectedExecutionException}.
+	 */
+	REJECT,
+	/**
+	 * Blocks the submitting thread until the queue has room.
+	 */
+	BLOCK,
+	/**
+	 * Runs the submission on the submitting thread, which slows the caller down to the rate of the workers.
+	 */
+	CALLER_RUNS
+}
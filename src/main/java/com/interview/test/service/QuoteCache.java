@@ -0,0 +1,242 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.Tool;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache of quotes in front of a {@link RentalService}, for clients that request the same quote repeatedly.
+ * Quotes are priced without reserving inventory, so a cached quote never holds a tool unit.
+ * <p>
+ * Entries are keyed on tool code, checkout date, rental days and discount percent. The cache is split into
+ * independently locked segments, each evicting its least recently used entry when full, so concurrent lookups only
+ * contend when they hash to the same segment. Entries expire after a fixed time to live and are discarded when the
+ * catalog entry of their tool has been replaced, so a price change is never served from the cache.
+ */
+public class QuoteCache {
+
+	private static final int MAX_SEGMENTS = 16;
+
+	private final RentalService rentalService;
+	private final Segment[] segments;
+	private final long timeToLiveNanos;
+	private final LongSupplier nanoTicker;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * Constructs a QuoteCache with the specified limits.
+	 *
+	 * @param rentalService the rental service that computes quotes on a cache miss
+	 * @param maximumSize   the maximum number of cached quotes
+	 * @param timeToLive    how long a cached quote stays valid
+	 * @param unit          the unit of the time to live
+	 * @throws IllegalArgumentException if maximumSize or timeToLive is less than 1
+	 */
+	public QuoteCache(RentalService rentalService, int maximumSize, long timeToLive, TimeUnit unit) {
+		this(rentalService, maximumSize, timeToLive, unit, System::nanoTime);
+	}
+
+	QuoteCache(RentalService rentalService, int maximumSize, long timeToLive, TimeUnit unit, LongSupplier nanoTicker) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Maximum size must be 1 or greater.");
+		}
+		if (timeToLive < 1) {
+			throw new IllegalArgumentException("Time to live must be 1 or greater.");
+		}
+		this.rentalService = rentalService;
+		this.timeToLiveNanos = unit.toNanos(timeToLive);
+		this.nanoTicker = nanoTicker;
+
+		int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+		int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment(segmentCapacity);
+		}
+	}
+
+	/**
+	 * Returns the cached quote for the given parameters, pricing and caching a new one on a miss.
+	 *
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return a RentalAgreement object containing all rental details
+	 * @throws IllegalArgumentException if the rental service rejects the parameters; rejections are not cached
+	 * @see RentalService#quote(String, int, int, LocalDate)
+	 */
+	public RentalAgreement quote(String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate) {
+		QuoteKey key = new QuoteKey(toolCode, checkOutDate.toEpochDay(), rentalDays, discountPercent);
+		Segment segment = segments[key.hash & (segments.length - 1)];
+		long now = nanoTicker.getAsLong();
+
+		CachedQuote entry;
+		synchronized (segment) {
+			entry = segment.get(key);
+			if (entry != null && (now - entry.expiresAtNanos >= 0
+					|| entry.tool != rentalService.getToolCatalog().getTool(toolCode))) {
+				segment.remove(key);
+				evictionCount.increment();
+				entry = null;
+			}
+		}
+		if (entry != null) {
+			hitCount.increment();
+			return entry.agreement;
+		}
+
+		missCount.increment();
+		Tool tool = rentalService.getToolCatalog().getTool(toolCode);
+		RentalAgreement agreement = rentalService.quote(toolCode, rentalDays, discountPercent, checkOutDate);
+		synchronized (segment) {
+			segment.put(key, new CachedQuote(tool, agreement, now + timeToLiveNanos));
+		}
+		return agreement;
+	}
+
+	/**
+	 * Discards every cached quote.
+	 */
+	public void invalidateAll() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of cached quotes, including any that have expired but not yet been discarded.
+	 *
+	 * @return the number of cached quotes
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the number of lookups served from the cache.
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * Gets the number of lookups that had to price a new quote.
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Gets the number of quotes discarded because the cache was full, they expired or their tool changed.
+	 *
+	 * @return the eviction count
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * A least-recently-used map guarded by its own monitor.
+	 */
+	private final class Segment extends LinkedHashMap<QuoteKey, CachedQuote> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<QuoteKey, CachedQuote> eldest) {
+			if (size() > capacity) {
+				evictionCount.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * A cached quote together with the catalog entry it was priced from.
+	 */
+	private static final class CachedQuote {
+
+		private final Tool tool;
+		private final RentalAgreement agreement;
+		private final long expiresAtNanos;
+
+		CachedQuote(Tool tool, RentalAgreement agreement, long expiresAtNanos) {
+			this.tool = tool;
+			this.agreement = agreement;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+	}
+
+	/**
+	 * The parameters that identify a quote.
+	 */
+	private static final class QuoteKey {
+
+		private final String toolCode;
+		private final long checkOutEpochDay;
+		private final int rentalDays;
+		private final int discountPercent;
+		private final int hash;
+
+		QuoteKey(String toolCode, long checkOutEpochDay, int rentalDays, int discountPercent) {
+			this.toolCode = toolCode;
+			this.checkOutEpochDay = checkOutEpochDay;
+			this.rentalDays = rentalDays;
+			this.discountPercent = discountPercent;
+			int h = toolCode == null ? 0 : toolCode.hashCode();
+			h = 31 * h + Long.hashCode(checkOutEpochDay);
+			h = 31 * h + rentalDays;
+			h = 31 * h + discountPercent;
+			this.hash = h ^ (h >>> 16);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof QuoteKey)) {
+				return false;
+			}
+			QuoteKey other = (QuoteKey) o;
+			return checkOutEpochDay == other.checkOutEpochDay && rentalDays == other.rentalDays
+					&& discountPercent == other.discountPercent && Objects.equals(toolCode, other.toolCode);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -1,149 +1,765 @@
 package com.interview.test.service;
 
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.customer.CustomerPricing;
+import com.interview.test.customer.CustomerProfiles;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.inventory.Reservation;
+import com.interview.test.metrics.RejectionReason;
+import com.interview.test.metrics.RentalMetrics;
+import com.interview.test.metrics.Stage;
+import com.interview.test.objects.AvailableUnits;
+import com.interview.test.objects.CheckoutResult;
+import com.interview.test.objects.OrderAgreement;
+import com.interview.test.objects.QuoteMatrix;
 import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
 import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.pricing.Charge;
+import com.interview.test.pricing.DateRangeFactsCache;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for handling rental operations.
  */
 public class RentalService {
 
+	private static final int MIN_BATCH_CHUNK = 256;
+	private static final int MAX_QUOTE_MATRIX_CELLS = 1 << 26;
+
+	private final ToolCatalog toolCatalog;
+	private final HolidayCalendar holidayCalendar;
+	private final StoreCalendars storeCalendars;
+	private final Inventory inventory;
+	private final RentalMetrics metrics;
+	private final boolean metricsEnabled;
+	private final List<Consumer<RentalAgreement>> checkoutListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Constructs a RentalService that uses the default tool catalog and holiday calendar.
+	 */
+	public RentalService() {
+		this(HolidayCalendar.defaultCalendar());
+	}
+
+	/**
+	 * Constructs a RentalService with the given holiday calendar and the default tool catalog.
+	 *
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 */
+	public RentalService(HolidayCalendar holidayCalendar) {
+		this(ToolCatalog.getDefault(), holidayCalendar);
+	}
+
+	/**
+	 * Constructs a RentalService with the given tool catalog and holiday calendar.
+	 *
+	 * @param toolCatalog     the catalog of tools available for rental
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 */
+	public RentalService(ToolCatalog toolCatalog, HolidayCalendar holidayCalendar) {
+		this(toolCatalog, holidayCalendar, null);
+	}
+
+	/**
+	 * Constructs a RentalService that reserves a tool unit from the given inventory for every checkout.
+	 *
+	 * @param toolCatalog     the catalog of tools available for rental
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 * @param inventory       the units available for rental, or null to rent without tracking units
+	 */
+	public RentalService(ToolCatalog toolCatalog, HolidayCalendar holidayCalendar, Inventory inventory) {
+		this(toolCatalog, holidayCalendar, inventory, RentalMetrics.NOOP);
+	}
+
+	/**
+	 * Constructs a RentalService that reports checkout timings, counts and rejections to the given metrics.
+	 *
+	 * @param toolCatalog     the catalog of tools available for rental
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 * @param inventory       the units available for rental, or null to rent without tracking units
+	 * @param metrics         the metrics to record to, or {@link RentalMetrics#NOOP}
+	 */
+	public RentalService(ToolCatalog toolCatalog, HolidayCalendar holidayCalendar, Inventory inventory, RentalMetrics metrics) {
+		this(toolCatalog, new StoreCalendars(holidayCalendar), inventory, metrics);
+	}
+
+	/**
+	 * Constructs a RentalService that prices each rental with the holiday calendar of the store it is checked out at.
+	 *
+	 * @param toolCatalog    the catalog of tools available for rental
+	 * @param storeCalendars the holiday calendar of each store, and the calendar for rentals that name no store
+	 * @param inventory      the units available for rental, or null to rent without tracking units
+	 * @param metrics        the metrics to record to, or {@link RentalMetrics#NOOP}
+	 */
+	public RentalService(ToolCatalog toolCatalog, StoreCalendars storeCalendars, Inventory inventory, RentalMetrics metrics) {
+		this.toolCatalog = toolCatalog;
+		this.holidayCalendar = storeCalendars.getDefaultCalendar();
+		this.storeCalendars = storeCalendars;
+		this.inventory = inventory;
+		this.metrics = metrics;
+		this.metricsEnabled = metrics.isEnabled();
+	}
+
+	/**
+	 * Gets the catalog this service rents tools from.
+	 *
+	 * @return the tool catalog
+	 */
+	public ToolCatalog getToolCatalog() {
+		return toolCatalog;
+	}
+
+	/**
+	 * Gets the holiday calendars of the stores this service checks out at.
+	 *
+	 * @return the store calendars
+	 */
+	public StoreCalendars getStoreCalendars() {
+		return storeCalendars;
+	}
+
+	/**
+	 * Gets the inventory this service reserves tool units from.
+	 *
+	 * @return the inventory, or null if units are not tracked
+	 */
+	public Inventory getInventory() {
+		return inventory;
+	}
+
+	/**
+	 * Gets the metrics this service records to.
+	 *
+	 * @return the metrics, {@link RentalMetrics#NOOP} if none were given
+	 */
+	public RentalMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Registers a listener that receives every agreement created by a checkout, for example to persist it. Listeners
+	 * run on the checking-out thread, in registration order, before the agreement is returned. Quotes are not
+	 * passed to listeners.
+	 *
+	 * @param listener the listener to add
+	 */
+	public void addCheckoutListener(Consumer<RentalAgreement> listener) {
+		checkoutListeners.add(listener);
+	}
+
+	/**
+	 * Unregisters a checkout listener.
+	 *
+	 * @param listener the listener to remove
+	 */
+	public void removeCheckoutListener(Consumer<RentalAgreement> listener) {
+		checkoutListeners.remove(listener);
+	}
+
 	/**
-	 * Creates a rental agreement based on the provided parameters.
+	 * Creates a rental agreement based on the provided parameters. If the service tracks inventory, a unit of the tool
+	 * is reserved from the checkout date up to the due date and held by the agreement.
 	 *
 	 * @param toolCode        the code of the tool to be rented
 	 * @param rentalDays      the number of days the tool will be rented
 	 * @param discountPercent the discount percentage to be applied
 	 * @param checkOutDate    the date when the tool is checked out
 	 * @return a RentalAgreement object containing all rental details
-	 * @throws IllegalArgumentException if rentalDays is less than 1, discountPercent is not between 0 and 100, or toolCode is invalid
+	 * @throws IllegalArgumentException if rentalDays is less than 1, discountPercent is not between 0 and 100, toolCode is invalid,
+	 *                                  or no unit of the tool is available for the rental period
+	 * @see #addCheckoutListener(Consumer)
 	 */
 	public RentalAgreement checkout(String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate) {
-		if (rentalDays < 1) {
-			throw new IllegalArgumentException("Rental day count must be 1 or greater.");
+		return checkout(null, toolCode, rentalDays, discountPercent, checkOutDate);
+	}
+
+	/**
+	 * Creates a rental agreement at a store, with the rental priced by the store's holiday calendar. Otherwise the
+	 * same as {@link #checkout(String, int, int, LocalDate)}.
+	 *
+	 * @param storeId         the store the tool is checked out at, or null for the default calendar
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return a RentalAgreement object containing all rental details
+	 * @throws IllegalArgumentException if rentalDays is less than 1, discountPercent is not between 0 and 100, toolCode is invalid,
+	 *                                  the store is unknown, or no unit of the tool is available for the rental period
+	 */
+	public RentalAgreement checkout(String storeId, String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate) {
+		RentalAgreement agreement = createAgreement(storeId, toolCode, rentalDays, discountPercent, checkOutDate, inventory != null);
+		if (!checkoutListeners.isEmpty()) {
+			try {
+				for (Consumer<RentalAgreement> listener : checkoutListeners) {
+					listener.accept(agreement);
+				}
+			} catch (RuntimeException e) {
+				// A checkout that could not be recorded does not keep its unit
+				release(agreement);
+				throw e;
+			}
 		}
+		if (metricsEnabled) {
+			metrics.recordCheckout(toolCode);
+		}
+		return agreement;
+	}
 
+	/**
+	 * Prices a rental without checking out: the agreement is what {@link #checkout(String, int, int, LocalDate)} would
+	 * return, but no tool unit is reserved.
+	 *
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return a RentalAgreement object containing all rental details and no reservation
+	 * @throws IllegalArgumentException if rentalDays is less than 1, discountPercent is not between 0 and 100, or toolCode is invalid
+	 */
+	public RentalAgreement quote(String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate) {
+		return createAgreement(null, toolCode, rentalDays, discountPercent, checkOutDate, false);
+	}
+
+	/**
+	 * Prices a rental at a store without checking out.
+	 *
+	 * @param storeId         the store the tool would be checked out at, or null for the default calendar
+	 * @param toolCode        the code of the tool to be rented
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return a RentalAgreement object containing all rental details and no reservation
+	 * @throws IllegalArgumentException if rentalDays is less than 1, discountPercent is not between 0 and 100, toolCode is invalid,
+	 *                                  or the store is unknown
+	 * @see #checkout(String, String, int, int, LocalDate)
+	 */
+	public RentalAgreement quote(String storeId, String toolCode, int rentalDays, int discountPercent, LocalDate checkOutDate) {
+		return createAgreement(storeId, toolCode, rentalDays, discountPercent, checkOutDate, false);
+	}
+
+	/**
+	 * Prices renting a tool for every length from 1 day up to a maximum, starting on each of a run of consecutive
+	 * checkout dates, without checking out. Every cell matches the agreement {@link #quote(String, int, int, LocalDate)}
+	 * would return, but each day of the whole span is priced only once.
+	 *
+	 * @param toolCode          the code of the tool to be rented
+	 * @param firstCheckOutDate the first checkout date
+	 * @param dateCount         the number of consecutive checkout dates
+	 * @param maxRentalDays     the longest rental to price
+	 * @param discountPercent   the discount percentage to be applied
+	 * @return the matrix of quotes
+	 * @throws IllegalArgumentException if dateCount or maxRentalDays is less than 1, the matrix is too large,
+	 *                                  discountPercent is not between 0 and 100, or toolCode is invalid
+	 */
+	public QuoteMatrix quoteMatrix(String toolCode, LocalDate firstCheckOutDate, int dateCount, int maxRentalDays,
+								   int discountPercent) {
+		return quoteMatrix(null, toolCode, firstCheckOutDate, dateCount, maxRentalDays, discountPercent);
+	}
+
+	/**
+	 * Prices a matrix of rentals at a store. Otherwise the same as
+	 * {@link #quoteMatrix(String, LocalDate, int, int, int)}.
+	 *
+	 * @param storeId           the store the tool would be checked out at, or null for the default calendar
+	 * @param toolCode          the code of the tool to be rented
+	 * @param firstCheckOutDate the first checkout date
+	 * @param dateCount         the number of consecutive checkout dates
+	 * @param maxRentalDays     the longest rental to price
+	 * @param discountPercent   the discount percentage to be applied
+	 * @return the matrix of quotes
+	 * @throws IllegalArgumentException if dateCount or maxRentalDays is less than 1, the matrix is too large,
+	 *                                  discountPercent is not between 0 and 100, toolCode is invalid, or the store is
+	 *                                  unknown
+	 */
+	public QuoteMatrix quoteMatrix(String storeId, String toolCode, LocalDate firstCheckOutDate, int dateCount,
+								   int maxRentalDays, int discountPercent) {
+		if (maxRentalDays < 1) {
+			throw reject(RejectionReason.INVALID_RENTAL_DAYS, "Rental day count must be 1 or greater.");
+		}
+		if (dateCount < 1 || (long) dateCount * maxRentalDays > MAX_QUOTE_MATRIX_CELLS) {
+			throw new IllegalArgumentException("Quote matrix must have between 1 and " + MAX_QUOTE_MATRIX_CELLS + " cells.");
+		}
 		if (discountPercent < 0 || discountPercent > 100) {
-			throw new IllegalArgumentException("Discount percent must be between 0 and 100.");
+			throw reject(RejectionReason.INVALID_DISCOUNT_PERCENT, "Discount percent must be between 0 and 100.");
 		}
-
-		Tool tool = Tool.getToolByCode(toolCode);
+		Tool tool = toolCatalog.getTool(toolCode);
 		if (tool == null) {
-			throw new IllegalArgumentException("Invalid tool code.");
+			throw reject(RejectionReason.UNKNOWN_TOOL_CODE, "Invalid tool code.");
+		}
+		HolidayCalendar calendar = storeId == null ? holidayCalendar : storeCalendars.getCalendar(storeId);
+		if (calendar == null) {
+			throw reject(RejectionReason.UNKNOWN_STORE_ID, "Unknown store ID.");
+		}
+
+		int cells = dateCount * maxRentalDays;
+		int[] chargeDays = new int[cells];
+		long[] preDiscountCents = new long[cells];
+		tool.getChargeEvaluator().evaluateGrid(firstCheckOutDate.toEpochDay(), dateCount, maxRentalDays, calendar,
+				chargeDays, preDiscountCents);
+		return new QuoteMatrix(tool, firstCheckOutDate, dateCount, maxRentalDays, discountPercent, chargeDays, preDiscountCents);
+	}
+
+	/**
+	 * Finds every unit of a tool type that is free for a rental period, without reserving any.
+	 *
+	 * @param toolType        the type of tool wanted, ignoring case
+	 * @param brand           the brand wanted, ignoring case, or null for any brand
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return the free units of each tool that has any, cheapest tool first
+	 * @throws IllegalArgumentException if rentalDays is less than 1, discountPercent is not between 0 and 100, or the
+	 *                                  rental period is outside the dates the inventory supports
+	 * @throws IllegalStateException    if the service does not track inventory
+	 * @see #findAvailable(String, String, String, int, int, LocalDate)
+	 */
+	public List<AvailableUnits> findAvailable(String toolType, String brand, int rentalDays, int discountPercent,
+											  LocalDate checkOutDate) {
+		return findAvailable(null, toolType, brand, rentalDays, discountPercent, checkOutDate);
+	}
+
+	/**
+	 * Finds every unit of a tool type that is free for a rental period at a store, without reserving any.
+	 * <p>
+	 * The candidate tools come from the catalog's type index and their free units from the inventory's day-by-day
+	 * unit groups, and each tool is priced once for all of its units. Tools are ranked by final charge, then by tool
+	 * code. Any of the units can be checked out with {@link #checkout(String, String, int, int, LocalDate)}, unless
+	 * another checkout takes it first.
+	 *
+	 * @param storeId         the store the tool would be checked out at, or null for the default calendar
+	 * @param toolType        the type of tool wanted, ignoring case
+	 * @param brand           the brand wanted, ignoring case, or null for any brand
+	 * @param rentalDays      the number of days the tool will be rented
+	 * @param discountPercent the discount percentage to be applied
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @return the free units of each tool that has any, cheapest tool first
+	 * @throws IllegalArgumentException if rentalDays is less than 1, discountPercent is not between 0 and 100, the
+	 *                                  store is unknown, or the rental period is outside the dates the inventory
+	 *                                  supports
+	 * @throws IllegalStateException    if the service does not track inventory
+	 */
+	public List<AvailableUnits> findAvailable(String storeId, String toolType, String brand, int rentalDays,
+											  int discountPercent, LocalDate checkOutDate) {
+		if (inventory == null) {
+			throw new IllegalStateException("Rental service does not track inventory.");
+		}
+		if (rentalDays < 1) {
+			throw reject(RejectionReason.INVALID_RENTAL_DAYS, "Rental day count must be 1 or greater.");
+		}
+		if (discountPercent < 0 || discountPercent > 100) {
+			throw reject(RejectionReason.INVALID_DISCOUNT_PERCENT, "Discount percent must be between 0 and 100.");
+		}
+		HolidayCalendar calendar = storeId == null ? holidayCalendar : storeCalendars.getCalendar(storeId);
+		if (calendar == null) {
+			throw reject(RejectionReason.UNKNOWN_STORE_ID, "Unknown store ID.");
 		}
 
 		LocalDate dueDate = checkOutDate.plusDays(rentalDays);
-		int chargeDays = calculateChargeDays(tool, checkOutDate, dueDate);
-		BigDecimal preDiscountCharge = tool.getDailyCharge().multiply(BigDecimal.valueOf(chargeDays));
-		BigDecimal discountAmount = preDiscountCharge.multiply(BigDecimal.valueOf((discountPercent / 100.0)));
-		BigDecimal finalCharge = preDiscountCharge.subtract(discountAmount);
+		List<AvailableUnits> available = new ArrayList<>();
+		for (Tool tool : toolCatalog.getToolsByType(toolType, brand)) {
+			int[] units = inventory.findAvailableUnits(tool.getToolCode(), checkOutDate, dueDate);
+			if (units.length > 0) {
+				Charge charge = calculateCharge(tool, checkOutDate, dueDate, calendar);
+				available.add(new AvailableUnits(new RentalAgreement(storeId, tool, checkOutDate, rentalDays,
+						charge.getChargeDays(), charge.getAmountCents(), discountPercent, null), units));
+			}
+		}
+		available.sort(Comparator.comparingLong((AvailableUnits units) -> units.getQuote().getFinalChargeCents())
+				.thenComparing(units -> units.getTool().getToolCode()));
+		return available;
+	}
 
-		return new RentalAgreement(toolCode, tool.getToolType(), tool.getBrand(), rentalDays, checkOutDate,
-				dueDate, tool.getDailyCharge(), chargeDays, preDiscountCharge, discountPercent,
-				round(discountAmount), round(finalCharge));
+	/**
+	 * Checks out the lines of an order together and combines them into one agreement.
+	 * <p>
+	 * Lines are priced as {@link #checkout(String, String, int, int, LocalDate)} prices them, but the calendar facts of
+	 * a rental period, its weekday, weekend and holiday counts, are worked out once for every line with the same
+	 * checkout date, length and calendar. The order is all or nothing: if a line is rejected or has no unit available,
+	 * the units reserved for the earlier lines are released, as they are if a line fails with any other exception.
+	 * Checkout listeners receive each line's agreement once every line is reserved.
+	 *
+	 * @param lines the lines of the order
+	 * @return the order agreement, with one line agreement per line in the same order
+	 * @throws IllegalArgumentException if the order has no lines or any line is rejected; the message names the line
+	 */
+	public OrderAgreement checkoutOrder(List<RentalRequest> lines) {
+		return checkoutOrder(null, lines);
 	}
 
 	/**
-	 * Calculates the number of chargeable days for a rental period.
+	 * Checks out the lines of a contract customer's order together, with each line discounted as
+	 * {@link #quoteOrder(CustomerPricing, List)} discounts it. Otherwise the same as {@link #checkoutOrder(List)}.
 	 *
-	 * @param tool         the tool being rented
-	 * @param checkOutDate the date when the tool is checked out
-	 * @param dueDate      the date when the tool is due
-	 * @return the number of chargeable days
+	 * @param pricing the customer's profile, resolved against this service's catalog, or null for no contract
+	 * @param lines   the lines of the order
+	 * @return the order agreement, with one line agreement per line in the same order
+	 * @throws IllegalArgumentException if the profile was resolved against another catalog or before it last changed,
+	 *                                  the order has no lines, or any line is rejected; the message names the line
 	 */
-	private int calculateChargeDays(Tool tool, LocalDate checkOutDate, LocalDate dueDate) {
-		int chargeDays = 0;
-		LocalDate date = checkOutDate.plusDays(1);
-		while (!date.isAfter(dueDate)) {
-			DayOfWeek dayOfWeek = date.getDayOfWeek();
-			if (tool.isWeekdayCharge() && isWeekday(dayOfWeek) ||
-					tool.isWeekendCharge() && isWeekend(dayOfWeek) ||
-					tool.isHolidayCharge() && isHoliday(date)) {
-				chargeDays++;
+	public OrderAgreement checkoutOrder(CustomerPricing pricing, List<RentalRequest> lines) {
+		if (pricing != null) {
+			checkPricing(pricing);
+		}
+		if (lines.isEmpty()) {
+			throw new IllegalArgumentException("Order must have at least one line.");
+		}
+		int volumeDiscountPercent = pricing == null ? 0 : pricing.getVolumeDiscountPercent(lines.size());
+		DateRangeFactsCache factsByRange = new DateRangeFactsCache(lines.size());
+		RentalAgreement[] agreements = new RentalAgreement[lines.size()];
+		for (int i = 0; i < agreements.length; i++) {
+			try {
+				agreements[i] = orderLine(pricing, lines.get(i), volumeDiscountPercent, inventory != null, factsByRange);
+			} catch (RuntimeException e) {
+				releaseAll(agreements, i);
+				if (e instanceof IllegalArgumentException) {
+					throw new IllegalArgumentException("Order line " + (i + 1) + ": " + e.getMessage(), e);
+				}
+				throw e;
+			}
+		}
+		if (!checkoutListeners.isEmpty()) {
+			try {
+				for (RentalAgreement agreement : agreements) {
+					for (Consumer<RentalAgreement> listener : checkoutListeners) {
+						listener.accept(agreement);
+					}
+				}
+			} catch (RuntimeException e) {
+				// An order that could not be recorded does not keep any of its units
+				releaseAll(agreements, agreements.length);
+				throw e;
 			}
-			if (!tool.isHolidayCharge() && isHoliday(date)) {
-				chargeDays--;
+		}
+		if (metricsEnabled) {
+			for (RentalAgreement agreement : agreements) {
+				metrics.recordCheckout(agreement.getToolCode());
+			}
+		}
+		return new OrderAgreement(pricing == null ? null : pricing.getCustomerId(), Arrays.asList(agreements));
+	}
+
+	/**
+	 * Prices the lines of a contract customer's order without checking out.
+	 * <p>
+	 * Every line gets the largest of the discount its request asks for and the discount the customer's terms give it:
+	 * the base or tool type discount of its tool, the tier of its rental length, and the volume tier of the order's
+	 * line count. The volume tier is found once for the order and each line takes its tool and terms from the
+	 * resolved profile in a single lookup, so a line costs what a plain quote costs. A rejected line produces a failed
+	 * result instead of failing the order.
+	 *
+	 * @param pricing the customer's profile, resolved against this service's catalog
+	 * @param lines   the lines of the order
+	 * @return one result per line, in the same order as the lines
+	 * @throws IllegalArgumentException if the profile was resolved against another catalog or before it last changed
+	 * @see CustomerProfiles#resolve(String)
+	 */
+	public List<CheckoutResult> quoteOrder(CustomerPricing pricing, List<RentalRequest> lines) {
+		checkPricing(pricing);
+		int volumeDiscountPercent = pricing.getVolumeDiscountPercent(lines.size());
+		DateRangeFactsCache factsByRange = new DateRangeFactsCache(lines.size());
+		List<CheckoutResult> results = new ArrayList<>(lines.size());
+		for (RentalRequest line : lines) {
+			try {
+				results.add(CheckoutResult.success(line, orderLine(pricing, line, volumeDiscountPercent, false, factsByRange)));
+			} catch (IllegalArgumentException e) {
+				results.add(CheckoutResult.failure(line, e));
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Checks that a customer's profile was resolved against this service's catalog as it is now, so an order is never
+	 * priced from tools the catalog has since replaced.
+	 */
+	private void checkPricing(CustomerPricing pricing) {
+		if (pricing.getToolCatalog() != toolCatalog) {
+			throw new IllegalArgumentException("Customer pricing was resolved against another catalog.");
+		}
+		if (!pricing.isCurrent()) {
+			throw new IllegalArgumentException("Customer pricing was resolved before the catalog last changed.");
+		}
+	}
+
+	/**
+	 * Prices one line of an order, with the customer's discount if there is one.
+	 *
+	 * @param pricing               the customer's resolved profile, or null to take the line's discount as it is
+	 * @param line                  the line to price
+	 * @param volumeDiscountPercent the volume discount of the whole order
+	 * @param reserve               whether to reserve a unit of the tool
+	 * @param factsByRange          the calendar facts of the periods already priced for the order
+	 * @return the agreement of the line
+	 */
+	private RentalAgreement orderLine(CustomerPricing pricing, RentalRequest line, int volumeDiscountPercent,
+									  boolean reserve, DateRangeFactsCache factsByRange) {
+		long startNanos = metricsEnabled ? System.nanoTime() : 0;
+		int rentalDays = line.getRentalDays();
+		if (rentalDays < 1) {
+			throw reject(RejectionReason.INVALID_RENTAL_DAYS, "Rental day count must be 1 or greater.");
+		}
+		if (line.getDiscountPercent() < 0 || line.getDiscountPercent() > 100) {
+			throw reject(RejectionReason.INVALID_DISCOUNT_PERCENT, "Discount percent must be between 0 and 100.");
+		}
+		Tool tool;
+		int discountPercent = line.getDiscountPercent();
+		if (pricing == null) {
+			tool = toolCatalog.getTool(line.getToolCode());
+		} else {
+			CustomerPricing.ToolTerms terms = pricing.getTerms(line.getToolCode());
+			tool = terms == null ? null : terms.getTool();
+			if (terms != null) {
+				discountPercent = Math.max(discountPercent, pricing.getDiscountPercent(terms, rentalDays, volumeDiscountPercent));
+			}
+		}
+		if (tool == null) {
+			throw reject(RejectionReason.UNKNOWN_TOOL_CODE, "Invalid tool code.");
+		}
+		return createAgreement(line.getStoreId(), tool, rentalDays, discountPercent, line.getCheckOutDate(), reserve,
+				startNanos, factsByRange);
+	}
+
+	/**
+	 * Releases the units held by the first agreements of an order.
+	 */
+	private void releaseAll(RentalAgreement[] agreements, int count) {
+		for (int i = 0; i < count; i++) {
+			release(agreements[i]);
+		}
+	}
+
+	/**
+	 * Releases the tool unit held by an agreement, for a rental that was returned or cancelled.
+	 *
+	 * @param agreement the agreement whose unit to release
+	 * @return true if a unit was released, false if the agreement holds no reservation or it was already released
+	 */
+	public boolean release(RentalAgreement agreement) {
+		Reservation reservation = agreement.getReservation();
+		if (reservation == null || inventory == null) {
+			return false;
+		}
+		return inventory.release(reservation);
+	}
+
+	private RentalAgreement createAgreement(String storeId, String toolCode, int rentalDays, int discountPercent,
+											LocalDate checkOutDate, boolean reserve) {
+		long startNanos = metricsEnabled ? System.nanoTime() : 0;
+		if (rentalDays < 1) {
+			throw reject(RejectionReason.INVALID_RENTAL_DAYS, "Rental day count must be 1 or greater.");
+		}
+
+		if (discountPercent < 0 || discountPercent > 100) {
+			throw reject(RejectionReason.INVALID_DISCOUNT_PERCENT, "Discount percent must be between 0 and 100.");
+		}
+
+		Tool tool = toolCatalog.getTool(toolCode);
+		if (tool == null) {
+			throw reject(RejectionReason.UNKNOWN_TOOL_CODE, "Invalid tool code.");
+		}
+		return createAgreement(storeId, tool, rentalDays, discountPercent, checkOutDate, reserve, startNanos, null);
+	}
+
+	/**
+	 * Prices a validated rental of a tool already looked up, and reserves a unit of it if asked.
+	 *
+	 * @param startNanos   when the checkout started, or 0 if metrics are disabled
+	 * @param factsByRange the calendar facts of the periods already priced for an order, or null for a single rental
+	 */
+	private RentalAgreement createAgreement(String storeId, Tool tool, int rentalDays, int discountPercent,
+											LocalDate checkOutDate, boolean reserve, long startNanos,
+											DateRangeFactsCache factsByRange) {
+		HolidayCalendar calendar = storeId == null ? holidayCalendar : storeCalendars.getCalendar(storeId);
+		if (calendar == null) {
+			throw reject(RejectionReason.UNKNOWN_STORE_ID, "Unknown store ID.");
+		}
+		long lapNanos = lap(Stage.CATALOG_LOOKUP, startNanos);
+
+		LocalDate dueDate = checkOutDate.plusDays(rentalDays);
+		Charge charge;
+		if (factsByRange == null) {
+			charge = calculateCharge(tool, checkOutDate, dueDate, calendar);
+		} else {
+			long checkOutDay = checkOutDate.toEpochDay();
+			charge = tool.getChargeEvaluator().evaluate(factsByRange.get(checkOutDay + 1, checkOutDay + rentalDays, calendar));
+		}
+
+		lapNanos = lap(Stage.CHARGE_CALCULATION, lapNanos);
+
+		Reservation reservation = null;
+		if (reserve) {
+			reservation = inventory.reserve(tool.getToolCode(), checkOutDate, dueDate);
+			if (reservation == null) {
+				throw reject(RejectionReason.NO_UNIT_AVAILABLE, "No unit of the tool is available for the rental period.");
 			}
-			date = date.plusDays(1);
+			lap(Stage.RESERVATION, lapNanos);
 		}
-		return chargeDays;
+
+		RentalAgreement agreement = new RentalAgreement(storeId, tool, checkOutDate, rentalDays, charge.getChargeDays(),
+				charge.getAmountCents(), discountPercent, reservation);
+		lap(Stage.CHECKOUT, startNanos);
+		return agreement;
 	}
 
 	/**
-	 * Checks if a given day is a weekday.
+	 * Records the time since the start of a stage, if metrics are enabled.
 	 *
-	 * @param dayOfWeek the day of the week to check
-	 * @return true if the day is a weekday, false otherwise
+	 * @param stage      the stage that just finished
+	 * @param startNanos when the stage started
+	 * @return the current time, which starts the next stage, or 0 if metrics are disabled
 	 */
-	private boolean isWeekday(DayOfWeek dayOfWeek) {
-		return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+	private long lap(Stage stage, long startNanos) {
+		if (!metricsEnabled) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		metrics.recordStage(stage, now - startNanos);
+		return now;
 	}
 
 	/**
-	 * Checks if a given day is a weekend.
+	 * Records a rejection, if metrics are enabled, and creates the exception that rejects the rental.
 	 *
-	 * @param dayOfWeek the day of the week to check
-	 * @return true if the day is a weekend, false otherwise
+	 * @param reason  why the rental is rejected
+	 * @param message the message of the exception
+	 * @return the exception to throw
 	 */
-	private boolean isWeekend(DayOfWeek dayOfWeek) {
-		return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+	private IllegalArgumentException reject(RejectionReason reason, String message) {
+		if (metricsEnabled) {
+			metrics.recordRejection(reason);
+		}
+		return new IllegalArgumentException(message);
+	}
+
+	/**
+	 * Checks out a batch of rental requests on the common fork-join pool.
+	 *
+	 * @param requests the rental requests to check out
+	 * @return one result per request, in the same order as the requests
+	 * @see #checkoutAll(Collection, Executor)
+	 */
+	public List<CheckoutResult> checkoutAll(Collection<RentalRequest> requests) {
+		return checkoutAll(requests, ForkJoinPool.commonPool());
 	}
 
 	/**
-	 * Checks if a given date is a holiday.
+	 * Checks out a stream of rental requests on the given executor.
 	 *
-	 * @param date the date to check
-	 * @return true if the date is a holiday, false otherwise
+	 * @param requests the rental requests to check out
+	 * @param executor the executor that runs the checkouts
+	 * @return one result per request, in the encounter order of the stream
+	 * @see #checkoutAll(Collection, Executor)
 	 */
-	private boolean isHoliday(LocalDate date) {
-		LocalDate independenceDay = getIndependenceDay(date.getYear());
-		LocalDate laborDay = getLaborDay(date.getYear());
-		return date.isEqual(laborDay) || date.isEqual(independenceDay);
+	public List<CheckoutResult> checkoutAll(Stream<RentalRequest> requests, Executor executor) {
+		return checkoutAll(requests.collect(Collectors.toList()), executor);
 	}
 
 	/**
-	 * Gets the date of Independence Day for a given year, adjusting for weekends.
+	 * Checks out a batch of rental requests on the given executor.
+	 * <p>
+	 * The batch is split into contiguous chunks that run as independent tasks, and each task writes its results
+	 * straight into its slice of the result list, so no ordering or merging step is needed. A request rejected with an
+	 * {@link IllegalArgumentException} produces a failed result instead of aborting the batch.
 	 *
-	 * @param year the year to check
-	 * @return the date of Independence Day
+	 * @param requests the rental requests to check out
+	 * @param executor the executor that runs the checkouts, such as a fork-join pool
+	 * @return one result per request, in the same order as the requests
 	 */
-	private static LocalDate getIndependenceDay(int year) {
-		LocalDate july4th = LocalDate.of(year, Month.JULY, 4);
-		if (july4th.getDayOfWeek() == DayOfWeek.SATURDAY) {
-			return july4th.minusDays(1);
-		} else if (july4th.getDayOfWeek() == DayOfWeek.SUNDAY) {
-			return july4th.plusDays(1);
+	public List<CheckoutResult> checkoutAll(Collection<RentalRequest> requests, Executor executor) {
+		RentalRequest[] batch = requests.toArray(new RentalRequest[0]);
+		CheckoutResult[] results = new CheckoutResult[batch.length];
+		int chunkCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, batch.length / MIN_BATCH_CHUNK));
+		int chunkSize = (batch.length + chunkCount - 1) / chunkCount;
+
+		CompletableFuture<?>[] chunks = new CompletableFuture<?>[chunkCount];
+		for (int chunk = 0; chunk < chunkCount; chunk++) {
+			int from = Math.min(batch.length, chunk * chunkSize);
+			int to = Math.min(batch.length, from + chunkSize);
+			chunks[chunk] = CompletableFuture.runAsync(() -> {
+				for (int i = from; i < to; i++) {
+					results[i] = checkoutQuietly(batch[i]);
+				}
+			}, executor);
 		}
-		return july4th;
+
+		try {
+			CompletableFuture.allOf(chunks).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		return Arrays.asList(results);
 	}
 
 	/**
-	 * Gets the date of Labor Day for a given year.
+	 * Checks out a single request, capturing a validation failure as a result.
 	 *
-	 * @param year the year to check
-	 * @return the date of Labor Day
+	 * @param request the rental request to check out
+	 * @return the result of the checkout
 	 */
-	private static LocalDate getLaborDay(int year) {
-		LocalDate firstMondayInSeptember = LocalDate.of(year, Month.SEPTEMBER, 1);
-		while (firstMondayInSeptember.getDayOfWeek() != DayOfWeek.MONDAY) {
-			firstMondayInSeptember = firstMondayInSeptember.plusDays(1);
+	private CheckoutResult checkoutQuietly(RentalRequest request) {
+		try {
+			return CheckoutResult.success(request, checkout(request.getStoreId(), request.getToolCode(),
+					request.getRentalDays(), request.getDiscountPercent(), request.getCheckOutDate()));
+		} catch (IllegalArgumentException e) {
+			return CheckoutResult.failure(request, e);
 		}
-		return firstMondayInSeptember;
 	}
 
 	/**
-	 * Rounds a BigDecimal value to two decimal places.
+	 * Calculates the number of chargeable days for a rental period.
 	 *
-	 * @param value the value to round
-	 * @return the rounded value
+	 * @param tool         the tool being rented
+	 * @param checkOutDate the date when the tool is checked out
+	 * @param dueDate      the date when the tool is due
+	 * @return the number of chargeable days
+	 */
+	int calculateChargeDays(Tool tool, LocalDate checkOutDate, LocalDate dueDate) {
+		return calculateCharge(tool, checkOutDate, dueDate).getChargeDays();
+	}
+
+	/**
+	 * Prices a rental period with the tool's compiled charge rules. The period runs from the day after checkout through
+	 * the due date.
+	 *
+	 * @param tool         the tool being rented
+	 * @param checkOutDate the date when the tool is checked out
+	 * @param dueDate      the date when the tool is due
+	 * @return the charge days and the charge before any discount
+	 */
+	Charge calculateCharge(Tool tool, LocalDate checkOutDate, LocalDate dueDate) {
+		return calculateCharge(tool, checkOutDate, dueDate, holidayCalendar);
+	}
+
+	/**
+	 * Prices a rental period with the tool's compiled charge rules and a given holiday calendar.
+	 *
+	 * @param tool            the tool being rented
+	 * @param checkOutDate    the date when the tool is checked out
+	 * @param dueDate         the date when the tool is due
+	 * @param holidayCalendar the calendar that determines which days are holidays
+	 * @return the charge days and the charge before any discount
 	 */
-	private BigDecimal round(BigDecimal value) {
-		return value.setScale(2, RoundingMode.CEILING);
+	Charge calculateCharge(Tool tool, LocalDate checkOutDate, LocalDate dueDate, HolidayCalendar holidayCalendar) {
+		return tool.getChargeEvaluator().evaluate(checkOutDate.toEpochDay() + 1, dueDate.toEpochDay(), holidayCalendar);
 	}
 }
@@ -0,0 +1,186 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.ReturnRequest;
+import com.interview.test.objects.Settlement;
+import com.interview.test.objects.SettlementResult;
+import com.interview.test.objects.Tool;
+import com.interview.test.pricing.Charge;
+import com.interview.test.util.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Service class for settling returned rentals.
+ * <p>
+ * A tool returned after its due date is charged for the extra days by the same charge rules that priced the rental.
+ * The late charge is the charge from checkout through the return date less the charge from checkout through the due
+ * date, so weekly caps and minimum charge days carry over the due date, and both are computed by the tool's compiled
+ * {@link com.interview.test.pricing.ChargeEvaluator} in time independent of the length of the rental. The agreement's
+ * discount does not apply to late days, and a tool returned early is not refunded. Late days are priced with the
+ * holiday calendar of the store the tool was checked out at and, for an agreement priced by the rental service, with
+ * the rates of the tool as it was at checkout, even if the catalog has since changed.
+ */
+public class SettlementService {
+
+	private static final int MIN_BATCH_CHUNK = 256;
+
+	private final RentalService rentalService;
+
+	/**
+	 * Constructs a SettlementService that prices late days with a rental service's tool catalog and holiday calendar.
+	 *
+	 * @param rentalService the rental service the agreements were checked out with
+	 */
+	public SettlementService(RentalService rentalService) {
+		this.rentalService = rentalService;
+	}
+
+	/**
+	 * Settles the return of a rented tool and releases the unit the agreement holds, if any. Settling an agreement
+	 * again prices it again but leaves the unit alone, since it may have been rented out since.
+	 *
+	 * @param agreement  the agreement the tool was rented under
+	 * @param returnDate the date the tool is actually returned
+	 * @param damageFee  the fee charged for damage to the tool, zero if it came back undamaged
+	 * @return the settlement
+	 * @throws IllegalArgumentException if an argument is null, the return date is before the checkout date, the damage
+	 *                                  fee is negative or not a whole number of cents, or the agreement's tool or store
+	 *                                  is no longer known
+	 */
+	public Settlement settle(RentalAgreement agreement, LocalDate returnDate, BigDecimal damageFee) {
+		Settlement settlement = price(agreement, returnDate, damageFee);
+		rentalService.release(agreement);
+		return settlement;
+	}
+
+	/**
+	 * Settles a batch of returns on the common fork-join pool.
+	 *
+	 * @param requests the returns to settle
+	 * @return one result per request, in the same order as the requests
+	 * @see #settleAll(Collection, Executor)
+	 */
+	public List<SettlementResult> settleAll(Collection<ReturnRequest> requests) {
+		return settleAll(requests, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Settles a batch of returns on the given executor.
+	 * <p>
+	 * Like {@link RentalService#checkoutAll(Collection, Executor)}, the batch is split into contiguous chunks that run
+	 * as independent tasks and write straight into their slice of the result list. A return rejected with an
+	 * {@link IllegalArgumentException} produces a failed result instead of aborting the batch.
+	 *
+	 * @param requests the returns to settle
+	 * @param executor the executor that runs the settlements, such as a fork-join pool
+	 * @return one result per request, in the same order as the requests
+	 */
+	public List<SettlementResult> settleAll(Collection<ReturnRequest> requests, Executor executor) {
+		ReturnRequest[] batch = requests.toArray(new ReturnRequest[0]);
+		SettlementResult[] results = new SettlementResult[batch.length];
+		int chunkCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, batch.length / MIN_BATCH_CHUNK));
+		int chunkSize = (batch.length + chunkCount - 1) / chunkCount;
+
+		CompletableFuture<?>[] chunks = new CompletableFuture<?>[chunkCount];
+		for (int chunk = 0; chunk < chunkCount; chunk++) {
+			int from = Math.min(batch.length, chunk * chunkSize);
+			int to = Math.min(batch.length, from + chunkSize);
+			chunks[chunk] = CompletableFuture.runAsync(() -> {
+				for (int i = from; i < to; i++) {
+					results[i] = settleQuietly(batch[i]);
+				}
+			}, executor);
+		}
+
+		try {
+			CompletableFuture.allOf(chunks).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Settles a single return, capturing a validation failure as a result.
+	 *
+	 * @param request the return to settle
+	 * @return the result of the settlement
+	 */
+	private SettlementResult settleQuietly(ReturnRequest request) {
+		try {
+			return SettlementResult.success(request, settle(request.getAgreement(), request.getReturnDate(),
+					request.getDamageFee()));
+		} catch (IllegalArgumentException e) {
+			return SettlementResult.failure(request, e);
+		}
+	}
+
+	/**
+	 * Prices a return without releasing its unit.
+	 *
+	 * @param agreement  the agreement the tool was rented under
+	 * @param returnDate the date the tool is actually returned
+	 * @param damageFee  the fee charged for damage to the tool
+	 * @return the settlement
+	 */
+	private Settlement price(RentalAgreement agreement, LocalDate returnDate, BigDecimal damageFee) {
+		if (agreement == null) {
+			throw new IllegalArgumentException("Agreement is required.");
+		}
+		if (returnDate == null) {
+			throw new IllegalArgumentException("Return date is required.");
+		}
+		if (damageFee == null) {
+			throw new IllegalArgumentException("Damage fee is required.");
+		}
+		if (returnDate.isBefore(agreement.getCheckOutDate())) {
+			throw new IllegalArgumentException("Return date must not be before the checkout date.");
+		}
+		if (damageFee.signum() < 0) {
+			throw new IllegalArgumentException("Damage fee must not be negative.");
+		}
+		long damageCents = Money.toCents(damageFee);
+
+		int lateDays = 0;
+		int lateChargeDays = 0;
+		long lateCents = 0;
+		LocalDate dueDate = agreement.getDueDate();
+		if (returnDate.isAfter(dueDate)) {
+			// An agreement priced from a shared tool keeps the rates it was checked out at
+			Tool tool = agreement.getTool() != null ? agreement.getTool()
+					: rentalService.getToolCatalog().getTool(agreement.getToolCode());
+			if (tool == null) {
+				throw new IllegalArgumentException("Invalid tool code.");
+			}
+			StoreCalendars storeCalendars = rentalService.getStoreCalendars();
+			HolidayCalendar calendar = agreement.getStoreId() == null ? storeCalendars.getDefaultCalendar()
+					: storeCalendars.getCalendar(agreement.getStoreId());
+			if (calendar == null) {
+				throw new IllegalArgumentException("Unknown store ID.");
+			}
+			Charge agreed = rentalService.calculateCharge(tool, agreement.getCheckOutDate(), dueDate, calendar);
+			Charge actual = rentalService.calculateCharge(tool, agreement.getCheckOutDate(), returnDate, calendar);
+			lateDays = (int) (returnDate.toEpochDay() - dueDate.toEpochDay());
+			lateChargeDays = Math.max(0, actual.getChargeDays() - agreed.getChargeDays());
+			lateCents = Math.max(0, actual.getAmountCents() - agreed.getAmountCents());
+		}
+
+		long totalCents = agreement.getFinalChargeCents() + lateCents + damageCents;
+		return new Settlement(agreement, returnDate, lateDays, lateChargeDays, Money.fromCents(lateCents),
+				Money.fromCents(damageCents), Money.fromCents(totalCents));
+	}
+}
@@ -0,0 +1,204 @@
+package com.interview.test.startup;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.metrics.RentalMetricsMXBean;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.service.RentalService;
+import lombok.Getter;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Drives {@link RentalService#checkout(String, String, int, int, LocalDate)} through representative rentals until the
+ * JIT has compiled the checkout path, so the first real checkouts after a restart run at full speed.
+ * <p>
+ * The rentals cover every tool in the catalog, short and long rental lengths, and checkout dates just before, on and
+ * after the holidays of the default calendar and of each distinct store calendar. They are checked out in rounds on the
+ * service that will take the real checkouts, so the JIT profiles the same metrics and inventory branches those
+ * checkouts take instead of compiling code that is thrown away on the first real checkout. Each unit reserved is
+ * released again straight away, and metrics that can be reset are cleared afterwards, so warming up leaves no
+ * reservations and records nothing. Run it before adding checkout listeners, which would see the warm-up rentals. The
+ * checkout path is considered compiled once {@value #STABLE_ROUNDS} rounds in a row run within 10% of the fastest
+ * round while the JIT compiles nothing new.
+ */
+public class CheckoutWarmup {
+
+	static final int STABLE_ROUNDS = 3;
+
+	private static final int[] RENTAL_DAYS = {1, 2, 3, 4, 5, 7, 10, 14, 30, 90, 365};
+	private static final int[] DISCOUNT_PERCENTS = {0, 10, 25, 50, 100};
+	private static final int STABLE_PERCENT = 110;
+	private static final int FAST_PERCENT = 125;
+
+	private final RentalService rentalService;
+	private final List<RentalRequest> requests;
+	private volatile long sink;
+
+	/**
+	 * Constructs a CheckoutWarmup for a rental service, with rentals of its catalog's tools around the holidays of its
+	 * store calendars in the years before, of and after the current year.
+	 *
+	 * @param rentalService the service to warm up, configured as it will serve checkouts
+	 */
+	public CheckoutWarmup(RentalService rentalService) {
+		this(rentalService, LocalDate.now().getYear());
+	}
+
+	CheckoutWarmup(RentalService rentalService, int year) {
+		this.rentalService = rentalService;
+		this.requests = representativeRequests(rentalService.getToolCatalog(), rentalService.getStoreCalendars(), year);
+	}
+
+	/**
+	 * Gets the rentals checked out in each round.
+	 *
+	 * @return an unmodifiable list of the rentals
+	 */
+	public List<RentalRequest> getRequests() {
+		return Collections.unmodifiableList(requests);
+	}
+
+	/**
+	 * Checks out rounds of the representative rentals until checkouts run at a steady speed or time runs out, then
+	 * clears what the service's metrics recorded of them.
+	 *
+	 * @param maxDuration the longest time to warm up for
+	 * @return the outcome of the warm-up
+	 */
+	public Result run(Duration maxDuration) {
+		CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+		boolean compilationMonitored = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+		long deadline = System.nanoTime() + maxDuration.toNanos();
+		List<long[]> rounds = new ArrayList<>();
+		long fastestNanos = Long.MAX_VALUE;
+		long compilationMillis = compilationMonitored ? compilation.getTotalCompilationTime() : 0;
+		int stableRounds = 0;
+		long total = 0;
+		do {
+			long roundStart = System.nanoTime();
+			for (RentalRequest request : requests) {
+				try {
+					RentalAgreement agreement = rentalService.checkout(request.getStoreId(), request.getToolCode(),
+							request.getRentalDays(), request.getDiscountPercent(), request.getCheckOutDate());
+					rentalService.release(agreement);
+					total += agreement.getFinalChargeCents();
+				} catch (IllegalArgumentException e) {
+					// A tool with no free unit is rejected, which warms up the rejection path instead
+					total++;
+				}
+			}
+			long roundNanos = System.nanoTime() - roundStart;
+			rounds.add(new long[]{roundNanos, StartupClock.nanosSinceJvmStart()});
+
+			long previousCompilationMillis = compilationMillis;
+			compilationMillis = compilationMonitored ? compilation.getTotalCompilationTime() : 0;
+			fastestNanos = Math.min(fastestNanos, roundNanos);
+			boolean steady = compilationMillis == previousCompilationMillis && roundNanos * 100 <= fastestNanos * STABLE_PERCENT;
+			stableRounds = steady ? stableRounds + 1 : 0;
+		} while (stableRounds < STABLE_ROUNDS && System.nanoTime() < deadline);
+		sink = total;
+		if (rentalService.getMetrics() instanceof RentalMetricsMXBean metrics) {
+			metrics.reset();
+		}
+
+		long firstFastCheckoutNanos = rounds.get(rounds.size() - 1)[1];
+		for (long[] round : rounds) {
+			if (round[0] * 100 <= fastestNanos * FAST_PERCENT) {
+				firstFastCheckoutNanos = round[1];
+				break;
+			}
+		}
+		return new Result(rounds.size(), (long) rounds.size() * requests.size(), fastestNanos / requests.size(),
+				firstFastCheckoutNanos, stableRounds >= STABLE_ROUNDS);
+	}
+
+	private static List<RentalRequest> representativeRequests(ToolCatalog toolCatalog, StoreCalendars storeCalendars,
+															  int year) {
+		// One store per distinct calendar, and null for the default calendar
+		Map<HolidayCalendar, String> storeByCalendar = new IdentityHashMap<>();
+		storeByCalendar.put(storeCalendars.getDefaultCalendar(), null);
+		for (String storeId : storeCalendars.getStoreIds()) {
+			storeByCalendar.putIfAbsent(storeCalendars.getCalendar(storeId), storeId);
+		}
+
+		List<LocalDate> dates = new ArrayList<>();
+		List<String> stores = new ArrayList<>();
+		long firstDay = LocalDate.of(year - 1, 1, 1).toEpochDay();
+		long endDay = LocalDate.of(year + 2, 1, 1).toEpochDay();
+		storeByCalendar.forEach((calendar, storeId) -> {
+			for (long day = firstDay; day < endDay; day++) {
+				if (calendar.isHoliday(day)) {
+					for (long offset = -3; offset <= 1; offset++) {
+						dates.add(LocalDate.ofEpochDay(day + offset));
+						stores.add(storeId);
+					}
+				}
+			}
+			// An ordinary mid-week date, far from most holidays
+			dates.add(LocalDate.of(year, 3, 11));
+			stores.add(storeId);
+		});
+
+		SplittableRandom random = new SplittableRandom(year);
+		List<RentalRequest> requests = new ArrayList<>();
+		for (Tool tool : toolCatalog.getTools()) {
+			for (int i = 0; i < dates.size(); i++) {
+				for (int rentalDays : RENTAL_DAYS) {
+					int discountPercent = DISCOUNT_PERCENTS[random.nextInt(DISCOUNT_PERCENTS.length)];
+					requests.add(new RentalRequest(stores.get(i), tool.getToolCode(), rentalDays, discountPercent, dates.get(i)));
+				}
+			}
+		}
+		Collections.shuffle(requests, random);
+		return requests;
+	}
+
+	/**
+	 * The outcome of a warm-up.
+	 */
+	@Getter
+	public static class Result {
+
+		private final int rounds;
+		private final long checkouts;
+		/**
+		 * The average time of a checkout in the fastest round.
+		 */
+		private final long nanosPerCheckout;
+		/**
+		 * The time from the start of the JVM to the end of the first round that ran within 25% of the fastest.
+		 */
+		private final long firstFastCheckoutNanos;
+		/**
+		 * Whether checkouts reached a steady speed before the warm-up ran out of time.
+		 */
+		private final boolean steady;
+
+		Result(int rounds, long checkouts, long nanosPerCheckout, long firstFastCheckoutNanos, boolean steady) {
+			this.rounds = rounds;
+			this.checkouts = checkouts;
+			this.nanosPerCheckout = nanosPerCheckout;
+			this.firstFastCheckoutNanos = firstFastCheckoutNanos;
+			this.steady = steady;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Warmed up with %d checkouts in %d rounds%s: %d ns per checkout, first fast checkout %.0f ms after JVM start",
+					checkouts, rounds, steady ? "" : " (time limit reached)", nanosPerCheckout, firstFastCheckoutNanos / 1_000_000.0);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.interview.test.startup;
+
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.objects.ToolCatalog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * A prebuilt binary image of everything the pricing path reads: the tool catalog with each tool's charge rules, and
+ * the store calendars with the holidays of every cached year already computed.
+ * <p>
+ * Starting from a snapshot skips parsing the catalog CSV and the store calendar definitions and evaluating holiday
+ * rules year by year. A file holds a magic number and a format version, the catalog, the calendars and a CRC-32 of
+ * everything before it; a file that fails any check is rejected as a whole.
+ */
+public final class PricingSnapshot {
+
+	private static final int MAGIC = 0x54525053;
+	private static final int VERSION = 1;
+	private static final int CHECKSUM_BYTES = Long.BYTES;
+
+	private final ToolCatalog toolCatalog;
+	private final StoreCalendars storeCalendars;
+
+	/**
+	 * Constructs a PricingSnapshot of a catalog and store calendars.
+	 *
+	 * @param toolCatalog    the catalog of tools available for rental
+	 * @param storeCalendars the holiday calendar of each store, and the calendar for rentals that name no store
+	 */
+	public PricingSnapshot(ToolCatalog toolCatalog, StoreCalendars storeCalendars) {
+		this.toolCatalog = toolCatalog;
+		this.storeCalendars = storeCalendars;
+	}
+
+	public ToolCatalog getToolCatalog() {
+		return toolCatalog;
+	}
+
+	public StoreCalendars getStoreCalendars() {
+		return storeCalendars;
+	}
+
+	/**
+	 * Writes the snapshot to a file. The file is written under a temporary name and moved into place, so a reader
+	 * never sees a partly written snapshot.
+	 *
+	 * @param target the file to write
+	 * @throws IOException              if writing fails
+	 * @throws IllegalArgumentException if a calendar has a rule that cannot be written
+	 */
+	public void write(Path target) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		toolCatalog.writeTo(out);
+		storeCalendars.writeTo(out);
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeLong(crc.getValue());
+		out.flush();
+
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		try {
+			Files.write(temporary, bytes.toByteArray());
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Reads a snapshot written by {@link #write(Path)}.
+	 *
+	 * @param source the file to read
+	 * @return the snapshot
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a snapshot, was written by another format version, or is
+	 *                                  corrupt
+	 */
+	public static PricingSnapshot read(Path source) throws IOException {
+		byte[] bytes = Files.readAllBytes(source);
+		if (bytes.length < 2 * Integer.BYTES + CHECKSUM_BYTES) {
+			throw new IllegalArgumentException("Snapshot " + source + " is truncated.");
+		}
+		int length = bytes.length - CHECKSUM_BYTES;
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, length);
+		if (crc.getValue() != ByteBuffer.wrap(bytes, length, CHECKSUM_BYTES).getLong()) {
+			throw new IllegalArgumentException("Snapshot " + source + " is corrupt.");
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, length));
+		if (in.readInt() != MAGIC) {
+			throw new IllegalArgumentException(source + " is not a pricing snapshot.");
+		}
+		int version = in.readInt();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Snapshot " + source + " has format version " + version
+					+ " but version " + VERSION + " is required.");
+		}
+		try {
+			PricingSnapshot snapshot = new PricingSnapshot(ToolCatalog.readFrom(in), StoreCalendars.readFrom(in));
+			if (in.available() > 0) {
+				throw new IllegalArgumentException("Snapshot " + source + " has trailing data.");
+			}
+			return snapshot;
+		} catch (EOFException e) {
+			throw new IllegalArgumentException("Snapshot " + source + " is truncated.", e);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.interview.test.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time from the start of the JVM, for startup metrics.
+ */
+public final class StartupClock {
+
+	/**
+	 * The value of {@link System#nanoTime()} when the JVM started, to the millisecond the runtime reports its uptime in.
+	 */
+	private static final long JVM_START_NANOS =
+			System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+
+	private StartupClock() {
+	}
+
+	/**
+	 * Gets the time since the JVM started.
+	 *
+	 * @return the elapsed nanoseconds
+	 */
+	public static long nanosSinceJvmStart() {
+		return System.nanoTime() - JVM_START_NANOS;
+	}
+}
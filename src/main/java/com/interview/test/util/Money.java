@@ -0,0 +1,62 @@
+package com.interview.test.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Money arithmetic on amounts held as a {@code long} number of cents.
+ * <p>
+ * Amounts stay in cents through the pricing pipeline and are only turned into {@link BigDecimal} values when a
+ * caller asks for them, which keeps the per-checkout arithmetic free of allocation and of floating point.
+ */
+public final class Money {
+
+	private Money() {
+	}
+
+	/**
+	 * Converts an amount to cents.
+	 *
+	 * @param amount the amount to convert
+	 * @return the amount as a number of cents
+	 * @throws IllegalArgumentException if the amount is not a whole number of cents
+	 */
+	public static long toCents(BigDecimal amount) {
+		try {
+			return amount.movePointRight(2).longValueExact();
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Amount must be a whole number of cents: " + amount, e);
+		}
+	}
+
+	/**
+	 * Converts a number of cents to an amount with two decimal places.
+	 *
+	 * @param cents the number of cents
+	 * @return the amount
+	 */
+	public static BigDecimal fromCents(long cents) {
+		return BigDecimal.valueOf(cents, 2);
+	}
+
+	/**
+	 * Computes a percentage of an amount, rounded towards positive infinity to whole cents.
+	 *
+	 * @param cents   the amount in cents
+	 * @param percent the percentage to take
+	 * @return the percentage of the amount in cents, rounded up
+	 */
+	public static long percentCeiling(long cents, int percent) {
+		return -Math.floorDiv(-cents * percent, 100L);
+	}
+
+	/**
+	 * Computes a percentage of an amount, rounded towards negative infinity to whole cents.
+	 *
+	 * @param cents   the amount in cents
+	 * @param percent the percentage to take
+	 * @return the percentage of the amount in cents, rounded down
+	 */
+	public static long percentFloor(long cents, int percent) {
+		return Math.floorDiv(cents * percent, 100L);
+	}
+}
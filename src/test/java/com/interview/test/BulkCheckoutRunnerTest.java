@@ -0,0 +1,88 @@
+package com.interview.test;
+
+import com.interview.test.service.RentalService;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkCheckoutRunnerTest {
+
+	private static final String INPUT = "toolCode,rentalDays,discountPercent,checkoutDate\n"
+			+ "JAKR,5,101,09/03/2015\n"
+			+ "ladw, 3, 10, 07/02/2020\n"
+			+ "\n"
+			+ "# comment\n"
+			+ "CHNS,5,25,07/02/2015\n"
+			+ "JAKD,6,0,2015-09-03\n"
+			+ "JAKD,6\n";
+
+	@Test
+	public void testCsvOutput() throws Exception {
+		StringWriter out = new StringWriter();
+		StringWriter errors = new StringWriter();
+
+		BulkCheckoutRunner.Summary summary = new BulkCheckoutRunner(new RentalService(), BulkCheckoutRunner.OutputFormat.CSV)
+				.run(new BufferedReader(new StringReader(INPUT)), out, errors);
+
+		assertEquals(BulkCheckoutRunner.CSV_HEADER + "\n"
+				+ "LADW,Ladder,Werner,3,07/02/2020,07/05/2020,1.99,2,3.98,10,0.40,3.59\n"
+				+ "CHNS,Chainsaw,Stihl,5,07/02/2015,07/07/2015,1.49,3,4.47,25,1.12,3.36\n", out.toString());
+		assertEquals("line 2: Discount percent must be between 0 and 100.\n"
+				+ "line 7: Invalid date format. Please use mm/dd/yyyy.\n"
+				+ "line 8: Expected 4 or 5 fields: toolCode,rentalDays,discountPercent,checkoutDate,storeId.\n", errors.toString());
+		assertEquals(5, summary.getRows());
+		assertEquals(3, summary.getErrors());
+		assertTrue(summary.toString().startsWith("Processed 5 rows (2 agreements, 3 errors)"));
+	}
+
+	@Test
+	public void testJsonOutput() throws Exception {
+		StringWriter out = new StringWriter();
+
+		new BulkCheckoutRunner(new RentalService(), BulkCheckoutRunner.OutputFormat.JSON)
+				.run(new BufferedReader(new StringReader("LADW,3,10,07/02/2020\n")), out, new StringWriter());
+
+		assertEquals("{\"toolCode\":\"LADW\",\"toolType\":\"Ladder\",\"brand\":\"Werner\",\"rentalDays\":3,"
+				+ "\"checkOutDate\":\"2020-07-02\",\"dueDate\":\"2020-07-05\",\"dailyCharge\":1.99,\"chargeDays\":2,"
+				+ "\"preDiscountCharge\":3.98,\"discountPercent\":10,\"discountAmount\":0.40,\"finalCharge\":3.59}\n",
+				out.toString());
+	}
+
+	@Test
+	public void testParseInt() {
+		assertEquals(42, BulkCheckoutRunner.parseInt("x, 42 ,", 2, 6, "value"));
+		assertEquals(-1, BulkCheckoutRunner.parseInt("-1", 0, 2, "value"));
+		assertThrows(IllegalArgumentException.class, () -> BulkCheckoutRunner.parseInt("4a", 0, 2, "value"));
+		assertThrows(IllegalArgumentException.class, () -> BulkCheckoutRunner.parseInt("  ", 0, 2, "value"));
+		assertThrows(IllegalArgumentException.class, () -> BulkCheckoutRunner.parseInt("12345678901", 0, 11, "value"));
+	}
+
+	@Test
+	public void testParseDate() {
+		assertEquals(LocalDate.of(2020, 7, 2), BulkCheckoutRunner.parseDate("07/02/2020", 0, 10));
+		assertThrows(IllegalArgumentException.class, () -> BulkCheckoutRunner.parseDate("13/02/2020", 0, 10));
+		assertThrows(IllegalArgumentException.class, () -> BulkCheckoutRunner.parseDate("02/30/2020", 0, 10));
+		assertThrows(IllegalArgumentException.class, () -> BulkCheckoutRunner.parseDate("7/2/2020", 0, 8));
+	}
+
+	@Test
+	public void testThroughput() throws Exception {
+		StringBuilder input = new StringBuilder();
+		String[] rows = {"LADW,3,10,07/02/2020", "CHNS,5,25,07/02/2015", "JAKD,6,0,09/03/2015", "JAKR,9,0,07/02/2015"};
+		for (int i = 0; i < 200_000; i++) {
+			input.append(rows[i & 3]).append('\n');
+		}
+		StringWriter out = new StringWriter();
+
+		BulkCheckoutRunner.Summary summary = new BulkCheckoutRunner(new RentalService(), BulkCheckoutRunner.OutputFormat.CSV)
+				.run(new BufferedReader(new StringReader(input.toString())), out, new StringWriter());
+
+		assertEquals(200_000, summary.getRows());
+		assertEquals(0, summary.getErrors());
+	}
+}
@@ -0,0 +1,84 @@
+package com.interview.test;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.service.RentalService;
+import com.interview.test.service.SettlementService;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkSettlementRunnerTest {
+
+	private final RentalService rentalService = new RentalService();
+	private final List<RentalAgreement> agreements = new ArrayList<>();
+
+	@Test
+	public void testCsvOutput() throws Exception {
+		agreements.add(rentalService.checkout("LADW", 3, 10, LocalDate.of(2020, 7, 2)));
+		agreements.add(rentalService.checkout("CHNS", 5, 25, LocalDate.of(2015, 7, 2)));
+		String input = "agreementId,returnDate,damageFee\n"
+				+ "1,07/08/2020,5.00\n"
+				+ "\n"
+				+ "# comment\n"
+				+ "2, 07/07/2015\n"
+				+ "3,07/07/2015\n"
+				+ "2,07/01/2015\n"
+				+ "2,07/07/2015,abc\n"
+				+ "x,07/07/2015\n";
+		StringWriter out = new StringWriter();
+		StringWriter errors = new StringWriter();
+
+		BulkCheckoutRunner.Summary summary = runner().run(new BufferedReader(new StringReader(input)), out, errors);
+
+		assertEquals(BulkSettlementRunner.CSV_HEADER + "\n"
+				+ "1,LADW,07/05/2020,07/08/2020,3,3,5.97,5.00,3.59,14.56\n"
+				+ "2,CHNS,07/07/2015,07/07/2015,0,0,0.00,0.00,3.36,3.36\n", out.toString());
+		assertEquals("line 6: Unknown agreement ID.\n"
+				+ "line 7: Return date must not be before the checkout date.\n"
+				+ "line 8: Invalid damage fee.\n"
+				+ "line 9: Invalid agreement ID.\n", errors.toString());
+		assertEquals(6, summary.getRows());
+		assertEquals(4, summary.getErrors());
+		assertTrue(summary.toString().startsWith("Processed 6 rows (2 settlements, 4 errors)"));
+	}
+
+	@Test
+	public void testBatchesKeepInputOrder() throws Exception {
+		StringBuilder input = new StringBuilder();
+		int count = BulkSettlementRunner.BATCH_SIZE * 2 + 17;
+		for (int i = 0; i < count; i++) {
+			RentalAgreement agreement = rentalService.checkout("JAKD", 1 + i % 10, 0, LocalDate.of(2020, 1, 1).plusDays(i % 365));
+			agreements.add(agreement);
+			LocalDate returnDate = agreement.getDueDate().plusDays(i % 3);
+			input.append(i + 1).append(',').append(String.format("%02d/%02d/%d", returnDate.getMonthValue(),
+					returnDate.getDayOfMonth(), returnDate.getYear())).append('\n');
+		}
+		StringWriter out = new StringWriter();
+
+		BulkCheckoutRunner.Summary summary = runner().run(new BufferedReader(new StringReader(input.toString())), out,
+				new StringWriter());
+
+		String[] lines = out.toString().split("\n");
+		assertEquals(count, summary.getRows());
+		assertEquals(0, summary.getErrors());
+		assertEquals(count + 1, lines.length);
+		for (int i = 0; i < count; i++) {
+			String[] fields = lines[i + 1].split(",");
+			assertEquals(String.valueOf(i + 1), fields[0]);
+			assertEquals(String.valueOf(i % 3), fields[4]);
+		}
+	}
+
+	private BulkSettlementRunner runner() {
+		return new BulkSettlementRunner(new SettlementService(rentalService),
+				id -> id >= 1 && id <= agreements.size() ? agreements.get((int) id - 1) : null, ForkJoinPool.commonPool());
+	}
+}
@@ -11,9 +11,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Scanner;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class ToolRentalApplicationTest {
@@ -86,5 +87,34 @@ public class ToolRentalApplicationTest {
 
 		assertTrue(outputStream.toString().contains("Error: Invalid date format. Please use mm/dd/yyyy."));
 	}
-}
 
+	@Test
+	public void testParseOptions() {
+		assertEquals(Map.of("--bulk", "-", "--format", "json", "--store", "data"),
+				ToolRentalApplication.parseOptions(new String[]{"--bulk", "-", "--format", "json", "--store", "data"}));
+		assertTrue(ToolRentalApplication.parseOptions(new String[0]).isEmpty());
+	}
+
+	@Test
+	public void testParseOptionsRejectsUnknownOptions() {
+		Exception typo = assertThrows(IllegalArgumentException.class,
+				() -> ToolRentalApplication.parseOptions(new String[]{"--bulk", "-", "--bulk-fromat", "json"}));
+		assertEquals("Unknown option --bulk-fromat.", typo.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> ToolRentalApplication.parseOptions(new String[]{"--bulk"}));
+		assertThrows(IllegalArgumentException.class,
+				() -> ToolRentalApplication.parseOptions(new String[]{"--warmup", "1", "--warmup", "2"}));
+	}
+
+	@Test
+	public void testParseOptionsRejectsConflictingModes() {
+		Exception conflict = assertThrows(IllegalArgumentException.class,
+				() -> ToolRentalApplication.parseOptions(new String[]{"--bulk", "in.csv", "--http", "8080"}));
+		assertEquals("Only one of --bulk, --http, --returns, --write-snapshot may be given.", conflict.getMessage());
+		assertThrows(IllegalArgumentException.class,
+				() -> ToolRentalApplication.parseOptions(new String[]{"--http", "8080", "--format", "json"}));
+		assertThrows(IllegalArgumentException.class,
+				() -> ToolRentalApplication.parseOptions(new String[]{"--snapshot", "a", "--stores", "b"}));
+		assertThrows(IllegalArgumentException.class,
+				() -> ToolRentalApplication.parseOptions(new String[]{"--returns", "r.csv"}));
+	}
+}
@@ -0,0 +1,67 @@
+package com.interview.test.analytics;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.Tool;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.SortedMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for scanning an agreement table. Run with {@code mvn -Pbenchmark test}; the 100M row table needs a
+ * heap of about 3 GB.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AgreementColumnsBenchmark {
+
+	private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+	private static final LocalDate START = LocalDate.of(2000, 1, 1);
+
+	@Param({"10000000", "100000000"})
+	private int rows;
+
+	private AgreementColumns columns;
+	private AgreementFilter oneYear;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(18);
+		Tool[] tools = new Tool[TOOL_CODES.length];
+		for (int i = 0; i < tools.length; i++) {
+			tools[i] = Tool.getToolByCode(TOOL_CODES[i]);
+		}
+		columns = new AgreementColumns();
+		for (int i = 0; i < rows; i++) {
+			columns.append(new RentalAgreement(tools[random.nextInt(tools.length)], START.plusDays(random.nextInt(9000)),
+					7, random.nextInt(8), random.nextInt(5000), random.nextInt(101), null));
+		}
+		oneYear = AgreementFilter.all().withCheckOutDates(LocalDate.of(2010, 1, 1), LocalDate.of(2011, 1, 1));
+	}
+
+	@Benchmark
+	public SortedMap<String, Long> revenueByToolType() {
+		return columns.sumByToolType(Measure.REVENUE_CENTS, AgreementFilter.all());
+	}
+
+	@Benchmark
+	public SortedMap<LocalDate, Long> revenueByWeek() {
+		return columns.sumByWeek(Measure.REVENUE_CENTS, AgreementFilter.all());
+	}
+
+	@Benchmark
+	public SortedMap<Integer, Long> revenueByDiscountBand() {
+		return columns.sumByDiscountBand(Measure.REVENUE_CENTS, 10, AgreementFilter.all());
+	}
+
+	@Benchmark
+	public long jackhammerRevenueInOneYear() {
+		return columns.sum(Measure.REVENUE_CENTS, oneYear.withToolType("Jackhammer"));
+	}
+}
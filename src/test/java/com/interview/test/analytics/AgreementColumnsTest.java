@@ -0,0 +1,115 @@
+package com.interview.test.analytics;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.Tool;
+import com.interview.test.service.RentalService;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgreementColumnsTest {
+
+	private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+	private static final LocalDate START = LocalDate.of(2015, 1, 1);
+
+	@Test
+	public void testIngestsCheckouts() {
+		RentalService rentalService = new RentalService();
+		AgreementColumns columns = new AgreementColumns();
+		rentalService.addCheckoutListener(columns);
+
+		RentalAgreement ladder = rentalService.checkout("LADW", 3, 10, LocalDate.of(2020, 7, 2));
+		RentalAgreement chainsaw = rentalService.checkout("CHNS", 5, 25, LocalDate.of(2015, 7, 2));
+		rentalService.quote("JAKR", 4, 50, LocalDate.of(2020, 9, 3));
+
+		assertEquals(2, columns.size());
+		assertEquals(ladder.getFinalChargeCents() + chainsaw.getFinalChargeCents(),
+				columns.sum(Measure.REVENUE_CENTS, AgreementFilter.all()));
+		assertEquals(ladder.getChargeDays() + chainsaw.getChargeDays(), columns.sum(Measure.CHARGE_DAYS, AgreementFilter.all()));
+		assertEquals(Map.of("Chainsaw", chainsaw.getFinalChargeCents(), "Ladder", ladder.getFinalChargeCents()),
+				columns.sumByToolType(Measure.REVENUE_CENTS, AgreementFilter.all()));
+		assertEquals(Map.of(LocalDate.of(2015, 6, 29), 1L, LocalDate.of(2020, 6, 29), 1L),
+				columns.sumByWeek(Measure.AGREEMENTS, AgreementFilter.all()));
+		assertEquals(Map.of(10, ladder.getFinalChargeCents(), 20, chainsaw.getFinalChargeCents()),
+				columns.sumByDiscountBand(Measure.REVENUE_CENTS, 10, AgreementFilter.all()));
+	}
+
+	@Test
+	public void testEmptyTableAndFilters() {
+		AgreementColumns columns = new AgreementColumns();
+
+		assertEquals(0, columns.sum(Measure.REVENUE_CENTS, AgreementFilter.all()));
+		assertTrue(columns.sumByToolType(Measure.REVENUE_CENTS, AgreementFilter.all()).isEmpty());
+		assertTrue(columns.sumByWeek(Measure.REVENUE_CENTS, AgreementFilter.all()).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> columns.sumByDiscountBand(Measure.AGREEMENTS, 0, AgreementFilter.all()));
+		assertThrows(IllegalArgumentException.class, () -> AgreementFilter.all().withDiscountPercent(20, 10));
+		assertThrows(IllegalArgumentException.class, () -> AgreementFilter.all().withCheckOutDates(START, START.minusDays(1)));
+	}
+
+	@Test
+	public void testQueriesMatchAScanOfTheAgreements() {
+		Random random = new Random(18);
+		List<RentalAgreement> agreements = new ArrayList<>();
+		for (int i = 0; i < 3 * AgreementColumns.BLOCK_ROWS + 123; i++) {
+			Tool tool = Tool.getToolByCode(TOOL_CODES[random.nextInt(TOOL_CODES.length)]);
+			int rentalDays = 1 + random.nextInt(30);
+			agreements.add(new RentalAgreement(tool, START.plusDays(random.nextInt(3000)), rentalDays, random.nextInt(rentalDays + 1),
+					random.nextInt(100_000), random.nextInt(101), null));
+		}
+		AgreementColumns columns = new AgreementColumns();
+		columns.appendAll(agreements);
+		assertEquals(agreements.size(), columns.size());
+
+		LocalDate from = START.plusDays(400);
+		LocalDate to = START.plusDays(1500);
+		AgreementFilter filter = AgreementFilter.all().withCheckOutDates(from, to).withDiscountPercent(5, 60);
+		Predicate<RentalAgreement> selected = agreement -> !agreement.getCheckOutDate().isBefore(from)
+				&& agreement.getCheckOutDate().isBefore(to) && agreement.getDiscountPercent() >= 5
+				&& agreement.getDiscountPercent() <= 60;
+
+		for (Measure measure : Measure.values()) {
+			ToLongFunction<RentalAgreement> value = measure == Measure.REVENUE_CENTS ? RentalAgreement::getFinalChargeCents
+					: measure == Measure.CHARGE_DAYS ? RentalAgreement::getChargeDays : agreement -> 1;
+			assertEquals(agreements.stream().filter(selected).mapToLong(value).sum(), columns.sum(measure, filter));
+			assertEquals(group(agreements, selected, RentalAgreement::getToolType, value), columns.sumByToolType(measure, filter));
+			assertEquals(group(agreements, selected, RentalAgreement::getToolCode, value), columns.sumByToolCode(measure, filter));
+			assertEquals(group(agreements, selected,
+							agreement -> agreement.getCheckOutDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), value),
+					columns.sumByWeek(measure, filter));
+			assertEquals(group(agreements, selected, agreement -> agreement.getDiscountPercent() / 25 * 25, value),
+					columns.sumByDiscountBand(measure, 25, filter));
+		}
+
+		AgreementFilter jackhammers = filter.withToolType("Jackhammer");
+		assertEquals(group(agreements, selected.and(agreement -> agreement.getToolType().equals("Jackhammer")),
+						RentalAgreement::getToolCode, RentalAgreement::getFinalChargeCents),
+				columns.sumByToolCode(Measure.REVENUE_CENTS, jackhammers));
+		assertEquals(agreements.stream().filter(selected.and(agreement -> agreement.getToolCode().equals("JAKR")))
+						.mapToLong(RentalAgreement::getFinalChargeCents).sum(),
+				columns.sum(Measure.REVENUE_CENTS, jackhammers.withToolCode("JAKR")));
+		assertEquals(0, columns.sum(Measure.AGREEMENTS, jackhammers.withToolCode("LADW")));
+	}
+
+	private static <K> Map<K, Long> group(List<RentalAgreement> agreements, Predicate<RentalAgreement> selected,
+										  Function<RentalAgreement, K> key, ToLongFunction<RentalAgreement> value) {
+		Map<K, Long> totals = new TreeMap<>();
+		for (RentalAgreement agreement : agreements) {
+			if (selected.test(agreement)) {
+				totals.merge(key.apply(agreement), value.applyAsLong(agreement), Long::sum);
+			}
+		}
+		return totals;
+	}
+}
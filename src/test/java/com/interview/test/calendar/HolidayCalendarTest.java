@@ -0,0 +1,119 @@
+package com.interview.test.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayCalendarTest {
+
+	private final HolidayCalendar calendar = HolidayCalendar.defaultCalendar();
+
+	@Test
+	public void testIndependenceDayObservedOnNearestWeekday() {
+		assertTrue(calendar.isHoliday(LocalDate.of(2019, 7, 4)));
+		// Saturday, observed on Friday
+		assertTrue(calendar.isHoliday(LocalDate.of(2020, 7, 3)));
+		assertFalse(calendar.isHoliday(LocalDate.of(2020, 7, 4)));
+		// Sunday, observed on Monday
+		assertTrue(calendar.isHoliday(LocalDate.of(2021, 7, 5)));
+		assertFalse(calendar.isHoliday(LocalDate.of(2021, 7, 4)));
+	}
+
+	@Test
+	public void testLaborDayIsFirstMondayOfSeptember() {
+		assertTrue(calendar.isHoliday(LocalDate.of(2015, 9, 7)));
+		assertTrue(calendar.isHoliday(LocalDate.of(2020, 9, 7)));
+		assertTrue(calendar.isHoliday(LocalDate.of(2024, 9, 2)));
+		assertTrue(calendar.isHoliday(LocalDate.of(2025, 9, 1)));
+		assertFalse(calendar.isHoliday(LocalDate.of(2024, 9, 9)));
+	}
+
+	@Test
+	public void testIsHolidayByEpochDayMatchesDate() {
+		for (LocalDate date = LocalDate.of(1895, 1, 1); date.getYear() < 2305; date = date.plusDays(1)) {
+			assertEquals(calendar.isHoliday(date), calendar.isHoliday(date.toEpochDay()), date.toString());
+		}
+	}
+
+	@Test
+	public void testCountHolidays() {
+		long from = LocalDate.of(2015, 7, 1).toEpochDay();
+		long to = LocalDate.of(2016, 9, 5).toEpochDay();
+		int[] byDayOfWeek = new int[7];
+
+		assertEquals(4, calendar.countHolidays(from, to, byDayOfWeek));
+		// 07/03/15 Fri, 09/07/15 Mon, 07/04/16 Mon, 09/05/16 Mon
+		assertArrayEquals(new int[]{3, 0, 0, 0, 1, 0, 0}, byDayOfWeek);
+		assertEquals(3, calendar.countHolidays(from, to - 1));
+		assertEquals(0, calendar.countHolidays(to, from));
+	}
+
+	@Test
+	public void testHolidayObservedInPreviousYear() {
+		HolidayCalendar newYear = new HolidayCalendar(Collections.<HolidayRule>singletonList(
+				new FixedDateHolidayRule(Month.JANUARY, 1, ObservedShift.NEAREST_WEEKDAY)));
+
+		// 01/01/22 is a Saturday, observed on 12/31/21
+		assertTrue(newYear.isHoliday(LocalDate.of(2021, 12, 31)));
+		assertFalse(newYear.isHoliday(LocalDate.of(2022, 1, 1)));
+		assertEquals(1, newYear.countHolidays(LocalDate.of(2021, 12, 1).toEpochDay(), LocalDate.of(2021, 12, 31).toEpochDay()));
+	}
+
+	@Test
+	public void testDuplicateHolidaysCountedOnce() {
+		HolidayCalendar duplicates = new HolidayCalendar(Arrays.<HolidayRule>asList(
+				new NthWeekdayHolidayRule(Month.SEPTEMBER, DayOfWeek.MONDAY, 1),
+				new NthWeekdayHolidayRule(Month.SEPTEMBER, DayOfWeek.MONDAY, 1)));
+
+		assertEquals(1, duplicates.countHolidays(LocalDate.of(2020, 1, 1).toEpochDay(), LocalDate.of(2020, 12, 31).toEpochDay()));
+	}
+
+	@Test
+	public void testNthWeekdayNotObservedWhenMonthTooShort() {
+		assertNull(new NthWeekdayHolidayRule(Month.FEBRUARY, DayOfWeek.MONDAY, 5).observedDate(2021));
+		assertEquals(LocalDate.of(2021, 11, 25), new NthWeekdayHolidayRule(Month.NOVEMBER, DayOfWeek.THURSDAY, 4).observedDate(2021));
+	}
+
+	@Test
+	public void testLastWeekdayOfMonth() {
+		NthWeekdayHolidayRule memorialDay = new NthWeekdayHolidayRule(Month.MAY, DayOfWeek.MONDAY, -1);
+
+		assertEquals(LocalDate.of(2021, 5, 31), memorialDay.observedDate(2021));
+		assertEquals(LocalDate.of(2024, 5, 27), memorialDay.observedDate(2024));
+		assertThrows(IllegalArgumentException.class, () -> new NthWeekdayHolidayRule(Month.MAY, DayOfWeek.MONDAY, 0));
+		assertThrows(IllegalArgumentException.class, () -> new NthWeekdayHolidayRule(Month.MAY, DayOfWeek.MONDAY, -2));
+	}
+
+	@Test
+	public void testNextWeekdayShift() {
+		FixedDateHolidayRule christmas = new FixedDateHolidayRule(Month.DECEMBER, 25, ObservedShift.NEXT_WEEKDAY);
+
+		// Saturday and Sunday are both observed on the Monday after
+		assertEquals(LocalDate.of(2021, 12, 27), christmas.observedDate(2021));
+		assertEquals(LocalDate.of(2022, 12, 26), christmas.observedDate(2022));
+		assertEquals(LocalDate.of(2023, 12, 25), christmas.observedDate(2023));
+	}
+
+	@Test
+	public void testRulesWithTheSameDetailsAreEqual() {
+		assertEquals(new FixedDateHolidayRule(Month.JULY, 4, ObservedShift.NEAREST_WEEKDAY),
+				new FixedDateHolidayRule(Month.JULY, 4, ObservedShift.NEAREST_WEEKDAY));
+		assertNotEquals(new FixedDateHolidayRule(Month.JULY, 4, ObservedShift.NEAREST_WEEKDAY),
+				new FixedDateHolidayRule(Month.JULY, 4, ObservedShift.NONE));
+		assertEquals(new NthWeekdayHolidayRule(Month.SEPTEMBER, DayOfWeek.MONDAY, 1).hashCode(),
+				new NthWeekdayHolidayRule(Month.SEPTEMBER, DayOfWeek.MONDAY, 1).hashCode());
+	}
+
+	@Test
+	public void testYearOf() {
+		for (long epochDay = LocalDate.of(1890, 1, 1).toEpochDay(); epochDay < LocalDate.of(2310, 1, 1).toEpochDay(); epochDay++) {
+			assertEquals(LocalDate.ofEpochDay(epochDay).getYear(), HolidayCalendar.yearOf(epochDay));
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.interview.test.calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreCalendarsTest {
+
+	private static final String CONFIG = "# US and Canadian stores\n"
+			+ "calendar,US,fixed,JULY,4,NEAREST_WEEKDAY\n"
+			+ "calendar,US,nth,SEPTEMBER,MONDAY,1\n"
+			+ "calendar,US,nth,may,monday,-1\n"
+			+ "calendar,CA,fixed,JULY,1,NEXT_WEEKDAY\n"
+			+ "calendar,CA,nth,SEPTEMBER,MONDAY,1\n"
+			+ "\n"
+			+ "# The same rules as US, in another order\n"
+			+ "calendar,US-EAST,nth,MAY,MONDAY,-1\n"
+			+ "calendar,US-EAST,fixed,JULY,4,NEAREST_WEEKDAY\n"
+			+ "calendar,US-EAST,nth,SEPTEMBER,MONDAY,1\n"
+			+ "store,S001,US\n"
+			+ "store,S002,US-EAST\n"
+			+ "store, S100 , CA\n";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testCalendarsByStore() throws IOException {
+		StoreCalendars calendars = StoreCalendars.parse(new BufferedReader(new StringReader(CONFIG)),
+				HolidayCalendar.defaultCalendar());
+
+		HolidayCalendar us = calendars.getCalendar("S001");
+		HolidayCalendar canada = calendars.getCalendar("S100");
+		assertTrue(us.isHoliday(LocalDate.of(2021, 5, 31)));
+		assertTrue(us.isHoliday(LocalDate.of(2021, 7, 5)));
+		assertFalse(us.isHoliday(LocalDate.of(2021, 7, 1)));
+		assertTrue(canada.isHoliday(LocalDate.of(2021, 7, 1)));
+		// Canada Day 2023 is a Saturday, observed on the Monday after
+		assertTrue(canada.isHoliday(LocalDate.of(2023, 7, 3)));
+		assertFalse(canada.isHoliday(LocalDate.of(2021, 5, 31)));
+		assertTrue(canada.isHoliday(LocalDate.of(2021, 9, 6)));
+		assertSame(HolidayCalendar.defaultCalendar(), calendars.getCalendar(null));
+		assertNull(calendars.getCalendar("S999"));
+	}
+
+	@Test
+	public void testIdenticalCalendarsAreShared() throws IOException {
+		StoreCalendars calendars = StoreCalendars.parse(new BufferedReader(new StringReader(CONFIG)),
+				HolidayCalendar.defaultCalendar());
+
+		assertSame(calendars.getCalendar("S001"), calendars.getCalendar("S002"));
+		assertEquals(2, calendars.getCalendarCount());
+		assertEquals(3, calendars.getStoreIds().size());
+	}
+
+	@Test
+	public void testHundredsOfStoresShareAFewCalendars() throws IOException {
+		StringBuilder config = new StringBuilder(CONFIG);
+		for (int store = 0; store < 500; store++) {
+			config.append("store,R").append(store).append(',').append(store % 3 == 0 ? "CA" : "US").append('\n');
+		}
+		StoreCalendars calendars = StoreCalendars.parse(new BufferedReader(new StringReader(config.toString())),
+				HolidayCalendar.defaultCalendar());
+
+		long from = LocalDate.of(1980, 1, 1).toEpochDay();
+		long to = LocalDate.of(2040, 12, 31).toEpochDay();
+		for (String storeId : calendars.getStoreIds()) {
+			assertTrue(calendars.getCalendar(storeId).countHolidays(from, to) > 0);
+		}
+		assertEquals(503, calendars.getStoreIds().size());
+		assertEquals(2, calendars.getCalendarCount());
+		assertSame(calendars.getCalendar("R1"), calendars.getCalendar("S001"));
+	}
+
+	@Test
+	public void testLoad() throws IOException {
+		Path file = directory.resolve("stores.csv");
+		Files.write(file, CONFIG.getBytes(StandardCharsets.UTF_8));
+
+		StoreCalendars calendars = StoreCalendars.load(file, HolidayCalendar.defaultCalendar());
+
+		assertEquals(3, calendars.getStoreIds().size());
+	}
+
+	@Test
+	public void testInvalidConfiguration() {
+		assertInvalid("calendar,US,fixed,JULY,4\n", "Line 1: Expected calendar,<name>,<fixed|nth>,... or store,<storeId>,<name>.");
+		assertInvalid("calendar,US,easter,APRIL,1,NONE\n", "Line 1: Unknown holiday rule type easter.");
+		assertInvalid("\ncalendar,US,nth,MAY,MONDAY,x\n", "Line 2: Invalid number x.");
+		assertInvalid("calendar,US,nth,MAY,MONDAY,6\n", "Line 1: Ordinal must be between 1 and 5, or -1 for the last occurrence.");
+		assertInvalid("calendar,US,nth,MAY,MONDAY,1\nstore,S1,US\nstore,S1,US\n", "Line 3: Store S1 is assigned twice.");
+		assertInvalid("store,S1,XX\n", "Store S1 is assigned to undefined calendar XX.");
+		assertThrows(IllegalArgumentException.class,
+				() -> StoreCalendars.parse(new BufferedReader(new StringReader("calendar,US,fixed,JULI,4,NONE\n")), null));
+	}
+
+	private static void assertInvalid(String config, String message) {
+		Exception exception = assertThrows(IllegalArgumentException.class,
+				() -> StoreCalendars.parse(new BufferedReader(new StringReader(config)), HolidayCalendar.defaultCalendar()));
+		assertEquals(message, exception.getMessage());
+	}
+}
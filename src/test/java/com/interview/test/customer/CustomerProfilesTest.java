@@ -0,0 +1,90 @@
+package com.interview.test.customer;
+
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerProfilesTest {
+
+	private static CustomerProfile acme() {
+		return CustomerProfile.builder()
+				.customerId("ACME")
+				.baseDiscountPercent(5)
+				.toolTypeDiscount("jackhammer", 15)
+				.volumeTier(new DiscountTier(100, 20))
+				.volumeTier(new DiscountTier(10, 10))
+				.rentalDayTier(new DiscountTier(7, 12))
+				.rentalDayTier(new DiscountTier(30, 8))
+				.build();
+	}
+
+	@Test
+	public void testResolvedTermsTakeTheBestDiscount() {
+		CustomerPricing pricing = CustomerPricing.resolve(acme(), ToolCatalog.getDefault());
+
+		CustomerPricing.ToolTerms ladder = pricing.getTerms("LADW");
+		CustomerPricing.ToolTerms jackhammer = pricing.getTerms("JAKR");
+		assertEquals("Ladder", ladder.getTool().getToolType());
+		assertEquals(5, ladder.getDiscountPercent());
+		assertEquals(15, jackhammer.getDiscountPercent());
+		assertNull(pricing.getTerms("XXXX"));
+		assertNull(pricing.getTerms(null));
+
+		assertEquals(0, pricing.getVolumeDiscountPercent(9));
+		assertEquals(10, pricing.getVolumeDiscountPercent(10));
+		assertEquals(20, pricing.getVolumeDiscountPercent(500));
+
+		assertEquals(5, pricing.getDiscountPercent(ladder, 6, 0));
+		assertEquals(12, pricing.getDiscountPercent(ladder, 7, 0));
+		// A longer rental keeps the better discount of a shorter tier
+		assertEquals(12, pricing.getDiscountPercent(ladder, 30, 0));
+		assertEquals(15, pricing.getDiscountPercent(jackhammer, 30, 10));
+		assertEquals(20, pricing.getDiscountPercent(jackhammer, 30, 20));
+	}
+
+	@Test
+	public void testInvalidProfilesAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> CustomerProfile.builder().build());
+		assertThrows(IllegalArgumentException.class, () -> CustomerProfile.builder().customerId("A").baseDiscountPercent(101).build());
+		assertThrows(IllegalArgumentException.class, () -> CustomerProfile.builder().customerId("A")
+				.toolTypeDiscount("Ladder", 10).toolTypeDiscount("LADDER", 20).build());
+		assertThrows(IllegalArgumentException.class, () -> CustomerProfile.builder().customerId("A")
+				.volumeTier(new DiscountTier(10, 5)).volumeTier(new DiscountTier(10, 6)).build());
+		assertThrows(IllegalArgumentException.class, () -> new DiscountTier(0, 5));
+		assertThrows(IllegalArgumentException.class, () -> new DiscountTier(1, -1));
+	}
+
+	@Test
+	public void testResolvedProfilesAreCachedUntilStale() {
+		List<Tool> tools = new ArrayList<>(ToolCatalog.getDefault().getTools());
+		ToolCatalog catalog = new ToolCatalog(tools);
+		CustomerProfiles profiles = new CustomerProfiles(catalog);
+		profiles.put(acme());
+
+		CustomerPricing pricing = profiles.resolve("ACME");
+		assertSame(pricing, profiles.resolve("ACME"));
+		assertNull(profiles.resolve("NOBODY"));
+		assertNull(profiles.resolve(null));
+
+		tools.add(new Tool("JKBX", "Jackhammer", "Bosch", new BigDecimal("3.49"), true, true, false));
+		catalog.replace(tools);
+		assertFalse(pricing.isCurrent());
+		CustomerPricing reloaded = profiles.resolve("ACME");
+		assertNotSame(pricing, reloaded);
+		assertTrue(reloaded.isCurrent());
+		assertEquals(15, reloaded.getTerms("JKBX").getDiscountPercent());
+
+		profiles.put(acme().toBuilder().baseDiscountPercent(30).build());
+		assertEquals(30, profiles.resolve("ACME").getTerms("LADW").getDiscountPercent());
+
+		assertTrue(profiles.remove("ACME"));
+		assertNull(profiles.resolve("ACME"));
+		assertEquals(0, profiles.size());
+	}
+}
@@ -0,0 +1,156 @@
+package com.interview.test.http;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.metrics.RecordingRentalMetrics;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.service.RentalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalHttpServerTest {
+
+	private final Inventory inventory = new Inventory();
+	private RentalHttpServer server;
+	private HttpClient client;
+	private String baseUri;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		inventory.addUnits("LADW", 1);
+		RentalService rentalService = new RentalService(ToolCatalog.getDefault(), HolidayCalendar.defaultCalendar(), inventory,
+				new RecordingRentalMetrics());
+		server = new RentalHttpServer(rentalService, new InetSocketAddress("127.0.0.1", 0));
+		server.start();
+		baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		server.close();
+		client.close();
+	}
+
+	@Test
+	public void testQuote() throws Exception {
+		HttpResponse<String> response = get("/quote?toolCode=CHNS&rentalDays=5&discountPercent=25&checkOutDate=2015-07-02");
+
+		assertEquals(200, response.statusCode());
+		assertEquals("{\"toolCode\":\"CHNS\",\"toolType\":\"Chainsaw\",\"brand\":\"Stihl\",\"rentalDays\":5,"
+				+ "\"checkOutDate\":\"2015-07-02\",\"dueDate\":\"2015-07-07\",\"dailyCharge\":1.49,\"chargeDays\":3,"
+				+ "\"preDiscountCharge\":4.47,\"discountPercent\":25,\"discountAmount\":1.12,\"finalCharge\":3.36}",
+				response.body());
+	}
+
+	@Test
+	public void testCheckoutReservesTheUnit() throws Exception {
+		String body = "{\"toolCode\": \"LADW\", \"rentalDays\": 3, \"discountPercent\": 10, \"checkOutDate\": \"2020-07-02\"}";
+
+		HttpResponse<String> first = post("/checkout", body);
+		HttpResponse<String> second = post("/checkout", body);
+
+		assertEquals(200, first.statusCode());
+		assertTrue(first.body().contains("\"finalCharge\":3.59"), first.body());
+		assertEquals(400, second.statusCode());
+		assertEquals("{\"error\":\"No unit of the tool is available for the rental period.\"}", second.body());
+	}
+
+	@Test
+	public void testRejectedRequests() throws Exception {
+		assertEquals("{\"error\":\"Discount percent must be between 0 and 100.\"}",
+				get("/quote?toolCode=JAKR&rentalDays=5&discountPercent=101&checkOutDate=2015-09-03").body());
+		assertEquals("{\"error\":\"Invalid date format. Please use yyyy-mm-dd.\"}",
+				get("/quote?toolCode=JAKR&rentalDays=5&discountPercent=10&checkOutDate=09/03/15").body());
+		assertEquals("{\"error\":\"Invalid rental day count.\"}",
+				get("/quote?toolCode=JAKR&discountPercent=10&checkOutDate=2015-09-03").body());
+		assertEquals(400, post("/checkout", "{\"toolCode\": \"LADW\"").statusCode());
+		assertEquals(405, get("/checkout").statusCode());
+		assertEquals(405, post("/quote", "{}").statusCode());
+	}
+
+	@Test
+	public void testCatalogLookup() throws Exception {
+		HttpResponse<String> all = get("/tools");
+		HttpResponse<String> ladder = get("/tools/LADW");
+		HttpResponse<String> unknown = get("/tools/XXXX");
+
+		assertEquals(200, all.statusCode());
+		for (String code : Arrays.asList("CHNS", "JAKD", "JAKR", "LADW")) {
+			assertTrue(all.body().contains("\"toolCode\":\"" + code + "\""), all.body());
+		}
+		assertEquals("{\"toolCode\":\"LADW\",\"toolType\":\"Ladder\",\"brand\":\"Werner\",\"dailyCharge\":1.99,"
+				+ "\"weekdayCharge\":true,\"weekendCharge\":true,\"holidayCharge\":false}", ladder.body());
+		assertEquals(404, unknown.statusCode());
+	}
+
+	@Test
+	public void testMetrics() throws Exception {
+		post("/checkout", "{\"toolCode\": \"LADW\", \"rentalDays\": 3, \"discountPercent\": 10, \"checkOutDate\": \"2020-07-02\"}");
+		get("/quote?toolCode=XXXX&rentalDays=5&discountPercent=10&checkOutDate=2015-09-03");
+
+		HttpResponse<String> response = get("/metrics");
+
+		assertEquals(200, response.statusCode());
+		assertEquals("text/plain; charset=utf-8", response.headers().firstValue("Content-Type").orElse(null));
+		assertTrue(response.body().contains("rental_checkouts_total{tool=\"LADW\"} 1\n"), response.body());
+		assertTrue(response.body().contains("rental_rejections_total{reason=\"unknown_tool_code\"} 1\n"), response.body());
+		assertEquals(405, post("/metrics", "").statusCode());
+	}
+
+	@Test
+	public void testConcurrentQuotes() throws Exception {
+		int requests = 200;
+		String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR"};
+		AtomicInteger failures = new AtomicInteger();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<CompletableFuture<Void>> futures = new ArrayList<>(requests);
+			for (int i = 0; i < requests; i++) {
+				String query = "/quote?toolCode=" + toolCodes[i % 4] + "&rentalDays=" + (1 + i % 60)
+						+ "&discountPercent=" + (i % 101) + "&checkOutDate=2020-0" + (1 + i % 9) + "-15";
+				futures.add(CompletableFuture.runAsync(() -> {
+					try {
+						if (get(query).statusCode() != 200) {
+							failures.incrementAndGet();
+						}
+					} catch (Exception e) {
+						failures.incrementAndGet();
+					}
+				}, executor));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		}
+
+		assertEquals(0, failures.get());
+	}
+
+	private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+		return client.send(HttpRequest.newBuilder(URI.create(baseUri + path)).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+		return client.send(HttpRequest.newBuilder(URI.create(baseUri + path))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+}
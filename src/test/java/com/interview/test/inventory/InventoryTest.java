@@ -0,0 +1,185 @@
+package com.interview.test.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryTest {
+
+	private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+	@Test
+	public void testReserveUntilNoUnitIsFree() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", 2);
+
+		Reservation first = inventory.reserve("LADW", START, START.plusDays(5));
+		Reservation second = inventory.reserve("LADW", START.plusDays(4), START.plusDays(6));
+
+		assertNotNull(first);
+		assertNotNull(second);
+		assertNotEquals(first.getUnit(), second.getUnit());
+		assertNull(inventory.reserve("LADW", START.plusDays(4), START.plusDays(5)));
+		assertEquals(0, inventory.countAvailable("LADW", START.plusDays(4), START.plusDays(5)));
+		assertEquals(1, inventory.countAvailable("LADW", START.plusDays(5), START.plusDays(6)));
+		assertTrue(inventory.isAvailable("LADW", START.plusDays(6), START.plusDays(100)));
+	}
+
+	@Test
+	public void testReturnedUnitCanGoOutOnItsDueDate() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("CHNS", 1);
+
+		assertNotNull(inventory.reserve("CHNS", START, START.plusDays(3)));
+		assertNotNull(inventory.reserve("CHNS", START.plusDays(3), START.plusDays(4)));
+		assertNull(inventory.reserve("CHNS", START.plusDays(2), START.plusDays(3)));
+	}
+
+	@Test
+	public void testReleaseFreesTheDays() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("JAKR", 1);
+
+		Reservation reservation = inventory.reserve("JAKR", START, START.plusDays(400));
+		assertFalse(inventory.isAvailable("JAKR", START.plusDays(399), START.plusDays(400)));
+		inventory.release(reservation);
+
+		assertTrue(inventory.isAvailable("JAKR", START, START.plusDays(400)));
+		assertNotNull(inventory.reserve("JAKR", START.plusDays(10), START.plusDays(20)));
+	}
+
+	@Test
+	public void testFailedReservationLeavesNoDaysBehind() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("JAKD", 1);
+		inventory.reserve("JAKD", START.plusDays(200), START.plusDays(201));
+
+		assertNull(inventory.reserve("JAKD", START, START.plusDays(300)));
+		assertTrue(inventory.isAvailable("JAKD", START, START.plusDays(200)));
+		assertTrue(inventory.isAvailable("JAKD", START.plusDays(201), START.plusDays(300)));
+	}
+
+	@Test
+	public void testFindAvailableUnits() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("JAKR", 4);
+		assertArrayEquals(new int[]{0, 1, 2, 3}, inventory.findAvailableUnits("JAKR", START, START.plusDays(30)));
+
+		int[] taken = new int[3];
+		for (int i = 0; i < taken.length; i++) {
+			taken[i] = inventory.reserve("JAKR", START, START.plusDays(30)).getUnit();
+		}
+
+		int[] free = inventory.findAvailableUnits("JAKR", START, START.plusDays(30));
+		assertEquals(1, free.length);
+		assertEquals(6 - taken[0] - taken[1] - taken[2], free[0]);
+		assertEquals(4, inventory.findAvailableUnits("JAKR", START.plusDays(30), START.plusDays(31)).length);
+		assertNotNull(inventory.reserve("JAKR", START.plusDays(20), START.plusDays(21)));
+		assertEquals(0, inventory.findAvailableUnits("JAKR", START, START.plusDays(30)).length);
+		assertEquals(0, inventory.findAvailableUnits("XXXX", START, START.plusDays(1)).length);
+		assertThrows(IllegalArgumentException.class, () -> inventory.findAvailableUnits("JAKR", START, START));
+	}
+
+	@Test
+	public void testFindAvailableUnitsAcrossGroups() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", 70);
+		for (int i = 0; i < 70; i++) {
+			assertNotNull(inventory.reserve("LADW", START, START.plusDays(3)));
+		}
+		inventory.addUnits("LADW", 60);
+
+		int[] free = inventory.findAvailableUnits("LADW", START.plusDays(2), START.plusDays(5));
+		assertEquals(60, free.length);
+		assertEquals(70, free[0]);
+		assertEquals(129, free[59]);
+		assertEquals(130, inventory.countAvailable("LADW", START.plusDays(3), START.plusDays(4)));
+	}
+
+	@Test
+	public void testUnknownToolHasNoUnits() {
+		Inventory inventory = new Inventory();
+
+		assertEquals(0, inventory.getUnitCount("XXXX"));
+		assertNull(inventory.reserve("XXXX", START, START.plusDays(1)));
+		assertFalse(inventory.isAvailable("XXXX", START, START.plusDays(1)));
+	}
+
+	@Test
+	public void testInvalidRanges() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", 1);
+
+		assertThrows(IllegalArgumentException.class, () -> inventory.reserve("LADW", START, START));
+		assertThrows(IllegalArgumentException.class, () -> inventory.reserve("LADW", LocalDate.of(2299, 12, 31),
+				LocalDate.of(2300, 1, 2)));
+		assertThrows(IllegalArgumentException.class, () -> inventory.addUnits("LADW", -1));
+	}
+
+	@Test
+	public void testNoDoubleBookingUnderContention() throws Exception {
+		int units = 3;
+		int threads = 8;
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", units);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<List<Reservation>>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long seed = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(seed);
+				List<Reservation> held = new ArrayList<>();
+				start.await();
+				for (int i = 0; i < 50_000; i++) {
+					if (!held.isEmpty() && random.nextInt(3) == 0) {
+						inventory.release(held.remove(random.nextInt(held.size())));
+						continue;
+					}
+					LocalDate from = START.plusDays(random.nextInt(300));
+					Reservation reservation = inventory.reserve("LADW", from, from.plusDays(1 + random.nextInt(random.nextBoolean() ? 5 : 90)));
+					if (reservation != null) {
+						held.add(reservation);
+					}
+				}
+				return held;
+			}));
+		}
+		start.countDown();
+
+		int[][] bookings = new int[units][400];
+		try {
+			for (Future<List<Reservation>> future : futures) {
+				for (Reservation reservation : future.get()) {
+					int from = (int) (reservation.getFromDate().toEpochDay() - START.toEpochDay());
+					int to = (int) (reservation.getToDate().toEpochDay() - START.toEpochDay());
+					for (int day = from; day < to; day++) {
+						bookings[reservation.getUnit()][day]++;
+					}
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		for (int day = 0; day < 400; day++) {
+			int booked = 0;
+			for (int unit = 0; unit < units; unit++) {
+				assertTrue(bookings[unit][day] <= 1, "unit " + unit + " double-booked on day " + day);
+				booked += bookings[unit][day];
+			}
+			assertEquals(units - booked, inventory.countAvailable("LADW", START.plusDays(day), START.plusDays(day + 1)),
+					"free units on day " + day);
+		}
+	}
+}
@@ -0,0 +1,305 @@
+package com.interview.test.loadtest;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.service.RentalService;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives checkouts from a {@link Workload} through a {@link RentalService} on a number of threads at a target rate,
+ * and measures how the service holds up.
+ * <p>
+ * The load is open loop: each thread has a schedule of start times spaced evenly at its share of the target rate, and
+ * a checkout's latency runs from its scheduled start, not from when the thread got round to it. A checkout that
+ * stalls therefore counts against every checkout scheduled behind it, as it would for customers arriving at a store,
+ * instead of quietly lowering the rate. With no target rate the threads run flat out and latency is measured from the
+ * actual start.
+ * <p>
+ * If the service tracks inventory, each thread holds its most recent rentals and releases the oldest as it checks out
+ * new ones, so a soak run keeps a steady number of reservations instead of filling the calendars.
+ */
+public class LoadGenerator {
+
+	private static final int HELD_RENTALS_PER_THREAD = 32;
+	private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+	private final RentalService rentalService;
+	private final Workload workload;
+	private final int threads;
+	private final long periodNanos;
+
+	private final Recorder latencies = new Recorder(HIGHEST_LATENCY_NANOS, 3);
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder rejections = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private volatile boolean running;
+
+	/**
+	 * Constructs a LoadGenerator.
+	 *
+	 * @param rentalService       the service to load
+	 * @param workload            the requests to check out, in order
+	 * @param threads             the number of threads checking out
+	 * @param targetRatePerSecond the checkouts per second across all threads, or 0 to run as fast as possible
+	 * @throws IllegalArgumentException if threads is less than 1 or the rate is negative
+	 */
+	public LoadGenerator(RentalService rentalService, Workload workload, int threads, double targetRatePerSecond) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Thread count must be 1 or greater.");
+		}
+		if (targetRatePerSecond < 0) {
+			throw new IllegalArgumentException("Target rate must be 0 or greater.");
+		}
+		this.rentalService = rentalService;
+		this.workload = workload;
+		this.threads = threads;
+		this.periodNanos = targetRatePerSecond == 0 ? 0 : Math.max(1, (long) (threads * 1e9 / targetRatePerSecond));
+	}
+
+	/**
+	 * Runs the load, printing a report line for each interval, and reports on the time after the warmup.
+	 *
+	 * @param warmup         how long to run before measuring
+	 * @param duration       how long to measure
+	 * @param reportInterval how often to print an interval report
+	 * @param progress       where interval reports are printed
+	 * @return the measurements of the whole run after the warmup
+	 * @throws InterruptedException if interrupted while waiting for the run to end
+	 */
+	public LoadReport run(Duration warmup, Duration duration, Duration reportInterval, PrintStream progress)
+			throws InterruptedException {
+		GcPauses gcPauses = new GcPauses();
+		gcPauses.register();
+		running = true;
+		long startNanos = System.nanoTime();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			// Threads start a fraction of a period apart, so together they space checkouts evenly
+			long firstNanos = startNanos + periodNanos * t / threads;
+			workers[t] = new Thread(() -> drive(thread, firstNanos), "load-" + t);
+			workers[t].setDaemon(true);
+			workers[t].start();
+		}
+		long[] threadIds = new long[threads];
+		for (int t = 0; t < threads; t++) {
+			threadIds[t] = workers[t].threadId();
+		}
+
+		Histogram totalLatencies = new Histogram(HIGHEST_LATENCY_NANOS, 3);
+		long measureFromNanos = startNanos + warmup.toNanos();
+		long endNanos = measureFromNanos + duration.toNanos();
+		long intervalNanos = Math.max(1, reportInterval.toNanos());
+		long totalRequests = 0;
+		long totalRejections = 0;
+		long totalErrors = 0;
+		long totalAllocatedBytes = 0;
+		int totalGcPauses = 0;
+		long totalGcPauseMillis = 0;
+		long maxGcPauseMillis = 0;
+
+		long intervalStartNanos = startNanos;
+		long lastRequests = 0;
+		long lastRejections = 0;
+		long lastErrors = 0;
+		long lastAllocatedBytes = allocatedBytes(threadIds);
+		latencies.reset();
+		gcPauses.take();
+		try {
+			while (intervalStartNanos < endNanos) {
+				// Intervals never straddle the end of the warmup, so warmup checkouts are never measured
+				long intervalEndNanos = Math.min(intervalStartNanos + intervalNanos,
+						intervalStartNanos < measureFromNanos ? measureFromNanos : endNanos);
+				sleepUntil(intervalEndNanos);
+
+				Histogram intervalLatencies = latencies.getIntervalHistogram();
+				long requestCount = requests.sum();
+				long rejectionCount = rejections.sum();
+				long errorCount = errors.sum();
+				long allocated = allocatedBytes(threadIds);
+				long[] pauses = gcPauses.take();
+				long elapsedNanos = System.nanoTime() - intervalStartNanos;
+				LoadReport interval = new LoadReport(elapsedNanos, requestCount - lastRequests,
+						rejectionCount - lastRejections, errorCount - lastErrors, intervalLatencies,
+						allocated < 0 || lastAllocatedBytes < 0 ? -1 : allocated - lastAllocatedBytes,
+						(int) pauses[0], pauses[1], pauses[2]);
+				boolean measured = intervalStartNanos >= measureFromNanos;
+				progress.println((measured ? "        " : "warmup  ") + interval);
+
+				if (measured) {
+					totalLatencies.add(intervalLatencies);
+					totalRequests += interval.getRequests();
+					totalRejections += interval.getRejections();
+					totalErrors += interval.getErrors();
+					totalAllocatedBytes = totalAllocatedBytes < 0 || interval.getAllocatedBytes() < 0 ? -1
+							: totalAllocatedBytes + interval.getAllocatedBytes();
+					totalGcPauses += interval.getGcPauses();
+					totalGcPauseMillis += interval.getGcPauseTotalMillis();
+					maxGcPauseMillis = Math.max(maxGcPauseMillis, interval.getGcPauseMaxMillis());
+				}
+				intervalStartNanos = intervalEndNanos;
+				lastRequests = requestCount;
+				lastRejections = rejectionCount;
+				lastErrors = errorCount;
+				lastAllocatedBytes = allocated;
+			}
+		} finally {
+			running = false;
+			for (Thread worker : workers) {
+				worker.join();
+			}
+			gcPauses.unregister();
+		}
+		return new LoadReport(Math.max(0, endNanos - measureFromNanos), totalRequests, totalRejections, totalErrors,
+				totalLatencies, totalAllocatedBytes, totalGcPauses, totalGcPauseMillis, maxGcPauseMillis);
+	}
+
+	private void drive(int thread, long firstNanos) {
+		RentalAgreement[] held = rentalService.getInventory() == null ? null : new RentalAgreement[HELD_RENTALS_PER_THREAD];
+		int nextHeld = 0;
+		long scheduledNanos = firstNanos;
+		for (long index = thread; running; index += threads) {
+			long startNanos = System.nanoTime();
+			if (periodNanos > 0) {
+				while (startNanos < scheduledNanos && running) {
+					LockSupport.parkNanos(scheduledNanos - startNanos);
+					startNanos = System.nanoTime();
+				}
+				startNanos = scheduledNanos;
+				scheduledNanos += periodNanos;
+			}
+			RentalRequest request = workload.get(index);
+			RentalAgreement agreement = null;
+			try {
+				agreement = rentalService.checkout(request.getStoreId(), request.getToolCode(), request.getRentalDays(),
+						request.getDiscountPercent(), request.getCheckOutDate());
+			} catch (IllegalArgumentException e) {
+				rejections.increment();
+			} catch (RuntimeException e) {
+				errors.increment();
+			}
+			requests.increment();
+			latencies.recordValue(Math.min(System.nanoTime() - startNanos, HIGHEST_LATENCY_NANOS));
+
+			if (held != null && agreement != null) {
+				if (held[nextHeld] != null) {
+					rentalService.release(held[nextHeld]);
+				}
+				held[nextHeld] = agreement;
+				nextHeld = (nextHeld + 1) % held.length;
+			}
+		}
+		if (held != null) {
+			for (RentalAgreement agreement : held) {
+				if (agreement != null) {
+					rentalService.release(agreement);
+				}
+			}
+		}
+	}
+
+	private static long allocatedBytes(long[] threadIds) {
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean)
+				|| !threadMXBean.isThreadAllocatedMemorySupported() || !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+			return -1;
+		}
+		long total = 0;
+		for (long allocated : threadMXBean.getThreadAllocatedBytes(threadIds)) {
+			if (allocated < 0) {
+				return -1;
+			}
+			total += allocated;
+		}
+		return total;
+	}
+
+	private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+		for (long now = System.nanoTime(); now < deadlineNanos; now = System.nanoTime()) {
+			TimeUnit.NANOSECONDS.sleep(deadlineNanos - now);
+		}
+	}
+
+	/**
+	 * Counts the GC pauses the JVM reports. The concurrent cycles of ZGC and Shenandoah, and G1's concurrent marking,
+	 * are reported alongside the pauses but do not stop the application, so they are left out.
+	 */
+	private static final class GcPauses implements NotificationListener {
+
+		private final List<NotificationEmitter> emitters = new ArrayList<>();
+		private int count;
+		private long totalMillis;
+		private long maxMillis;
+
+		void register() {
+			for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+				if (collector instanceof NotificationEmitter emitter && !isConcurrent(collector.getName())) {
+					emitter.addNotificationListener(this, null, null);
+					emitters.add(emitter);
+				}
+			}
+		}
+
+		void unregister() {
+			for (NotificationEmitter emitter : emitters) {
+				try {
+					emitter.removeNotificationListener(this);
+				} catch (ListenerNotFoundException e) {
+					// Already gone
+				}
+			}
+			emitters.clear();
+		}
+
+		/**
+		 * Takes the pauses counted since the last call.
+		 *
+		 * @return the count, total length in milliseconds and longest length in milliseconds of the pauses
+		 */
+		synchronized long[] take() {
+			long[] pauses = {count, totalMillis, maxMillis};
+			count = 0;
+			totalMillis = 0;
+			maxMillis = 0;
+			return pauses;
+		}
+
+		@Override
+		public void handleNotification(Notification notification, Object handback) {
+			if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+				return;
+			}
+			GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from(
+					(CompositeData) notification.getUserData());
+			if (isConcurrent(info.getGcName())) {
+				return;
+			}
+			long millis = info.getGcInfo().getDuration();
+			synchronized (this) {
+				count++;
+				totalMillis += millis;
+				maxMillis = Math.max(maxMillis, millis);
+			}
+		}
+
+		private static boolean isConcurrent(String gcName) {
+			return gcName.contains("Cycles") || gcName.contains("Concurrent");
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.interview.test.loadtest;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.service.RentalService;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorTest {
+
+	private final HolidayCalendar calendar = HolidayCalendar.defaultCalendar();
+
+	@Test
+	public void testWorkloadIsRepeatable() {
+		Workload workload = new Workload(7, 1000);
+		Workload same = new Workload(7, 1000);
+		Workload other = new Workload(8, 1000);
+
+		assertEquals(1024, workload.size());
+		int differences = 0;
+		for (int i = 0; i < workload.size(); i++) {
+			assertEquals(describe(workload.get(i)), describe(same.get(i)));
+			if (!describe(workload.get(i)).equals(describe(other.get(i)))) {
+				differences++;
+			}
+		}
+		assertTrue(differences > workload.size() / 2);
+		assertSame(workload.get(3), workload.get(3 + workload.size()));
+	}
+
+	@Test
+	public void testWorkloadShape() {
+		Workload workload = new Workload(Map.of("LADW", 3, "JAKR", 1, "CHNS", 0), calendar, 11, 4096, 100, 2020, 2021);
+
+		int ladders = 0;
+		for (int i = 0; i < workload.size(); i++) {
+			RentalRequest request = workload.get(i);
+			assertTrue(request.getToolCode().equals("LADW") || request.getToolCode().equals("JAKR"));
+			assertTrue(request.getRentalDays() >= 1 && request.getRentalDays() <= 90);
+			assertTrue(request.getDiscountPercent() >= 0 && request.getDiscountPercent() <= 50);
+			// Every checkout is from three days before to one day after a holiday
+			long day = request.getCheckOutDate().toEpochDay();
+			boolean nearHoliday = false;
+			for (long holiday = day - 1; holiday <= day + 3; holiday++) {
+				nearHoliday |= calendar.isHoliday(holiday);
+			}
+			assertTrue(nearHoliday, request.getCheckOutDate().toString());
+			if (request.getToolCode().equals("LADW")) {
+				ladders++;
+			}
+		}
+		assertEquals(0.75, (double) ladders / workload.size(), 0.05);
+
+		assertThrows(IllegalArgumentException.class, () -> new Workload(Map.of("LADW", 0), calendar, 1, 1, 50, 2020, 2020));
+		assertThrows(IllegalArgumentException.class, () -> new Workload(Map.of("LADW", 1), calendar, 1, 1, 101, 2020, 2020));
+		assertThrows(IllegalArgumentException.class, () -> new Workload(Map.of("LADW", 1), calendar, 1, 1, 50, 2021, 2020));
+	}
+
+	@Test
+	public void testShortRunAgainstInventory() throws InterruptedException {
+		Inventory inventory = new Inventory();
+		for (Tool tool : ToolCatalog.getDefault().getTools()) {
+			inventory.addUnits(tool.getToolCode(), 4);
+		}
+		RentalService rentalService = new RentalService(ToolCatalog.getDefault(), calendar, inventory);
+		LoadGenerator generator = new LoadGenerator(rentalService, new Workload(3, 4096), 2, 2_000);
+		ByteArrayOutputStream progress = new ByteArrayOutputStream();
+
+		LoadReport report = generator.run(Duration.ofMillis(100), Duration.ofMillis(400), Duration.ofMillis(100),
+				new PrintStream(progress, true));
+
+		assertEquals(0, report.getErrors());
+		assertTrue(report.getRequests() > 200, String.valueOf(report.getRequests()));
+		assertTrue(report.getRejections() < report.getRequests());
+		assertEquals(report.getRequests() - report.getRejections(), report.getSuccesses());
+		assertTrue(report.getSuccessPercent() > 0 && report.getSuccessPercent() <= 100);
+		assertEquals(400_000_000, report.getElapsedNanos());
+		assertEquals(5, progress.toString().lines().count());
+		assertTrue(progress.toString().startsWith("warmup"));
+		// Every rental still held at the end is released
+		for (Tool tool : ToolCatalog.getDefault().getTools()) {
+			assertEquals(4, inventory.countAvailable(tool.getToolCode(), LocalDate.of(2015, 1, 1), LocalDate.of(2025, 12, 31)));
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(rentalService, new Workload(3, 1), 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(rentalService, new Workload(3, 1), 1, -1));
+	}
+
+	@Test
+	public void testThresholds() {
+		Histogram latencies = new Histogram(1_000_000_000L, 3);
+		latencies.recordValue(1_000);
+		LoadReport report = new LoadReport(1_000_000_000L, 5_000, 10, 0, latencies, 5_000_000, 2, 3, 2);
+
+		assertEquals(5_000, report.getThroughput(), 0.001);
+		assertEquals(1_000, report.getAllocatedBytesPerRequest(), 0.001);
+		assertEquals(4_990, report.getSuccesses());
+		assertEquals(99.8, report.getSuccessPercent(), 0.001);
+		assertTrue(new LoadThresholds(4_000, 99.5, 0, 0, 5, 2_000).check(report).isEmpty());
+		assertEquals(4, new LoadThresholds(6_000, 99.9, 0, 0, 1, 500).check(report).size());
+
+		LoadReport failed = new LoadReport(1_000_000_000L, 5_000, 10, 1, latencies, -1, 0, 0, 0);
+		assertEquals(-1, failed.getAllocatedBytesPerRequest(), 0.001);
+		assertEquals(1, new LoadThresholds(0, 0, 0, 0, 0, 0).check(failed).size());
+		assertThrows(IllegalArgumentException.class, () -> new LoadThresholds(-1, 0, 0, 0, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> new LoadThresholds(0, 101, 0, 0, 0, 0));
+	}
+
+	private static String describe(RentalRequest request) {
+		return request.getToolCode() + " " + request.getRentalDays() + " " + request.getDiscountPercent() + " "
+				+ request.getCheckOutDate();
+	}
+}
@@ -0,0 +1,121 @@
+package com.interview.test.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The measurements of a load test run, or of one reporting interval of it.
+ * <p>
+ * Every checkout the generator attempts is a request, whether it succeeds, is rejected or fails, so throughput and
+ * latency cover the whole offered load and the success rate shows how much of it became rentals. Latencies are
+ * measured from the time each checkout was scheduled to start, not from when it started, so a stall
+ * shows up in the latency of every checkout that queued behind it. Allocation counts the bytes allocated by the load
+ * threads, which includes the generator's own small overhead; GC pauses are the stop-the-world pauses reported by
+ * the JVM, leaving out the concurrent phases of collectors such as ZGC and G1.
+ */
+@Getter
+public class LoadReport {
+
+	private final long elapsedNanos;
+	private final long requests;
+	private final long rejections;
+	private final long errors;
+	private final long p50Nanos;
+	private final long p90Nanos;
+	private final long p99Nanos;
+	private final long p999Nanos;
+	private final long maxNanos;
+	private final long allocatedBytes;
+	private final int gcPauses;
+	private final long gcPauseTotalMillis;
+	private final long gcPauseMaxMillis;
+
+	/**
+	 * Constructs a LoadReport from the measurements of a run.
+	 *
+	 * @param elapsedNanos       how long the run measured
+	 * @param requests           the number of checkouts attempted, including rejections and errors
+	 * @param rejections         the number of checkouts rejected by validation or for lack of a unit
+	 * @param errors             the number of checkouts that failed with any other exception
+	 * @param latencies          the latency of every checkout in nanoseconds
+	 * @param allocatedBytes     the bytes allocated by the load threads, or -1 if the JVM cannot tell
+	 * @param gcPauses           the number of GC pauses
+	 * @param gcPauseTotalMillis the total length of the GC pauses
+	 * @param gcPauseMaxMillis   the longest GC pause
+	 */
+	public LoadReport(long elapsedNanos, long requests, long rejections, long errors, Histogram latencies,
+					  long allocatedBytes, int gcPauses, long gcPauseTotalMillis, long gcPauseMaxMillis) {
+		this.elapsedNanos = elapsedNanos;
+		this.requests = requests;
+		this.rejections = rejections;
+		this.errors = errors;
+		this.p50Nanos = latencies.getValueAtPercentile(50);
+		this.p90Nanos = latencies.getValueAtPercentile(90);
+		this.p99Nanos = latencies.getValueAtPercentile(99);
+		this.p999Nanos = latencies.getValueAtPercentile(99.9);
+		this.maxNanos = latencies.getMaxValue();
+		this.allocatedBytes = allocatedBytes;
+		this.gcPauses = gcPauses;
+		this.gcPauseTotalMillis = gcPauseTotalMillis;
+		this.gcPauseMaxMillis = gcPauseMaxMillis;
+	}
+
+	/**
+	 * Gets the checkouts that succeeded.
+	 *
+	 * @return the requests that were neither rejected nor failed
+	 */
+	public long getSuccesses() {
+		return requests - rejections - errors;
+	}
+
+	/**
+	 * Gets the share of requests that succeeded.
+	 *
+	 * @return the success rate as a percentage, or 0 if there were no requests
+	 */
+	public double getSuccessPercent() {
+		return requests == 0 ? 0 : getSuccesses() * 100.0 / requests;
+	}
+
+	/**
+	 * Gets the requests handled per second, including rejections and errors.
+	 *
+	 * @return the throughput
+	 */
+	public double getThroughput() {
+		return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Gets the bytes allocated per second by the load threads.
+	 *
+	 * @return the allocation rate, or -1 if the JVM cannot tell
+	 */
+	public double getAllocationRate() {
+		return allocatedBytes < 0 || elapsedNanos == 0 ? -1 : allocatedBytes * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Gets the bytes allocated per request by the load threads.
+	 *
+	 * @return the bytes per request, or -1 if the JVM cannot tell
+	 */
+	public double getAllocatedBytesPerRequest() {
+		return allocatedBytes < 0 || requests == 0 ? -1 : (double) allocatedBytes / requests;
+	}
+
+	/**
+	 * Formats the report as one line.
+	 *
+	 * @return the report
+	 */
+	@Override
+	public String toString() {
+		return String.format("%8.1fs %,10.0f/s  p50 %7.1fus  p90 %7.1fus  p99 %7.1fus  p99.9 %8.1fus  max %8.1fus"
+						+ "  alloc %7.1f MB/s %6.0f B/op  gc %d pauses, %d ms total, %d ms max  ok %5.1f%%  rejected %d  errors %d",
+				elapsedNanos / 1e9, getThroughput(), p50Nanos / 1e3, p90Nanos / 1e3, p99Nanos / 1e3, p999Nanos / 1e3,
+				maxNanos / 1e3, getAllocationRate() / 1e6, getAllocatedBytesPerRequest(), gcPauses, gcPauseTotalMillis,
+				gcPauseMaxMillis, getSuccessPercent(), rejections, errors);
+	}
+}
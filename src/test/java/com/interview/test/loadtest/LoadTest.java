@@ -0,0 +1,153 @@
+package com.interview.test.loadtest;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.metrics.RentalMetrics;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.service.RentalService;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Runs a load or soak test of checkout from the command line, and fails if the run breaks any of the given limits.
+ * Run with {@code mvn -Ploadtest test}, passing options in {@code -Dloadtest.args="..."}:
+ * <pre>
+ * --threads &lt;n&gt;                 threads checking out (4)
+ * --rate &lt;n&gt;                    checkouts per second across all threads, 0 for flat out (20000)
+ * --duration &lt;seconds&gt;          how long to measure (60)
+ * --warmup &lt;seconds&gt;            how long to run before measuring (10)
+ * --report-every &lt;seconds&gt;      how often to print an interval report (5)
+ * --seed &lt;n&gt;                    the seed of the workload (1)
+ * --workload-size &lt;n&gt;           the distinct requests before the workload repeats (65536)
+ * --tool-mix &lt;CODE=w,...&gt;       the relative weight of each tool code (every tool equally)
+ * --holiday-share &lt;percent&gt;     the share of checkouts in the days around a holiday (50)
+ * --units &lt;n&gt;                   units of each tool to reserve from, 0 to price without inventory (0)
+ * --min-throughput &lt;n&gt;          fail below this many checkouts per second, counting rejections
+ * --min-success-percent &lt;n&gt;     fail if fewer of the checkouts succeed
+ * --max-p99-us &lt;n&gt;              fail above this 99th percentile latency
+ * --max-p999-us &lt;n&gt;             fail above this 99.9th percentile latency
+ * --max-gc-pause-ms &lt;n&gt;         fail on a longer GC pause
+ * --max-bytes-per-request &lt;n&gt;   fail above this allocation per checkout, counting rejections
+ * </pre>
+ * The process exits with status 1 if a limit is broken or a checkout fails unexpectedly, and 2 on bad options.
+ */
+public class LoadTest {
+
+	/**
+	 * Runs the load test.
+	 *
+	 * @param args command-line options
+	 * @throws InterruptedException if interrupted during the run
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		Map<String, String> options = new LinkedHashMap<>();
+		options.put("--threads", "4");
+		options.put("--rate", "20000");
+		options.put("--duration", "60");
+		options.put("--warmup", "10");
+		options.put("--report-every", "5");
+		options.put("--seed", "1");
+		options.put("--workload-size", "65536");
+		options.put("--tool-mix", "");
+		options.put("--holiday-share", "50");
+		options.put("--units", "0");
+		options.put("--min-throughput", "0");
+		options.put("--min-success-percent", "0");
+		options.put("--max-p99-us", "0");
+		options.put("--max-p999-us", "0");
+		options.put("--max-gc-pause-ms", "0");
+		options.put("--max-bytes-per-request", "0");
+		boolean valid = args.length % 2 == 0;
+		for (int i = 0; valid && i + 1 < args.length; i += 2) {
+			valid = options.replace(args[i], args[i + 1]) != null;
+		}
+
+		ToolCatalog toolCatalog = ToolCatalog.getDefault();
+		HolidayCalendar holidayCalendar = HolidayCalendar.defaultCalendar();
+		LoadGenerator generator;
+		LoadThresholds thresholds;
+		Duration warmup;
+		Duration duration;
+		Duration reportInterval;
+		try {
+			if (!valid) {
+				throw new IllegalArgumentException("Unknown option.");
+			}
+			Map<String, Integer> toolMix = options.get("--tool-mix").isEmpty() ? Workload.equalMix(toolCatalog)
+					: parseToolMix(options.get("--tool-mix"), toolCatalog);
+			Workload workload = new Workload(toolMix, holidayCalendar, Long.parseLong(options.get("--seed")),
+					Integer.parseInt(options.get("--workload-size")), Integer.parseInt(options.get("--holiday-share")),
+					2015, 2024);
+
+			int units = Integer.parseInt(options.get("--units"));
+			Inventory inventory = null;
+			if (units > 0) {
+				inventory = new Inventory();
+				for (Tool tool : toolCatalog.getTools()) {
+					inventory.addUnits(tool.getToolCode(), units);
+				}
+			}
+			RentalService rentalService = new RentalService(toolCatalog, holidayCalendar, inventory, RentalMetrics.NOOP);
+			generator = new LoadGenerator(rentalService, workload, Integer.parseInt(options.get("--threads")),
+					Double.parseDouble(options.get("--rate")));
+			thresholds = new LoadThresholds(Double.parseDouble(options.get("--min-throughput")),
+					Double.parseDouble(options.get("--min-success-percent")), Long.parseLong(options.get("--max-p99-us")),
+					Long.parseLong(options.get("--max-p999-us")), Long.parseLong(options.get("--max-gc-pause-ms")),
+					Long.parseLong(options.get("--max-bytes-per-request")));
+			warmup = Duration.ofSeconds(Long.parseLong(options.get("--warmup")));
+			duration = Duration.ofSeconds(Long.parseLong(options.get("--duration")));
+			reportInterval = Duration.ofSeconds(Long.parseLong(options.get("--report-every")));
+			if (warmup.isNegative() || duration.isNegative() || !reportInterval.isPositive()) {
+				throw new IllegalArgumentException("Durations must be 0 or greater and the report interval positive.");
+			}
+		} catch (IllegalArgumentException e) {
+			System.err.println("Invalid options: " + e.getMessage());
+			System.err.println("Usage: LoadTest " + String.join(" ", options.keySet().stream()
+					.map(option -> "[" + option + " <value>]").toList()));
+			System.exit(2);
+			return;
+		}
+
+		StringJoiner collectors = new StringJoiner(", ");
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			collectors.add(collector.getName());
+		}
+		System.out.println("Java " + Runtime.version() + ", " + Runtime.getRuntime().availableProcessors()
+				+ " processors, collectors: " + collectors);
+		System.out.println("Options: " + options);
+		LoadReport report = generator.run(warmup, duration, reportInterval, System.out);
+		System.out.println("total   " + report);
+
+		List<String> violations = thresholds.check(report);
+		if (!violations.isEmpty()) {
+			for (String violation : violations) {
+				System.out.println("FAILED: " + violation);
+			}
+			System.exit(1);
+		}
+		System.out.println("PASSED");
+	}
+
+	private static Map<String, Integer> parseToolMix(String toolMix, ToolCatalog toolCatalog) {
+		Map<String, Integer> mix = new LinkedHashMap<>();
+		for (String entry : toolMix.split(",")) {
+			int equals = entry.indexOf('=');
+			if (equals < 0) {
+				throw new IllegalArgumentException("Tool mix entries must be CODE=weight.");
+			}
+			String toolCode = entry.substring(0, equals).trim().toUpperCase();
+			if (toolCatalog.getTool(toolCode) == null) {
+				throw new IllegalArgumentException("Unknown tool code " + toolCode + ".");
+			}
+			mix.put(toolCode, Integer.parseInt(entry.substring(equals + 1).trim()));
+		}
+		return mix;
+	}
+}
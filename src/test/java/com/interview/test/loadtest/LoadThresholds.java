@@ -0,0 +1,79 @@
+package com.interview.test.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The limits a load test run must stay within to pass. A limit left at 0 is not checked, except that a run never
+ * passes with errors.
+ */
+public class LoadThresholds {
+
+	private final double minThroughput;
+	private final double minSuccessPercent;
+	private final long maxP99Micros;
+	private final long maxP999Micros;
+	private final long maxGcPauseMillis;
+	private final long maxBytesPerRequest;
+
+	/**
+	 * Constructs a LoadThresholds with the specified limits.
+	 *
+	 * @param minThroughput      the fewest requests per second, or 0
+	 * @param minSuccessPercent  the lowest percentage of requests that must succeed, or 0
+	 * @param maxP99Micros       the highest 99th percentile latency in microseconds, or 0
+	 * @param maxP999Micros      the highest 99.9th percentile latency in microseconds, or 0
+	 * @param maxGcPauseMillis   the longest GC pause in milliseconds, or 0
+	 * @param maxBytesPerRequest the most bytes allocated per request, or 0
+	 * @throws IllegalArgumentException if a limit is negative or the success percentage is above 100
+	 */
+	public LoadThresholds(double minThroughput, double minSuccessPercent, long maxP99Micros, long maxP999Micros,
+						  long maxGcPauseMillis, long maxBytesPerRequest) {
+		if (minThroughput < 0 || minSuccessPercent < 0 || maxP99Micros < 0 || maxP999Micros < 0 || maxGcPauseMillis < 0
+				|| maxBytesPerRequest < 0) {
+			throw new IllegalArgumentException("Thresholds must be 0 or greater.");
+		}
+		if (minSuccessPercent > 100) {
+			throw new IllegalArgumentException("Success percentage must be 100 or less.");
+		}
+		this.minThroughput = minThroughput;
+		this.minSuccessPercent = minSuccessPercent;
+		this.maxP99Micros = maxP99Micros;
+		this.maxP999Micros = maxP999Micros;
+		this.maxGcPauseMillis = maxGcPauseMillis;
+		this.maxBytesPerRequest = maxBytesPerRequest;
+	}
+
+	/**
+	 * Checks a run against the limits.
+	 *
+	 * @param report the measurements of the whole run
+	 * @return a description of every limit the run broke, empty if it passed
+	 */
+	public List<String> check(LoadReport report) {
+		List<String> violations = new ArrayList<>();
+		if (report.getErrors() > 0) {
+			violations.add(report.getErrors() + " checkouts failed with an unexpected exception");
+		}
+		if (minThroughput > 0 && report.getThroughput() < minThroughput) {
+			violations.add(String.format("throughput %.0f/s is below %.0f/s", report.getThroughput(), minThroughput));
+		}
+		if (minSuccessPercent > 0 && report.getSuccessPercent() < minSuccessPercent) {
+			violations.add(String.format("success rate %.1f%% is below %.1f%%", report.getSuccessPercent(), minSuccessPercent));
+		}
+		if (maxP99Micros > 0 && report.getP99Nanos() > maxP99Micros * 1_000) {
+			violations.add(String.format("p99 latency %.1fus is above %dus", report.getP99Nanos() / 1e3, maxP99Micros));
+		}
+		if (maxP999Micros > 0 && report.getP999Nanos() > maxP999Micros * 1_000) {
+			violations.add(String.format("p99.9 latency %.1fus is above %dus", report.getP999Nanos() / 1e3, maxP999Micros));
+		}
+		if (maxGcPauseMillis > 0 && report.getGcPauseMaxMillis() > maxGcPauseMillis) {
+			violations.add(String.format("GC pause of %d ms is above %d ms", report.getGcPauseMaxMillis(), maxGcPauseMillis));
+		}
+		if (maxBytesPerRequest > 0 && report.getAllocatedBytesPerRequest() > maxBytesPerRequest) {
+			violations.add(String.format("allocation of %.0f B per request is above %d B",
+					report.getAllocatedBytesPerRequest(), maxBytesPerRequest));
+		}
+		return violations;
+	}
+}
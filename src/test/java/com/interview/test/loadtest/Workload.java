@@ -0,0 +1,165 @@
+package com.interview.test.loadtest;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * A repeatable set of rental requests shaped like store traffic, generated from a seed.
+ * <p>
+ * Tools are drawn by weight from a tool mix. Rental lengths follow a fixed distribution in which most rentals last a
+ * few days and a long tail runs to three months. A share of the checkout dates fall in the days just before and after
+ * a holiday, where the charge rules do the most work; the rest are spread evenly over the years covered. A fifth of
+ * the requests carry a discount. The same seed and settings always produce the same requests, in the same order.
+ */
+public final class Workload {
+
+	/**
+	 * Rental length buckets as {first day, last day, weight}: a length is drawn uniformly within a bucket drawn by
+	 * weight.
+	 */
+	private static final int[][] RENTAL_DAY_BUCKETS = {
+			{1, 1, 20}, {2, 3, 30}, {4, 7, 30}, {8, 14, 12}, {15, 30, 6}, {31, 90, 2}};
+	private static final int[] DISCOUNT_PERCENTS = {5, 10, 15, 20, 25, 50};
+	private static final int DISCOUNTED_PERCENT_OF_REQUESTS = 20;
+	private static final int DAYS_BEFORE_HOLIDAY = 3;
+	private static final int DAYS_AFTER_HOLIDAY = 1;
+
+	private final RentalRequest[] requests;
+
+	/**
+	 * Generates a workload over the default catalog's tools in equal shares, with half the checkouts around a holiday
+	 * between 2015 and 2024.
+	 *
+	 * @param seed the seed of the random workload
+	 * @param size the number of requests, rounded up to a power of two
+	 */
+	public Workload(long seed, int size) {
+		this(equalMix(ToolCatalog.getDefault()), HolidayCalendar.defaultCalendar(), seed, size, 50, 2015, 2024);
+	}
+
+	/**
+	 * Generates a workload.
+	 *
+	 * @param toolMix             the relative weight of each tool code
+	 * @param holidayCalendar     the calendar whose holidays checkout dates cluster around
+	 * @param seed                the seed of the random workload
+	 * @param size                the number of requests, rounded up to a power of two
+	 * @param holidaySharePercent the percentage of checkouts in the days around a holiday
+	 * @param firstYear           the first year of checkout dates
+	 * @param lastYear            the last year of checkout dates
+	 * @throws IllegalArgumentException if the mix has no positive weight, the share is not between 0 and 100, or the
+	 *                                  years are out of order
+	 */
+	public Workload(Map<String, Integer> toolMix, HolidayCalendar holidayCalendar, long seed, int size,
+					int holidaySharePercent, int firstYear, int lastYear) {
+		if (holidaySharePercent < 0 || holidaySharePercent > 100) {
+			throw new IllegalArgumentException("Holiday share must be between 0 and 100.");
+		}
+		if (lastYear < firstYear) {
+			throw new IllegalArgumentException("Last year must not come before the first year.");
+		}
+		// A sorted copy, so the same mix draws the same tools however the caller's map is ordered
+		TreeMap<String, Integer> mix = new TreeMap<>(toolMix);
+		String[] toolCodes = mix.keySet().toArray(new String[0]);
+		int[] toolWeights = mix.values().stream().mapToInt(Integer::intValue).toArray();
+		if (totalWeight(toolWeights) <= 0) {
+			throw new IllegalArgumentException("Tool mix must have a positive weight.");
+		}
+		int[] bucketWeights = new int[RENTAL_DAY_BUCKETS.length];
+		for (int i = 0; i < bucketWeights.length; i++) {
+			bucketWeights[i] = RENTAL_DAY_BUCKETS[i][2];
+		}
+		long firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+		long endDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+		long[] holidays = holidays(holidayCalendar, firstDay, endDay);
+
+		SplittableRandom random = new SplittableRandom(seed);
+		this.requests = new RentalRequest[Integer.highestOneBit(Math.max(1, size) * 2 - 1)];
+		for (int i = 0; i < requests.length; i++) {
+			String toolCode = toolCodes[pick(random, toolWeights)];
+			int[] bucket = RENTAL_DAY_BUCKETS[pick(random, bucketWeights)];
+			int rentalDays = random.nextInt(bucket[0], bucket[1] + 1);
+			int discountPercent = random.nextInt(100) < DISCOUNTED_PERCENT_OF_REQUESTS
+					? DISCOUNT_PERCENTS[random.nextInt(DISCOUNT_PERCENTS.length)] : 0;
+			long checkOutDay;
+			if (holidays.length > 0 && random.nextInt(100) < holidaySharePercent) {
+				checkOutDay = holidays[random.nextInt(holidays.length)]
+						+ random.nextInt(-DAYS_BEFORE_HOLIDAY, DAYS_AFTER_HOLIDAY + 1);
+			} else {
+				checkOutDay = random.nextLong(firstDay, endDay);
+			}
+			requests[i] = new RentalRequest(toolCode, rentalDays, discountPercent, LocalDate.ofEpochDay(checkOutDay));
+		}
+	}
+
+	/**
+	 * Gives every tool of a catalog the same weight.
+	 *
+	 * @param toolCatalog the catalog
+	 * @return the tool mix
+	 */
+	public static Map<String, Integer> equalMix(ToolCatalog toolCatalog) {
+		Map<String, Integer> mix = new LinkedHashMap<>();
+		for (Tool tool : toolCatalog.getTools()) {
+			mix.put(tool.getToolCode(), 1);
+		}
+		return mix;
+	}
+
+	/**
+	 * Gets a request by its position in an endless sequence that repeats the workload.
+	 *
+	 * @param index the position, from 0
+	 * @return the request
+	 */
+	public RentalRequest get(long index) {
+		return requests[(int) (index & (requests.length - 1))];
+	}
+
+	/**
+	 * Gets the number of distinct requests before the sequence repeats.
+	 *
+	 * @return the workload size
+	 */
+	public int size() {
+		return requests.length;
+	}
+
+	private static long[] holidays(HolidayCalendar holidayCalendar, long firstDay, long endDay) {
+		List<Long> holidays = new ArrayList<>();
+		for (long day = firstDay; day < endDay; day++) {
+			if (holidayCalendar.isHoliday(day)) {
+				holidays.add(day);
+			}
+		}
+		return holidays.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	private static int pick(SplittableRandom random, int[] weights) {
+		int ticket = random.nextInt(totalWeight(weights));
+		for (int i = 0; ; i++) {
+			ticket -= Math.max(0, weights[i]);
+			if (ticket < 0) {
+				return i;
+			}
+		}
+	}
+
+	private static int totalWeight(int[] weights) {
+		int total = 0;
+		for (int weight : weights) {
+			total += Math.max(0, weight);
+		}
+		return total;
+	}
+}
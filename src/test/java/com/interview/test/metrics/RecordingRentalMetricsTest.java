@@ -0,0 +1,145 @@
+package com.interview.test.metrics;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.service.RentalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordingRentalMetricsTest {
+
+	private static final LocalDate CHECK_OUT_DATE = LocalDate.of(2020, 7, 2);
+
+	private final RecordingRentalMetrics metrics = new RecordingRentalMetrics();
+	private final Inventory inventory = new Inventory();
+	private final RentalService rentalService = new RentalService(ToolCatalog.getDefault(),
+			HolidayCalendar.defaultCalendar(), inventory, metrics);
+
+	@BeforeEach
+	public void setup() {
+		inventory.addUnits("LADW", 2);
+		inventory.addUnits("CHNS", 1);
+		inventory.addUnits("JAKR", 1);
+		inventory.addUnits("JAKD", 100);
+	}
+
+	@Test
+	public void testCheckoutsAreCountedPerToolCode() {
+		rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE);
+		rentalService.checkout("LADW", 5, 0, CHECK_OUT_DATE);
+		rentalService.checkout("CHNS", 5, 25, CHECK_OUT_DATE);
+		rentalService.quote("JAKR", 4, 50, CHECK_OUT_DATE);
+
+		assertEquals(2, metrics.getCheckoutCount("LADW"));
+		assertEquals(1, metrics.getCheckoutCount("CHNS"));
+		assertEquals(0, metrics.getCheckoutCount("JAKR"));
+		assertEquals("{CHNS=1, LADW=2}", metrics.getCheckoutsByToolCode().toString());
+	}
+
+	@Test
+	public void testRejectionsAreCountedPerReason() {
+		rentalService.checkout("JAKR", 3, 10, CHECK_OUT_DATE);
+
+		assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("JAKR", 0, 10, CHECK_OUT_DATE));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("JAKR", 3, 101, CHECK_OUT_DATE));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.quote("XXXX", 3, 10, CHECK_OUT_DATE));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("JAKR", 3, 10, CHECK_OUT_DATE));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("JAKR", 1, 0, CHECK_OUT_DATE));
+
+		assertEquals(1, metrics.getRejectionCount(RejectionReason.INVALID_RENTAL_DAYS));
+		assertEquals(1, metrics.getRejectionCount(RejectionReason.INVALID_DISCOUNT_PERCENT));
+		assertEquals(1, metrics.getRejectionCount(RejectionReason.UNKNOWN_TOOL_CODE));
+		assertEquals(2, metrics.getRejectionCount(RejectionReason.NO_UNIT_AVAILABLE));
+		assertEquals(1, metrics.getCheckoutCount("JAKR"));
+	}
+
+	@Test
+	public void testStagesAreTimed() {
+		for (int i = 0; i < 100; i++) {
+			rentalService.checkout("JAKD", 7, 0, CHECK_OUT_DATE);
+		}
+		rentalService.quote("JAKD", 7, 0, CHECK_OUT_DATE);
+
+		assertEquals(101, metrics.getStageHistogram(Stage.CATALOG_LOOKUP).getTotalCount());
+		assertEquals(101, metrics.getStageHistogram(Stage.CHARGE_CALCULATION).getTotalCount());
+		assertEquals(100, metrics.getStageHistogram(Stage.RESERVATION).getTotalCount());
+		assertEquals(101, metrics.getStageHistogram(Stage.CHECKOUT).getTotalCount());
+		assertTrue(metrics.getStageHistogram(Stage.CHECKOUT).getMaxValue() > 0);
+		assertTrue(metrics.getStageMaxNanos().get("CHECKOUT") >= metrics.getStageP99Nanos().get("CHECKOUT"));
+		assertTrue(metrics.getStageP99Nanos().get("CHECKOUT") >= metrics.getStageP50Nanos().get("CHECKOUT"));
+	}
+
+	@Test
+	public void testDumpAndReset() {
+		rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE);
+		assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("XXXX", 3, 10, CHECK_OUT_DATE));
+
+		String dump = metrics.dump();
+
+		assertTrue(dump.contains("rental_checkouts_total{tool=\"LADW\"} 1\n"), dump);
+		assertTrue(dump.contains("rental_rejections_total{reason=\"unknown_tool_code\"} 1\n"), dump);
+		assertTrue(dump.contains("rental_rejections_total{reason=\"no_unit_available\"} 0\n"), dump);
+		assertTrue(dump.contains("rental_stage_latency_nanos_count{stage=\"checkout\"} 1\n"), dump);
+		assertTrue(dump.contains("rental_stage_latency_nanos{stage=\"charge_calculation\",quantile=\"0.99\"} "), dump);
+
+		metrics.reset();
+
+		assertEquals(0, metrics.getCheckoutCount("LADW"));
+		assertEquals(0, metrics.getRejectionCount(RejectionReason.UNKNOWN_TOOL_CODE));
+		assertEquals(0, metrics.getStageHistogram(Stage.CHECKOUT).getTotalCount());
+	}
+
+	@Test
+	public void testStartupIsKeptAcrossReset() {
+		assertEquals(-1, metrics.getStartupNanos());
+		assertFalse(metrics.dump().contains("rental_startup_nanos"));
+		RentalMetrics.NOOP.recordStartup(1, 1);
+
+		metrics.recordStartup(420_000_000L, 380_000_000L);
+		metrics.reset();
+
+		assertEquals(420_000_000L, metrics.getStartupNanos());
+		assertEquals(380_000_000L, metrics.getFirstFastCheckoutNanos());
+		assertTrue(metrics.dump().endsWith("rental_startup_nanos 420000000\nrental_first_fast_checkout_nanos 380000000\n"));
+	}
+
+	@Test
+	public void testJmxRegistration() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(RecordingRentalMetrics.OBJECT_NAME);
+		metrics.registerMBean();
+		try {
+			rentalService.checkout("CHNS", 5, 25, CHECK_OUT_DATE);
+
+			TabularData checkouts = (TabularData) server.getAttribute(name, "CheckoutsByToolCode");
+			CompositeData chainsaw = checkouts.get(new Object[]{"CHNS"});
+			assertEquals(1L, chainsaw.get("value"));
+			assertTrue(((String) server.invoke(name, "dump", null, null)).contains("tool=\"CHNS\"} 1"));
+
+			new RecordingRentalMetrics().registerMBean();
+			assertEquals(0, ((TabularData) server.getAttribute(name, "CheckoutsByToolCode")).size());
+		} finally {
+			metrics.unregisterMBean();
+		}
+		assertFalse(server.isRegistered(name));
+	}
+
+	@Test
+	public void testNoopMetricsAreDisabled() {
+		RentalService plain = new RentalService();
+
+		assertSame(RentalMetrics.NOOP, plain.getMetrics());
+		assertFalse(RentalMetrics.NOOP.isEnabled());
+		assertNotNull(plain.checkout("LADW", 3, 10, CHECK_OUT_DATE));
+	}
+}
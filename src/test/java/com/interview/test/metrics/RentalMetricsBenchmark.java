@@ -0,0 +1,49 @@
+package com.interview.test.metrics;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.service.RentalService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the cost of recording checkout metrics. Run with {@code mvn -Pbenchmark test}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalMetricsBenchmark {
+
+	@Param({"LADW", "CHNS"})
+	private String toolCode;
+
+	@Param({"7", "365"})
+	private int rentalDays;
+
+	private final LocalDate checkOut = LocalDate.of(2015, 7, 2);
+	private RentalService plainService;
+	private RentalService recordingService;
+
+	@Setup
+	public void setup() {
+		plainService = new RentalService();
+		recordingService = new RentalService(ToolCatalog.getDefault(), HolidayCalendar.defaultCalendar(), null,
+				new RecordingRentalMetrics());
+	}
+
+	@Benchmark
+	public RentalAgreement checkoutWithoutMetrics() {
+		return plainService.checkout(toolCode, rentalDays, 10, checkOut);
+	}
+
+	@Benchmark
+	public RentalAgreement checkoutWithMetrics() {
+		return recordingService.checkout(toolCode, rentalDays, 10, checkOut);
+	}
+}
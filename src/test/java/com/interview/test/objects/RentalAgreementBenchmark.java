@@ -0,0 +1,59 @@
+package com.interview.test.objects;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for rendering a rental agreement. Run with {@code mvn -Pbenchmark test}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalAgreementBenchmark {
+
+	private RentalAgreement rentalAgreement;
+	private PrintStream originalOut;
+	private final StringBuilder buffer = new StringBuilder(512);
+
+	@Setup
+	public void setup() {
+		rentalAgreement = new RentalAgreement(
+				"LADW", "Ladder", "Werner", 3, LocalDate.of(2020, 7, 2), LocalDate.of(2020, 7, 5),
+				BigDecimal.valueOf(1.99), 2, BigDecimal.valueOf(3.98), 10, BigDecimal.valueOf(0.40), BigDecimal.valueOf(3.59));
+		originalOut = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.setOut(originalOut);
+	}
+
+	@Benchmark
+	public void printAgreement() {
+		rentalAgreement.printAgreement();
+	}
+
+	@Benchmark
+	public int renderIntoReusedBuilder() {
+		buffer.setLength(0);
+		RentalAgreementRenderer.render(rentalAgreement, buffer);
+		return buffer.length();
+	}
+}
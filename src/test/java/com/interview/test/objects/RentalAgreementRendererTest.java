@@ -0,0 +1,106 @@
+package com.interview.test.objects;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RentalAgreementRendererTest {
+
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yy");
+
+	private final Locale originalLocale = Locale.getDefault(Locale.Category.FORMAT);
+
+	@AfterEach
+	public void restoreLocale() {
+		Locale.setDefault(Locale.Category.FORMAT, originalLocale);
+	}
+
+	@Test
+	public void testMatchesPrintfOutput() throws Exception {
+		Random random = new Random(9);
+		for (int i = 0; i < 2_000; i++) {
+			RentalAgreement agreement = randomAgreement(random);
+			StringBuilder rendered = new StringBuilder();
+			RentalAgreementRenderer.render(agreement, rendered);
+			assertEquals(printfOutput(agreement), rendered.toString());
+		}
+	}
+
+	@Test
+	public void testMatchesPrintfOutputInOtherLocales() throws Exception {
+		Random random = new Random(11);
+		for (Locale locale : Arrays.asList(Locale.GERMANY, Locale.forLanguageTag("th-TH-u-nu-thai"), Locale.US)) {
+			Locale.setDefault(Locale.Category.FORMAT, locale);
+			for (int i = 0; i < 200; i++) {
+				RentalAgreement agreement = randomAgreement(random);
+				StringBuilder rendered = new StringBuilder();
+				RentalAgreementRenderer.render(agreement, rendered);
+				assertEquals(printfOutput(agreement), rendered.toString(), locale.toString());
+			}
+		}
+	}
+
+	@Test
+	public void testAppendableAndByteBufferMatchStringBuilder() throws Exception {
+		RentalAgreement agreement = randomAgreement(new Random(3));
+		StringBuilder expected = new StringBuilder();
+		RentalAgreementRenderer.render(agreement, expected);
+
+		StringWriter writer = new StringWriter();
+		RentalAgreementRenderer.render(agreement, writer);
+		assertEquals(expected.toString(), writer.toString());
+
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		RentalAgreementRenderer.render(agreement, buffer, StandardCharsets.UTF_8);
+		assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), Arrays.copyOf(buffer.array(), buffer.position()));
+	}
+
+	private static RentalAgreement randomAgreement(Random random) {
+		LocalDate checkOutDate = LocalDate.of(1995, 1, 1).plusDays(random.nextInt(20_000));
+		int rentalDays = 1 + random.nextInt(4000);
+		return new RentalAgreement("CODE", "Type" + random.nextInt(10), "Brand", rentalDays, checkOutDate,
+				checkOutDate.plusDays(rentalDays), randomMoney(random), random.nextInt(4000), randomMoney(random),
+				random.nextInt(101), randomMoney(random), randomMoney(random));
+	}
+
+	private static BigDecimal randomMoney(Random random) {
+		// Mix two-decimal amounts with amounts that need rounding
+		return BigDecimal.valueOf(random.nextInt(10_000_000), random.nextInt(4));
+	}
+
+	/**
+	 * The original printf-based implementation of printAgreement.
+	 */
+	private static String printfOutput(RentalAgreement agreement) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, false, "UTF-8");
+		out.println("Tool code: " + agreement.getToolCode());
+		out.println("Tool type: " + agreement.getToolType());
+		out.println("Tool brand: " + agreement.getBrand());
+		out.println("Rental days: " + agreement.getRentalDays());
+		out.println("Check out date: " + agreement.getCheckOutDate().format(DATE_FORMAT));
+		out.println("Due date: " + agreement.getDueDate().format(DATE_FORMAT));
+		out.printf("Daily rental charge: $%.2f%n", agreement.getDailyCharge());
+		out.println("Charge days: " + agreement.getChargeDays());
+		out.printf("Pre-discount charge: $%.2f%n", agreement.getPreDiscountCharge());
+		out.printf("Discount percent: %d%%%n", agreement.getDiscountPercent());
+		out.printf("Discount amount: $%.2f%n", agreement.getDiscountAmount());
+		out.printf("Final charge: $%.2f%n", agreement.getFinalCharge());
+		out.flush();
+		return bytes.toString("UTF-8");
+	}
+}
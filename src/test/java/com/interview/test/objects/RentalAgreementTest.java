@@ -2,6 +2,7 @@ package com.interview.test.objects;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -11,6 +12,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RentalAgreementTest {
 	private RentalAgreement rentalAgreement;
@@ -109,4 +113,44 @@ public class RentalAgreementTest {
 		String actual = outputStream.toString().replaceAll("(\\r)", "");
 		assertEquals(expectedOutput, actual);
 	}
+
+	@Test
+	public void testCompactAgreementDerivesFields() {
+		Tool tool = Tool.getToolByCode("LADW");
+		RentalAgreement compact = new RentalAgreement(tool, LocalDate.of(2020, 7, 2), 3, 3, 597, 10, null);
+
+		assertSame(tool, compact.getTool());
+		assertNull(rentalAgreement.getTool());
+		assertEquals(rentalAgreement.getToolCode(), compact.getToolCode());
+		assertEquals(rentalAgreement.getToolType(), compact.getToolType());
+		assertEquals(rentalAgreement.getBrand(), compact.getBrand());
+		assertEquals(rentalAgreement.getCheckOutDate(), compact.getCheckOutDate());
+		assertEquals(rentalAgreement.getCheckOutDate().toEpochDay(), compact.getCheckOutEpochDay());
+		assertEquals(rentalAgreement.getDueDate(), compact.getDueDate());
+		assertEquals(new BigDecimal("1.99"), compact.getDailyCharge());
+		assertEquals(new BigDecimal("5.97"), compact.getPreDiscountCharge());
+		// 10% of $5.97 is $0.597
+		assertEquals(new BigDecimal("0.60"), compact.getDiscountAmount());
+		assertEquals(new BigDecimal("5.38"), compact.getFinalCharge());
+		assertEquals(538, compact.getFinalChargeCents());
+	}
+
+	@Test
+	public void testCompactAgreementFootprint() {
+		Tool tool = Tool.getToolByCode("LADW");
+		int count = 10_000;
+		RentalAgreement[] compact = new RentalAgreement[count];
+		RentalAgreement[] explicit = new RentalAgreement[count];
+		for (int i = 0; i < count; i++) {
+			LocalDate checkOutDate = LocalDate.of(2020, 1, 1).plusDays(i);
+			compact[i] = new RentalAgreement(tool, checkOutDate, 3, 3, 597 + i, 10, null);
+			explicit[i] = new RentalAgreement(tool.getToolCode(), tool.getToolType(), tool.getBrand(), 3, checkOutDate,
+					checkOutDate.plusDays(3), tool.getDailyCharge(), 3, compact[i].getPreDiscountCharge(), 10,
+					compact[i].getDiscountAmount(), compact[i].getFinalCharge());
+		}
+
+		long compactBytes = GraphLayout.parseInstance((Object) compact).totalSize() / count;
+		long explicitBytes = GraphLayout.parseInstance((Object) explicit).totalSize() / count;
+		assertTrue(explicitBytes >= 4 * compactBytes, "compact " + compactBytes + " bytes, explicit " + explicitBytes + " bytes");
+	}
 }
@@ -0,0 +1,149 @@
+package com.interview.test.objects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolCatalogTest {
+
+	private static final String CATALOG = "# toolCode,toolType,brand,dailyCharge,weekdayCharge,weekendCharge,holidayCharge\n"
+			+ "LADW,Ladder,Werner,1.99,true,true,false\n"
+			+ "\n"
+			+ "CHNS, Chainsaw, Stihl, 1.49, TRUE, false, true\n";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testDefaultCatalog() {
+		ToolCatalog catalog = ToolCatalog.getDefault();
+
+		assertEquals(4, catalog.size());
+		assertEquals("Ridgid", catalog.getTool("JAKR").getBrand());
+		assertEquals(new BigDecimal("1.49"), catalog.getTool("CHNS").getDailyCharge());
+		assertSame(catalog.getTool("LADW"), Tool.getToolByCode("LADW"));
+		assertNull(catalog.getTool("XXXX"));
+		assertNull(catalog.getTool(null));
+	}
+
+	@Test
+	public void testParse() throws Exception {
+		List<Tool> tools = ToolCatalog.parse(new BufferedReader(new StringReader(CATALOG)));
+
+		assertEquals(2, tools.size());
+		Tool chainsaw = tools.get(1);
+		assertEquals("CHNS", chainsaw.getToolCode());
+		assertEquals("Chainsaw", chainsaw.getToolType());
+		assertEquals(149, chainsaw.getDailyChargeCents());
+		assertTrue(chainsaw.isWeekdayCharge());
+		assertFalse(chainsaw.isWeekendCharge());
+		assertTrue(chainsaw.isHolidayCharge());
+	}
+
+	@Test
+	public void testParseRejectsInvalidLines() {
+		IllegalArgumentException fields = assertThrows(IllegalArgumentException.class,
+				() -> ToolCatalog.parse(new BufferedReader(new StringReader("LADW,Ladder,Werner,1.99,true,true\n"))));
+		assertEquals("Line 1: expected 7 fields but found 6.", fields.getMessage());
+
+		IllegalArgumentException flag = assertThrows(IllegalArgumentException.class,
+				() -> ToolCatalog.parse(new BufferedReader(new StringReader("\nLADW,Ladder,Werner,1.99,true,yes,false\n"))));
+		assertEquals("Line 2: Invalid flag 'yes'.", flag.getMessage());
+	}
+
+	@Test
+	public void testToolsByTypeAndBrand() {
+		ToolCatalog catalog = ToolCatalog.getDefault();
+
+		assertEquals(List.of(catalog.getTool("JAKD"), catalog.getTool("JAKR")), catalog.getToolsByType("Jackhammer"));
+		assertEquals(List.of(catalog.getTool("JAKR")), catalog.getToolsByType("JACKHAMMER", "ridgid"));
+		assertEquals(List.of(), catalog.getToolsByType("Jackhammer", "Stihl"));
+		assertEquals(List.of(), catalog.getToolsByType("Drill"));
+		assertEquals(List.of(), catalog.getToolsByType(null));
+
+		catalog = new ToolCatalog(List.of(catalog.getTool("LADW")));
+		catalog.replace(List.of(new Tool("LADA", "Ladder", "Little Giant", new BigDecimal("2.49"), true, true, false)));
+		assertEquals("LADA", catalog.getToolsByType("ladder").get(0).getToolCode());
+		assertEquals(List.of(), catalog.getToolsByType("Ladder", "Werner"));
+	}
+
+	@Test
+	public void testDuplicateToolCodeRejected() {
+		Tool ladder = new Tool("LADW", "Ladder", "Werner", new BigDecimal("1.99"), true, true, false);
+		assertThrows(IllegalArgumentException.class, () -> new ToolCatalog(Arrays.asList(ladder, ladder)));
+	}
+
+	@Test
+	public void testReplaceSwapsSnapshot() {
+		ToolCatalog catalog = new ToolCatalog(Arrays.asList(
+				new Tool("LADW", "Ladder", "Werner", new BigDecimal("1.99"), true, true, false)));
+		Tool before = catalog.getTool("LADW");
+
+		catalog.replace(Arrays.asList(new Tool("LADW", "Ladder", "Werner", new BigDecimal("2.49"), true, true, false),
+				new Tool("JAKD", "Jackhammer", "DeWalt", new BigDecimal("2.99"), true, false, false)));
+
+		assertNotSame(before, catalog.getTool("LADW"));
+		assertEquals(249, catalog.getTool("LADW").getDailyChargeCents());
+		assertEquals(2, catalog.size());
+	}
+
+	@Test
+	public void testReloadKeepsSnapshotOnInvalidFile() throws Exception {
+		Path file = tempDir.resolve("tools.csv");
+		Files.write(file, CATALOG.getBytes(StandardCharsets.UTF_8));
+		ToolCatalog catalog = ToolCatalog.load(file);
+
+		Files.write(file, "LADW,Ladder,Werner,abc,true,true,false\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, catalog::reload);
+		assertEquals(2, catalog.size());
+
+		Files.write(file, "LADW,Ladder,Werner,2.49,true,true,false\n".getBytes(StandardCharsets.UTF_8));
+		catalog.reload();
+		assertEquals(1, catalog.size());
+		assertEquals(249, catalog.getTool("LADW").getDailyChargeCents());
+	}
+
+	@Test
+	public void testWatchReloadsChangedFile() throws Exception {
+		Path file = tempDir.resolve("tools.csv");
+		Files.write(file, CATALOG.getBytes(StandardCharsets.UTF_8));
+		ToolCatalog catalog = ToolCatalog.load(file);
+
+		Closeable watch = catalog.watch();
+		try {
+			Files.write(file, "LADW,Ladder,Werner,2.49,true,true,false\n".getBytes(StandardCharsets.UTF_8));
+			long deadline = System.currentTimeMillis() + 30_000;
+			while (catalog.getTool("LADW").getDailyChargeCents() != 249 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+		} finally {
+			watch.close();
+		}
+		assertEquals(249, catalog.getTool("LADW").getDailyChargeCents());
+		assertNull(catalog.getTool("CHNS"));
+	}
+
+	@Test
+	public void testLargeCatalog() {
+		List<Tool> tools = new ArrayList<>();
+		for (int i = 0; i < 50_000; i++) {
+			tools.add(new Tool(String.format("T%05d", i), "Type" + i % 100, "Brand" + i % 17, new BigDecimal("1.99"), true, false, false));
+		}
+		ToolCatalog catalog = new ToolCatalog(tools);
+
+		assertEquals(50_000, catalog.size());
+		assertEquals("Type45", catalog.getTool("T12345").getToolType());
+	}
+}
@@ -0,0 +1,60 @@
+package com.interview.test.persistence;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.service.RentalService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JMH benchmarks for appending agreements to the store. Run with
+ * {@code mvn -Pbenchmark test -Djmh.args="AgreementStoreBenchmark"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgreementStoreBenchmark {
+
+	private Path directory;
+	private AgreementStore store;
+	private RentalAgreement agreement;
+	private long appended;
+
+	@Setup(Level.Iteration)
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("agreement-store-benchmark");
+		store = new AgreementStore(directory);
+		agreement = new RentalService().checkout("CHNS", 5, 25, LocalDate.of(2015, 7, 2));
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() throws IOException {
+		store.close();
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public long append() throws IOException {
+		return store.append(agreement);
+	}
+
+	@Benchmark
+	public long appendAndSyncEvery1000() throws IOException {
+		long id = store.append(agreement);
+		if (++appended % 1000 == 0) {
+			store.sync();
+		}
+		return id;
+	}
+}
@@ -0,0 +1,216 @@
+package com.interview.test.persistence;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.service.RentalService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgreementStoreTest {
+
+	private static final LocalDate CHECK_OUT_DATE = LocalDate.of(2020, 7, 2);
+
+	// "LADW", "Ladder" and "Werner" in a record with its header
+	private static final int LADDER_RECORD_BYTES = 8 + AgreementCodec.FIXED_BYTES + 2 + 4 + 2 + 6 + 2 + 6;
+
+	@TempDir
+	Path directory;
+
+	private final RentalService rentalService = new RentalService();
+
+	@Test
+	public void testAppendAndGet() throws IOException {
+		try (AgreementStore store = new AgreementStore(directory)) {
+			RentalAgreement agreement = rentalService.checkout("CHNS", 5, 25, CHECK_OUT_DATE);
+
+			long id = store.append(agreement);
+
+			assertEquals(1, id);
+			assertAgreementEquals(agreement, store.get(id));
+			assertNull(store.get(2));
+			assertNull(store.get(0));
+		}
+	}
+
+	@Test
+	public void testFindByCheckOutDate() throws IOException {
+		try (AgreementStore store = new AgreementStore(directory)) {
+			for (int day = 0; day < 10; day++) {
+				store.append(rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE.plusDays(day % 5)));
+			}
+
+			List<RentalAgreement> firstDay = store.findByCheckOutDate(CHECK_OUT_DATE);
+			assertEquals(2, firstDay.size());
+			assertEquals(CHECK_OUT_DATE, firstDay.get(0).getCheckOutDate());
+			assertEquals(6, store.findByCheckOutDate(CHECK_OUT_DATE.plusDays(1), CHECK_OUT_DATE.plusDays(3)).size());
+			assertTrue(store.findByCheckOutDate(CHECK_OUT_DATE.plusDays(5)).isEmpty());
+			assertTrue(store.findByCheckOutDate(CHECK_OUT_DATE.plusDays(3), CHECK_OUT_DATE).isEmpty());
+		}
+	}
+
+	@Test
+	public void testReopenReplaysAcrossSegments() throws IOException {
+		List<RentalAgreement> appended = new ArrayList<>();
+		try (AgreementStore store = new AgreementStore(directory, 4096, 10, TimeUnit.MILLISECONDS)) {
+			for (int i = 0; i < 500; i++) {
+				RentalAgreement agreement = rentalService.checkout(i % 2 == 0 ? "JAKR" : "LADW", 1 + i % 30, i % 101,
+						CHECK_OUT_DATE.plusDays(i));
+				store.append(agreement);
+				appended.add(agreement);
+			}
+		}
+		assertTrue(segmentFiles().size() > 1);
+
+		try (AgreementStore store = new AgreementStore(directory, 4096, 10, TimeUnit.MILLISECONDS)) {
+			assertEquals(500, store.size());
+			for (int i = 0; i < appended.size(); i++) {
+				assertAgreementEquals(appended.get(i), store.get(i + 1));
+			}
+			assertEquals(501, store.append(appended.get(0)));
+		}
+	}
+
+	@Test
+	public void testRecoversFromSegmentTruncatedMidRecord() throws IOException {
+		try (AgreementStore store = new AgreementStore(directory)) {
+			for (int i = 0; i < 20; i++) {
+				store.append(rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE.plusDays(i)));
+			}
+		}
+		Path segment = segmentFiles().get(0);
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.truncate(10L * LADDER_RECORD_BYTES + LADDER_RECORD_BYTES / 2);
+		}
+
+		try (AgreementStore store = new AgreementStore(directory)) {
+			assertEquals(10, store.size());
+			assertNull(store.get(11));
+			assertEquals(CHECK_OUT_DATE.plusDays(9), store.get(10).getCheckOutDate());
+			assertEquals(11, store.append(rentalService.checkout("JAKD", 4, 0, CHECK_OUT_DATE)));
+		}
+		try (AgreementStore store = new AgreementStore(directory)) {
+			assertEquals(11, store.size());
+			assertEquals("JAKD", store.get(11).getToolCode());
+		}
+	}
+
+	@Test
+	public void testCorruptRecordEndsReplay() throws IOException {
+		try (AgreementStore store = new AgreementStore(directory)) {
+			for (int i = 0; i < 5; i++) {
+				store.append(rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE));
+			}
+		}
+		try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+			long position = 3L * LADDER_RECORD_BYTES + 20;
+			file.seek(position);
+			int value = file.read();
+			file.seek(position);
+			file.write(value ^ 0xFF);
+		}
+
+		try (AgreementStore store = new AgreementStore(directory)) {
+			assertEquals(3, store.size());
+			assertEquals(3, store.findByCheckOutDate(CHECK_OUT_DATE).size());
+		}
+	}
+
+	@Test
+	public void testConcurrentAppendsAndSyncs() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try (AgreementStore store = new AgreementStore(directory, 1 << 16, 50, TimeUnit.MILLISECONDS)) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 1_000; i++) {
+						store.append(rentalService.checkout("CHNS", 5, 25, CHECK_OUT_DATE));
+						if (i % 100 == 0) {
+							store.sync();
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			store.sync();
+			assertEquals(4_000, store.size());
+			assertEquals(4_000, store.findByCheckOutDate(CHECK_OUT_DATE).size());
+		} finally {
+			executor.shutdown();
+		}
+		try (AgreementStore store = new AgreementStore(directory, 1 << 16, 50, TimeUnit.MILLISECONDS)) {
+			assertEquals(4_000, store.size());
+		}
+	}
+
+	@Test
+	public void testCheckoutListenerPersistsAgreements() throws IOException {
+		try (AgreementStore store = new AgreementStore(directory)) {
+			rentalService.addCheckoutListener(agreement -> {
+				try {
+					store.append(agreement);
+				} catch (IOException e) {
+					throw new AssertionError(e);
+				}
+			});
+
+			RentalAgreement agreement = rentalService.checkout("JAKR", 9, 0, CHECK_OUT_DATE);
+			rentalService.quote("JAKR", 9, 0, CHECK_OUT_DATE);
+
+			assertEquals(1, store.size());
+			assertAgreementEquals(agreement, store.get(1));
+		}
+	}
+
+	@Test
+	public void testInvalidAgreementsAndSettings() throws IOException {
+		assertThrows(IllegalArgumentException.class, () -> new AgreementStore(directory, 1024, 10, TimeUnit.MILLISECONDS));
+		try (AgreementStore store = new AgreementStore(directory)) {
+			RentalAgreement fractional = new RentalAgreement("LADW", "Ladder", "Werner", 3, CHECK_OUT_DATE,
+					CHECK_OUT_DATE.plusDays(3), new BigDecimal("1.999"), 2, BigDecimal.ONE, 0, BigDecimal.ZERO, BigDecimal.ONE);
+			assertThrows(IllegalArgumentException.class, () -> store.append(fractional));
+			assertEquals(0, store.size());
+		}
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static void assertAgreementEquals(RentalAgreement expected, RentalAgreement actual) {
+		assertEquals(expected.getToolCode(), actual.getToolCode());
+		assertEquals(expected.getToolType(), actual.getToolType());
+		assertEquals(expected.getBrand(), actual.getBrand());
+		assertEquals(expected.getRentalDays(), actual.getRentalDays());
+		assertEquals(expected.getCheckOutDate(), actual.getCheckOutDate());
+		assertEquals(expected.getDueDate(), actual.getDueDate());
+		assertEquals(expected.getDailyCharge(), actual.getDailyCharge());
+		assertEquals(expected.getChargeDays(), actual.getChargeDays());
+		assertEquals(expected.getPreDiscountCharge(), actual.getPreDiscountCharge());
+		assertEquals(expected.getDiscountPercent(), actual.getDiscountPercent());
+		assertEquals(expected.getDiscountAmount(), actual.getDiscountAmount());
+		assertEquals(expected.getFinalCharge(), actual.getFinalCharge());
+	}
+}
@@ -0,0 +1,246 @@
+package com.interview.test.pricing;
+
+import com.interview.test.calendar.HolidayCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChargeEvaluatorTest {
+
+	private final HolidayCalendar calendar = HolidayCalendar.defaultCalendar();
+
+	@Test
+	public void testStandardRules() {
+		// 07/02/20 through 07/05/20: Thu, Fri (observed holiday), Sat, Sun
+		long first = LocalDate.of(2020, 7, 2).toEpochDay();
+		long last = LocalDate.of(2020, 7, 5).toEpochDay();
+
+		Charge ladder = ChargeRules.standard(199, true, false, true).compile().evaluate(first, last, calendar);
+		assertEquals(2, ladder.getChargeDays());
+		assertEquals(398, ladder.getAmountCents());
+
+		Charge jackhammer = ChargeRules.standard(299, true, false, false).compile().evaluate(first, last, calendar);
+		assertEquals(1, jackhammer.getChargeDays());
+		assertEquals(299, jackhammer.getAmountCents());
+	}
+
+	@Test
+	public void testDayOfWeekRatesAndHolidayRate() {
+		ChargeRules rules = ChargeRules.builder()
+				.baseRateCents(100)
+				.dayOfWeekRatesCents(new long[]{100, 100, 100, 100, 150, 250, 0})
+				.holidayPolicy(HolidayPolicy.CHARGED)
+				.holidayRateCents(500)
+				.build();
+		// 07/01/20 through 07/07/20: Wed, Thu, Fri (holiday), Sat, Sun, Mon, Tue
+		Charge charge = rules.compile().evaluate(LocalDate.of(2020, 7, 1).toEpochDay(),
+				LocalDate.of(2020, 7, 7).toEpochDay(), calendar);
+
+		assertEquals(6, charge.getChargeDays());
+		assertEquals(100 + 100 + 500 + 250 + 100 + 100, charge.getAmountCents());
+	}
+
+	@Test
+	public void testSeasonalRateAcrossYearEnd() {
+		ChargeRules rules = ChargeRules.standard(200, true, true, true).toBuilder()
+				.seasonalRate(new SeasonalRate(MonthDay.of(12, 20), MonthDay.of(1, 5), 150))
+				.build();
+		// 12/18/20 through 01/07/21: 2 days at 200, 17 days at 300, 2 days at 200
+		Charge charge = rules.compile().evaluate(LocalDate.of(2020, 12, 18).toEpochDay(),
+				LocalDate.of(2021, 1, 7).toEpochDay(), calendar);
+
+		assertEquals(21, charge.getChargeDays());
+		assertEquals(4 * 200 + 17 * 300, charge.getAmountCents());
+	}
+
+	@Test
+	public void testMinimumChargeDays() {
+		ChargeRules rules = ChargeRules.standard(299, true, false, false).toBuilder().minimumChargeDays(3).build();
+		// 07/04/20 through 07/05/20: a weekend, nothing charged by day
+		Charge charge = rules.compile().evaluate(LocalDate.of(2020, 7, 4).toEpochDay(),
+				LocalDate.of(2020, 7, 5).toEpochDay(), calendar);
+
+		assertEquals(3, charge.getChargeDays());
+		assertEquals(897, charge.getAmountCents());
+	}
+
+	@Test
+	public void testChargeCapPerWindow() {
+		ChargeRules rules = ChargeRules.standard(100, true, true, true).toBuilder()
+				.capWindowDays(7)
+				.capAmountCents(500)
+				.build();
+		Charge charge = rules.compile().evaluate(LocalDate.of(2021, 3, 1).toEpochDay(),
+				LocalDate.of(2021, 3, 10).toEpochDay(), calendar);
+
+		assertEquals(10, charge.getChargeDays());
+		assertEquals(500 + 300, charge.getAmountCents());
+	}
+
+	@Test
+	public void testInvalidRules() {
+		assertThrows(IllegalArgumentException.class, () -> ChargeRules.builder().dayOfWeekRatesCents(new long[6]).build());
+		assertThrows(IllegalArgumentException.class, () -> ChargeRules.builder()
+				.dayOfWeekRatesCents(new long[]{1, 1, 1, 1, 1, -1, 1}).build());
+		assertThrows(IllegalArgumentException.class, () -> ChargeRules.standard(100, true, true, true).toBuilder()
+				.seasonalRate(new SeasonalRate(MonthDay.of(6, 1), MonthDay.of(8, 31), 120))
+				.seasonalRate(new SeasonalRate(MonthDay.of(8, 31), MonthDay.of(9, 30), 80))
+				.build().compile());
+	}
+
+	@Test
+	public void testMatchesDayByDayPricingForRandomRules() {
+		Random random = new Random(1234);
+		for (int i = 0; i < 2_000; i++) {
+			ChargeRules rules = randomRules(random);
+			ChargeEvaluator evaluator = rules.compile();
+			long first = LocalDate.of(2010, 1, 1).toEpochDay() + random.nextInt(5_000);
+			long last = first + random.nextInt(random.nextBoolean() ? 20 : 800);
+
+			Charge expected = priceDayByDay(rules, first, last);
+			Charge actual = evaluator.evaluate(first, last, calendar);
+			String message = LocalDate.ofEpochDay(first) + ".." + LocalDate.ofEpochDay(last) + " rules #" + i;
+			assertEquals(expected.getChargeDays(), actual.getChargeDays(), message);
+			assertEquals(expected.getAmountCents(), actual.getAmountCents(), message);
+		}
+	}
+
+	@Test
+	public void testGridMatchesEvaluate() {
+		Random random = new Random(20);
+		for (int i = 0; i < 50; i++) {
+			ChargeEvaluator evaluator = randomRules(random).compile();
+			long firstCheckOut = LocalDate.of(2019, 1, 1).toEpochDay() + random.nextInt(1500);
+			int dateCount = 1 + random.nextInt(60);
+			int maxRentalDays = 1 + random.nextInt(90);
+			int[] chargeDays = new int[dateCount * maxRentalDays];
+			long[] amountCents = new long[dateCount * maxRentalDays];
+
+			evaluator.evaluateGrid(firstCheckOut, dateCount, maxRentalDays, calendar, chargeDays, amountCents);
+
+			for (int date = 0; date < dateCount; date++) {
+				for (int rentalDays = 1; rentalDays <= maxRentalDays; rentalDays++) {
+					long checkOut = firstCheckOut + date;
+					Charge expected = evaluator.evaluate(checkOut + 1, checkOut + rentalDays, calendar);
+					int cell = date * maxRentalDays + rentalDays - 1;
+					String message = LocalDate.ofEpochDay(checkOut) + " for " + rentalDays + " days, rules #" + i;
+					assertEquals(expected.getChargeDays(), chargeDays[cell], message);
+					assertEquals(expected.getAmountCents(), amountCents[cell], message);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSharedDateRangeFactsMatchEvaluate() {
+		// 07/01/20 through 07/07/20: Wed, Thu, Fri (holiday), Sat, Sun, Mon, Tue
+		DateRangeFacts week = new DateRangeFacts(LocalDate.of(2020, 7, 1).toEpochDay(),
+				LocalDate.of(2020, 7, 7).toEpochDay(), calendar);
+		assertEquals(4, week.getWeekdayCount());
+		assertEquals(2, week.getWeekendCount());
+		assertEquals(1, week.getHolidayCount());
+		assertEquals(1, week.getHolidays(4));
+
+		DateRangeFactsCache cache = new DateRangeFactsCache(1);
+		for (int length = 0; length < 100; length++) {
+			assertEquals(length + 1, cache.get(week.getFirstDay(), week.getFirstDay() + length, calendar).getWeekdayCount()
+					+ cache.get(week.getFirstDay(), week.getFirstDay() + length, calendar).getWeekendCount()
+					+ cache.get(week.getFirstDay(), week.getFirstDay() + length, calendar).getHolidayCount());
+		}
+		assertEquals(100, cache.size());
+		assertSame(cache.get(week.getFirstDay(), week.getLastDay(), calendar),
+				cache.get(week.getFirstDay(), week.getLastDay(), calendar));
+
+		Random random = new Random(24);
+		for (int i = 0; i < 200; i++) {
+			long first = LocalDate.of(2010, 1, 1).toEpochDay() + random.nextInt(5_000);
+			DateRangeFacts facts = new DateRangeFacts(first, first + random.nextInt(400), calendar);
+			for (int j = 0; j < 10; j++) {
+				ChargeEvaluator evaluator = randomRules(random).compile();
+				Charge expected = evaluator.evaluate(facts.getFirstDay(), facts.getLastDay(), calendar);
+				Charge actual = evaluator.evaluate(facts);
+				String message = LocalDate.ofEpochDay(first) + " range #" + i + " rules #" + j;
+				assertEquals(expected.getChargeDays(), actual.getChargeDays(), message);
+				assertEquals(expected.getAmountCents(), actual.getAmountCents(), message);
+			}
+		}
+	}
+
+	private static ChargeRules randomRules(Random random) {
+		long[] rates = new long[7];
+		for (int i = 0; i < 7; i++) {
+			rates[i] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(999);
+		}
+		ChargeRules.ChargeRulesBuilder builder = ChargeRules.builder()
+				.baseRateCents(1 + random.nextInt(999))
+				.dayOfWeekRatesCents(rates)
+				.holidayPolicy(random.nextBoolean() ? HolidayPolicy.CHARGED : HolidayPolicy.FREE)
+				.holidayRateCents(random.nextInt(999))
+				.minimumChargeDays(random.nextInt(4) == 0 ? random.nextInt(10) : 0);
+		if (random.nextBoolean()) {
+			// Two seasons that never overlap: one in the first half of the year, one wrapping the year end
+			builder.seasonalRate(new SeasonalRate(MonthDay.of(3 + random.nextInt(3), 1 + random.nextInt(28)),
+					MonthDay.of(6 + random.nextInt(2), 1 + random.nextInt(28)), 50 + random.nextInt(100)));
+			if (random.nextBoolean()) {
+				builder.seasonalRate(new SeasonalRate(MonthDay.of(10 + random.nextInt(3), 1 + random.nextInt(28)),
+						MonthDay.of(1 + random.nextInt(2), 1 + random.nextInt(28)), 50 + random.nextInt(100)));
+			}
+		}
+		if (random.nextInt(3) == 0) {
+			builder.capWindowDays(1 + random.nextInt(30)).capAmountCents(random.nextInt(10_000));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Prices a period one day at a time, the way the rules read.
+	 */
+	private Charge priceDayByDay(ChargeRules rules, long first, long last) {
+		long[] rates = rules.getDayOfWeekRatesCents();
+		int window = rules.getCapWindowDays() == 0 ? Integer.MAX_VALUE : rules.getCapWindowDays();
+		int days = 0;
+		long cents = 0;
+		long windowCents = 0;
+		int windowLength = 0;
+		for (long day = first; day <= last; day++) {
+			LocalDate date = LocalDate.ofEpochDay(day);
+			int percent = seasonPercent(rules, MonthDay.from(date));
+			long rate = (rates[date.getDayOfWeek().getValue() - 1] * percent + 99) / 100;
+			if (calendar.isHoliday(day)) {
+				if (rules.getHolidayPolicy() == HolidayPolicy.CHARGED) {
+					days++;
+					windowCents += (rules.getHolidayRateCents() * percent + 99) / 100;
+				}
+			} else if (rate > 0) {
+				days++;
+				windowCents += rate;
+			}
+			if (++windowLength == window || day == last) {
+				cents += Math.min(windowCents, rules.getCapWindowDays() == 0 ? Long.MAX_VALUE : rules.getCapAmountCents());
+				windowCents = 0;
+				windowLength = 0;
+			}
+		}
+		if (days < rules.getMinimumChargeDays()) {
+			cents += (rules.getMinimumChargeDays() - days) * rules.getBaseRateCents();
+			days = rules.getMinimumChargeDays();
+		}
+		return new Charge(days, cents);
+	}
+
+	private static int seasonPercent(ChargeRules rules, MonthDay date) {
+		for (SeasonalRate season : rules.getSeasonalRates()) {
+			boolean inSeason = season.getTo().isBefore(season.getFrom())
+					? !date.isBefore(season.getFrom()) || !date.isAfter(season.getTo())
+					: !date.isBefore(season.getFrom()) && !date.isAfter(season.getTo());
+			if (inSeason) {
+				return season.getRatePercent();
+			}
+		}
+		return 100;
+	}
+}
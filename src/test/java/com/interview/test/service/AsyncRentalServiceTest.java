@@ -0,0 +1,207 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.ToolCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncRentalServiceTest {
+
+	private static final LocalDate CHECK_OUT_DATE = LocalDate.of(2020, 7, 2);
+
+	private final RentalService rentalService = new RentalService();
+	private final CountDownLatch gate = new CountDownLatch(1);
+	private AsyncRentalService async;
+
+	@AfterEach
+	public void tearDown() throws InterruptedException {
+		gate.countDown();
+		if (async != null) {
+			async.close();
+		}
+	}
+
+	@Test
+	public void testCheckoutAndQuote() throws Exception {
+		async = new AsyncRentalService(rentalService, 2, 16, BackpressurePolicy.REJECT);
+
+		RentalAgreement agreement = async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE).get(5, TimeUnit.SECONDS);
+		RentalAgreement quote = async.quoteAsync("LADW", 3, 10, CHECK_OUT_DATE).get(5, TimeUnit.SECONDS);
+		RentalAgreement atStore = async.checkoutAsync(new RentalRequest("CHNS", 5, 25, LocalDate.of(2015, 7, 2)))
+				.get(5, TimeUnit.SECONDS);
+
+		assertEquals(rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE).getFinalCharge(), agreement.getFinalCharge());
+		assertEquals(agreement.getFinalCharge(), quote.getFinalCharge());
+		assertEquals("CHNS", atStore.getToolCode());
+	}
+
+	@Test
+	public void testValidationFailureCompletesExceptionally() {
+		async = new AsyncRentalService(rentalService, 1, 16, BackpressurePolicy.CALLER_RUNS);
+
+		CompletableFuture<RentalAgreement> future = async.checkoutAsync("LADW", 0, 10, CHECK_OUT_DATE);
+
+		ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+		assertEquals("Rental day count must be 1 or greater.", exception.getCause().getMessage());
+		assertTrue(async.quoteAsync("NONE", 1, 0, CHECK_OUT_DATE).handle((quote, e) -> e instanceof IllegalArgumentException).join());
+	}
+
+	@Test
+	public void testStageRunsOnTheCheckoutThread() throws Exception {
+		async = new AsyncRentalService(rentalService, 1, 16, BackpressurePolicy.REJECT);
+		List<String> threads = new ArrayList<>();
+		rentalService.addCheckoutListener(agreement -> threads.add(Thread.currentThread().getName()));
+
+		String stageThread = async.checkoutAsync("JAKR", 4, 50, CHECK_OUT_DATE, agreement -> Thread.currentThread().getName())
+				.get(5, TimeUnit.SECONDS);
+
+		assertEquals(List.of(stageThread), threads);
+		assertTrue(stageThread.startsWith("rental-async-"));
+		ExecutionException exception = assertThrows(ExecutionException.class,
+				() -> async.checkoutAsync("JAKR", 4, 50, CHECK_OUT_DATE, agreement -> {
+					throw new IllegalStateException("stage failed");
+				}).get(5, TimeUnit.SECONDS));
+		assertEquals("stage failed", exception.getCause().getMessage());
+	}
+
+	@Test
+	public void testFailedStageReleasesTheUnit() throws Exception {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", 1);
+		RentalService service = new RentalService(ToolCatalog.getDefault(), HolidayCalendar.defaultCalendar(), inventory);
+		async = new AsyncRentalService(service, 1, 16, BackpressurePolicy.REJECT);
+
+		ExecutionException exception = assertThrows(ExecutionException.class,
+				() -> async.checkoutAsync(new RentalRequest("LADW", 3, 10, CHECK_OUT_DATE), agreement -> {
+					throw new IllegalStateException("store unavailable");
+				}).get(5, TimeUnit.SECONDS));
+
+		assertEquals("store unavailable", exception.getCause().getMessage());
+		assertEquals(1, inventory.countAvailable("LADW", CHECK_OUT_DATE, CHECK_OUT_DATE.plusDays(3)));
+		assertNotNull(async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE, RentalAgreement::getReservation)
+				.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCancelledCheckoutReleasesTheUnit() throws Exception {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", 1);
+		RentalService service = new RentalService(ToolCatalog.getDefault(), HolidayCalendar.defaultCalendar(), inventory);
+		CountDownLatch checkingOut = new CountDownLatch(1);
+		service.addCheckoutListener(agreement -> {
+			checkingOut.countDown();
+			awaitGate();
+		});
+		async = new AsyncRentalService(service, 1, 16, BackpressurePolicy.REJECT);
+
+		CompletableFuture<RentalAgreement> future = async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE);
+		assertTrue(checkingOut.await(5, TimeUnit.SECONDS));
+		future.cancel(false);
+		gate.countDown();
+		// The single worker runs this only after the cancelled checkout has finished
+		async.submit(() -> null).get(5, TimeUnit.SECONDS);
+
+		assertEquals(1, inventory.countAvailable("LADW", CHECK_OUT_DATE, CHECK_OUT_DATE.plusDays(3)));
+	}
+
+	@Test
+	public void testRejectWhenQueueIsFull() throws Exception {
+		async = new AsyncRentalService(rentalService, 1, 1, BackpressurePolicy.REJECT);
+		CompletableFuture<Boolean> blocker = occupyWorker();
+		CompletableFuture<RentalAgreement> queued = async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE);
+		waitUntilQueued(1);
+
+		CompletableFuture<RentalAgreement> rejected = async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE);
+
+		ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+		gate.countDown();
+		assertTrue(blocker.get(5, TimeUnit.SECONDS));
+		assertNotNull(queued.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCallerRunsWhenQueueIsFull() throws Exception {
+		async = new AsyncRentalService(rentalService, 1, 1, BackpressurePolicy.CALLER_RUNS);
+		occupyWorker();
+		async.submit(this::awaitGate);
+		waitUntilQueued(1);
+
+		String thread = async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE, agreement -> Thread.currentThread().getName())
+				.get(5, TimeUnit.SECONDS);
+
+		assertEquals(Thread.currentThread().getName(), thread);
+	}
+
+	@Test
+	public void testBlockWaitsForQueueSpace() throws Exception {
+		async = new AsyncRentalService(rentalService, 1, 1, BackpressurePolicy.BLOCK);
+		occupyWorker();
+		async.submit(this::awaitGate);
+		waitUntilQueued(1);
+
+		CompletableFuture<CompletableFuture<RentalAgreement>> submission = CompletableFuture.supplyAsync(
+				() -> async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE));
+		Thread.sleep(100);
+		assertFalse(submission.isDone());
+
+		gate.countDown();
+		assertNotNull(submission.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testClosedServiceRejects() throws Exception {
+		async = new AsyncRentalService(rentalService, 1, 4, BackpressurePolicy.BLOCK);
+		async.close();
+
+		CompletableFuture<RentalAgreement> future = async.checkoutAsync("LADW", 3, 10, CHECK_OUT_DATE);
+
+		assertTrue(future.isCompletedExceptionally());
+		assertThrows(IllegalArgumentException.class, () -> new AsyncRentalService(rentalService, 0, 4, BackpressurePolicy.REJECT));
+	}
+
+	/**
+	 * Submits a task that holds the only worker until the gate opens, and waits until it has started.
+	 */
+	private CompletableFuture<Boolean> occupyWorker() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CompletableFuture<Boolean> blocker = async.submit(() -> {
+			started.countDown();
+			return awaitGate();
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		return blocker;
+	}
+
+	private boolean awaitGate() {
+		try {
+			return gate.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void waitUntilQueued(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (async.getQueuedCount() < count && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(count, async.getQueuedCount());
+	}
+}
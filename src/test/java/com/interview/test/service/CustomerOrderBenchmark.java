@@ -0,0 +1,78 @@
+package com.interview.test.service;
+
+import com.interview.test.customer.CustomerProfile;
+import com.interview.test.customer.CustomerProfiles;
+import com.interview.test.customer.DiscountTier;
+import com.interview.test.objects.CheckoutResult;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.ToolCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for pricing a contract customer's order against the same lines quoted one by one. Run with
+ * {@code mvn -Pbenchmark test}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerOrderBenchmark {
+
+	private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+
+	@Param({"500"})
+	private int lineCount;
+
+	private RentalService rentalService;
+	private CustomerProfiles profiles;
+	private List<RentalRequest> lines;
+
+	@Setup
+	public void setup() {
+		rentalService = new RentalService();
+		profiles = new CustomerProfiles(ToolCatalog.getDefault());
+		profiles.put(CustomerProfile.builder()
+				.customerId("ACME")
+				.baseDiscountPercent(5)
+				.toolTypeDiscount("Jackhammer", 15)
+				.volumeTier(new DiscountTier(50, 10))
+				.volumeTier(new DiscountTier(250, 12))
+				.rentalDayTier(new DiscountTier(7, 8))
+				.rentalDayTier(new DiscountTier(30, 20))
+				.build());
+		SplittableRandom random = new SplittableRandom(23);
+		lines = new ArrayList<>();
+		for (int i = 0; i < lineCount; i++) {
+			lines.add(new RentalRequest(TOOL_CODES[random.nextInt(TOOL_CODES.length)], 1 + random.nextInt(30), 0,
+					LocalDate.of(2020, 1, 1).plusDays(random.nextInt(365))));
+		}
+	}
+
+	/**
+	 * Resolves the customer's cached pricing and prices every line of the order.
+	 */
+	@Benchmark
+	public List<CheckoutResult> quoteOrder() {
+		return rentalService.quoteOrder(profiles.resolve("ACME"), lines);
+	}
+
+	/**
+	 * Quotes the same lines one by one at a fixed discount, the cost the order should match.
+	 */
+	@Benchmark
+	public long plainQuotes() {
+		long total = 0;
+		for (RentalRequest line : lines) {
+			total += rentalService.quote(line.getToolCode(), line.getRentalDays(), 10, line.getCheckOutDate()).getFinalChargeCents();
+		}
+		return total;
+	}
+}
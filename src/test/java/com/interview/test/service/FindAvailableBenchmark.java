@@ -0,0 +1,70 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.objects.AvailableUnits;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for searching a fleet for free units of a tool type. Run with {@code mvn -Pbenchmark test}.
+ * <p>
+ * The fleet has 50 jackhammer models with 400 units each, 20,000 units in all, booked with about two million
+ * reservations spread over five years.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class FindAvailableBenchmark {
+
+	private static final int MODELS = 50;
+	private static final int UNITS_PER_MODEL = 400;
+	private static final int RESERVATIONS = 2_000_000;
+	private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+	@Param({"1", "7", "30"})
+	private int rentalDays;
+
+	private RentalService rentalService;
+	private LocalDate checkOut;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(21);
+		List<Tool> tools = new ArrayList<>();
+		Inventory inventory = new Inventory();
+		for (int i = 0; i < MODELS; i++) {
+			String toolCode = String.format("JK%02d", i);
+			tools.add(new Tool(toolCode, "Jackhammer", "Brand" + i % 5, new BigDecimal("2.99").add(BigDecimal.valueOf(i, 2)),
+					true, i % 2 == 0, false));
+			inventory.addUnits(toolCode, UNITS_PER_MODEL);
+		}
+		for (int i = 0; i < RESERVATIONS; i++) {
+			LocalDate from = START.plusDays(random.nextInt(5 * 365));
+			inventory.reserve(tools.get(random.nextInt(MODELS)).getToolCode(), from, from.plusDays(1 + random.nextInt(3)));
+		}
+		rentalService = new RentalService(new ToolCatalog(tools), HolidayCalendar.defaultCalendar(), inventory);
+		checkOut = START.plusDays(2 * 365 + 180);
+	}
+
+	@Benchmark
+	public List<AvailableUnits> anyBrand() {
+		return rentalService.findAvailable("Jackhammer", null, rentalDays, 10, checkOut);
+	}
+
+	@Benchmark
+	public List<AvailableUnits> oneBrand() {
+		return rentalService.findAvailable("Jackhammer", "Brand3", rentalDays, 10, checkOut);
+	}
+}
@@ -0,0 +1,64 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.OrderAgreement;
+import com.interview.test.objects.RentalRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for checking out an order of many tools against checking out each line on its own. Run with
+ * {@code mvn -Pbenchmark test}.
+ * <p>
+ * The order has 40 lines over the four default tools, spread over a number of distinct rental periods that all start
+ * around July 4.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderCheckoutBenchmark {
+
+	private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+	private static final int LINES = 40;
+
+	@Param({"1", "4", "40"})
+	private int distinctRanges;
+
+	@Param({"7", "365"})
+	private int rentalDays;
+
+	private RentalService rentalService;
+	private List<RentalRequest> lines;
+
+	@Setup
+	public void setup() {
+		rentalService = new RentalService();
+		lines = new ArrayList<>();
+		for (int i = 0; i < LINES; i++) {
+			int range = i % distinctRanges;
+			lines.add(new RentalRequest(TOOL_CODES[i % TOOL_CODES.length], rentalDays + range / 8, 10,
+					LocalDate.of(2020, 7, 1).plusDays(range % 8)));
+		}
+	}
+
+	@Benchmark
+	public OrderAgreement checkoutOrder() {
+		return rentalService.checkoutOrder(lines);
+	}
+
+	@Benchmark
+	public long independentCheckouts() {
+		long total = 0;
+		for (RentalRequest line : lines) {
+			total += rentalService.checkout(line.getToolCode(), line.getRentalDays(), line.getDiscountPercent(),
+					line.getCheckOutDate()).getFinalChargeCents();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,136 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteCacheTest {
+
+	private static final LocalDate CHECK_OUT_DATE = LocalDate.of(2020, 7, 2);
+
+	private final AtomicLong nanoTime = new AtomicLong();
+	private QuoteCache quoteCache;
+
+	@BeforeEach
+	public void setup() {
+		quoteCache = new QuoteCache(new RentalService(), 4, 1, TimeUnit.MINUTES, nanoTime::get);
+	}
+
+	@Test
+	public void testRepeatedQuoteServedFromCache() {
+		RentalAgreement first = quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE);
+		RentalAgreement second = quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE);
+
+		assertSame(first, second);
+		assertEquals(3.59, second.getFinalCharge().doubleValue(), 0.001);
+		assertEquals(1, quoteCache.getHitCount());
+		assertEquals(1, quoteCache.getMissCount());
+	}
+
+	@Test
+	public void testDifferentParametersAreDifferentQuotes() {
+		RentalAgreement first = quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE);
+
+		assertNotSame(first, quoteCache.quote("LADW", 3, 20, CHECK_OUT_DATE));
+		assertNotSame(first, quoteCache.quote("LADW", 4, 10, CHECK_OUT_DATE));
+		assertNotSame(first, quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE.plusDays(1)));
+		assertEquals(0, quoteCache.getHitCount());
+		assertEquals(4, quoteCache.getMissCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedQuoteEvicted() {
+		QuoteCache singleSegment = new QuoteCache(new RentalService(), 1, 1, TimeUnit.MINUTES, nanoTime::get);
+		RentalAgreement first = singleSegment.quote("LADW", 3, 10, CHECK_OUT_DATE);
+		singleSegment.quote("CHNS", 3, 10, CHECK_OUT_DATE);
+
+		assertEquals(1, singleSegment.size());
+		assertEquals(1, singleSegment.getEvictionCount());
+		assertNotSame(first, singleSegment.quote("LADW", 3, 10, CHECK_OUT_DATE));
+	}
+
+	@Test
+	public void testExpiredQuoteRecomputed() {
+		RentalAgreement first = quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE);
+		nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(59));
+		assertSame(first, quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE));
+
+		nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertNotSame(first, quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE));
+		assertEquals(1, quoteCache.getEvictionCount());
+	}
+
+	@Test
+	public void testInvalidateAll() {
+		RentalAgreement first = quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE);
+		quoteCache.invalidateAll();
+
+		assertEquals(0, quoteCache.size());
+		assertNotSame(first, quoteCache.quote("LADW", 3, 10, CHECK_OUT_DATE));
+	}
+
+	@Test
+	public void testPriceChangeInvalidatesQuote() {
+		ToolCatalog catalog = new ToolCatalog(Collections.singletonList(
+				new Tool("LADW", "Ladder", "Werner", new BigDecimal("1.99"), true, true, false)));
+		QuoteCache cache = new QuoteCache(new RentalService(catalog, HolidayCalendar.defaultCalendar()), 4, 1,
+				TimeUnit.MINUTES, nanoTime::get);
+		RentalAgreement first = cache.quote("LADW", 3, 10, CHECK_OUT_DATE);
+
+		catalog.replace(Collections.singletonList(
+				new Tool("LADW", "Ladder", "Werner", new BigDecimal("2.49"), true, true, false)));
+		RentalAgreement repriced = cache.quote("LADW", 3, 10, CHECK_OUT_DATE);
+
+		assertNotSame(first, repriced);
+		assertEquals(new BigDecimal("4.98"), repriced.getPreDiscountCharge());
+		assertSame(repriced, cache.quote("LADW", 3, 10, CHECK_OUT_DATE));
+	}
+
+	@Test
+	public void testRejectedQuoteNotCached() {
+		assertThrows(IllegalArgumentException.class, () -> quoteCache.quote("XXXX", 3, 10, CHECK_OUT_DATE));
+		assertThrows(IllegalArgumentException.class, () -> quoteCache.quote(null, 3, 10, CHECK_OUT_DATE));
+		assertEquals(0, quoteCache.size());
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		QuoteCache shared = new QuoteCache(new RentalService(), 64, 1, TimeUnit.MINUTES);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						int rentalDays = 1 + i % 100;
+						RentalAgreement agreement = shared.quote("JAKR", rentalDays, 0, CHECK_OUT_DATE);
+						assertEquals(rentalDays, agreement.getRentalDays());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(80_000, shared.getHitCount() + shared.getMissCount());
+		assertTrue(shared.size() <= 64);
+	}
+}
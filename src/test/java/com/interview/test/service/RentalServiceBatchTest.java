@@ -0,0 +1,83 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.CheckoutResult;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalServiceBatchTest {
+
+	private final RentalService rentalService = new RentalService();
+
+	@Test
+	public void testInvalidRowsReturnedAsResults() {
+		List<RentalRequest> requests = Arrays.asList(
+				new RentalRequest("JAKR", 5, 101, LocalDate.of(2015, 9, 3)),
+				new RentalRequest("LADW", 3, 10, LocalDate.of(2020, 7, 2)),
+				new RentalRequest("XXXX", 3, 10, LocalDate.of(2020, 7, 2)),
+				new RentalRequest("CHNS", 0, 10, LocalDate.of(2020, 7, 2)));
+
+		List<CheckoutResult> results = rentalService.checkoutAll(requests);
+
+		assertEquals(4, results.size());
+		assertFalse(results.get(0).isSuccess());
+		assertEquals("Discount percent must be between 0 and 100.", results.get(0).getError().getMessage());
+		assertTrue(results.get(1).isSuccess());
+		assertEquals(2, results.get(1).getAgreement().getChargeDays());
+		assertEquals("Invalid tool code.", results.get(2).getError().getMessage());
+		assertEquals("Rental day count must be 1 or greater.", results.get(3).getError().getMessage());
+		for (int i = 0; i < requests.size(); i++) {
+			assertSame(requests.get(i), results.get(i).getRequest());
+		}
+	}
+
+	@Test
+	public void testLargeBatchMatchesSingleCheckoutsInOrder() {
+		String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR", "NONE"};
+		Random random = new Random(42);
+		List<RentalRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) {
+			requests.add(new RentalRequest(toolCodes[random.nextInt(toolCodes.length)], random.nextInt(40) - 2,
+					random.nextInt(110), LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000))));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<CheckoutResult> results = rentalService.checkoutAll(requests.stream(), executor);
+
+			assertEquals(requests.size(), results.size());
+			for (int i = 0; i < requests.size(); i++) {
+				RentalRequest request = requests.get(i);
+				CheckoutResult result = results.get(i);
+				assertSame(request, result.getRequest());
+				try {
+					RentalAgreement expected = rentalService.checkout(request.getToolCode(), request.getRentalDays(),
+							request.getDiscountPercent(), request.getCheckOutDate());
+					assertTrue(result.isSuccess());
+					assertEquals(expected.getChargeDays(), result.getAgreement().getChargeDays());
+					assertEquals(expected.getFinalCharge(), result.getAgreement().getFinalCharge());
+				} catch (IllegalArgumentException e) {
+					assertEquals(e.getMessage(), result.getError().getMessage());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testEmptyBatch() {
+		assertTrue(rentalService.checkoutAll(Collections.<RentalRequest>emptyList()).isEmpty());
+	}
+}
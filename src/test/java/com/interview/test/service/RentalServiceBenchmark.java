@@ -0,0 +1,79 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.QuoteMatrix;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.Tool;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the checkout path. Run with {@code mvn -Pbenchmark test}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalServiceBenchmark {
+
+	@Param({"CHNS", "LADW", "JAKD", "JAKR"})
+	private String toolCode;
+
+	@Param({"1", "7", "30", "365", "3650"})
+	private int rentalDays;
+
+	/**
+	 * Checkout dates just before July 4, just before Labor Day, and on a July 4 that is observed on a Monday.
+	 */
+	@Param({"2015-07-02", "2020-08-30", "2021-07-04"})
+	private String checkOutDate;
+
+	private RentalService rentalService;
+	private Tool tool;
+	private LocalDate checkOut;
+	private LocalDate dueDate;
+
+	@Setup
+	public void setup() {
+		rentalService = new RentalService();
+		tool = Tool.getToolByCode(toolCode);
+		checkOut = LocalDate.parse(checkOutDate);
+		dueDate = checkOut.plusDays(rentalDays);
+	}
+
+	@Benchmark
+	public RentalAgreement checkout() {
+		return rentalService.checkout(toolCode, rentalDays, 10, checkOut);
+	}
+
+	@Benchmark
+	public int calculateChargeDays() {
+		return rentalService.calculateChargeDays(tool, checkOut, dueDate);
+	}
+
+	/**
+	 * Prices a year of checkout dates for every length up to the benchmark's rental days in one call.
+	 */
+	@Benchmark
+	public QuoteMatrix quoteMatrixForAYear() {
+		return rentalService.quoteMatrix(toolCode, checkOut, 365, rentalDays, 10);
+	}
+
+	/**
+	 * Prices the same year of checkout dates and lengths with one quote per cell.
+	 */
+	@Benchmark
+	public long quotesForAYear() {
+		long total = 0;
+		for (int date = 0; date < 365; date++) {
+			LocalDate start = checkOut.plusDays(date);
+			for (int days = 1; days <= rentalDays; days++) {
+				total += rentalService.quote(toolCode, days, 10, start).getFinalChargeCents();
+			}
+		}
+		return total;
+	}
+}
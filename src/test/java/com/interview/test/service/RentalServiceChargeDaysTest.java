@@ -0,0 +1,106 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.Tool;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test comparing the closed-form charge day calculation with the original day-by-day loop.
+ */
+public class RentalServiceChargeDaysTest {
+
+	private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+	private static final long FIRST_EPOCH_DAY = LocalDate.of(1990, 1, 1).toEpochDay();
+	private static final int EPOCH_DAY_RANGE = (int) (LocalDate.of(2060, 12, 31).toEpochDay() - FIRST_EPOCH_DAY);
+
+	private final RentalService rentalService = new RentalService();
+
+	@Test
+	public void testMatchesDayByDayLoopForShortRentals() {
+		Random random = new Random(20240701L);
+		for (int i = 0; i < 2_000_000; i++) {
+			assertSameChargeDays(random, 1 + random.nextInt(45));
+		}
+	}
+
+	@Test
+	public void testMatchesDayByDayLoopForLongRentals() {
+		Random random = new Random(20240902L);
+		for (int i = 0; i < 20_000; i++) {
+			assertSameChargeDays(random, 1 + random.nextInt(3650));
+		}
+	}
+
+	@Test
+	public void testMatchesDayByDayLoopAroundHolidays() {
+		for (int year = 2014; year <= 2030; year++) {
+			for (String toolCode : TOOL_CODES) {
+				Tool tool = Tool.getToolByCode(toolCode);
+				LocalDate start = LocalDate.of(year, Month.JUNE, 20);
+				for (int offset = 0; offset < 90; offset++) {
+					for (int rentalDays = 1; rentalDays <= 14; rentalDays++) {
+						LocalDate checkOutDate = start.plusDays(offset);
+						LocalDate dueDate = checkOutDate.plusDays(rentalDays);
+						assertEquals(loopChargeDays(tool, checkOutDate, dueDate),
+								rentalService.calculateChargeDays(tool, checkOutDate, dueDate),
+								toolCode + " " + checkOutDate + " " + rentalDays);
+					}
+				}
+			}
+		}
+	}
+
+	private void assertSameChargeDays(Random random, int rentalDays) {
+		Tool tool = Tool.getToolByCode(TOOL_CODES[random.nextInt(TOOL_CODES.length)]);
+		LocalDate checkOutDate = LocalDate.ofEpochDay(FIRST_EPOCH_DAY + random.nextInt(EPOCH_DAY_RANGE));
+		LocalDate dueDate = checkOutDate.plusDays(rentalDays);
+		int expected = loopChargeDays(tool, checkOutDate, dueDate);
+		int actual = rentalService.calculateChargeDays(tool, checkOutDate, dueDate);
+		if (expected != actual) {
+			assertEquals(expected, actual, tool.getToolCode() + " " + checkOutDate + " " + rentalDays);
+		}
+	}
+
+	/**
+	 * The original day-by-day charge day calculation, kept as the reference implementation.
+	 */
+	private static int loopChargeDays(Tool tool, LocalDate checkOutDate, LocalDate dueDate) {
+		int chargeDays = 0;
+		LocalDate date = checkOutDate.plusDays(1);
+		while (!date.isAfter(dueDate)) {
+			DayOfWeek dayOfWeek = date.getDayOfWeek();
+			boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+			boolean holiday = isHoliday(date);
+			if (tool.isWeekdayCharge() && !weekend ||
+					tool.isWeekendCharge() && weekend ||
+					tool.isHolidayCharge() && holiday) {
+				chargeDays++;
+			}
+			if (!tool.isHolidayCharge() && holiday) {
+				chargeDays--;
+			}
+			date = date.plusDays(1);
+		}
+		return chargeDays;
+	}
+
+	private static boolean isHoliday(LocalDate date) {
+		LocalDate july4th = LocalDate.of(date.getYear(), Month.JULY, 4);
+		if (july4th.getDayOfWeek() == DayOfWeek.SATURDAY) {
+			july4th = july4th.minusDays(1);
+		} else if (july4th.getDayOfWeek() == DayOfWeek.SUNDAY) {
+			july4th = july4th.plusDays(1);
+		}
+		LocalDate laborDay = LocalDate.of(date.getYear(), Month.SEPTEMBER, 1);
+		while (laborDay.getDayOfWeek() != DayOfWeek.MONDAY) {
+			laborDay = laborDay.plusDays(1);
+		}
+		return date.isEqual(july4th) || date.isEqual(laborDay);
+	}
+}
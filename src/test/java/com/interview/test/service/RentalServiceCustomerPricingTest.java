@@ -0,0 +1,121 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.customer.CustomerPricing;
+import com.interview.test.customer.CustomerProfile;
+import com.interview.test.customer.CustomerProfiles;
+import com.interview.test.customer.DiscountTier;
+import com.interview.test.objects.CheckoutResult;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalServiceCustomerPricingTest {
+
+	private final RentalService rentalService = new RentalService();
+	private final CustomerProfiles profiles = new CustomerProfiles(ToolCatalog.getDefault());
+
+	public RentalServiceCustomerPricingTest() {
+		profiles.put(CustomerProfile.builder()
+				.customerId("ACME")
+				.baseDiscountPercent(5)
+				.toolTypeDiscount("Jackhammer", 15)
+				.volumeTier(new DiscountTier(3, 10))
+				.rentalDayTier(new DiscountTier(30, 25))
+				.build());
+	}
+
+	@Test
+	public void testEachLineGetsItsBestDiscount() {
+		LocalDate checkOut = LocalDate.of(2020, 7, 2);
+		List<RentalRequest> lines = Arrays.asList(
+				new RentalRequest("LADW", 3, 0, checkOut),
+				new RentalRequest("JAKR", 3, 0, checkOut),
+				new RentalRequest("CHNS", 30, 0, checkOut),
+				new RentalRequest("LADW", 3, 50, checkOut),
+				new RentalRequest("XXXX", 3, 0, checkOut),
+				new RentalRequest("LADW", 3, 101, checkOut));
+
+		List<CheckoutResult> results = rentalService.quoteOrder(profiles.resolve("ACME"), lines);
+
+		assertEquals(lines.size(), results.size());
+		// Six lines reach the volume tier of 10%, which beats the 5% base discount
+		assertEquals(10, results.get(0).getAgreement().getDiscountPercent());
+		assertEquals(15, results.get(1).getAgreement().getDiscountPercent());
+		assertEquals(25, results.get(2).getAgreement().getDiscountPercent());
+		// A clerk can still give a larger discount than the contract
+		assertEquals(50, results.get(3).getAgreement().getDiscountPercent());
+		assertEquals("Invalid tool code.", results.get(4).getError().getMessage());
+		assertEquals("Discount percent must be between 0 and 100.", results.get(5).getError().getMessage());
+		for (int i = 0; i < lines.size(); i++) {
+			assertSame(lines.get(i), results.get(i).getRequest());
+		}
+	}
+
+	@Test
+	public void testLinesMatchPlainQuotesAtTheResolvedDiscount() {
+		String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR"};
+		Random random = new Random(23);
+		List<RentalRequest> lines = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			lines.add(new RentalRequest(toolCodes[random.nextInt(toolCodes.length)], 1 + random.nextInt(40),
+					random.nextInt(20), LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000))));
+		}
+		CustomerPricing pricing = profiles.resolve("ACME");
+
+		List<CheckoutResult> results = rentalService.quoteOrder(pricing, lines);
+
+		int volumeDiscountPercent = pricing.getVolumeDiscountPercent(lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			RentalRequest line = lines.get(i);
+			int discountPercent = Math.max(line.getDiscountPercent(),
+					pricing.getDiscountPercent(pricing.getTerms(line.getToolCode()), line.getRentalDays(), volumeDiscountPercent));
+			RentalAgreement expected = rentalService.quote(line.getToolCode(), line.getRentalDays(), discountPercent,
+					line.getCheckOutDate());
+			RentalAgreement actual = results.get(i).getAgreement();
+			assertEquals(expected.getDiscountPercent(), actual.getDiscountPercent());
+			assertEquals(expected.getChargeDays(), actual.getChargeDays());
+			assertEquals(expected.getFinalChargeCents(), actual.getFinalChargeCents());
+			assertNull(actual.getReservation());
+		}
+	}
+
+	@Test
+	public void testPricingFromAnotherCatalogIsRejected() {
+		CustomerPricing pricing = CustomerPricing.resolve(profiles.getProfile("ACME"),
+				new ToolCatalog(ToolCatalog.getDefault().getTools()));
+
+		assertThrows(IllegalArgumentException.class, () -> rentalService.quoteOrder(pricing, List.of()));
+	}
+
+	@Test
+	public void testPricingResolvedBeforeAReloadIsRejected() {
+		ToolCatalog catalog = new ToolCatalog(ToolCatalog.getDefault().getTools());
+		RentalService service = new RentalService(catalog, HolidayCalendar.defaultCalendar());
+		CustomerProfiles customers = new CustomerProfiles(catalog);
+		customers.put(profiles.getProfile("ACME"));
+		CustomerPricing pricing = customers.resolve("ACME");
+		List<RentalRequest> lines = List.of(new RentalRequest("JAKR", 5, 0, LocalDate.of(2020, 7, 2)));
+		catalog.replace(List.of(new Tool("JAKR", "Jackhammer", "Ridgid", new BigDecimal("9.99"), true, false, false)));
+
+		Exception quote = assertThrows(IllegalArgumentException.class, () -> service.quoteOrder(pricing, lines));
+		Exception checkout = assertThrows(IllegalArgumentException.class, () -> service.checkoutOrder(pricing, lines));
+
+		assertEquals("Customer pricing was resolved before the catalog last changed.", quote.getMessage());
+		assertEquals(quote.getMessage(), checkout.getMessage());
+		// Resolving again picks up the new rates
+		assertEquals(new BigDecimal("9.99"), service.checkoutOrder(customers.resolve("ACME"), lines)
+				.getLines().get(0).getDailyCharge());
+	}
+}
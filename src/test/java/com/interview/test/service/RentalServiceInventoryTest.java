@@ -0,0 +1,138 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.objects.AvailableUnits;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalServiceInventoryTest {
+
+	private static final LocalDate CHECK_OUT_DATE = LocalDate.of(2020, 7, 2);
+
+	private final Inventory inventory = new Inventory();
+	private final RentalService rentalService = new RentalService(ToolCatalog.getDefault(),
+			HolidayCalendar.defaultCalendar(), inventory);
+
+	@Test
+	public void testCheckoutReservesAUnit() {
+		inventory.addUnits("LADW", 1);
+
+		RentalAgreement agreement = rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE);
+
+		assertNotNull(agreement.getReservation());
+		assertEquals(CHECK_OUT_DATE, agreement.getReservation().getFromDate());
+		assertEquals(agreement.getDueDate(), agreement.getReservation().getToDate());
+		Exception exception = assertThrows(IllegalArgumentException.class,
+				() -> rentalService.checkout("LADW", 1, 0, CHECK_OUT_DATE.plusDays(2)));
+		assertEquals("No unit of the tool is available for the rental period.", exception.getMessage());
+		assertNotNull(rentalService.checkout("LADW", 1, 0, agreement.getDueDate()));
+	}
+
+	@Test
+	public void testReleaseMakesTheUnitAvailableAgain() {
+		inventory.addUnits("CHNS", 1);
+		RentalAgreement agreement = rentalService.checkout("CHNS", 5, 25, CHECK_OUT_DATE);
+
+		assertTrue(rentalService.release(agreement));
+		assertNotNull(rentalService.checkout("CHNS", 5, 25, CHECK_OUT_DATE));
+	}
+
+	@Test
+	public void testQuoteDoesNotReserve() {
+		inventory.addUnits("JAKR", 1);
+
+		RentalAgreement quote = rentalService.quote("JAKR", 4, 50, CHECK_OUT_DATE);
+
+		assertNull(quote.getReservation());
+		assertFalse(rentalService.release(quote));
+		assertEquals(1, inventory.countAvailable("JAKR", CHECK_OUT_DATE, quote.getDueDate()));
+		assertEquals(quote.getFinalCharge(), rentalService.checkout("JAKR", 4, 50, CHECK_OUT_DATE).getFinalCharge());
+	}
+
+	@Test
+	public void testFailingCheckoutListenerReleasesTheUnit() {
+		inventory.addUnits("LADW", 1);
+		rentalService.addCheckoutListener(agreement -> {
+			throw new IllegalStateException("store unavailable");
+		});
+
+		assertThrows(IllegalStateException.class, () -> rentalService.checkout("LADW", 3, 10, CHECK_OUT_DATE));
+		assertEquals(1, inventory.countAvailable("LADW", CHECK_OUT_DATE, CHECK_OUT_DATE.plusDays(3)));
+	}
+
+	@Test
+	public void testServiceWithoutInventoryNeverReserves() {
+		RentalAgreement agreement = new RentalService().checkout("LADW", 3, 10, CHECK_OUT_DATE);
+
+		assertNull(agreement.getReservation());
+	}
+
+	@Test
+	public void testFindAvailableRanksFreeUnitsByPrice() {
+		ToolCatalog catalog = new ToolCatalog(List.of(Tool.getToolByCode("JAKD"), Tool.getToolByCode("JAKR"),
+				new Tool("JAKB", "Jackhammer", "Bosch", new BigDecimal("1.99"), true, true, true),
+				Tool.getToolByCode("LADW")));
+		RentalService service = new RentalService(catalog, HolidayCalendar.defaultCalendar(), inventory);
+		inventory.addUnits("JAKD", 2);
+		inventory.addUnits("JAKR", 1);
+		inventory.addUnits("JAKB", 1);
+		inventory.addUnits("LADW", 1);
+		RentalAgreement taken = service.checkout("JAKD", 5, 0, CHECK_OUT_DATE);
+
+		List<AvailableUnits> available = service.findAvailable("jackhammer", null, 5, 10, CHECK_OUT_DATE);
+
+		List<String> ranked = new ArrayList<>();
+		for (AvailableUnits units : available) {
+			ranked.add(units.getTool().getToolCode());
+			RentalAgreement quote = service.quote(units.getTool().getToolCode(), 5, 10, CHECK_OUT_DATE);
+			assertEquals(quote.getFinalChargeCents(), units.getQuote().getFinalChargeCents());
+			assertNull(units.getQuote().getReservation());
+		}
+		assertEquals(List.of("JAKD", "JAKR", "JAKB"), ranked);
+		assertArrayEquals(new int[]{1 - taken.getReservation().getUnit()}, available.get(0).getUnits());
+		assertEquals(1, service.findAvailable("Jackhammer", "Ridgid", 5, 10, CHECK_OUT_DATE).size());
+		assertEquals(2, service.findAvailable("Jackhammer", "DeWalt", 5, 10, taken.getDueDate()).get(0).getUnits().length);
+		assertEquals(List.of(), service.findAvailable("Drill", null, 5, 10, CHECK_OUT_DATE));
+		assertThrows(IllegalArgumentException.class, () -> service.findAvailable("Jackhammer", null, 0, 10, CHECK_OUT_DATE));
+		assertThrows(IllegalStateException.class, () -> new RentalService().findAvailable("Jackhammer", null, 5, 10, CHECK_OUT_DATE));
+	}
+
+	@Test
+	public void testConcurrentCheckoutsOfTheLastUnit() throws Exception {
+		inventory.addUnits("JAKD", 2);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Boolean>> attempts = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				attempts.add(() -> {
+					try {
+						return rentalService.checkout("JAKD", 7, 0, CHECK_OUT_DATE) != null;
+					} catch (IllegalArgumentException e) {
+						return false;
+					}
+				});
+			}
+			int successes = 0;
+			for (Future<Boolean> result : executor.invokeAll(attempts)) {
+				successes += result.get() ? 1 : 0;
+			}
+			assertEquals(2, successes);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.customer.CustomerProfile;
+import com.interview.test.customer.CustomerProfiles;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.objects.OrderAgreement;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.pricing.ChargeRules;
+import com.interview.test.pricing.SeasonalRate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalServiceOrderTest {
+
+	private static final LocalDate CHECK_OUT_DATE = LocalDate.of(2020, 7, 2);
+
+	private final Inventory inventory = new Inventory();
+	private final RentalService rentalService = new RentalService(ToolCatalog.getDefault(),
+			HolidayCalendar.defaultCalendar(), inventory);
+
+	@Test
+	public void testLinesMatchSingleCheckouts() {
+		List<Tool> tools = new ArrayList<>(ToolCatalog.getDefault().getTools());
+		tools.add(new Tool("SCAF", "Scaffold", "Werner", new BigDecimal("9.99"),
+				ChargeRules.standard(999, true, true, false).toBuilder()
+						.seasonalRate(new SeasonalRate(MonthDay.of(6, 1), MonthDay.of(8, 31), 120))
+						.capWindowDays(7).capAmountCents(5000)
+						.build()));
+		RentalService service = new RentalService(new ToolCatalog(tools), HolidayCalendar.defaultCalendar());
+		String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR", "SCAF"};
+		Random random = new Random(24);
+		List<RentalRequest> lines = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			// Few distinct dates and lengths, so most lines share a period with another
+			lines.add(new RentalRequest(toolCodes[random.nextInt(toolCodes.length)], 1 + random.nextInt(4) * 9,
+					random.nextInt(30), CHECK_OUT_DATE.plusDays(random.nextInt(5) * 20)));
+		}
+
+		OrderAgreement order = service.checkoutOrder(lines);
+
+		assertEquals(lines.size(), order.getLineCount());
+		assertNull(order.getCustomerId());
+		long finalChargeCents = 0;
+		for (int i = 0; i < lines.size(); i++) {
+			RentalRequest line = lines.get(i);
+			RentalAgreement expected = service.checkout(line.getToolCode(), line.getRentalDays(), line.getDiscountPercent(),
+					line.getCheckOutDate());
+			RentalAgreement actual = order.getLines().get(i);
+			assertEquals(expected.getToolCode(), actual.getToolCode());
+			assertEquals(expected.getChargeDays(), actual.getChargeDays(), "line " + i);
+			assertEquals(expected.getPreDiscountChargeCents(), actual.getPreDiscountChargeCents(), "line " + i);
+			assertEquals(expected.getFinalChargeCents(), actual.getFinalChargeCents(), "line " + i);
+			finalChargeCents += expected.getFinalChargeCents();
+		}
+		assertEquals(finalChargeCents, order.getFinalChargeCents());
+	}
+
+	@Test
+	public void testOrderIsAllOrNothing() {
+		inventory.addUnits("LADW", 2);
+		inventory.addUnits("CHNS", 1);
+		List<RentalRequest> lines = Arrays.asList(
+				new RentalRequest("CHNS", 3, 0, CHECK_OUT_DATE),
+				new RentalRequest("LADW", 3, 0, CHECK_OUT_DATE),
+				new RentalRequest("LADW", 3, 0, CHECK_OUT_DATE),
+				new RentalRequest("LADW", 3, 0, CHECK_OUT_DATE));
+
+		Exception exception = assertThrows(IllegalArgumentException.class, () -> rentalService.checkoutOrder(lines));
+
+		assertEquals("Order line 4: No unit of the tool is available for the rental period.", exception.getMessage());
+		LocalDate dueDate = CHECK_OUT_DATE.plusDays(3);
+		assertEquals(2, inventory.countAvailable("LADW", CHECK_OUT_DATE, dueDate));
+		assertEquals(1, inventory.countAvailable("CHNS", CHECK_OUT_DATE, dueDate));
+
+		OrderAgreement order = rentalService.checkoutOrder(lines.subList(0, 3));
+		for (RentalAgreement line : order.getLines()) {
+			assertNotNull(line.getReservation());
+		}
+		assertEquals(0, inventory.countAvailable("LADW", CHECK_OUT_DATE, dueDate));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.checkoutOrder(List.of()));
+	}
+
+	@Test
+	public void testUnexpectedLineFailureReleasesEarlierLines() {
+		inventory.addUnits("LADW", 2);
+		List<RentalRequest> lines = Arrays.asList(new RentalRequest("LADW", 3, 0, CHECK_OUT_DATE),
+				new RentalRequest("LADW", 3, 0, CHECK_OUT_DATE), null);
+
+		assertThrows(NullPointerException.class, () -> rentalService.checkoutOrder(lines));
+
+		assertEquals(2, inventory.countAvailable("LADW", CHECK_OUT_DATE, CHECK_OUT_DATE.plusDays(3)));
+	}
+
+	@Test
+	public void testListenerFailureReleasesEveryLine() {
+		inventory.addUnits("JAKR", 2);
+		rentalService.addCheckoutListener(agreement -> {
+			throw new IllegalStateException("store is down");
+		});
+		List<RentalRequest> lines = Arrays.asList(new RentalRequest("JAKR", 5, 0, CHECK_OUT_DATE),
+				new RentalRequest("JAKR", 5, 0, CHECK_OUT_DATE));
+
+		assertThrows(IllegalStateException.class, () -> rentalService.checkoutOrder(lines));
+
+		assertEquals(2, inventory.countAvailable("JAKR", CHECK_OUT_DATE, CHECK_OUT_DATE.plusDays(5)));
+	}
+
+	@Test
+	public void testContractOrderIsDiscounted() {
+		CustomerProfiles profiles = new CustomerProfiles(ToolCatalog.getDefault());
+		profiles.put(CustomerProfile.builder().customerId("ACME").toolTypeDiscount("Ladder", 20).build());
+		RentalService service = new RentalService();
+		List<RentalRequest> lines = Arrays.asList(new RentalRequest("LADW", 3, 0, CHECK_OUT_DATE),
+				new RentalRequest("CHNS", 3, 0, CHECK_OUT_DATE));
+
+		OrderAgreement order = service.checkoutOrder(profiles.resolve("ACME"), lines);
+
+		assertEquals("ACME", order.getCustomerId());
+		assertEquals(20, order.getLines().get(0).getDiscountPercent());
+		assertEquals(0, order.getLines().get(1).getDiscountPercent());
+		assertEquals(new BigDecimal("3.19"), order.getLines().get(0).getFinalCharge());
+		assertEquals(new BigDecimal("4.68"), order.getFinalCharge());
+	}
+}
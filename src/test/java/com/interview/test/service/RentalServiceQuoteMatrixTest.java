@@ -0,0 +1,56 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.QuoteMatrix;
+import com.interview.test.objects.RentalAgreement;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalServiceQuoteMatrixTest {
+
+	private static final LocalDate FIRST_CHECK_OUT_DATE = LocalDate.of(2020, 1, 1);
+
+	private final RentalService rentalService = new RentalService();
+
+	@Test
+	public void testEveryCellMatchesCheckout() {
+		for (String toolCode : new String[]{"CHNS", "LADW", "JAKD", "JAKR"}) {
+			for (int discountPercent : new int[]{0, 25}) {
+				QuoteMatrix matrix = rentalService.quoteMatrix(toolCode, FIRST_CHECK_OUT_DATE, 366, 30, discountPercent);
+
+				for (int date = 0; date < matrix.getDateCount(); date++) {
+					for (int rentalDays = 1; rentalDays <= matrix.getMaxRentalDays(); rentalDays++) {
+						LocalDate checkOutDate = FIRST_CHECK_OUT_DATE.plusDays(date);
+						RentalAgreement expected = rentalService.checkout(toolCode, rentalDays, discountPercent, checkOutDate);
+						RentalAgreement actual = matrix.toAgreement(date, rentalDays);
+						String message = toolCode + " " + checkOutDate + " for " + rentalDays + " days";
+
+						assertEquals(checkOutDate, matrix.getCheckOutDate(date), message);
+						assertEquals(expected.getChargeDays(), matrix.getChargeDays(date, rentalDays), message);
+						assertEquals(expected.getPreDiscountCharge(), actual.getPreDiscountCharge(), message);
+						assertEquals(expected.getFinalCharge(), matrix.getFinalCharge(date, rentalDays), message);
+						assertEquals(expected.getDiscountAmount(), actual.getDiscountAmount(), message);
+						assertEquals(expected.getDueDate(), actual.getDueDate(), message);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidMatrices() {
+		assertThrows(IllegalArgumentException.class, () -> rentalService.quoteMatrix("LADW", FIRST_CHECK_OUT_DATE, 0, 30, 10));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.quoteMatrix("LADW", FIRST_CHECK_OUT_DATE, 365, 0, 10));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.quoteMatrix("LADW", FIRST_CHECK_OUT_DATE, 365, 30, 101));
+		assertThrows(IllegalArgumentException.class, () -> rentalService.quoteMatrix("NONE", FIRST_CHECK_OUT_DATE, 365, 30, 10));
+		assertThrows(IllegalArgumentException.class,
+				() -> rentalService.quoteMatrix("LADW", FIRST_CHECK_OUT_DATE, 1 << 20, 1 << 20, 10));
+
+		QuoteMatrix matrix = rentalService.quoteMatrix("LADW", FIRST_CHECK_OUT_DATE, 7, 7, 10);
+		assertThrows(IndexOutOfBoundsException.class, () -> matrix.getChargeDays(7, 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> matrix.getChargeDays(0, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> matrix.getChargeDays(0, 8));
+	}
+}
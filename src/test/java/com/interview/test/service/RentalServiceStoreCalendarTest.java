@@ -0,0 +1,73 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.metrics.RecordingRentalMetrics;
+import com.interview.test.metrics.RejectionReason;
+import com.interview.test.objects.CheckoutResult;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.ToolCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalServiceStoreCalendarTest {
+
+	private static final String CONFIG = "calendar,US,fixed,JULY,4,NEAREST_WEEKDAY\n"
+			+ "calendar,US,nth,SEPTEMBER,MONDAY,1\n"
+			+ "calendar,CA,fixed,JULY,1,NEXT_WEEKDAY\n"
+			+ "calendar,CA,nth,SEPTEMBER,MONDAY,1\n"
+			+ "store,S001,US\n"
+			+ "store,S100,CA\n";
+
+	private final RecordingRentalMetrics metrics = new RecordingRentalMetrics();
+	private final RentalService rentalService;
+
+	public RentalServiceStoreCalendarTest() throws IOException {
+		StoreCalendars storeCalendars = StoreCalendars.parse(new BufferedReader(new StringReader(CONFIG)),
+				HolidayCalendar.defaultCalendar());
+		rentalService = new RentalService(ToolCatalog.getDefault(), storeCalendars, null, metrics);
+	}
+
+	@Test
+	public void testCheckoutUsesTheStoreCalendar() {
+		// LADW is free on holidays, and 07/01/21 is Canada Day
+		RentalAgreement us = rentalService.checkout("S001", "LADW", 2, 0, LocalDate.of(2021, 6, 30));
+		RentalAgreement canada = rentalService.checkout("S100", "LADW", 2, 0, LocalDate.of(2021, 6, 30));
+		RentalAgreement noStore = rentalService.checkout("LADW", 2, 0, LocalDate.of(2021, 6, 30));
+
+		assertEquals(2, us.getChargeDays());
+		assertEquals(1, canada.getChargeDays());
+		assertEquals(2, noStore.getChargeDays());
+		assertEquals(1, rentalService.quote("S100", "LADW", 2, 0, LocalDate.of(2021, 6, 30)).getChargeDays());
+	}
+
+	@Test
+	public void testUnknownStoreIsRejected() {
+		Exception exception = assertThrows(IllegalArgumentException.class,
+				() -> rentalService.checkout("S999", "LADW", 2, 0, LocalDate.of(2021, 6, 30)));
+
+		assertEquals("Unknown store ID.", exception.getMessage());
+		assertEquals(1, metrics.getRejectionCount(RejectionReason.UNKNOWN_STORE_ID));
+	}
+
+	@Test
+	public void testCheckoutAllUsesTheStoreOfEachRequest() {
+		List<CheckoutResult> results = rentalService.checkoutAll(Arrays.asList(
+				new RentalRequest("S001", "LADW", 2, 0, LocalDate.of(2021, 6, 30)),
+				new RentalRequest("S100", "LADW", 2, 0, LocalDate.of(2021, 6, 30)),
+				new RentalRequest("S999", "LADW", 2, 0, LocalDate.of(2021, 6, 30))));
+
+		assertEquals(2, results.get(0).getAgreement().getChargeDays());
+		assertEquals(1, results.get(1).getAgreement().getChargeDays());
+		assertEquals("Unknown store ID.", results.get(2).getError().getMessage());
+	}
+}
@@ -0,0 +1,44 @@
+package com.interview.test.service;
+
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.Settlement;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for settling a late return. Run with {@code mvn -Pbenchmark test}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettlementServiceBenchmark {
+
+	@Param({"LADW", "CHNS"})
+	private String toolCode;
+
+	@Param({"1", "30", "365", "3650"})
+	private int lateDays;
+
+	private SettlementService settlementService;
+	private RentalAgreement agreement;
+	private LocalDate returnDate;
+
+	@Setup
+	public void setup() {
+		RentalService rentalService = new RentalService();
+		settlementService = new SettlementService(rentalService);
+		agreement = rentalService.quote(toolCode, 7, 10, LocalDate.of(2015, 7, 2));
+		returnDate = agreement.getDueDate().plusDays(lateDays);
+	}
+
+	@Benchmark
+	public Settlement settle() {
+		return settlementService.settle(agreement, returnDate, BigDecimal.ZERO);
+	}
+}
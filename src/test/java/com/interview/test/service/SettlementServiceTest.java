@@ -0,0 +1,251 @@
+package com.interview.test.service;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.metrics.RentalMetrics;
+import com.interview.test.objects.RentalAgreement;
+import com.interview.test.objects.ReturnRequest;
+import com.interview.test.objects.Settlement;
+import com.interview.test.objects.SettlementResult;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.pricing.ChargeRules;
+import com.interview.test.pricing.HolidayPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SettlementServiceTest {
+
+	private final RentalService rentalService = new RentalService();
+	private final SettlementService settlementService = new SettlementService(rentalService);
+
+	@Test
+	public void testOnTimeReturn() {
+		RentalAgreement agreement = rentalService.checkout("LADW", 3, 10, LocalDate.of(2020, 7, 2));
+
+		Settlement settlement = settlementService.settle(agreement, agreement.getDueDate(), BigDecimal.ZERO);
+
+		assertFalse(settlement.isLate());
+		assertEquals(0, settlement.getLateDays());
+		assertEquals(0, settlement.getLateChargeDays());
+		assertEquals(new BigDecimal("0.00"), settlement.getLateCharge());
+		assertEquals(new BigDecimal("3.59"), settlement.getTotalCharge());
+	}
+
+	@Test
+	public void testEarlyReturnIsNotRefunded() {
+		RentalAgreement agreement = rentalService.checkout("JAKR", 9, 0, LocalDate.of(2015, 7, 2));
+
+		Settlement settlement = settlementService.settle(agreement, LocalDate.of(2015, 7, 3), new BigDecimal("12.50"));
+
+		assertEquals(0, settlement.getLateDays());
+		assertEquals(new BigDecimal("12.50"), settlement.getDamageFee());
+		assertEquals(agreement.getFinalCharge().add(new BigDecimal("12.50")), settlement.getTotalCharge());
+	}
+
+	@Test
+	public void testLateReturnChargesTheExtraDaysWithoutDiscount() {
+		RentalAgreement ladder = rentalService.checkout("LADW", 3, 10, LocalDate.of(2020, 7, 2));
+		RentalAgreement chainsaw = rentalService.checkout("CHNS", 5, 25, LocalDate.of(2015, 7, 2));
+
+		Settlement ladderSettlement = settlementService.settle(ladder, LocalDate.of(2020, 7, 8), new BigDecimal("5"));
+		Settlement chainsawSettlement = settlementService.settle(chainsaw, LocalDate.of(2015, 7, 12), BigDecimal.ZERO);
+
+		assertEquals(3, ladderSettlement.getLateDays());
+		assertEquals(3, ladderSettlement.getLateChargeDays());
+		assertEquals(new BigDecimal("5.97"), ladderSettlement.getLateCharge());
+		assertEquals(new BigDecimal("14.56"), ladderSettlement.getTotalCharge());
+		assertEquals(5, chainsawSettlement.getLateDays());
+		assertEquals(3, chainsawSettlement.getLateChargeDays());
+		assertEquals(new BigDecimal("4.47"), chainsawSettlement.getLateCharge());
+		assertEquals(new BigDecimal("7.83"), chainsawSettlement.getTotalCharge());
+	}
+
+	@Test
+	public void testLateDaysShareTheChargeCapWindow() {
+		ChargeRules rules = ChargeRules.builder()
+				.baseRateCents(1000)
+				.dayOfWeekRatesCents(new long[]{1000, 1000, 1000, 1000, 1000, 1000, 1000})
+				.holidayPolicy(HolidayPolicy.CHARGED)
+				.holidayRateCents(1000)
+				.capWindowDays(7)
+				.capAmountCents(5000)
+				.build();
+		Tool weekly = new Tool("WKLY", "Compressor", "Makita", new BigDecimal("10.00"), rules);
+		RentalService service = new RentalService(new ToolCatalog(Collections.singletonList(weekly)),
+				HolidayCalendar.defaultCalendar());
+		RentalAgreement agreement = service.checkout("WKLY", 3, 0, LocalDate.of(2021, 3, 1));
+
+		Settlement settlement = new SettlementService(service).settle(agreement, LocalDate.of(2021, 3, 10), BigDecimal.ZERO);
+
+		assertEquals(new BigDecimal("30.00"), agreement.getFinalCharge());
+		assertEquals(6, settlement.getLateDays());
+		assertEquals(6, settlement.getLateChargeDays());
+		assertEquals(new BigDecimal("40.00"), settlement.getLateCharge());
+		assertEquals(new BigDecimal("70.00"), settlement.getTotalCharge());
+	}
+
+	@Test
+	public void testLateChargeMatchesRepricingTheWholeRental() {
+		Random random = new Random(15);
+		String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR"};
+		for (int i = 0; i < 2_000; i++) {
+			String toolCode = toolCodes[random.nextInt(toolCodes.length)];
+			int rentalDays = 1 + random.nextInt(60);
+			int lateDays = 1 + random.nextInt(4_000);
+			LocalDate checkOutDate = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(10_000));
+			RentalAgreement agreement = rentalService.checkout(toolCode, rentalDays, 0, checkOutDate);
+
+			Settlement settlement = settlementService.settle(agreement, agreement.getDueDate().plusDays(lateDays), BigDecimal.ZERO);
+
+			RentalAgreement whole = rentalService.quote(toolCode, rentalDays + lateDays, 0, checkOutDate);
+			assertEquals(whole.getChargeDays() - agreement.getChargeDays(), settlement.getLateChargeDays());
+			assertEquals(whole.getFinalCharge(), settlement.getTotalCharge());
+		}
+	}
+
+	@Test
+	public void testLateDaysUseTheStoreCalendar() throws IOException {
+		StoreCalendars storeCalendars = StoreCalendars.parse(new BufferedReader(new StringReader(
+				"calendar,CA,fixed,JULY,1,NEXT_WEEKDAY\nstore,S100,CA\n")), HolidayCalendar.defaultCalendar());
+		RentalService service = new RentalService(ToolCatalog.getDefault(), storeCalendars, null, RentalMetrics.NOOP);
+		RentalAgreement agreement = service.checkout("S100", "LADW", 1, 0, LocalDate.of(2021, 6, 29));
+
+		// LADW is free on holidays, and 07/01/21 is Canada Day at S100 but not a holiday by default
+		Settlement settlement = new SettlementService(service).settle(agreement, LocalDate.of(2021, 7, 2), BigDecimal.ZERO);
+
+		assertEquals("S100", agreement.getStoreId());
+		assertEquals(2, settlement.getLateDays());
+		assertEquals(1, settlement.getLateChargeDays());
+		assertEquals(new BigDecimal("1.99"), settlement.getLateCharge());
+	}
+
+	@Test
+	public void testLateDaysUseTheRatesAtCheckout() {
+		ToolCatalog catalog = new ToolCatalog(ToolCatalog.getDefault().getTools());
+		RentalService service = new RentalService(catalog, HolidayCalendar.defaultCalendar());
+		RentalAgreement agreement = service.checkout("LADW", 1, 0, LocalDate.of(2021, 6, 29));
+		catalog.replace(List.of(new Tool("LADW", "Ladder", "Werner", new BigDecimal("9.99"), true, true, false)));
+
+		Settlement settlement = new SettlementService(service).settle(agreement, LocalDate.of(2021, 7, 1), BigDecimal.ZERO);
+
+		assertEquals(1, settlement.getLateChargeDays());
+		assertEquals(new BigDecimal("1.99"), settlement.getLateCharge());
+	}
+
+	@Test
+	public void testReturnReleasesTheUnit() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", 1);
+		RentalService service = new RentalService(ToolCatalog.getDefault(), HolidayCalendar.defaultCalendar(), inventory);
+		RentalAgreement agreement = service.checkout("LADW", 10, 0, LocalDate.of(2020, 7, 2));
+
+		new SettlementService(service).settle(agreement, LocalDate.of(2020, 7, 4), BigDecimal.ZERO);
+
+		assertNotNull(service.checkout("LADW", 10, 0, LocalDate.of(2020, 7, 2)));
+	}
+
+	@Test
+	public void testSettlingTwiceDoesNotFreeALaterReservation() {
+		Inventory inventory = new Inventory();
+		inventory.addUnits("LADW", 1);
+		RentalService service = new RentalService(ToolCatalog.getDefault(), HolidayCalendar.defaultCalendar(), inventory);
+		SettlementService settlementService = new SettlementService(service);
+		RentalAgreement agreement = service.checkout("LADW", 10, 0, LocalDate.of(2020, 7, 2));
+		settlementService.settle(agreement, LocalDate.of(2020, 7, 4), BigDecimal.ZERO);
+		RentalAgreement next = service.checkout("LADW", 10, 0, LocalDate.of(2020, 7, 2));
+		assertEquals(agreement.getReservation().getUnit(), next.getReservation().getUnit());
+
+		// A duplicate return line settles the first agreement again
+		settlementService.settle(agreement, LocalDate.of(2020, 7, 4), BigDecimal.ZERO);
+
+		assertTrue(agreement.getReservation().isReleased());
+		assertFalse(next.getReservation().isReleased());
+		assertEquals(0, inventory.countAvailable("LADW", LocalDate.of(2020, 7, 2), next.getDueDate()));
+		assertThrows(IllegalArgumentException.class, () -> service.checkout("LADW", 10, 0, LocalDate.of(2020, 7, 2)));
+		assertFalse(service.release(agreement));
+		assertTrue(service.release(next));
+	}
+
+	@Test
+	public void testInvalidReturns() {
+		RentalAgreement agreement = rentalService.checkout("JAKD", 4, 0, LocalDate.of(2015, 9, 3));
+
+		Exception early = assertThrows(IllegalArgumentException.class,
+				() -> settlementService.settle(agreement, LocalDate.of(2015, 9, 2), BigDecimal.ZERO));
+		Exception negative = assertThrows(IllegalArgumentException.class,
+				() -> settlementService.settle(agreement, LocalDate.of(2015, 9, 9), new BigDecimal("-1")));
+		assertThrows(IllegalArgumentException.class,
+				() -> settlementService.settle(agreement, LocalDate.of(2015, 9, 9), new BigDecimal("0.001")));
+
+		assertEquals("Return date must not be before the checkout date.", early.getMessage());
+		assertEquals("Damage fee must not be negative.", negative.getMessage());
+	}
+
+	@Test
+	public void testMissingValuesAreRejected() {
+		RentalAgreement agreement = rentalService.checkout("JAKD", 4, 0, LocalDate.of(2015, 9, 3));
+
+		Exception noAgreement = assertThrows(IllegalArgumentException.class,
+				() -> settlementService.settle(null, LocalDate.of(2015, 9, 9), BigDecimal.ZERO));
+		Exception noDate = assertThrows(IllegalArgumentException.class,
+				() -> settlementService.settle(agreement, null, BigDecimal.ZERO));
+		Exception noFee = assertThrows(IllegalArgumentException.class,
+				() -> settlementService.settle(agreement, LocalDate.of(2015, 9, 9), null));
+
+		assertEquals("Agreement is required.", noAgreement.getMessage());
+		assertEquals("Return date is required.", noDate.getMessage());
+		assertEquals("Damage fee is required.", noFee.getMessage());
+	}
+
+	@Test
+	public void testSettleAll() {
+		List<ReturnRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			RentalAgreement agreement = rentalService.checkout("JAKR", 5, 0, LocalDate.of(2020, 1, 6).plusDays(i));
+			LocalDate returnDate = i % 10 == 0 ? agreement.getCheckOutDate().minusDays(1) : agreement.getDueDate().plusDays(i % 7);
+			requests.add(new ReturnRequest(agreement, returnDate, BigDecimal.ZERO));
+		}
+
+		List<SettlementResult> results = settlementService.settleAll(requests);
+
+		assertEquals(requests.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			SettlementResult result = results.get(i);
+			assertSame(requests.get(i), result.getRequest());
+			assertEquals(i % 10 != 0, result.isSuccess());
+			if (result.isSuccess()) {
+				assertEquals(i % 7, result.getSettlement().getLateDays());
+			}
+		}
+	}
+
+	@Test
+	public void testSettleAllKeepsGoingPastAMissingDamageFee() {
+		List<ReturnRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			RentalAgreement agreement = rentalService.checkout("JAKR", 5, 0, LocalDate.of(2020, 1, 6).plusDays(i));
+			requests.add(new ReturnRequest(agreement, agreement.getDueDate(), i == 300 ? null : BigDecimal.ZERO));
+		}
+
+		List<SettlementResult> results = settlementService.settleAll(requests);
+
+		assertEquals(requests.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i != 300, results.get(i).isSuccess());
+		}
+		assertEquals("Damage fee is required.", results.get(300).getError().getMessage());
+	}
+}
@@ -0,0 +1,92 @@
+package com.interview.test.startup;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.inventory.Inventory;
+import com.interview.test.metrics.RecordingRentalMetrics;
+import com.interview.test.metrics.RentalMetrics;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.RentalRequest;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.service.RentalService;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckoutWarmupTest {
+
+	@Test
+	public void testRequestsCoverToolsStoresAndHolidays() throws Exception {
+		StoreCalendars calendars = StoreCalendars.parse(new BufferedReader(new StringReader(
+				"calendar,CA,fixed,JULY,1,NEXT_WEEKDAY\nstore,S100,CA\nstore,S101,CA\n")), HolidayCalendar.defaultCalendar());
+
+		CheckoutWarmup warmup = new CheckoutWarmup(new RentalService(ToolCatalog.getDefault(), calendars, null,
+				RentalMetrics.NOOP), 2021);
+
+		Set<String> toolCodes = new HashSet<>();
+		Set<String> stores = new HashSet<>();
+		Set<LocalDate> dates = new HashSet<>();
+		for (RentalRequest request : warmup.getRequests()) {
+			toolCodes.add(request.getToolCode());
+			stores.add(String.valueOf(request.getStoreId()));
+			dates.add(request.getCheckOutDate());
+		}
+		assertEquals(Set.of("CHNS", "LADW", "JAKD", "JAKR"), toolCodes);
+		assertEquals(2, stores.size());
+		assertTrue(stores.contains("null"));
+		// Independence Day 2021 is observed on Monday 07/05, Canada Day 2021 on Thursday 07/01
+		assertTrue(dates.contains(LocalDate.of(2021, 7, 2)));
+		assertTrue(dates.contains(LocalDate.of(2021, 7, 5)));
+		assertTrue(dates.contains(LocalDate.of(2021, 6, 28)));
+		assertTrue(dates.contains(LocalDate.of(2020, 9, 7)));
+	}
+
+	@Test
+	public void testRunStopsAtTheTimeLimit() {
+		CheckoutWarmup warmup = new CheckoutWarmup(new RentalService());
+
+		long start = System.nanoTime();
+		CheckoutWarmup.Result result = warmup.run(Duration.ofSeconds(2));
+
+		assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+		assertTrue(result.getRounds() >= (result.isSteady() ? CheckoutWarmup.STABLE_ROUNDS : 1));
+		assertEquals(result.getRounds() * (long) warmup.getRequests().size(), result.getCheckouts());
+		assertTrue(result.getNanosPerCheckout() > 0);
+		assertTrue(result.getFirstFastCheckoutNanos() > 0 && result.getFirstFastCheckoutNanos() <= StartupClock.nanosSinceJvmStart());
+		assertTrue(result.toString().startsWith("Warmed up with " + result.getCheckouts() + " checkouts"), result.toString());
+	}
+
+	@Test
+	public void testWarmsUpThroughTheServiceAndLeavesNoTrace() {
+		AtomicLong recordedCheckouts = new AtomicLong();
+		RecordingRentalMetrics metrics = new RecordingRentalMetrics() {
+			@Override
+			public void recordCheckout(String toolCode) {
+				recordedCheckouts.incrementAndGet();
+				super.recordCheckout(toolCode);
+			}
+		};
+		Inventory inventory = new Inventory();
+		for (Tool tool : ToolCatalog.getDefault().getTools()) {
+			inventory.addUnits(tool.getToolCode(), 1);
+		}
+		RentalService rentalService = new RentalService(ToolCatalog.getDefault(),
+				new StoreCalendars(HolidayCalendar.defaultCalendar()), inventory, metrics);
+
+		CheckoutWarmup.Result result = new CheckoutWarmup(rentalService).run(Duration.ofMillis(300));
+
+		assertEquals(result.getCheckouts(), recordedCheckouts.get());
+		assertTrue(metrics.getCheckoutsByToolCode().isEmpty(), metrics.getCheckoutsByToolCode().toString());
+		for (Tool tool : ToolCatalog.getDefault().getTools()) {
+			assertEquals(1, inventory.countAvailable(tool.getToolCode(), LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1)));
+		}
+	}
+}
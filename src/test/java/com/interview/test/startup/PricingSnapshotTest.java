@@ -0,0 +1,142 @@
+package com.interview.test.startup;
+
+import com.interview.test.calendar.HolidayCalendar;
+import com.interview.test.calendar.HolidayRule;
+import com.interview.test.calendar.StoreCalendars;
+import com.interview.test.metrics.RentalMetrics;
+import com.interview.test.objects.Tool;
+import com.interview.test.objects.ToolCatalog;
+import com.interview.test.pricing.ChargeRules;
+import com.interview.test.pricing.SeasonalRate;
+import com.interview.test.service.RentalService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PricingSnapshotTest {
+
+	private static final String STORES = "calendar,US,fixed,JULY,4,NEAREST_WEEKDAY\n"
+			+ "calendar,US,nth,SEPTEMBER,MONDAY,1\n"
+			+ "calendar,US,nth,MAY,MONDAY,-1\n"
+			+ "calendar,CA,fixed,JULY,1,NEXT_WEEKDAY\n"
+			+ "store,S001,US\n"
+			+ "store,S002,US\n"
+			+ "store,S100,CA\n";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testRoundTripPricesTheSame() throws Exception {
+		List<Tool> tools = new ArrayList<>(ToolCatalog.getDefault().getTools());
+		tools.add(new Tool("SCAF", "Scaffold", "Werner", new BigDecimal("5.00"), ChargeRules.standard(500, true, true, false)
+				.toBuilder()
+				.seasonalRate(new SeasonalRate(MonthDay.of(6, 1), MonthDay.of(8, 31), 120))
+				.minimumChargeDays(3)
+				.capWindowDays(7)
+				.capAmountCents(2500)
+				.build()));
+		ToolCatalog catalog = new ToolCatalog(tools);
+		StoreCalendars calendars = StoreCalendars.parse(new BufferedReader(new StringReader(STORES)),
+				HolidayCalendar.defaultCalendar());
+		Path file = directory.resolve("pricing.snapshot");
+
+		new PricingSnapshot(catalog, calendars).write(file);
+		PricingSnapshot snapshot = PricingSnapshot.read(file);
+
+		assertEquals(catalog.size(), snapshot.getToolCatalog().size());
+		assertEquals("Scaffold", snapshot.getToolCatalog().getTool("SCAF").getToolType());
+		assertEquals(new BigDecimal("5.00"), snapshot.getToolCatalog().getTool("SCAF").getDailyCharge());
+		StoreCalendars read = snapshot.getStoreCalendars();
+		assertEquals(calendars.getCalendarCount(), read.getCalendarCount());
+		assertEquals(calendars.getStoreIds(), read.getStoreIds());
+		assertSame(read.getCalendar("S001"), read.getCalendar("S002"));
+
+		RentalService original = new RentalService(catalog, calendars, null, RentalMetrics.NOOP);
+		RentalService restored = new RentalService(snapshot.getToolCatalog(), read, null, RentalMetrics.NOOP);
+		for (String storeId : new String[]{null, "S001", "S100"}) {
+			for (Tool tool : tools) {
+				for (LocalDate date = LocalDate.of(2021, 5, 25); date.isBefore(LocalDate.of(2021, 9, 10)); date = date.plusDays(3)) {
+					assertEquals(original.quote(storeId, tool.getToolCode(), 9, 10, date).getFinalChargeCents(),
+							restored.quote(storeId, tool.getToolCode(), 9, 10, date).getFinalChargeCents(),
+							tool.getToolCode() + " at " + storeId + " on " + date);
+				}
+			}
+		}
+		for (int year = HolidayCalendar.FIRST_CACHED_YEAR; year <= HolidayCalendar.LAST_CACHED_YEAR; year += 37) {
+			LocalDate laborDay = LocalDate.of(year, 9, 1).with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY));
+			assertTrue(read.getDefaultCalendar().isHoliday(laborDay), "Labor Day " + year);
+		}
+	}
+
+	@Test
+	public void testCorruptOrForeignFilesAreRejected() throws Exception {
+		Path file = directory.resolve("pricing.snapshot");
+		new PricingSnapshot(ToolCatalog.getDefault(), new StoreCalendars(HolidayCalendar.defaultCalendar())).write(file);
+		byte[] bytes = Files.readAllBytes(file);
+
+		bytes[20] ^= 1;
+		Files.write(file, bytes);
+		IllegalArgumentException corrupt = assertThrows(IllegalArgumentException.class, () -> PricingSnapshot.read(file));
+		assertTrue(corrupt.getMessage().endsWith("is corrupt."), corrupt.getMessage());
+
+		Files.write(file, new byte[]{1, 2, 3});
+		assertThrows(IllegalArgumentException.class, () -> PricingSnapshot.read(file));
+		Files.writeString(file, "toolCode,toolType,brand,dailyCharge,weekdayCharge,weekendCharge,holidayCharge\n");
+		assertThrows(IllegalArgumentException.class, () -> PricingSnapshot.read(file));
+	}
+
+	@Test
+	public void testCustomHolidayRulesCannotBeWritten() {
+		HolidayRule christmas = year -> LocalDate.of(year, 12, 25);
+		StoreCalendars calendars = new StoreCalendars(new HolidayCalendar(List.of(christmas)));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> new PricingSnapshot(ToolCatalog.getDefault(), calendars).write(directory.resolve("custom.snapshot")));
+		assertFalse(Files.exists(directory.resolve("custom.snapshot")));
+	}
+
+	@Test
+	public void testReadingASnapshotDoesNotLoadTheDefaultCatalog() throws Exception {
+		Path file = directory.resolve("pricing.snapshot");
+		new PricingSnapshot(ToolCatalog.getDefault(), new StoreCalendars(HolidayCalendar.defaultCalendar())).write(file);
+		// A fresh copy of the application classes, as in a new JVM, that records the resources it is asked for
+		URL classes = ToolCatalog.class.getProtectionDomain().getCodeSource().getLocation();
+		String catalogResource = ToolCatalog.class.getResource("/tools.csv").toString();
+		URL resources = URI.create(catalogResource.substring(0, catalogResource.length() - "tools.csv".length())).toURL();
+		List<String> requested = Collections.synchronizedList(new ArrayList<>());
+		try (URLClassLoader loader = new URLClassLoader(new URL[]{classes, resources}, ClassLoader.getPlatformClassLoader()) {
+			@Override
+			public URL getResource(String name) {
+				requested.add(name);
+				return super.getResource(name);
+			}
+		}) {
+			Object snapshot = loader.loadClass(PricingSnapshot.class.getName()).getMethod("read", Path.class)
+					.invoke(null, file);
+			Object catalog = snapshot.getClass().getMethod("getToolCatalog").invoke(snapshot);
+
+			assertEquals(ToolCatalog.getDefault().size(), catalog.getClass().getMethod("size").invoke(catalog));
+			assertFalse(requested.contains("tools.csv"), requested.toString());
+			catalog.getClass().getMethod("getDefault").invoke(null);
+			assertTrue(requested.contains("tools.csv"), requested.toString());
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.interview.test.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+	@Test
+	public void testToCents() {
+		assertEquals(199, Money.toCents(BigDecimal.valueOf(1.99)));
+		assertEquals(200, Money.toCents(new BigDecimal("2.0")));
+		assertEquals(300, Money.toCents(BigDecimal.valueOf(3)));
+		assertThrows(IllegalArgumentException.class, () -> Money.toCents(new BigDecimal("1.995")));
+	}
+
+	@Test
+	public void testFromCents() {
+		assertEquals(new BigDecimal("3.59"), Money.fromCents(359));
+		assertEquals(new BigDecimal("0.00"), Money.fromCents(0));
+	}
+
+	@Test
+	public void testPercentRounding() {
+		// 25% of $4.47 is $1.1175
+		assertEquals(112, Money.percentCeiling(447, 25));
+		assertEquals(111, Money.percentFloor(447, 25));
+		assertEquals(-111, Money.percentCeiling(-447, 25));
+		assertEquals(-112, Money.percentFloor(-447, 25));
+	}
+
+	/**
+	 * The cents arithmetic must reproduce the original BigDecimal pipeline, which took the discount as a double
+	 * fraction and rounded the discount and the final charge independently with CEILING.
+	 */
+	@Test
+	public void testMatchesBigDecimalPipeline() {
+		Random random = new Random(7);
+		for (int i = 0; i < 200_000; i++) {
+			long dailyCents = 1 + random.nextInt(10_000);
+			int chargeDays = random.nextInt(3700);
+			int discountPercent = random.nextInt(101);
+
+			BigDecimal preDiscountCharge = Money.fromCents(dailyCents).multiply(BigDecimal.valueOf(chargeDays));
+			BigDecimal discountAmount = preDiscountCharge.multiply(BigDecimal.valueOf((discountPercent / 100.0)));
+			BigDecimal finalCharge = preDiscountCharge.subtract(discountAmount);
+
+			long preDiscountCents = dailyCents * chargeDays;
+			assertEquals(discountAmount.setScale(2, RoundingMode.CEILING),
+					Money.fromCents(Money.percentCeiling(preDiscountCents, discountPercent)));
+			assertEquals(finalCharge.setScale(2, RoundingMode.CEILING),
+					Money.fromCents(preDiscountCents - Money.percentFloor(preDiscountCents, discountPercent)));
+		}
+	}
+}